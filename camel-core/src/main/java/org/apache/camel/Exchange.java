@@ -102,6 +102,7 @@ public interface Exchange {
     String CORRELATION_ID    = "CamelCorrelationId";
 
     String DATASET_INDEX             = "CamelDataSetIndex";
+    String DATASET_TIMESTAMP         = "CamelDataSetTimestamp";
     String DEFAULT_CHARSET_PROPERTY  = "org.apache.camel.default.charset";
     String DESTINATION_OVERRIDE_URL = "CamelDestinationOverrideUrl";
     String DISABLE_HTTP_STREAM_CACHE = "CamelDisableHttpStreamCache";
@@ -164,6 +165,8 @@ public interface Exchange {
     String MAXIMUM_CACHE_POOL_SIZE     = "CamelMaximumCachePoolSize";
     String MAXIMUM_ENDPOINT_CACHE_SIZE = "CamelMaximumEndpointCacheSize";
     String MESSAGE_HISTORY             = "CamelMessageHistory";
+    String MESSAGE_HISTORY_SAMPLING_RATE = "CamelMessageHistorySamplingRate";
+    String MESSAGE_HISTORY_KEEP_SLOWER_THAN = "CamelMessageHistoryKeepSlowerThan";
     String MULTICAST_INDEX             = "CamelMulticastIndex";
     String MULTICAST_COMPLETE          = "CamelMulticastComplete";
 
@@ -0,0 +1,39 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel;
+
+import javax.xml.bind.annotation.XmlEnum;
+import javax.xml.bind.annotation.XmlType;
+
+/**
+ * Represent the kinds of thread pools a {@link org.apache.camel.spi.ThreadPoolProfile} can create.
+ * <ul>
+ *     <li>ThreadPool - a regular thread pool with a task queue, sized by the pool size, max pool size and max queue size</li>
+ *     <li>WorkStealing - a work-stealing {@link java.util.concurrent.ForkJoinPool} with the pool size as parallelism</li>
+ *     <li>Virtual - a new virtual thread per task, which requires a JVM which supports virtual threads;
+ *     if not supported then a regular thread pool is used</li>
+ * </ul>
+ * Virtual threads are cheap to block, so routes which block while waiting for I/O can have many exchanges inflight
+ * without using an OS thread per inflight exchange.
+ */
+@XmlType
+@XmlEnum
+public enum ThreadPoolType {
+
+    ThreadPool, WorkStealing, Virtual
+
+}
@@ -83,6 +83,30 @@ public interface ManagedBacklogTracerMBean {
     @ManagedAttribute(description = "Whether to include file based message body in the trace message.")
     void setBodyIncludeFiles(boolean bodyIncludeFiles);
 
+    @ManagedAttribute(description = "To only trace one out of every N exchanges")
+    int getSamplingRate();
+
+    @ManagedAttribute(description = "To only trace one out of every N exchanges")
+    void setSamplingRate(int samplingRate);
+
+    @ManagedAttribute(description = "Whether to record compact trace records in striped ring buffers, instead of the message as xml in the backlog")
+    boolean isFlightRecorder();
+
+    @ManagedAttribute(description = "Whether to record compact trace records in striped ring buffers, instead of the message as xml in the backlog")
+    void setFlightRecorder(boolean flightRecorder);
+
+    @ManagedAttribute(description = "Number of trace records to keep per stripe in the flight recorder")
+    int getFlightRecorderSize();
+
+    @ManagedAttribute(description = "Number of trace records to keep per stripe in the flight recorder")
+    void setFlightRecorderSize(int flightRecorderSize);
+
+    @ManagedAttribute(description = "Names of the headers to record in the flight recorder (separated by comma)")
+    String getFlightRecorderHeaders();
+
+    @ManagedAttribute(description = "Names of the headers to record in the flight recorder (separated by comma)")
+    void setFlightRecorderHeaders(String headers);
+
     @ManagedOperation(description = "Dumps the traced messages for the given node or route")
     List<BacklogTracerEventMessage> dumpTracedMessages(String nodeOrRouteId);
 
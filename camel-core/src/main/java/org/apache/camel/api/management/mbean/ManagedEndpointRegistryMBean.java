@@ -38,6 +38,15 @@ public interface ManagedEndpointRegistryMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Maximum cache size (capacity)")
     Integer getMaximumCacheSize();
 
+    @ManagedAttribute(description = "Number of uri aliases cached")
+    Integer getUriAliasSize();
+
+    @ManagedAttribute(description = "Number of endpoint lookups resolved from the uri alias cache")
+    Long getUriAliasHits();
+
+    @ManagedAttribute(description = "Number of endpoint lookups not resolved from the uri alias cache")
+    Long getUriAliasMisses();
+
     @ManagedOperation(description = "Purges the cache")
     void purge();
 
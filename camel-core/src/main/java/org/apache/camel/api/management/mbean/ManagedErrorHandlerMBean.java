@@ -158,4 +158,22 @@ public interface ManagedErrorHandlerMBean {
     @ManagedAttribute(description = "RedeliveryPolicy for allow redelivery while stopping")
     void setAllowRedeliveryWhileStopping(Boolean allow);
 
+    @ManagedAttribute(description = "Maximum number of pending redeliveries (0 = unbounded)")
+    Integer getMaximumPendingRedeliveries();
+
+    @ManagedAttribute(description = "Maximum number of pending redeliveries (0 = unbounded)")
+    void setMaximumPendingRedeliveries(Integer maximum);
+
+    @ManagedAttribute(description = "What to do when the maximum number of pending redeliveries has been reached")
+    String getPendingRedeliveriesOverflowAction();
+
+    @ManagedAttribute(description = "Number of redeliveries which are pending to be redelivered asynchronously")
+    Integer getPendingRedeliveries();
+
+    @ManagedAttribute(description = "Number of exchanges which overflowed the maximum number of pending redeliveries")
+    Integer getPendingRedeliveriesOverflowCounter();
+
+    @ManagedAttribute(description = "Tick duration in millis of the timing wheel used for scheduling redeliveries (0 = not in use)")
+    Long getTimingWheelTickDuration();
+
 }
\ No newline at end of file
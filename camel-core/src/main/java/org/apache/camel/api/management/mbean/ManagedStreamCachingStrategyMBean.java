@@ -67,6 +67,27 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Whether any or all spool rules determines whether to spool")
     boolean isAnySpoolRules();
 
+    @ManagedAttribute(description = "Total number of bytes of off-heap memory the pooled arena may allocate (0 if not in use)")
+    long getOffHeapMemoryBudget();
+
+    @ManagedAttribute(description = "Size in bytes of the chunks in the off-heap arena")
+    int getOffHeapChunkSize();
+
+    @ManagedAttribute(description = "Size in bytes of the memory-mapped segment file the off-heap arena spools to")
+    long getOffHeapSpoolSegmentSize();
+
+    @ManagedAttribute(description = "Number of bytes of off-heap memory allocated by the arena")
+    long getOffHeapMemoryAllocated();
+
+    @ManagedAttribute(description = "Number of bytes of off-heap memory in use by stream caches")
+    long getOffHeapMemoryUsed();
+
+    @ManagedAttribute(description = "Number of bytes of the segment file in use by stream caches")
+    long getOffHeapSpoolUsed();
+
+    @ManagedAttribute(description = "Number of stream caches which could not be kept in the off-heap arena and was spooled to temporary files")
+    long getOffHeapFallbackCounter();
+
     @ManagedAttribute(description = "Number of in-memory StreamCache created")
     long getCacheMemoryCounter();
 
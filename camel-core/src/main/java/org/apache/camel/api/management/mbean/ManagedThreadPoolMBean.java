@@ -39,6 +39,9 @@ public interface ManagedThreadPoolMBean {
     @ManagedAttribute(description = "ID of the thread pool profile which this pool is based upon")
     String getThreadPoolProfileId();
 
+    @ManagedAttribute(description = "Type of thread pool (ThreadPool, WorkStealing or Virtual)")
+    String getPoolType();
+
     @ManagedAttribute(description = "Core pool size")
     int getCorePoolSize();
 
@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+public interface ManagedThrottlingInflightBytesRoutePolicyMBean extends ManagedServiceMBean {
+
+    @ManagedAttribute(description = "Maximum inflight bytes per route")
+    long getMaxRouteInflightBytes();
+
+    @ManagedAttribute(description = "Maximum inflight bytes per route")
+    void setMaxRouteInflightBytes(long maxRouteInflightBytes);
+
+    @ManagedAttribute(description = "Maximum inflight bytes in total")
+    long getMaxTotalInflightBytes();
+
+    @ManagedAttribute(description = "Maximum inflight bytes in total")
+    void setMaxTotalInflightBytes(long maxTotalInflightBytes);
+
+    @ManagedAttribute(description = "Resume percentage of maximum inflight bytes")
+    int getResumePercentOfMax();
+
+    @ManagedAttribute(description = "Resume percentage of maximum inflight bytes")
+    void setResumePercentOfMax(int resumePercentOfMax);
+
+    @ManagedAttribute(description = "Action")
+    String getAction();
+
+    @ManagedAttribute(description = "Action")
+    void setAction(String action);
+
+    @ManagedAttribute(description = "Current estimated number of inflight bytes in total")
+    long getInflightBytes();
+
+    @ManagedAttribute(description = "Number of rejected exchanges")
+    long getRejectedCounter();
+
+    @ManagedAttribute(description = "Logging Level")
+    String getLoggingLevel();
+
+    @ManagedAttribute(description = "Logging Level")
+    void setLoggingLevel(String loggingLevel);
+
+    @ManagedOperation(description = "Current estimated number of inflight bytes for the given route")
+    long inflightBytes(String routeId);
+
+}
@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+public interface ManagedTimingWheelSchedulerMBean extends ManagedServiceMBean {
+
+    @ManagedAttribute(description = "Duration of a tick in millis")
+    long getTickDuration();
+
+    @ManagedAttribute(description = "Number of buckets in the timing wheel")
+    int getWheelSize();
+
+    @ManagedAttribute(description = "Number of worker threads which fires the timers")
+    int getPoolSize();
+
+    @ManagedAttribute(description = "Number of scheduled timers")
+    int getTimerCount();
+
+    @ManagedAttribute(description = "Total number of firings of the scheduled timers")
+    long getFireCount();
+
+    @ManagedAttribute(description = "Total number of skipped firings of the scheduled timers")
+    long getSkipCount();
+
+    @ManagedAttribute(description = "Highest lag in millis of the scheduled timers")
+    long getMaxLag();
+
+    @ManagedOperation(description = "Resets the lag and counters of the scheduled timers")
+    void resetStatistics();
+
+}
@@ -56,6 +56,7 @@ public class DeadLetterChannelBuilder extends DefaultErrorHandlerBuilder {
         DeadLetterChannel answer = new DeadLetterChannel(routeContext.getCamelContext(), processor, getLogger(), getOnRedelivery(), 
                 getRedeliveryPolicy(), getExceptionPolicyStrategy(), getFailureProcessor(), getDeadLetterUri(), isDeadLetterHandleNewException(),
                 isUseOriginalMessage(), getRetryWhilePolicy(routeContext.getCamelContext()), getExecutorService(routeContext.getCamelContext()), getOnPrepareFailure());
+        configurePendingRedeliveries(answer);
         // configure error handler before we can use it
         configure(routeContext, answer);
         return answer;
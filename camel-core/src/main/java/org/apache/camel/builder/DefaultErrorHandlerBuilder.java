@@ -25,6 +25,7 @@ import org.apache.camel.LoggingLevel;
 import org.apache.camel.Predicate;
 import org.apache.camel.Processor;
 import org.apache.camel.processor.DefaultErrorHandler;
+import org.apache.camel.processor.RedeliveryErrorHandler;
 import org.apache.camel.processor.RedeliveryPolicy;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.Language;
@@ -55,6 +56,9 @@ public class DefaultErrorHandlerBuilder extends ErrorHandlerBuilderSupport {
     protected String executorServiceRef;
     protected ScheduledExecutorService executorService;
     protected Processor onPrepareFailure;
+    protected int maximumPendingRedeliveries;
+    protected RedeliveryErrorHandler.OverflowAction pendingRedeliveriesOverflowAction = RedeliveryErrorHandler.OverflowAction.DeadLetter;
+    protected long timingWheelTickDuration;
 
     public DefaultErrorHandlerBuilder() {
     }
@@ -63,6 +67,7 @@ public class DefaultErrorHandlerBuilder extends ErrorHandlerBuilderSupport {
         DefaultErrorHandler answer = new DefaultErrorHandler(routeContext.getCamelContext(), processor, getLogger(), getOnRedelivery(), 
             getRedeliveryPolicy(), getExceptionPolicyStrategy(), getRetryWhilePolicy(routeContext.getCamelContext()),
                 getExecutorService(routeContext.getCamelContext()), getOnPrepareFailure());
+        configurePendingRedeliveries(answer);
         // configure error handler before we can use it
         configure(routeContext, answer);
         return answer;
@@ -110,6 +115,9 @@ public class DefaultErrorHandlerBuilder extends ErrorHandlerBuilderSupport {
         other.setUseOriginalMessage(useOriginalMessage);
         other.setAsyncDelayedRedelivery(asyncDelayedRedelivery);
         other.setExecutorServiceRef(executorServiceRef);
+        other.setMaximumPendingRedeliveries(maximumPendingRedeliveries);
+        other.setPendingRedeliveriesOverflowAction(pendingRedeliveriesOverflowAction);
+        other.setTimingWheelTickDuration(timingWheelTickDuration);
     }
 
     // Builder methods
@@ -246,6 +254,47 @@ public class DefaultErrorHandlerBuilder extends ErrorHandlerBuilderSupport {
         return this;
     }
 
+    /**
+     * Sets the maximum number of redeliveries which can be pending to be redelivered asynchronously.
+     * <p/>
+     * By default there is no maximum.
+     *
+     * @param maximumPendingRedeliveries the maximum number of pending redeliveries, 0 for unbounded
+     * @return the builder
+     * @see #pendingRedeliveriesOverflowAction(org.apache.camel.processor.RedeliveryErrorHandler.OverflowAction)
+     */
+    public DefaultErrorHandlerBuilder maximumPendingRedeliveries(int maximumPendingRedeliveries) {
+        setMaximumPendingRedeliveries(maximumPendingRedeliveries);
+        return this;
+    }
+
+    /**
+     * Sets what to do with an exchange which cannot be redelivered because the maximum number of
+     * pending redeliveries has been reached.
+     * <p/>
+     * By default the exchange is regarded as exhausted and moved to the dead letter channel.
+     *
+     * @param action the overflow action
+     * @return the builder
+     */
+    public DefaultErrorHandlerBuilder pendingRedeliveriesOverflowAction(RedeliveryErrorHandler.OverflowAction action) {
+        setPendingRedeliveriesOverflowAction(action);
+        return this;
+    }
+
+    /**
+     * Schedules the asynchronous redeliveries using a timing wheel with the given tick duration, which
+     * scales better than the thread pool when there are many pending redeliveries.
+     * The redelivery delays are rounded up to the tick duration.
+     *
+     * @param tickDuration the tick duration in millis
+     * @return the builder
+     */
+    public DefaultErrorHandlerBuilder timingWheelTickDuration(long tickDuration) {
+        setTimingWheelTickDuration(tickDuration);
+        return this;
+    }
+
     /**
      * Sets the logger used for caught exceptions
      *
@@ -520,6 +569,36 @@ public class DefaultErrorHandlerBuilder extends ErrorHandlerBuilderSupport {
         this.onPrepareFailure = onPrepareFailure;
     }
 
+    public int getMaximumPendingRedeliveries() {
+        return maximumPendingRedeliveries;
+    }
+
+    public void setMaximumPendingRedeliveries(int maximumPendingRedeliveries) {
+        this.maximumPendingRedeliveries = maximumPendingRedeliveries;
+    }
+
+    public RedeliveryErrorHandler.OverflowAction getPendingRedeliveriesOverflowAction() {
+        return pendingRedeliveriesOverflowAction;
+    }
+
+    public void setPendingRedeliveriesOverflowAction(RedeliveryErrorHandler.OverflowAction pendingRedeliveriesOverflowAction) {
+        this.pendingRedeliveriesOverflowAction = pendingRedeliveriesOverflowAction;
+    }
+
+    public long getTimingWheelTickDuration() {
+        return timingWheelTickDuration;
+    }
+
+    public void setTimingWheelTickDuration(long timingWheelTickDuration) {
+        this.timingWheelTickDuration = timingWheelTickDuration;
+    }
+
+    protected void configurePendingRedeliveries(RedeliveryErrorHandler answer) {
+        answer.setMaximumPendingRedeliveries(maximumPendingRedeliveries);
+        answer.setPendingRedeliveriesOverflowAction(pendingRedeliveriesOverflowAction);
+        answer.setTimingWheelTickDuration(timingWheelTickDuration);
+    }
+
     protected RedeliveryPolicy createRedeliveryPolicy() {
         RedeliveryPolicy policy = new RedeliveryPolicy();
         policy.disableRedelivery();
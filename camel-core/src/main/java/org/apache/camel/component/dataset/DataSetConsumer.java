@@ -17,6 +17,7 @@
 package org.apache.camel.component.dataset;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
@@ -83,14 +84,35 @@ public class DataSetConsumer extends DefaultConsumer {
     }
 
     protected void sendMessages(long startIndex, long endIndex) {
+        long rate = endpoint.getProduceRate();
+        long start = System.nanoTime();
+        long maxLag = 0;
         try {
             for (long i = startIndex; i < endIndex; i++) {
+                if (rate > 0) {
+                    // pace the messages according to the schedule of the load profile
+                    long delay = start + scheduledOffset(i - startIndex, rate) - System.nanoTime();
+                    if (delay > 0) {
+                        try {
+                            TimeUnit.NANOSECONDS.sleep(delay);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            break;
+                        }
+                    } else {
+                        maxLag = Math.max(maxLag, -delay);
+                    }
+                }
+
                 Exchange exchange = endpoint.createExchange(i);
+                if (endpoint.isLoadTest()) {
+                    exchange.getIn().setHeader(Exchange.DATASET_TIMESTAMP, System.nanoTime());
+                }
                 getProcessor().process(exchange);
 
                 try {
                     long delay = endpoint.getProduceDelay();
-                    if (delay > 0) {
+                    if (rate <= 0 && delay > 0) {
                         Thread.sleep(delay);
                     }
                 } catch (InterruptedException e) {
@@ -104,6 +126,36 @@ public class DataSetConsumer extends DefaultConsumer {
         } catch (Exception e) {
             handleException(e);
         }
+
+        if (endpoint.isLoadTest() && endIndex > startIndex) {
+            log.info("Sent {} messages in {} millis with max lag behind schedule {} millis", new Object[]{endIndex - startIndex,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), TimeUnit.NANOSECONDS.toMillis(maxLag)});
+        }
+    }
+
+    /**
+     * Calculates when the message should be sent according to the load profile of the endpoint.
+     *
+     * @param count the number of messages sent before this message
+     * @param rate  the rate in messages per second
+     * @return the offset in nanos from when the first message was sent
+     */
+    protected long scheduledOffset(long count, long rate) {
+        double nanosPerMessage = TimeUnit.SECONDS.toNanos(1) / (double) rate;
+        DataSetLoadProfile profile = endpoint.getLoadProfile();
+        if (profile == DataSetLoadProfile.Ramp && endpoint.getRampUpPeriod() > 0) {
+            // the rate increases linearly during the ramp up, so the number of messages sent grows quadratic
+            double ramp = TimeUnit.MILLISECONDS.toNanos(endpoint.getRampUpPeriod());
+            double rampCount = ramp / nanosPerMessage / 2;
+            if (count < rampCount) {
+                return (long) Math.sqrt(2 * ramp * count * nanosPerMessage);
+            }
+            return (long) (ramp + (count - rampCount) * nanosPerMessage);
+        } else if (profile == DataSetLoadProfile.Burst && endpoint.getBurstSize() > 1) {
+            long burstSize = endpoint.getBurstSize();
+            return (long) ((count / burstSize) * burstSize * nanosPerMessage);
+        }
+        return (long) (count * nanosPerMessage);
     }
 
     protected ThroughputLogger createReporter() {
@@ -16,7 +16,9 @@
  */
 package org.apache.camel.component.dataset;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.Component;
 import org.apache.camel.Consumer;
@@ -46,6 +48,12 @@ import org.slf4j.LoggerFactory;
 public class DataSetEndpoint extends MockEndpoint implements Service {
     private final transient Logger log;
     private final AtomicInteger receivedCounter = new AtomicInteger();
+    private final AtomicLong outOfOrderCounter = new AtomicLong();
+    private final AtomicLong failureCounter = new AtomicLong();
+    private final DataSetLatencyHistogram latencyHistogram = new DataSetLatencyHistogram();
+    private volatile long watermark = -1;
+    private volatile long firstReceivedTime;
+    private volatile long lastReceivedTime;
     @UriPath(name = "name", description = "Name of DataSet to lookup in the registry") @Metadata(required = "true")
     private volatile DataSet dataSet;
     @UriParam(defaultValue = "0")
@@ -58,6 +66,18 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
     private long preloadSize;
     @UriParam(defaultValue = "1000")
     private long initialDelay = 1000;
+    @UriParam(defaultValue = "false")
+    private boolean loadTest;
+    @UriParam(defaultValue = "true")
+    private boolean assertOrder = true;
+    @UriParam(defaultValue = "0")
+    private long produceRate;
+    @UriParam(defaultValue = "Constant")
+    private DataSetLoadProfile loadProfile = DataSetLoadProfile.Constant;
+    @UriParam(defaultValue = "0")
+    private long rampUpPeriod;
+    @UriParam(defaultValue = "1")
+    private int burstSize = 1;
 
     @Deprecated
     public DataSetEndpoint() {
@@ -91,6 +111,12 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
     public void reset() {
         super.reset();
         receivedCounter.set(0);
+        outOfOrderCounter.set(0);
+        failureCounter.set(0);
+        latencyHistogram.reset();
+        watermark = -1;
+        firstReceivedTime = 0;
+        lastReceivedTime = 0;
     }
 
     @Override
@@ -125,6 +151,42 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
         }
     }
 
+    /**
+     * Gets a summary of the load test, such as the number of received messages, the throughput,
+     * the number of messages received out of order, and the latency histogram.
+     */
+    public String getLoadTestSummary() {
+        long count = getReceivedCounter();
+        long millis = count > 0 ? TimeUnit.NANOSECONDS.toMillis(lastReceivedTime - firstReceivedTime) : 0;
+        double rate = millis > 0 ? count * 1000d / millis : count;
+        return "Load test on " + URISupport.sanitizeUri(getEndpointUri()) + " received " + count + " of " + getDataSet().getSize()
+                + " messages in " + millis + " millis (" + String.format("%.2f", rate) + " messages/sec)"
+                + ", out of order: " + outOfOrderCounter.get() + ", failures: " + failureCounter.get()
+                + ", latency in micros: [" + latencyHistogram + "]";
+    }
+
+    /**
+     * Number of messages received out of order (when using load test)
+     */
+    public long getOutOfOrderCounter() {
+        return outOfOrderCounter.get();
+    }
+
+    /**
+     * Number of messages which failed the assertions (when using load test)
+     */
+    public long getFailureCounter() {
+        return failureCounter.get();
+    }
+
+    /**
+     * The latency histogram in micro seconds from the message was sent by the {@link DataSetConsumer}
+     * until it was received (when using load test)
+     */
+    public DataSetLatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
     // Properties
     //-------------------------------------------------------------------------
 
@@ -191,11 +253,89 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
         this.initialDelay = initialDelay;
     }
 
+    public boolean isLoadTest() {
+        return loadTest;
+    }
+
+    /**
+     * Whether to run in load test mode, which uses a constant amount of memory regardless of the size of the DataSet.
+     * <p/>
+     * The received messages are counted, the ordering is verified using the highest received DataSet index as watermark,
+     * and the latency is recorded in a histogram using the timestamp the consumer stored in the message when sending it.
+     * Only the first failure is kept, and the remaining failures are only counted.
+     * A summary is logged when all the messages has been received, and is also available from {@link #getLoadTestSummary()}.
+     */
+    public void setLoadTest(boolean loadTest) {
+        this.loadTest = loadTest;
+    }
+
+    public boolean isAssertOrder() {
+        return assertOrder;
+    }
+
+    /**
+     * Whether messages received out of order should fail the assertions when using load test.
+     * Set this to <tt>false</tt> when the route uses concurrent consumers, so the messages are only counted.
+     */
+    public void setAssertOrder(boolean assertOrder) {
+        this.assertOrder = assertOrder;
+    }
+
+    public long getProduceRate() {
+        return produceRate;
+    }
+
+    /**
+     * The rate in messages per second the consumer should send the messages.
+     * When in use the produceDelay option is not used, and the messages are paced according to the load profile.
+     */
+    public void setProduceRate(long produceRate) {
+        this.produceRate = produceRate;
+    }
+
+    public DataSetLoadProfile getLoadProfile() {
+        return loadProfile;
+    }
+
+    /**
+     * The arrival-rate profile to use when sending messages at the produceRate
+     */
+    public void setLoadProfile(DataSetLoadProfile loadProfile) {
+        this.loadProfile = loadProfile;
+    }
+
+    public long getRampUpPeriod() {
+        return rampUpPeriod;
+    }
+
+    /**
+     * Time period in millis to ramp up to the produceRate when using the Ramp load profile
+     */
+    public void setRampUpPeriod(long rampUpPeriod) {
+        this.rampUpPeriod = rampUpPeriod;
+    }
+
+    public int getBurstSize() {
+        return burstSize;
+    }
+
+    /**
+     * Number of messages to send back to back in each burst when using the Burst load profile
+     */
+    public void setBurstSize(int burstSize) {
+        this.burstSize = burstSize;
+    }
+
     // Implementation methods
     //-------------------------------------------------------------------------
 
     @Override
     protected void performAssertions(Exchange actual, Exchange copy) throws Exception {
+        if (loadTest) {
+            performLoadTestAssertions(copy);
+            return;
+        }
+
         int receivedCount = receivedCounter.incrementAndGet();
         long index = receivedCount - 1;
         Exchange expected = createExchange(index);
@@ -213,6 +353,46 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
         }
     }
 
+    protected void performLoadTestAssertions(Exchange actual) throws Exception {
+        long now = System.nanoTime();
+        int receivedCount = receivedCounter.incrementAndGet();
+        if (receivedCount == 1) {
+            firstReceivedTime = now;
+        }
+        lastReceivedTime = now;
+
+        Long timestamp = actual.getIn().getHeader(Exchange.DATASET_TIMESTAMP, Long.class);
+        if (timestamp != null) {
+            latencyHistogram.record(TimeUnit.NANOSECONDS.toMicros(now - timestamp));
+        }
+
+        try {
+            long index = ExchangeHelper.getMandatoryHeader(actual, Exchange.DATASET_INDEX, Long.class);
+            if (index <= watermark) {
+                outOfOrderCounter.incrementAndGet();
+                if (assertOrder) {
+                    throw new AssertionError("Message with " + Exchange.DATASET_INDEX + " " + index
+                            + " received out of order after " + watermark + " on " + actual);
+                }
+            } else {
+                watermark = index;
+            }
+            getDataSet().assertMessageExpected(this, createExchange(index), actual, index);
+        } catch (Throwable e) {
+            // only keep the first failure so the memory usage is constant
+            if (failureCounter.incrementAndGet() == 1) {
+                throw e;
+            }
+        } finally {
+            if (receivedCount == getDataSet().getSize()) {
+                log.info(getLoadTestSummary());
+            }
+            if (consumeDelay > 0) {
+                Thread.sleep(consumeDelay);
+            }
+        }
+    }
+
     protected void assertMessageExpected(long index, Exchange expected, Exchange actual) throws Exception {
         long actualCounter = ExchangeHelper.getMandatoryHeader(actual, Exchange.DATASET_INDEX, Long.class);
         assertEquals("Header: " + Exchange.DATASET_INDEX, index, actualCounter, actual);
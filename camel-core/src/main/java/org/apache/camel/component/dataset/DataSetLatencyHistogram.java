@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.dataset;
+
+/**
+ * A latency histogram which uses a fixed number of buckets, so the memory used is constant regardless
+ * of how many values has been recorded.
+ * <p/>
+ * Values up to 16 are stored exactly, and larger values are stored in log-linear buckets (8 buckets per power of two),
+ * so the percentiles are accurate within 12.5%.
+ */
+public class DataSetLatencyHistogram {
+
+    private static final int SUB_BUCKETS = 8;
+    private static final int EXACT = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = (62 - 2) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final long[] buckets = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * Records the value, negative values are recorded as zero.
+     */
+    public synchronized void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets[bucketIndex(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getMin() {
+        return count > 0 ? min : 0;
+    }
+
+    public synchronized long getMax() {
+        return count > 0 ? max : 0;
+    }
+
+    public synchronized double getMean() {
+        return count > 0 ? (double) sum / count : 0;
+    }
+
+    /**
+     * Gets the value at the given percentile
+     *
+     * @param percentile the percentile such as <tt>99.9</tt>
+     * @return the (upper bound of the bucket holding the) value, capped by the max recorded value
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * Math.min(100d, Math.max(0d, percentile)) / 100d);
+        rank = Math.max(1, rank);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(max, bucketUpperBound(i));
+            }
+        }
+        return max;
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = 0;
+        }
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "count=" + count + ", min=" + getMin() + ", mean=" + String.format("%.1f", getMean())
+                + ", p50=" + getPercentile(50) + ", p90=" + getPercentile(90) + ", p99=" + getPercentile(99)
+                + ", p99.9=" + getPercentile(99.9) + ", max=" + getMax();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        return (msb - 2) * SUB_BUCKETS + (int) ((value >> (msb - 3)) & (SUB_BUCKETS - 1));
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < EXACT) {
+            return index;
+        }
+        int msb = index / SUB_BUCKETS + 2;
+        int sub = index % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << (msb - 3);
+        return lower + (1L << (msb - 3)) - 1;
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.dataset;
+
+/**
+ * The arrival-rate profile used by the {@link DataSetConsumer} when a <tt>produceRate</tt> has been configured.
+ * <ul>
+ *     <li>Constant - the messages are sent evenly spaced at the configured rate</li>
+ *     <li>Ramp - the rate increases linearly from zero to the configured rate during the ramp up period,
+ *     and then stays constant</li>
+ *     <li>Burst - the messages are sent in bursts of burst size messages back to back, with a pause in between
+ *     so the average rate is the configured rate</li>
+ * </ul>
+ */
+public enum DataSetLoadProfile {
+
+    Constant, Ramp, Burst
+
+}
@@ -0,0 +1,407 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache of open file handles used by the file producer when appending to files
+ * (<tt>fileExist=Append</tt>), so a hot append target is not opened and closed for every message.
+ * <p/>
+ * The least recently used handle is closed when the cache is full, and a background task closes
+ * handles which have been idle longer than <tt>appendHandleIdleTimeout</tt>. When <tt>forceWrites</tt>
+ * is enabled the writes can be forced to disk in groups, by <tt>forceWritesBatchSize</tt> messages
+ * and/or every <tt>forceWritesInterval</tt> millis, instead of once per message.
+ * <p/>
+ * If <tt>appendMappedWindowSize</tt> is configured the data is written into memory mapped windows of the file,
+ * which is efficient for fixed-size records. The mapped window pre-extends the file, which is truncated to
+ * the written size when the handle is closed.
+ */
+public class FileAppendHandleCache extends ServiceSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileAppendHandleCache.class);
+
+    private final FileEndpoint endpoint;
+    private final Map<String, AppendHandle> handles = new LinkedHashMap<String, AppendHandle>(16, 0.75f, true);
+    private ScheduledExecutorService executorService;
+
+    public FileAppendHandleCache(FileEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Appends the content of the given file channel to the target file.
+     */
+    public void append(File target, FileChannel in) throws IOException {
+        AppendHandle handle = acquire(target);
+        try {
+            handle.transferFrom(in, endpoint.getBufferSize());
+            handle.done();
+        } finally {
+            handle.lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the content of the given stream to the target file.
+     */
+    public void append(File target, InputStream in) throws IOException {
+        AppendHandle handle = acquire(target);
+        try {
+            int size = endpoint.getBufferSize();
+            byte[] buffer = new byte[size];
+            int bytesRead;
+            while ((bytesRead = in.read(buffer)) != -1) {
+                handle.write(ByteBuffer.wrap(buffer, 0, bytesRead));
+            }
+            handle.done();
+        } finally {
+            handle.lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the content of the given reader to the target file, encoded with the given charset.
+     */
+    public void append(File target, Reader in, String charset) throws IOException {
+        AppendHandle handle = acquire(target);
+        try {
+            // the writer must not be closed as that would close the cached handle
+            Writer out = new OutputStreamWriter(new AppendHandleOutputStream(handle), charset);
+            IOHelper.copy(in, out, endpoint.getBufferSize());
+            out.flush();
+            handle.done();
+        } finally {
+            handle.lock.unlock();
+        }
+    }
+
+    /**
+     * Number of currently open handles
+     */
+    public int size() {
+        synchronized (handles) {
+            return handles.size();
+        }
+    }
+
+    /**
+     * Acquires the handle for the given file, which is returned locked.
+     */
+    private AppendHandle acquire(File file) throws IOException {
+        String key = file.getAbsolutePath();
+        while (true) {
+            AppendHandle answer;
+            List<AppendHandle> evicted = null;
+            synchronized (handles) {
+                answer = handles.get(key);
+                if (answer == null) {
+                    answer = new AppendHandle(file);
+                    handles.put(key, answer);
+                    // evict the least recently used handles if the cache is full
+                    Iterator<AppendHandle> it = handles.values().iterator();
+                    while (handles.size() > endpoint.getAppendHandleCacheSize() && it.hasNext()) {
+                        AppendHandle eldest = it.next();
+                        if (eldest != answer) {
+                            it.remove();
+                            if (evicted == null) {
+                                evicted = new ArrayList<AppendHandle>();
+                            }
+                            evicted.add(eldest);
+                        }
+                    }
+                }
+            }
+            if (evicted != null) {
+                close(evicted);
+            }
+
+            answer.lock.lock();
+            if (!answer.closed) {
+                try {
+                    answer.open();
+                    return answer;
+                } catch (IOException e) {
+                    answer.lock.unlock();
+                    throw e;
+                }
+            }
+            // the handle was evicted and closed in the meantime so try again
+            answer.lock.unlock();
+        }
+    }
+
+    private void close(List<AppendHandle> list) {
+        for (AppendHandle handle : list) {
+            handle.lock.lock();
+            try {
+                handle.close();
+            } finally {
+                handle.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Closes idle handles, and forces pending writes to disk if <tt>forceWritesInterval</tt> is in use.
+     */
+    protected void checkHandles() {
+        long now = System.currentTimeMillis();
+        long idleTimeout = endpoint.getAppendHandleIdleTimeout();
+        long interval = endpoint.getForceWritesInterval();
+
+        List<AppendHandle> idle = new ArrayList<AppendHandle>();
+        List<AppendHandle> active = new ArrayList<AppendHandle>();
+        synchronized (handles) {
+            Iterator<AppendHandle> it = handles.values().iterator();
+            while (it.hasNext()) {
+                AppendHandle handle = it.next();
+                if (idleTimeout > 0 && now - handle.lastUsed >= idleTimeout) {
+                    it.remove();
+                    idle.add(handle);
+                } else {
+                    active.add(handle);
+                }
+            }
+        }
+
+        if (!idle.isEmpty()) {
+            LOG.debug("Closing {} idle append file handles", idle.size());
+            close(idle);
+        }
+
+        if (interval > 0 && endpoint.isForceWrites()) {
+            for (AppendHandle handle : active) {
+                // do not wait for handles in use, as they will be forced on their next write if needed
+                if (handle.lock.tryLock()) {
+                    try {
+                        if (!handle.closed && handle.pending > 0 && now - handle.lastSync >= interval) {
+                            handle.sync();
+                        }
+                    } catch (IOException e) {
+                        LOG.warn("Error forcing writes to file: " + handle.file + ". This exception will be ignored.", e);
+                    } finally {
+                        handle.lock.unlock();
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        long idleTimeout = endpoint.getAppendHandleIdleTimeout();
+        long interval = endpoint.isForceWrites() ? endpoint.getForceWritesInterval() : 0;
+        long period;
+        if (idleTimeout > 0 && interval > 0) {
+            period = Math.min(idleTimeout, interval);
+        } else {
+            period = Math.max(idleTimeout, interval);
+        }
+        if (period > 0 && executorService == null) {
+            executorService = endpoint.getCamelContext().getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "FileAppendHandleCache");
+            executorService.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    try {
+                        checkHandles();
+                    } catch (Throwable e) {
+                        LOG.warn("Error checking append file handles. This exception will be ignored.", e);
+                    }
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdown(executorService);
+            executorService = null;
+        }
+        List<AppendHandle> list;
+        synchronized (handles) {
+            list = new ArrayList<AppendHandle>(handles.values());
+            handles.clear();
+        }
+        close(list);
+    }
+
+    /**
+     * An open file to append to, which must only be used while holding its lock.
+     */
+    private final class AppendHandle {
+        private final Lock lock = new ReentrantLock();
+        private final File file;
+        private FileChannel channel;
+        private MappedByteBuffer window;
+        private long position;
+        private int pending;
+        private long lastSync;
+        private volatile long lastUsed = System.currentTimeMillis();
+        private volatile boolean closed;
+
+        private AppendHandle(File file) {
+            this.file = file;
+        }
+
+        void open() throws IOException {
+            if (channel == null) {
+                LOG.debug("Opening append file handle: {}", file);
+                channel = new RandomAccessFile(file, "rw").getChannel();
+                position = channel.size();
+                channel.position(position);
+                lastSync = System.currentTimeMillis();
+            }
+        }
+
+        void write(ByteBuffer src) throws IOException {
+            int windowSize = endpoint.getAppendMappedWindowSize();
+            if (windowSize > 0) {
+                int len = src.remaining();
+                if (window == null || window.remaining() < len) {
+                    if (window != null) {
+                        window.force();
+                        // release the mapping of the previous window right away
+                        IOHelper.unmap(window);
+                    }
+                    // map a new window starting at the current end of data (which pre-extends the file)
+                    window = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.max(windowSize, len));
+                }
+                window.put(src);
+                position += len;
+            } else {
+                while (src.hasRemaining()) {
+                    position += channel.write(src);
+                }
+            }
+        }
+
+        void transferFrom(FileChannel in, int bufferSize) throws IOException {
+            if (endpoint.getAppendMappedWindowSize() > 0) {
+                ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    write(buffer);
+                    buffer.clear();
+                }
+            } else {
+                long size = in.size();
+                long read = 0;
+                while (read < size) {
+                    read += in.transferTo(read, bufferSize, channel);
+                }
+                position = channel.position();
+            }
+        }
+
+        void done() throws IOException {
+            pending++;
+            lastUsed = System.currentTimeMillis();
+            if (!endpoint.isForceWrites()) {
+                return;
+            }
+            int batchSize = endpoint.getForceWritesBatchSize();
+            long interval = endpoint.getForceWritesInterval();
+            if (batchSize <= 0 && interval <= 0) {
+                // no group commit so force each write
+                sync();
+            } else if ((batchSize > 0 && pending >= batchSize) || (interval > 0 && lastUsed - lastSync >= interval)) {
+                sync();
+            }
+        }
+
+        void sync() throws IOException {
+            LOG.trace("Forcing {} pending writes to file: {}", pending, file);
+            if (window != null) {
+                window.force();
+            }
+            channel.force(false);
+            pending = 0;
+            lastSync = System.currentTimeMillis();
+        }
+
+        void close() {
+            closed = true;
+            if (channel == null) {
+                return;
+            }
+            LOG.debug("Closing append file handle: {}", file);
+            try {
+                if (endpoint.isForceWrites() && pending > 0) {
+                    sync();
+                }
+                if (window != null) {
+                    // the file must not be mapped when truncating it, so unmap the window first
+                    IOHelper.unmap(window);
+                    window = null;
+                    // remove the unused part of the last mapped window
+                    channel.truncate(position);
+                }
+            } catch (IOException e) {
+                LOG.warn("Error closing append file handle: " + file + ". This exception will be ignored.", e);
+            } finally {
+                IOHelper.close(channel, file.getName(), LOG);
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Writes to a handle without closing it.
+     */
+    private static final class AppendHandleOutputStream extends OutputStream {
+        private final AppendHandle handle;
+
+        private AppendHandleOutputStream(AppendHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            handle.write(ByteBuffer.wrap(new byte[]{(byte) b}));
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            handle.write(ByteBuffer.wrap(b, off, len));
+        }
+    }
+}
@@ -17,12 +17,29 @@
 package org.apache.camel.component.file;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
 
 /**
  * File consumer.
@@ -30,6 +47,14 @@ import org.apache.camel.util.ObjectHelper;
 public class FileConsumer extends GenericFileConsumer<File> {
 
     private String endpointPath;
+    private FileScanIndex scanIndex;
+    private Set<String> scannedFiles;
+    private WatchService watchService;
+    private WatchKey watchKey;
+    // files reported by the watch service as new or changed, which has not yet been consumed
+    private final Map<String, File> changedFiles = new ConcurrentHashMap<String, File>();
+    // whether the directory must be fully scanned as the watch service does not know about all the files
+    private volatile boolean fullScanNeeded;
 
     public FileConsumer(GenericFileEndpoint<File> endpoint, Processor processor, GenericFileOperations<File> operations) {
         super(endpoint, processor, operations);
@@ -38,6 +63,32 @@ public class FileConsumer extends GenericFileConsumer<File> {
 
     @Override
     protected boolean pollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
+        if (depth == 0 && scanIndex != null) {
+            if (watchService != null && !fullScanNeeded && pollChangedFiles(fileName, fileList)) {
+                return canPollMoreFiles(fileList);
+            }
+            // full scan where we keep track of the scanned files so the index can be pruned afterwards
+            scannedFiles = new HashSet<String>();
+            boolean answer = doPollDirectory(fileName, fileList, depth);
+            if (answer) {
+                scanIndex.retainAll(scannedFiles);
+            }
+            scannedFiles = null;
+            if (watchService != null) {
+                // the watch service only reports files which change from now on, so keep track of the files found
+                // by the scan until they have been consumed, in case they fail or are not processed in this poll
+                for (GenericFile<File> file : fileList) {
+                    changedFiles.put(file.getAbsoluteFilePath(), file.getFile());
+                }
+                // if the scan was limited there may be more files in the directory which only a new scan will find
+                fullScanNeeded = maxMessagesPerPoll > 0 && fileList.size() >= maxMessagesPerPoll;
+            }
+            return answer;
+        }
+        return doPollDirectory(fileName, fileList, depth);
+    }
+
+    protected boolean doPollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
         log.trace("pollDirectory from fileName: {}", fileName);
 
         depth++;
@@ -79,6 +130,11 @@ public class FileConsumer extends GenericFileConsumer<File> {
                         new Object[]{file, file.isAbsolute(), file.isDirectory(), file.isFile(), file.isHidden()});
             }
 
+            // skip files which has not changed since they were consumed, before doing any other work
+            if (scanIndex != null && !file.isDirectory() && isUnchanged(file)) {
+                continue;
+            }
+
             // creates a generic file
             GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset());
 
@@ -86,7 +142,7 @@ public class FileConsumer extends GenericFileConsumer<File> {
                 if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files)) {
                     // recursive scan and add the sub files and folders
                     String subDirectory = fileName + File.separator + file.getName();
-                    boolean canPollMore = pollDirectory(subDirectory, fileList, depth);
+                    boolean canPollMore = doPollDirectory(subDirectory, fileList, depth);
                     if (!canPollMore) {
                         return false;
                     }
@@ -105,8 +161,129 @@ public class FileConsumer extends GenericFileConsumer<File> {
         return true;
     }
 
+    /**
+     * Polls the files reported as new or changed by the watch service.
+     *
+     * @return <tt>true</tt> if the changed files was polled, <tt>false</tt> if a full scan of the directory is needed
+     */
+    private boolean pollChangedFiles(String fileName, List<GenericFile<File>> fileList) {
+        File directory = new File(fileName);
+        if (watchKey == null || !watchKey.isValid()) {
+            // (re)register the directory and do a full scan to pick up the existing files
+            changedFiles.clear();
+            watchKey = null;
+            if (directory.isDirectory()) {
+                try {
+                    watchKey = directory.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                    log.debug("Registered directory: {} with watch service", directory);
+                } catch (IOException e) {
+                    log.warn("Cannot register directory: " + directory + " with watch service. Will scan the directory instead.", e);
+                }
+            }
+            return false;
+        }
+
+        // drain the events that has happened since last poll
+        WatchKey key;
+        try {
+            key = watchService.poll();
+        } catch (ClosedWatchServiceException e) {
+            return false;
+        }
+        while (key != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    log.debug("Watch service lost events for directory: {}. Will scan the directory.", directory);
+                    key.reset();
+                    changedFiles.clear();
+                    return false;
+                }
+                File file = new File(directory, ((Path) event.context()).toString());
+                String path = file.getAbsolutePath();
+                if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                    changedFiles.remove(path);
+                    scanIndex.remove(path);
+                } else {
+                    changedFiles.put(path, file);
+                }
+            }
+            if (!key.reset()) {
+                // the directory is no longer accessible so scan and register again on next poll
+                watchKey = null;
+                changedFiles.clear();
+                return false;
+            }
+            key = watchService.poll();
+        }
+
+        if (changedFiles.isEmpty()) {
+            return true;
+        }
+
+        List<File> files = new ArrayList<File>(changedFiles.values());
+        log.trace("Polling {} changed files in directory: {}", files.size(), directory);
+        for (File file : files) {
+            if (!canPollMoreFiles(fileList)) {
+                return true;
+            }
+            if (!file.exists() || isUnchanged(file)) {
+                changedFiles.remove(file.getAbsolutePath());
+                continue;
+            }
+            if (file.isDirectory()) {
+                // not recursive, so directories are not polled
+                changedFiles.remove(file.getAbsolutePath());
+                continue;
+            }
+            GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset());
+            // the files are all in the starting directory which is depth 1
+            if (1 >= endpoint.minDepth && isValidFile(gf, false, null)) {
+                log.trace("Adding valid file: {}", file);
+                fileList.add(gf);
+            }
+        }
+        return true;
+    }
+
+    private boolean isUnchanged(File file) {
+        String path = file.getAbsolutePath();
+        if (scannedFiles != null) {
+            scannedFiles.add(path);
+        }
+        return scanIndex.isUnchanged(path, file.length(), file.lastModified());
+    }
+
+    @Override
+    protected boolean processExchange(Exchange exchange) {
+        final FileScanIndex index = scanIndex;
+        if (index != null) {
+            GenericFile<?> file = exchange.getProperty(FileComponent.FILE_EXCHANGE_FILE, GenericFile.class);
+            final String path = file.getAbsoluteFilePath();
+            final long length = file.getFileLength();
+            final long lastModified = file.getLastModified();
+            exchange.addOnCompletion(new SynchronizationAdapter() {
+                @Override
+                public void onComplete(Exchange exchange) {
+                    // only index the file when it was consumed successfully, so failed files are polled again
+                    index.put(path, length, lastModified);
+                    changedFiles.remove(path);
+                }
+            });
+        }
+        return super.processExchange(exchange);
+    }
+
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, List<File> files) {
+        if (files == null) {
+            // polling changed files so check the done file directly
+            if (new File(doneFileName).exists()) {
+                return true;
+            }
+            log.trace("Done file: {} does not exist", doneFileName);
+            return false;
+        }
         String onlyName = FileUtil.stripPath(doneFileName);
         // the done file name must be among the files
         for (File f : files) {
@@ -169,6 +346,35 @@ public class FileConsumer extends GenericFileConsumer<File> {
         return answer;
     }
 
+    @Override
+    protected void doStart() throws Exception {
+        if (getEndpoint().isIncrementalScan()) {
+            scanIndex = new FileScanIndex(getEndpoint().getScanIndexFile());
+            ServiceHelper.startService(scanIndex);
+            if (getEndpoint().isUseWatchService()) {
+                if (endpoint.isRecursive()) {
+                    log.info("Cannot use watch service when consuming recursively. Will scan the directory tree instead.");
+                } else {
+                    watchService = FileSystems.getDefault().newWatchService();
+                }
+            }
+        }
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        if (watchService != null) {
+            IOHelper.close(watchService, "watchService", log);
+            watchService = null;
+            watchKey = null;
+        }
+        changedFiles.clear();
+        ServiceHelper.stopService(scanIndex);
+        scanIndex = null;
+    }
+
     @Override
     public FileEndpoint getEndpoint() {
         return (FileEndpoint) super.getEndpoint();
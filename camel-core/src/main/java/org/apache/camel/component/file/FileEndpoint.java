@@ -29,6 +29,7 @@ import org.apache.camel.spi.UriParam;
 import org.apache.camel.spi.UriPath;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
 
 /**
  * File endpoint.
@@ -44,8 +45,25 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean copyAndDeleteOnRenameFail = true;
     @UriParam
     private boolean renameUsingCopy;
+    @UriParam(label = "consumer")
+    private boolean incrementalScan;
+    @UriParam(label = "consumer")
+    private File scanIndexFile;
+    @UriParam(label = "consumer")
+    private boolean useWatchService;
     @UriParam(label = "producer", defaultValue = "true")
     private boolean forceWrites = true;
+    @UriParam(label = "producer")
+    private int forceWritesBatchSize;
+    @UriParam(label = "producer")
+    private long forceWritesInterval;
+    @UriParam(label = "producer")
+    private int appendHandleCacheSize;
+    @UriParam(label = "producer", defaultValue = "60000")
+    private long appendHandleIdleTimeout = 60000;
+    @UriParam(label = "producer")
+    private int appendMappedWindowSize;
+    private FileAppendHandleCache appendHandleCache;
 
     public FileEndpoint() {
         // use marker file as default exclusive read locks
@@ -76,6 +94,10 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
             }
         }
 
+        if (isUseWatchService() && !isIncrementalScan()) {
+            throw new IllegalArgumentException("You must configure incrementalScan=true when useWatchService has been set");
+        }
+
         FileConsumer result = newFileConsumer(processor, operations);
 
         if (isDelete() && getMove() != null) {
@@ -117,9 +139,28 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
             throw new IllegalArgumentException("You must configure fileExist=Move when moveExisting has been set");
         }
 
+        if (getAppendMappedWindowSize() > 0 && getAppendHandleCacheSize() <= 0) {
+            throw new IllegalArgumentException("You must configure appendHandleCacheSize option when appendMappedWindowSize has been set");
+        }
+
         return new GenericFileProducer<File>(this, operations);
     }
 
+    @Override
+    protected void doStart() throws Exception {
+        if (getFileExist() == GenericFileExist.Append && getAppendHandleCacheSize() > 0 && appendHandleCache == null) {
+            appendHandleCache = new FileAppendHandleCache(this);
+        }
+        ServiceHelper.startService(appendHandleCache);
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        ServiceHelper.stopService(appendHandleCache);
+    }
+
     public Exchange createExchange(GenericFile<File> file) {
         Exchange exchange = createExchange();
         if (file != null) {
@@ -209,4 +250,110 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     public void setForceWrites(boolean forceWrites) {
         this.forceWrites = forceWrites;
     }
+
+    public boolean isIncrementalScan() {
+        return incrementalScan;
+    }
+
+    /**
+     * Whether to only consider files which are new or have changed (size or last modified timestamp) since they were consumed.
+     * This makes polling large directories cheaper, as unchanged files are skipped before any filtering, sorting etc.
+     * This is mostly useful together with noop=true, or when many files are left in the directory (for example due to filters).
+     */
+    public void setIncrementalScan(boolean incrementalScan) {
+        this.incrementalScan = incrementalScan;
+    }
+
+    public File getScanIndexFile() {
+        return scanIndexFile;
+    }
+
+    /**
+     * When using incrementalScan, an optional file to persist the index of the consumed files to, so the index
+     * survives restarts. The index is loaded when the consumer is started and written when it is stopped.
+     */
+    public void setScanIndexFile(File scanIndexFile) {
+        this.scanIndexFile = scanIndexFile;
+    }
+
+    public boolean isUseWatchService() {
+        return useWatchService;
+    }
+
+    /**
+     * When using incrementalScan, whether to use the file system watch service to be notified about new and changed files,
+     * so the directory only has to be fully listed on the first poll (or if the watch service lost events).
+     * This is only in use when not consuming recursively; otherwise it falls back to scanning the directory tree.
+     */
+    public void setUseWatchService(boolean useWatchService) {
+        this.useWatchService = useWatchService;
+    }
+
+    public int getForceWritesBatchSize() {
+        return forceWritesBatchSize;
+    }
+
+    /**
+     * When appending using cached file handles (see appendHandleCacheSize), the writes are only forced to the file system
+     * once per this number of messages (group commit), instead of for every message.
+     */
+    public void setForceWritesBatchSize(int forceWritesBatchSize) {
+        this.forceWritesBatchSize = forceWritesBatchSize;
+    }
+
+    public long getForceWritesInterval() {
+        return forceWritesInterval;
+    }
+
+    /**
+     * When appending using cached file handles (see appendHandleCacheSize), pending writes are forced to the file system
+     * at most this number of millis after they were written (group commit), instead of for every message.
+     * Can be combined with forceWritesBatchSize.
+     */
+    public void setForceWritesInterval(long forceWritesInterval) {
+        this.forceWritesInterval = forceWritesInterval;
+    }
+
+    public int getAppendHandleCacheSize() {
+        return appendHandleCacheSize;
+    }
+
+    /**
+     * When using fileExist=Append, the maximum number of target files to keep open between messages, which avoids
+     * opening and closing the file for every message when appending at a high rate (such as audit logs).
+     * The least recently used file is closed when the limit is reached. Is by default 0 which means the files are not kept open.
+     * <p/>
+     * Only use this when Camel is the only writer of the files, as the files should not be moved or deleted while kept open.
+     */
+    public void setAppendHandleCacheSize(int appendHandleCacheSize) {
+        this.appendHandleCacheSize = appendHandleCacheSize;
+    }
+
+    public long getAppendHandleIdleTimeout() {
+        return appendHandleIdleTimeout;
+    }
+
+    /**
+     * Millis after which a file kept open for appending (see appendHandleCacheSize) is closed if it has not been written to.
+     */
+    public void setAppendHandleIdleTimeout(long appendHandleIdleTimeout) {
+        this.appendHandleIdleTimeout = appendHandleIdleTimeout;
+    }
+
+    public int getAppendMappedWindowSize() {
+        return appendMappedWindowSize;
+    }
+
+    /**
+     * When appending using cached file handles (see appendHandleCacheSize), writes the data into memory mapped regions of this
+     * size in bytes instead of using write calls, which is efficient for small fixed-size records.
+     * The mapped region pre-extends the file, and the file is truncated to the written size when it is closed.
+     */
+    public void setAppendMappedWindowSize(int appendMappedWindowSize) {
+        this.appendMappedWindowSize = appendMappedWindowSize;
+    }
+
+    FileAppendHandleCache getAppendHandleCache() {
+        return appendHandleCache;
+    }
 }
@@ -237,7 +237,7 @@ public class FileOperations implements GenericFileOperations<File> {
                 // a full file to file copy, as the local work copy is to be deleted afterwards anyway
                 // local work path
                 File local = exchange.getIn().getHeader(Exchange.FILE_LOCAL_WORK_PATH, File.class);
-                if (local != null && local.exists()) {
+                if (local != null && local.exists() && endpoint.getAppendHandleCache() == null) {
                     boolean renamed = writeFileByLocalWorkPath(local, file);
                     if (renamed) {
                         // try to keep last modified timestamp if configured to do so
@@ -371,6 +371,12 @@ public class FileOperations implements GenericFileOperations<File> {
         FileChannel in = new FileInputStream(source).getChannel();
         FileChannel out = null;
         try {
+            FileAppendHandleCache cache = endpoint.getAppendHandleCache();
+            if (cache != null) {
+                LOG.debug("Using cached file handle to append file: {}", target);
+                cache.append(target, in);
+                return;
+            }
             out = prepareOutputFileChannel(target);
             LOG.debug("Using FileChannel to write file: {}", target);
             long size = in.size();
@@ -387,6 +393,12 @@ public class FileOperations implements GenericFileOperations<File> {
     private void writeFileByStream(InputStream in, File target) throws IOException {
         FileChannel out = null;
         try {
+            FileAppendHandleCache cache = endpoint.getAppendHandleCache();
+            if (cache != null) {
+                LOG.debug("Using cached file handle to append InputStream to file: {}", target);
+                cache.append(target, in);
+                return;
+            }
             out = prepareOutputFileChannel(target);
             LOG.debug("Using InputStream to write file: {}", target);
             int size = endpoint.getBufferSize();
@@ -407,6 +419,16 @@ public class FileOperations implements GenericFileOperations<File> {
     }
 
     private void writeFileByReaderWithCharset(Reader in, File target, String charset) throws IOException {
+        FileAppendHandleCache cache = endpoint.getAppendHandleCache();
+        if (cache != null) {
+            try {
+                LOG.debug("Using cached file handle to append Reader to file: {} with charset: {}", target, charset);
+                cache.append(target, in, charset);
+            } finally {
+                IOHelper.close(in, target.getName(), LOG);
+            }
+            return;
+        }
         boolean append = endpoint.getFileExist() == GenericFileExist.Append;
         FileOutputStream os = new FileOutputStream(target, append);
         Writer out = IOConverter.toWriter(os, charset);
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An index of the files (path, size and last modified) which has been consumed by the file consumer when
+ * using <tt>incrementalScan</tt>, so files which has not changed since they were consumed can be skipped
+ * cheaply during polling.
+ * <p/>
+ * The index can optionally be persisted to an index file which is loaded when starting and written when stopping.
+ */
+public class FileScanIndex extends ServiceSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileScanIndex.class);
+    private static final String STORE_DELIMITER = ",";
+
+    private final Map<String, long[]> entries = new ConcurrentHashMap<String, long[]>();
+    private final File indexFile;
+
+    public FileScanIndex(File indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Whether the file is in the index with the same size and last modified timestamp.
+     */
+    public boolean isUnchanged(String path, long length, long lastModified) {
+        long[] entry = entries.get(path);
+        return entry != null && entry[0] == length && entry[1] == lastModified;
+    }
+
+    /**
+     * Adds or updates the file in the index.
+     */
+    public void put(String path, long length, long lastModified) {
+        entries.put(path, new long[]{length, lastModified});
+    }
+
+    public void remove(String path) {
+        entries.remove(path);
+    }
+
+    /**
+     * Removes all the files from the index, which are not among the given paths (as they no longer exists).
+     */
+    public void retainAll(Set<String> paths) {
+        Iterator<String> it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            if (!paths.contains(it.next())) {
+                it.remove();
+            }
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Loads the index from the index file, if any
+     */
+    protected void loadIndex() throws IOException {
+        if (indexFile == null || !indexFile.exists()) {
+            return;
+        }
+
+        LOG.trace("Loading file scan index: {}", indexFile);
+        BufferedReader reader = IOHelper.buffered(new InputStreamReader(new FileInputStream(indexFile), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // length,lastModified,path (the path is last as it can contain the delimiter)
+                int first = line.indexOf(STORE_DELIMITER);
+                int second = first != -1 ? line.indexOf(STORE_DELIMITER, first + 1) : -1;
+                if (second == -1) {
+                    continue;
+                }
+                try {
+                    long length = Long.parseLong(line.substring(0, first));
+                    long lastModified = Long.parseLong(line.substring(first + 1, second));
+                    put(line.substring(second + 1), length, lastModified);
+                } catch (NumberFormatException e) {
+                    LOG.debug("Skipping invalid line in file scan index: {}", line);
+                }
+            }
+        } finally {
+            IOHelper.close(reader, "Loading file scan index", LOG);
+        }
+        LOG.debug("Loaded {} entries from file scan index: {}", entries.size(), indexFile);
+    }
+
+    /**
+     * Writes the index to the index file, if any
+     */
+    protected void saveIndex() throws IOException {
+        if (indexFile == null) {
+            return;
+        }
+
+        LOG.debug("Writing {} entries to file scan index: {}", entries.size(), indexFile);
+        File parent = indexFile.getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        // write to a temporary file first so a crash while writing does not corrupt the index
+        File tmp = new File(indexFile.getPath() + ".tmp");
+        BufferedWriter writer = IOHelper.buffered(new OutputStreamWriter(new FileOutputStream(tmp), "UTF-8"));
+        try {
+            for (Map.Entry<String, long[]> entry : entries.entrySet()) {
+                writer.write(Long.toString(entry.getValue()[0]));
+                writer.write(STORE_DELIMITER);
+                writer.write(Long.toString(entry.getValue()[1]));
+                writer.write(STORE_DELIMITER);
+                writer.write(entry.getKey());
+                writer.newLine();
+            }
+        } finally {
+            IOHelper.close(writer, "Writing file scan index", LOG);
+        }
+        FileUtil.renameFile(tmp, indexFile, true);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        loadIndex();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        saveIndex();
+        entries.clear();
+    }
+}
@@ -18,9 +18,11 @@ package org.apache.camel.component.file;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Queue;
 
 import org.apache.camel.AsyncCallback;
@@ -137,7 +139,13 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
 
         // sort files using file comparator if provided
         if (endpoint.getSorter() != null) {
-            Collections.sort(files, endpoint.getSorter());
+            if (!eagerLimitMaxMessagesPerPoll && maxMessagesPerPoll > 0 && files.size() > maxMessagesPerPoll
+                    && endpoint.getSortBy() == null && !endpoint.isShuffle()) {
+                // only the first files is consumed in this poll, so we only need to sort those
+                files = selectFirstFiles(files, endpoint.getSorter(), maxMessagesPerPoll);
+            } else {
+                Collections.sort(files, endpoint.getSorter());
+            }
         }
 
         // sort using build in sorters so we can use expressions
@@ -255,6 +263,31 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         }
     }
 
+    /**
+     * Selects the first files in the order of the given sorter using a bounded heap, which is cheaper than
+     * sorting all the files when only a few of them is consumed per poll.
+     * The files which are not selected are removed from the in progress repository.
+     *
+     * @param files  the files
+     * @param sorter the sorter
+     * @param limit  the number of files to select
+     * @return the selected files in sorted order
+     */
+    protected List<GenericFile<T>> selectFirstFiles(List<GenericFile<T>> files, Comparator<GenericFile<T>> sorter, int limit) {
+        // the head of the heap is the last file of the selected files
+        PriorityQueue<GenericFile<T>> heap = new PriorityQueue<GenericFile<T>>(limit + 1, Collections.reverseOrder(sorter));
+        for (GenericFile<T> file : files) {
+            heap.add(file);
+            if (heap.size() > limit) {
+                GenericFile<T> excess = heap.poll();
+                endpoint.getInProgressRepository().remove(excess.getAbsoluteFilePath());
+            }
+        }
+        List<GenericFile<T>> answer = new ArrayList<GenericFile<T>>(heap);
+        Collections.sort(answer, sorter);
+        return answer;
+    }
+
     /**
      * Whether or not we can continue polling for more files
      *
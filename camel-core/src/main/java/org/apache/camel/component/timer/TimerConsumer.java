@@ -19,6 +19,7 @@ package org.apache.camel.component.timer;
 import java.util.Date;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.AsyncCallback;
@@ -27,6 +28,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.StartupListener;
 import org.apache.camel.impl.DefaultConsumer;
+import org.apache.camel.support.TimingWheelScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +41,7 @@ public class TimerConsumer extends DefaultConsumer implements StartupListener {
     private static final Logger LOG = LoggerFactory.getLogger(TimerConsumer.class);
     private final TimerEndpoint endpoint;
     private volatile TimerTask task;
+    private volatile TimingWheelScheduler.PeriodicTimer wheelTimer;
     private volatile boolean configured;
 
     public TimerConsumer(TimerEndpoint endpoint, Processor processor) {
@@ -75,6 +78,9 @@ public class TimerConsumer extends DefaultConsumer implements StartupListener {
                         // no need to fire anymore as we exceeded repeat count
                         LOG.debug("Cancelling {} timer as repeat count limit reached after {} counts.", endpoint.getTimerName(), endpoint.getRepeatCount());
                         cancel();
+                        if (wheelTimer != null) {
+                            wheelTimer.cancel();
+                        }
                     }
                 } catch (Throwable e) {
                     // catch all to avoid the JVM closing the thread and not firing again
@@ -86,8 +92,7 @@ public class TimerConsumer extends DefaultConsumer implements StartupListener {
         // only configure task if CamelContext already started, otherwise the StartupListener
         // is configuring the task later
         if (!configured && endpoint.getCamelContext().getStatus().isStarted()) {
-            Timer timer = endpoint.getTimer(this);
-            configureTask(task, timer);
+            configure();
         }
     }
 
@@ -97,15 +102,40 @@ public class TimerConsumer extends DefaultConsumer implements StartupListener {
             task.cancel();
         }
         task = null;
-        configured = false;
 
-        // remove timer
-        endpoint.removeTimer(this);
+        if (endpoint.isTimingWheel()) {
+            if (wheelTimer != null) {
+                wheelTimer.cancel();
+                endpoint.removeTimingWheelTimer(wheelTimer);
+            }
+            wheelTimer = null;
+        } else {
+            // remove timer
+            endpoint.removeTimer(this);
+        }
+        configured = false;
     }
 
     @Override
     public void onCamelContextStarted(CamelContext context, boolean alreadyStarted) throws Exception {
         if (task != null && !configured) {
+            configure();
+        }
+    }
+
+    /**
+     * The timer of the {@link TimingWheelScheduler} which fires this consumer, or <tt>null</tt> if not using the
+     * timing wheel or not started.
+     */
+    public TimingWheelScheduler.PeriodicTimer getTimingWheelTimer() {
+        return wheelTimer;
+    }
+
+    private void configure() throws Exception {
+        if (endpoint.isTimingWheel()) {
+            TimingWheelScheduler scheduler = TimingWheelScheduler.getOrCreate(endpoint.getCamelContext());
+            configureTask(task, scheduler);
+        } else {
             Timer timer = endpoint.getTimer(this);
             configureTask(task, timer);
         }
@@ -145,6 +175,23 @@ public class TimerConsumer extends DefaultConsumer implements StartupListener {
         configured = true;
     }
 
+    protected void configureTask(TimerTask task, TimingWheelScheduler scheduler) {
+        TimingWheelScheduler.PeriodicTimer timer = new TimingWheelScheduler.PeriodicTimer(task, endpoint.getPeriod(), TimeUnit.MILLISECONDS);
+        timer.setFixedRate(endpoint.isFixedRate());
+        timer.setOverrunPolicy(endpoint.getOverrunPolicy());
+        timer.setAsyncFiring(endpoint.isAsyncFiring());
+
+        long delay = endpoint.getDelay();
+        if (endpoint.getTime() != null) {
+            delay = endpoint.getTime().getTime() - System.currentTimeMillis();
+        }
+
+        wheelTimer = timer;
+        endpoint.addTimingWheelTimer(timer);
+        scheduler.schedule(timer, delay, TimeUnit.MILLISECONDS);
+        configured = true;
+    }
+
     protected void sendTimerExchange(long counter) {
         final Exchange exchange = endpoint.createExchange();
         exchange.setProperty(Exchange.TIMER_COUNTER, counter);
@@ -17,7 +17,9 @@
 package org.apache.camel.component.timer;
 
 import java.util.Date;
+import java.util.Set;
 import java.util.Timer;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.apache.camel.Component;
 import org.apache.camel.Consumer;
@@ -32,6 +34,7 @@ import org.apache.camel.spi.Metadata;
 import org.apache.camel.spi.UriEndpoint;
 import org.apache.camel.spi.UriParam;
 import org.apache.camel.spi.UriPath;
+import org.apache.camel.support.TimingWheelScheduler;
 
 /**
  * Represents a timer endpoint that can generate periodic inbound exchanges triggered by a timer.
@@ -57,6 +60,13 @@ public class TimerEndpoint extends DefaultEndpoint implements MultipleConsumersS
     private long repeatCount;
     @UriParam
     private Timer timer;
+    @UriParam
+    private boolean timingWheel;
+    @UriParam(defaultValue = "Skip")
+    private TimingWheelScheduler.OverrunPolicy overrunPolicy = TimingWheelScheduler.OverrunPolicy.Skip;
+    @UriParam
+    private boolean asyncFiring;
+    private final Set<TimingWheelScheduler.PeriodicTimer> wheelTimers = new CopyOnWriteArraySet<TimingWheelScheduler.PeriodicTimer>();
 
     public TimerEndpoint() {
     }
@@ -192,6 +202,74 @@ public class TimerEndpoint extends DefaultEndpoint implements MultipleConsumersS
         this.repeatCount = repeatCount;
     }
 
+    @ManagedAttribute(description = "Timing Wheel")
+    public boolean isTimingWheel() {
+        return timingWheel;
+    }
+
+    /**
+     * Whether to fire the timer using the timing wheel scheduler which is shared by all the timers in the CamelContext,
+     * instead of a java.util.Timer thread per timer name. The timing wheel fires the timers on a worker pool,
+     * so a slow timer does not delay other timers. When firing at fixed rate the timer does not drift.
+     */
+    public void setTimingWheel(boolean timingWheel) {
+        this.timingWheel = timingWheel;
+    }
+
+    public TimingWheelScheduler.OverrunPolicy getOverrunPolicy() {
+        return overrunPolicy;
+    }
+
+    /**
+     * When using the timing wheel with fixed rate, whether to catch up the firings which are overrun, such as when
+     * the processing takes longer than the period, or to skip them.
+     * <p/>
+     * The default value is Skip.
+     */
+    public void setOverrunPolicy(TimingWheelScheduler.OverrunPolicy overrunPolicy) {
+        this.overrunPolicy = overrunPolicy;
+    }
+
+    @ManagedAttribute(description = "Async Firing")
+    public boolean isAsyncFiring() {
+        return asyncFiring;
+    }
+
+    /**
+     * When using the timing wheel, whether to schedule the next firing when the timer fires instead of when the
+     * processing is complete, so the processing time does not delay the next firing. The firings may then overlap.
+     */
+    public void setAsyncFiring(boolean asyncFiring) {
+        this.asyncFiring = asyncFiring;
+    }
+
+    @ManagedAttribute(description = "The lag in millis of the last firing when using the timing wheel")
+    public long getLastLag() {
+        long answer = 0;
+        for (TimingWheelScheduler.PeriodicTimer timer : wheelTimers) {
+            answer = Math.max(answer, timer.getLastLag());
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "The highest lag in millis of the firings when using the timing wheel")
+    public long getMaxLag() {
+        long answer = 0;
+        for (TimingWheelScheduler.PeriodicTimer timer : wheelTimers) {
+            answer = Math.max(answer, timer.getMaxLag());
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Number of firings skipped as they were overrun when using the timing wheel")
+    public long getSkipCount() {
+        long answer = 0;
+        for (TimingWheelScheduler.PeriodicTimer timer : wheelTimers) {
+            answer += timer.getSkipCount();
+        }
+        return answer;
+    }
+
     public Date getTime() {
         return time;
     }
@@ -250,4 +328,12 @@ public class TimerEndpoint extends DefaultEndpoint implements MultipleConsumersS
         }
     }
 
+    void addTimingWheelTimer(TimingWheelScheduler.PeriodicTimer timer) {
+        wheelTimers.add(timer);
+    }
+
+    void removeTimingWheelTimer(TimingWheelScheduler.PeriodicTimer timer) {
+        wheelTimers.remove(timer);
+    }
+
 }
@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+
+/**
+ * A {@link StreamCache} for content stored in a pooled {@link StreamCacheArena}.
+ */
+public final class ArenaInputStreamCache extends InputStream implements StreamCache {
+    private final StreamCacheArenaBuffer buffer;
+    private ByteBuffer current;
+    private int index;
+    private long position;
+
+    ArenaInputStreamCache(StreamCacheArenaBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() throws IOException {
+        ByteBuffer chunk = currentChunk();
+        if (chunk == null) {
+            return -1;
+        }
+        int answer = chunk.get() & 0xff;
+        buffer.checkNotReleased();
+        position++;
+        return answer;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer chunk = currentChunk();
+        if (chunk == null) {
+            return -1;
+        }
+        int n = Math.min(len, chunk.remaining());
+        chunk.get(b, off, n);
+        // the chunk may have been reused by another stream cache while we copied
+        buffer.checkNotReleased();
+        position += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            ByteBuffer chunk = currentChunk();
+            if (chunk == null) {
+                break;
+            }
+            int s = (int) Math.min(n - skipped, chunk.remaining());
+            chunk.position(chunk.position() + s);
+            skipped += s;
+        }
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(Integer.MAX_VALUE, buffer.length() - position);
+    }
+
+    @Override
+    public void reset() {
+        // reset to the beginning of the content
+        current = null;
+        index = 0;
+        position = 0;
+    }
+
+    @Override
+    public void close() {
+        // the chunks are returned to the arena when the exchange is done
+    }
+
+    public void writeTo(OutputStream os) throws IOException {
+        byte[] buf = new byte[(int) Math.min(buffer.getArena().getChunkSize(), Math.max(1, buffer.length() - position))];
+        int n;
+        while ((n = read(buf, 0, buf.length)) != -1) {
+            os.write(buf, 0, n);
+        }
+    }
+
+    public StreamCache copy(Exchange exchange) throws IOException {
+        buffer.addExchange(exchange);
+        return new ArenaInputStreamCache(buffer);
+    }
+
+    public boolean inMemory() {
+        return !buffer.isSpooled();
+    }
+
+    public long length() {
+        return buffer.length();
+    }
+
+    private ByteBuffer currentChunk() throws IOException {
+        // check on every read, as the current chunk may have been returned to the arena since the last read
+        buffer.checkNotReleased();
+        while (current == null || !current.hasRemaining()) {
+            if (position >= buffer.length()) {
+                return null;
+            }
+            current = buffer.chunk(index++);
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "ArenaInputStreamCache[length: " + buffer.length() + "]";
+    }
+}
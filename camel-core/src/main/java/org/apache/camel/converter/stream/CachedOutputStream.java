@@ -37,6 +37,9 @@ import org.apache.camel.spi.StreamCachingStrategy;
  * You can get a cached input stream of this stream. The temp file which is created with this 
  * output stream will be deleted when you close this output stream or the cached 
  * fileInputStream(s) is/are closed after all the exchanges using the temp file are completed.
+ * <p/>
+ * If the {@link StreamCachingStrategy} has a {@link StreamCacheArena} then the content is stored in pooled
+ * off-heap chunks from the arena instead, and only spooled to a temp file if the arena is exhausted.
  */
 public class CachedOutputStream extends OutputStream {
     @Deprecated
@@ -54,6 +57,7 @@ public class CachedOutputStream extends OutputStream {
     private int totalLength;
     private final TempFileManager tempFileManager;
     private final boolean closedOnCompletion;
+    private StreamCacheArenaBuffer arenaBuffer;
 
     public CachedOutputStream(Exchange exchange) {
         this(exchange, true);
@@ -64,28 +68,41 @@ public class CachedOutputStream extends OutputStream {
         tempFileManager = new TempFileManager(closedOnCompletion);
         tempFileManager.addExchange(exchange);
         this.strategy = exchange.getContext().getStreamCachingStrategy();
-        currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        StreamCacheArena arena = strategy.getArena();
+        if (arena != null) {
+            arenaBuffer = new StreamCacheArenaBuffer(arena, closedOnCompletion);
+            arenaBuffer.addExchange(exchange);
+        } else {
+            currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        }
     }
 
     public void flush() throws IOException {
-        currentStream.flush();       
+        if (currentStream != null) {
+            currentStream.flush();
+        }
     }
 
     public void close() throws IOException {
-        currentStream.close();
+        if (currentStream != null) {
+            currentStream.close();
+        }
         // need to clean up the temp file this time
         if (!closedOnCompletion) {
+            if (arenaBuffer != null) {
+                arenaBuffer.release();
+            }
             tempFileManager.closeFileInputStreams();
             tempFileManager.cleanUpTempFile();
         }
     }
 
     public boolean equals(Object obj) {
-        return currentStream.equals(obj);
+        return currentStream != null ? currentStream.equals(obj) : super.equals(obj);
     }
 
     public int hashCode() {
-        return currentStream.hashCode();
+        return currentStream != null ? currentStream.hashCode() : super.hashCode();
     }
 
     public OutputStream getCurrentStream() {
@@ -98,13 +115,26 @@ public class CachedOutputStream extends OutputStream {
 
     public void write(byte[] b, int off, int len) throws IOException {
         this.totalLength += len;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (arenaBuffer != null) {
+            int written = arenaBuffer.write(b, off, len, strategy.shouldSpoolCache(totalLength));
+            if (written == len) {
+                return;
+            }
+            // the arena is exhausted so write the rest to the temp file
+            pageArenaToFileStream();
+            off += written;
+            len -= written;
+        } else if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
         currentStream.write(b, off, len);
     }
 
     public void write(byte[] b) throws IOException {
+        if (arenaBuffer != null) {
+            write(b, 0, b.length);
+            return;
+        }
         this.totalLength += b.length;
         if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
@@ -114,7 +144,13 @@ public class CachedOutputStream extends OutputStream {
 
     public void write(int b) throws IOException {
         this.totalLength++;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (arenaBuffer != null) {
+            if (arenaBuffer.write(b, strategy.shouldSpoolCache(totalLength))) {
+                return;
+            }
+            // the arena is exhausted so write the rest to the temp file
+            pageArenaToFileStream();
+        } else if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
         currentStream.write(b);
@@ -143,7 +179,9 @@ public class CachedOutputStream extends OutputStream {
     public StreamCache newStreamCache() throws IOException {
         flush();
 
-        if (inMemory) {
+        if (arenaBuffer != null) {
+            return new ArenaInputStreamCache(arenaBuffer);
+        } else if (inMemory) {
             if (currentStream instanceof CachedByteArrayOutputStream) {
                 return ((CachedByteArrayOutputStream) currentStream).newInputStreamCache();
             } else {
@@ -168,6 +206,21 @@ public class CachedOutputStream extends OutputStream {
         }
     }
 
+    private void pageArenaToFileStream() throws IOException {
+        StreamCacheArenaBuffer buffer = arenaBuffer;
+        arenaBuffer = null;
+        inMemory = false;
+        buffer.getArena().fallback();
+        try {
+            // creates an tmp file and a file output stream
+            currentStream = tempFileManager.createOutputStream(strategy);
+            buffer.writeTo(currentStream, new byte[strategy.getBufferSize()]);
+        } finally {
+            // return the chunks to the arena as the content is now in the temp file
+            buffer.release();
+        }
+    }
+
     /**
      * @deprecated  use {@link #getStrategyBufferSize()}
      */
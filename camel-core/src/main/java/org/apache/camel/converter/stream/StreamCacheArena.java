@@ -0,0 +1,267 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pooled arena of off-heap fixed size chunks used as storage for stream caches.
+ * <p/>
+ * The chunks are allocated as direct buffers up till the memory budget, and are returned to the pool
+ * when the stream caches are done, so they are reused by the following stream caches instead of
+ * allocating new byte arrays on the heap.
+ * <p/>
+ * When the memory budget is exhausted, or the stream cache should be spooled, the chunks are
+ * taken from a single memory-mapped segment file in the spool directory which is reused
+ * by all the stream caches, instead of creating a temporary file per stream cache.
+ * When the segment is exhausted as well, the {@link CachedOutputStream} falls back to spool to a temporary file.
+ */
+public final class StreamCacheArena {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamCacheArena.class);
+
+    private final File spoolDirectory;
+    private final long memoryBudget;
+    private final int chunkSize;
+    private final long spoolSegmentSize;
+    private final Queue<Chunk> memoryChunks = new ConcurrentLinkedQueue<Chunk>();
+    private final Queue<Chunk> spoolChunks = new ConcurrentLinkedQueue<Chunk>();
+    private final AtomicLong memoryAllocated = new AtomicLong();
+    private final AtomicLong memoryUsed = new AtomicLong();
+    private final AtomicLong spoolUsed = new AtomicLong();
+    private final AtomicLong fallbackCounter = new AtomicLong();
+    private volatile boolean segmentMapped;
+    private volatile boolean closed;
+    private File segmentFile;
+    private RandomAccessFile segment;
+    private MappedByteBuffer mapped;
+
+    /**
+     * Represents a chunk of the arena.
+     */
+    static final class Chunk {
+        final ByteBuffer buffer;
+        final boolean spool;
+
+        Chunk(ByteBuffer buffer, boolean spool) {
+            this.buffer = buffer;
+            this.spool = spool;
+        }
+    }
+
+    /**
+     * Creates the arena.
+     *
+     * @param spoolDirectory   the directory for the segment file
+     * @param memoryBudget     the total number of bytes of off-heap memory to allocate
+     * @param chunkSize        the size in bytes of each chunk
+     * @param spoolSegmentSize the size in bytes of the segment file, use 0 to not spool to a segment file
+     */
+    public StreamCacheArena(File spoolDirectory, long memoryBudget, int chunkSize, long spoolSegmentSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("ChunkSize must be positive, was: " + chunkSize);
+        }
+        if (spoolSegmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("SpoolSegmentSize must not be higher than " + Integer.MAX_VALUE + ", was: " + spoolSegmentSize);
+        }
+        if (spoolSegmentSize > 0 && spoolDirectory == null) {
+            throw new IllegalArgumentException("SpoolDirectory must be configured when using SpoolSegmentSize > 0");
+        }
+        this.spoolDirectory = spoolDirectory;
+        this.memoryBudget = memoryBudget;
+        this.chunkSize = chunkSize;
+        // the segment only holds whole chunks
+        this.spoolSegmentSize = spoolSegmentSize - spoolSegmentSize % chunkSize;
+    }
+
+    /**
+     * Gets a chunk of off-heap memory, or <tt>null</tt> if the memory budget is exhausted
+     */
+    Chunk allocateMemory() {
+        if (closed) {
+            return null;
+        }
+        Chunk chunk = memoryChunks.poll();
+        if (chunk == null) {
+            long allocated;
+            do {
+                allocated = memoryAllocated.get();
+                if (allocated + chunkSize > memoryBudget) {
+                    return null;
+                }
+            } while (!memoryAllocated.compareAndSet(allocated, allocated + chunkSize));
+            chunk = new Chunk(ByteBuffer.allocateDirect(chunkSize), false);
+        }
+        memoryUsed.addAndGet(chunkSize);
+        return chunk;
+    }
+
+    /**
+     * Gets a chunk of the segment file, or <tt>null</tt> if the segment is exhausted or not in use
+     */
+    Chunk allocateSpool() throws IOException {
+        if (spoolSegmentSize <= 0 || closed) {
+            return null;
+        }
+        if (!segmentMapped) {
+            mapSegment();
+        }
+        Chunk chunk = spoolChunks.poll();
+        if (chunk != null) {
+            spoolUsed.addAndGet(chunkSize);
+        }
+        return chunk;
+    }
+
+    /**
+     * Returns the chunk to the arena so it can be reused, or drops the chunk if the arena has been closed
+     */
+    void release(Chunk chunk) {
+        if (closed) {
+            // the counters and pools has been reset when closing
+            return;
+        }
+        chunk.buffer.clear();
+        if (chunk.spool) {
+            spoolUsed.addAndGet(-chunkSize);
+            spoolChunks.offer(chunk);
+        } else {
+            memoryUsed.addAndGet(-chunkSize);
+            memoryChunks.offer(chunk);
+        }
+    }
+
+    /**
+     * Records that a stream cache could not be kept in the arena, and was spooled to a temporary file instead
+     */
+    void fallback() {
+        fallbackCounter.incrementAndGet();
+    }
+
+    private synchronized void mapSegment() throws IOException {
+        if (segmentMapped || closed) {
+            return;
+        }
+        segmentFile = FileUtil.createTempFile("cos", ".segment", spoolDirectory);
+        LOG.debug("Creating stream cache segment file: {} with size: {}", segmentFile, spoolSegmentSize);
+        segment = new RandomAccessFile(segmentFile, "rw");
+        segment.setLength(spoolSegmentSize);
+        mapped = segment.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, spoolSegmentSize);
+        for (int offset = 0; offset < spoolSegmentSize; offset += chunkSize) {
+            mapped.limit(offset + chunkSize);
+            mapped.position(offset);
+            spoolChunks.offer(new Chunk(mapped.slice(), true));
+        }
+        segmentMapped = true;
+    }
+
+    /**
+     * Closes the arena, which discards the pooled chunks, unmaps and deletes the segment file.
+     * <p/>
+     * The chunks which are still used by stream caches are dropped when they are released,
+     * and no new chunks are allocated after the arena has been closed.
+     */
+    public synchronized void close() {
+        closed = true;
+        long inUse = spoolUsed.get();
+        memoryChunks.clear();
+        spoolChunks.clear();
+        memoryAllocated.set(0);
+        memoryUsed.set(0);
+        spoolUsed.set(0);
+        segmentMapped = false;
+        if (mapped != null) {
+            // reading an unmapped buffer crashes the JVM, so only unmap if no stream caches use the segment anymore
+            if (inUse > 0) {
+                LOG.debug("Cannot unmap stream cache segment file: {} as {} bytes are still in use", segmentFile, inUse);
+            } else if (!IOHelper.unmap(mapped)) {
+                LOG.debug("Cannot unmap stream cache segment file: {} as its not supported by the JVM", segmentFile);
+            }
+            mapped = null;
+        }
+        if (segment != null) {
+            IOHelper.close(segment, "segment", LOG);
+            segment = null;
+        }
+        if (segmentFile != null) {
+            // the file may not be deleted on some platforms until the mapped buffer is garbage collected
+            if (!FileUtil.deleteFile(segmentFile)) {
+                segmentFile.deleteOnExit();
+            }
+            segmentFile = null;
+        }
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public long getSpoolSegmentSize() {
+        return spoolSegmentSize;
+    }
+
+    /**
+     * Number of bytes of off-heap memory which has been allocated
+     */
+    public long getMemoryAllocated() {
+        return memoryAllocated.get();
+    }
+
+    /**
+     * Number of bytes of off-heap memory in use by stream caches
+     */
+    public long getMemoryUsed() {
+        return memoryUsed.get();
+    }
+
+    /**
+     * Number of bytes of the segment file in use by stream caches
+     */
+    public long getSpoolUsed() {
+        return spoolUsed.get();
+    }
+
+    /**
+     * Number of stream caches which could not be kept in the arena and was spooled to temporary files
+     */
+    public long getFallbackCounter() {
+        return fallbackCounter.get();
+    }
+
+    @Override
+    public String toString() {
+        return "StreamCacheArena[memoryBudget=" + memoryBudget + ", chunkSize=" + chunkSize + ", spoolSegmentSize=" + spoolSegmentSize
+            + ", memoryAllocated=" + memoryAllocated + ", memoryUsed=" + memoryUsed + ", spoolUsed=" + spoolUsed + "]";
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.Synchronization;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.SynchronizationAdapter;
+
+/**
+ * The content of a stream cache stored in chunks from a {@link StreamCacheArena}.
+ * <p/>
+ * Counts the number of exchanges which have a {@link ArenaInputStreamCache} of the content,
+ * and returns the chunks to the arena when all the exchanges are done.
+ *
+ * @see CachedOutputStream
+ */
+final class StreamCacheArenaBuffer {
+
+    private final StreamCacheArena arena;
+    private final boolean closedOnCompletion;
+    private final AtomicInteger exchangeCounter = new AtomicInteger();
+    private final List<StreamCacheArena.Chunk> chunks = new ArrayList<StreamCacheArena.Chunk>(4);
+    private StreamCacheArena.Chunk current;
+    private long length;
+    private boolean spooled;
+    private volatile boolean released;
+
+    StreamCacheArenaBuffer(StreamCacheArena arena, boolean closedOnCompletion) {
+        this.arena = arena;
+        this.closedOnCompletion = closedOnCompletion;
+    }
+
+    /**
+     * Writes the bytes to the chunks.
+     *
+     * @param spool whether to take new chunks from the segment file instead of the off-heap memory
+     * @return the number of bytes written, which is less than <tt>len</tt> if the arena is exhausted
+     */
+    int write(byte[] b, int off, int len, boolean spool) throws IOException {
+        int written = 0;
+        while (written < len) {
+            if (current == null || !current.buffer.hasRemaining()) {
+                current = allocate(spool);
+                if (current == null) {
+                    break;
+                }
+            }
+            int n = Math.min(len - written, current.buffer.remaining());
+            current.buffer.put(b, off + written, n);
+            written += n;
+        }
+        length += written;
+        return written;
+    }
+
+    /**
+     * Writes the byte to the chunks.
+     *
+     * @param spool whether to take a new chunk from the segment file instead of the off-heap memory
+     * @return <tt>false</tt> if the arena is exhausted
+     */
+    boolean write(int b, boolean spool) throws IOException {
+        if (current == null || !current.buffer.hasRemaining()) {
+            current = allocate(spool);
+            if (current == null) {
+                return false;
+            }
+        }
+        current.buffer.put((byte) b);
+        length++;
+        return true;
+    }
+
+    private StreamCacheArena.Chunk allocate(boolean spool) throws IOException {
+        checkNotReleased();
+        StreamCacheArena.Chunk chunk = null;
+        if (!spool) {
+            chunk = arena.allocateMemory();
+        }
+        if (chunk == null) {
+            // spill over to the segment file
+            chunk = arena.allocateSpool();
+        }
+        if (chunk != null) {
+            spooled |= chunk.spool;
+            chunks.add(chunk);
+        }
+        return chunk;
+    }
+
+    /**
+     * Gets a readable view of the given chunk
+     */
+    ByteBuffer chunk(int index) throws IOException {
+        checkNotReleased();
+        ByteBuffer answer = chunks.get(index).buffer.duplicate();
+        answer.flip();
+        return answer;
+    }
+
+    /**
+     * Writes the content to the stream, such as when falling back to spool to a temporary file.
+     */
+    void writeTo(OutputStream os, byte[] buf) throws IOException {
+        for (int i = 0; i < chunks.size(); i++) {
+            ByteBuffer chunk = chunk(i);
+            while (chunk.hasRemaining()) {
+                int n = Math.min(buf.length, chunk.remaining());
+                chunk.get(buf, 0, n);
+                // the chunk may have been reused by another stream cache while we copied
+                checkNotReleased();
+                os.write(buf, 0, n);
+            }
+        }
+    }
+
+    /**
+     * Checks that the chunks have not been returned to the arena, as they may then be reused by other stream caches.
+     * <p/>
+     * A reader must check this both before and after it copies bytes from a chunk, so it never returns the
+     * content of another stream cache.
+     *
+     * @throws IOException is thrown if the chunks have been released
+     */
+    void checkNotReleased() throws IOException {
+        if (released) {
+            throw new IOException("Stream cache has already been released");
+        }
+    }
+
+    void addExchange(Exchange exchange) {
+        if (closedOnCompletion) {
+            exchangeCounter.incrementAndGet();
+            // add on completion so we can return the chunks to the arena after the exchange is done
+            Synchronization onCompletion = new SynchronizationAdapter() {
+                @Override
+                public void onDone(Exchange exchange) {
+                    if (exchangeCounter.decrementAndGet() == 0) {
+                        release();
+                    }
+                }
+
+                @Override
+                public String toString() {
+                    return "OnCompletion[CachedOutputStream]";
+                }
+            };
+            UnitOfWork streamCacheUnitOfWork = exchange.getProperty(Exchange.STREAM_CACHE_UNIT_OF_WORK, UnitOfWork.class);
+            if (streamCacheUnitOfWork != null) {
+                // the stream cache must be released with the unit of work of the main route (see TempFileManager)
+                streamCacheUnitOfWork.addSynchronization(onCompletion);
+            } else {
+                exchange.addOnCompletion(onCompletion);
+            }
+        }
+    }
+
+    /**
+     * Returns the chunks to the arena
+     */
+    synchronized void release() {
+        if (!released) {
+            released = true;
+            for (StreamCacheArena.Chunk chunk : chunks) {
+                arena.release(chunk);
+            }
+            chunks.clear();
+            current = null;
+        }
+    }
+
+    int size() {
+        return chunks.size();
+    }
+
+    long length() {
+        return length;
+    }
+
+    boolean isSpooled() {
+        return spooled;
+    }
+
+    StreamCacheArena getArena() {
+        return arena;
+    }
+}
@@ -0,0 +1,640 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.ExchangeHolderCodec;
+import org.apache.camel.util.CamelObjectInputStream;
+
+/**
+ * A compact binary {@link ExchangeHolderCodec} which writes the {@link DefaultExchangeHolder} using
+ * tagged values, instead of Java serialization of the entire holder.
+ * <p/>
+ * The format is as follows:
+ * <ul>
+ *     <li>a header with a magic marker, the format version and flags</li>
+ *     <li>common java types such as strings, numbers, booleans and dates are written as tagged primitives</li>
+ *     <li>header and property names are written using a dictionary of well known Camel names, and names
+ *     which occurs more than once in the same record is only written the first time</li>
+ *     <li>bodies of type <tt>byte[]</tt> and {@link ByteBuffer} are written as length prefixed bytes,
+ *     and are read back without copying when possible</li>
+ *     <li>any other type is written using Java serialization</li>
+ *     <li>the record can optionally be compressed when its size is above a threshold</li>
+ * </ul>
+ * Records written by other codecs, such as Java serialization, is not accepted by {@link #canDecode(byte[], int, int)}
+ * so callers can fallback to read old records.
+ *
+ * @version 
+ */
+public class BinaryExchangeHolderCodec implements ExchangeHolderCodec, CamelContextAware {
+
+    /**
+     * The current version of the format
+     */
+    public static final int VERSION = 1;
+
+    private static final byte MAGIC1 = (byte) 0xCA;
+    private static final byte MAGIC2 = (byte) 0xBE;
+    private static final int HEADER_LENGTH = 4;
+    private static final int FLAG_COMPRESSED = 1;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_STRING = 1;
+    private static final int TAG_INT = 2;
+    private static final int TAG_LONG = 3;
+    private static final int TAG_TRUE = 4;
+    private static final int TAG_FALSE = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_FLOAT = 7;
+    private static final int TAG_SHORT = 8;
+    private static final int TAG_BYTE = 9;
+    private static final int TAG_CHAR = 10;
+    private static final int TAG_BYTES = 11;
+    private static final int TAG_BYTE_BUFFER = 12;
+    private static final int TAG_DATE = 13;
+    private static final int TAG_SERIALIZED = 14;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    // the dictionary of well known names is part of the format, so names must only be added at the end
+    // and this requires a new format version
+    private static final String[] NAMES = {
+        Exchange.AGGREGATED_SIZE, Exchange.AGGREGATED_TIMEOUT, Exchange.AGGREGATED_COMPLETED_BY,
+        Exchange.AGGREGATED_CORRELATION_KEY, Exchange.AGGREGATED_COLLECTION_GUARD, "CamelAggregatedFromEndpoint",
+        Exchange.AGGREGATION_COMPLETE_CURRENT_GROUP, Exchange.BREADCRUMB_ID, Exchange.CORRELATION_ID,
+        Exchange.CREATED_TIMESTAMP, Exchange.TO_ENDPOINT, Exchange.CONTENT_TYPE, Exchange.CHARSET_NAME,
+        Exchange.HTTP_RESPONSE_CODE, Exchange.FILE_NAME, Exchange.FILE_NAME_ONLY, Exchange.FILE_NAME_CONSUMED,
+        Exchange.FILE_PATH, Exchange.FILE_PARENT, Exchange.FILE_LENGTH, Exchange.FILE_LAST_MODIFIED,
+        Exchange.SPLIT_INDEX, Exchange.SPLIT_SIZE, Exchange.SPLIT_COMPLETE, Exchange.MULTICAST_INDEX,
+        Exchange.REDELIVERED, Exchange.REDELIVERY_COUNTER, Exchange.REDELIVERY_MAX_COUNTER
+    };
+    private static final Map<String, Integer> NAME_INDEX = new HashMap<String, Integer>();
+
+    static {
+        for (int i = 0; i < NAMES.length; i++) {
+            NAME_INDEX.put(NAMES[i], i);
+        }
+    }
+
+    private CamelContext camelContext;
+    private boolean compress;
+    private int compressThreshold = 1024;
+
+    public BinaryExchangeHolderCodec() {
+    }
+
+    public BinaryExchangeHolderCodec(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    /**
+     * The {@link CamelContext} which application class loader is used when reading values
+     * which was written using Java serialization.
+     */
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public boolean isCompress() {
+        return compress;
+    }
+
+    /**
+     * Whether to compress records which are larger than the compress threshold.
+     * <p/>
+     * Is default <tt>false</tt>.
+     */
+    public void setCompress(boolean compress) {
+        this.compress = compress;
+    }
+
+    public int getCompressThreshold() {
+        return compressThreshold;
+    }
+
+    /**
+     * The minimum size in bytes of a record before its compressed, when compression is enabled.
+     * <p/>
+     * Is default 1024.
+     */
+    public void setCompressThreshold(int compressThreshold) {
+        this.compressThreshold = compressThreshold;
+    }
+
+    public byte[] encode(DefaultExchangeHolder holder) throws IOException {
+        Writer out = new Writer(256);
+        out.writeByte(MAGIC1);
+        out.writeByte(MAGIC2);
+        out.writeByte(VERSION);
+        out.writeByte(0);
+
+        Names names = new Names();
+        out.writeString(holder.getExchangeId());
+        out.writeByte(flagOf(holder.getInFaultFlag()));
+        out.writeByte(flagOf(holder.getOutFaultFlag()));
+        writeValue(out, holder.getInBody());
+        writeValue(out, holder.getOutBody());
+        writeMap(out, names, holder.getInHeaders());
+        writeMap(out, names, holder.getOutHeaders());
+        writeMap(out, names, holder.getProperties());
+        writeValue(out, holder.getException());
+
+        if (compress && out.size() - HEADER_LENGTH >= compressThreshold) {
+            byte[] compressed = compress(out);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public boolean canDecode(byte[] data, int offset, int length) {
+        return length >= HEADER_LENGTH && data[offset] == MAGIC1 && data[offset + 1] == MAGIC2;
+    }
+
+    public DefaultExchangeHolder decode(byte[] data, int offset, int length) throws IOException {
+        if (!canDecode(data, offset, length)) {
+            throw new StreamCorruptedException("Data is not written by " + getClass().getSimpleName());
+        }
+        int version = data[offset + 2];
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported version " + version + " of " + getClass().getSimpleName());
+        }
+        int flags = data[offset + 3];
+
+        Reader in = new Reader(data, offset + HEADER_LENGTH, offset + length);
+        if ((flags & FLAG_COMPRESSED) != 0) {
+            in = decompress(in);
+        }
+
+        Names names = new Names();
+        DefaultExchangeHolder holder = new DefaultExchangeHolder();
+        holder.setExchangeId(in.readString());
+        holder.setInFaultFlag(flagValue(in.readByte()));
+        holder.setOutFaultFlag(flagValue(in.readByte()));
+        holder.setInBody(readValue(in));
+        holder.setOutBody(readValue(in));
+        holder.setInHeaders(readMap(in, names));
+        holder.setOutHeaders(readMap(in, names));
+        holder.setProperties(readMap(in, names));
+        holder.setException((Exception) readValue(in));
+        return holder;
+    }
+
+    private static int flagOf(Boolean flag) {
+        return flag == null ? 0 : flag ? 2 : 1;
+    }
+
+    private static Boolean flagValue(int flag) {
+        return flag == 0 ? null : flag == 2;
+    }
+
+    private static byte[] compress(Writer out) {
+        int length = out.size() - HEADER_LENGTH;
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(out.buffer(), HEADER_LENGTH, length);
+            deflater.finish();
+            Writer answer = new Writer(length / 2 + 16);
+            answer.writeByte(MAGIC1);
+            answer.writeByte(MAGIC2);
+            answer.writeByte(VERSION);
+            answer.writeByte(FLAG_COMPRESSED);
+            answer.writeVarInt(length);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                answer.write(chunk, 0, n);
+                if (answer.size() >= out.size()) {
+                    // not worth to compress
+                    return null;
+                }
+            }
+            return answer.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static Reader decompress(Reader in) throws IOException {
+        int length = in.readVarInt();
+        byte[] data = new byte[length];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(in.data, in.position, in.limit - in.position);
+            int n = 0;
+            while (n < length) {
+                int count = inflater.inflate(data, n, length - n);
+                if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                n += count;
+            }
+            if (n != length) {
+                throw new StreamCorruptedException("Compressed data is truncated");
+            }
+        } catch (DataFormatException e) {
+            throw new StreamCorruptedException("Compressed data is corrupted: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        return new Reader(data, 0, length);
+    }
+
+    private static void writeMap(Writer out, Names names, Map<String, Object> map) throws IOException {
+        if (map == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(map.size() + 1);
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            names.write(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private Map<String, Object> readMap(Reader in, Names names) throws IOException {
+        int size = in.readVarInt() - 1;
+        if (size < 0) {
+            return null;
+        }
+        Map<String, Object> map = new LinkedHashMap<String, Object>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            String key = names.read(in);
+            map.put(key, readValue(in));
+        }
+        return map;
+    }
+
+    private static void writeValue(Writer out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            out.writeString((String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INT);
+            out.writeVarLong(zigzag((Integer) value));
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeVarLong(zigzag((Long) value));
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof Double) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeLong(Double.doubleToLongBits((Double) value));
+        } else if (value instanceof Float) {
+            out.writeByte(TAG_FLOAT);
+            out.writeVarInt(Float.floatToIntBits((Float) value));
+        } else if (value instanceof Short) {
+            out.writeByte(TAG_SHORT);
+            out.writeVarLong(zigzag((Short) value));
+        } else if (value instanceof Byte) {
+            out.writeByte(TAG_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            out.writeByte(TAG_CHAR);
+            out.writeVarInt((Character) value);
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            out.writeByte(TAG_BYTES);
+            out.writeVarInt(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        } else if (value instanceof ByteBuffer) {
+            ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+            out.writeByte(TAG_BYTE_BUFFER);
+            out.writeVarInt(buffer.remaining());
+            if (buffer.hasArray()) {
+                out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            } else {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                out.write(bytes, 0, bytes.length);
+            }
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(TAG_DATE);
+            out.writeLong(((Date) value).getTime());
+        } else {
+            out.writeByte(TAG_SERIALIZED);
+            // reserve room for the length which we update afterwards
+            int start = out.size();
+            out.writeLong(0);
+            ObjectOutputStream oos = new ObjectOutputStream(out);
+            oos.writeObject(value);
+            oos.close();
+            out.updateLength(start, out.size() - start - 8);
+        }
+    }
+
+    private Object readValue(Reader in) throws IOException {
+        int tag = in.readByte();
+        switch (tag) {
+        case TAG_NULL:
+            return null;
+        case TAG_STRING:
+            return in.readString();
+        case TAG_INT:
+            return (int) unzigzag(in.readVarLong());
+        case TAG_LONG:
+            return unzigzag(in.readVarLong());
+        case TAG_TRUE:
+            return Boolean.TRUE;
+        case TAG_FALSE:
+            return Boolean.FALSE;
+        case TAG_DOUBLE:
+            return Double.longBitsToDouble(in.readLong());
+        case TAG_FLOAT:
+            return Float.intBitsToFloat(in.readVarInt());
+        case TAG_SHORT:
+            return (short) unzigzag(in.readVarLong());
+        case TAG_BYTE:
+            return (byte) in.readByte();
+        case TAG_CHAR:
+            return (char) in.readVarInt();
+        case TAG_BYTES:
+            int length = in.readVarInt();
+            byte[] bytes = new byte[length];
+            in.read(bytes, length);
+            return bytes;
+        case TAG_BYTE_BUFFER:
+            // wrap the data as is without copying, as a read only buffer as the data may be shared
+            int size = in.readVarInt();
+            ByteBuffer buffer = ByteBuffer.wrap(in.data, in.position, size).slice().asReadOnlyBuffer();
+            in.skip(size);
+            return buffer;
+        case TAG_DATE:
+            return new Date(in.readLong());
+        case TAG_SERIALIZED:
+            int len = (int) in.readLong();
+            in.require(len);
+            ObjectInputStream ois = new CamelObjectInputStream(new ByteArrayInputStream(in.data, in.position, len), camelContext);
+            try {
+                return ois.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Cannot read serialized value due " + e.getMessage(), e);
+            } finally {
+                ois.close();
+                in.skip(len);
+            }
+        default:
+            throw new StreamCorruptedException("Unknown value tag " + tag);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * The names of headers and properties within a single record. Well known names are written by their index
+     * in the dictionary, and other names are written only the first time they occur, and then by their index.
+     */
+    private static final class Names {
+        private Map<String, Integer> written;
+        private List<String> read;
+
+        void write(Writer out, String name) throws IOException {
+            Integer index = NAME_INDEX.get(name);
+            if (index != null) {
+                out.writeVarInt(index + 1);
+                return;
+            }
+            if (written == null) {
+                written = new HashMap<String, Integer>();
+            }
+            index = written.get(name);
+            if (index != null) {
+                out.writeVarInt(NAMES.length + 1 + index);
+            } else {
+                written.put(name, written.size());
+                out.writeVarInt(0);
+                out.writeString(name);
+            }
+        }
+
+        String read(Reader in) throws IOException {
+            int code = in.readVarInt();
+            if (code == 0) {
+                String name = in.readString();
+                if (read == null) {
+                    read = new ArrayList<String>();
+                }
+                read.add(name);
+                return name;
+            } else if (code <= NAMES.length) {
+                return NAMES[code - 1];
+            }
+            int index = code - NAMES.length - 1;
+            if (read == null || index >= read.size()) {
+                throw new StreamCorruptedException("Unknown name index " + code);
+            }
+            return read.get(index);
+        }
+    }
+
+    /**
+     * A growable byte array output which allows to write directly into its buffer.
+     */
+    private static final class Writer extends OutputStream {
+        private byte[] buf;
+        private int count;
+
+        Writer(int size) {
+            this.buf = new byte[size];
+        }
+
+        private void ensureCapacity(int extra) {
+            if (count + extra > buf.length) {
+                byte[] copy = new byte[Math.max(buf.length << 1, count + extra)];
+                System.arraycopy(buf, 0, copy, 0, count);
+                buf = copy;
+            }
+        }
+
+        @Override
+        public void write(int b) {
+            writeByte(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(len);
+            System.arraycopy(b, off, buf, count, len);
+            count += len;
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            buf[count++] = (byte) b;
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[count++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[count++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[count++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(UTF8);
+            writeVarInt(bytes.length + 1);
+            write(bytes, 0, bytes.length);
+        }
+
+        void updateLength(int position, long length) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[position++] = (byte) (length >>> shift);
+            }
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        int size() {
+            return count;
+        }
+
+        byte[] toByteArray() {
+            if (count == buf.length) {
+                return buf;
+            }
+            byte[] answer = new byte[count];
+            System.arraycopy(buf, 0, answer, 0, count);
+            return answer;
+        }
+    }
+
+    /**
+     * A reader of the data which keeps track of the position.
+     */
+    private static final class Reader {
+        private final byte[] data;
+        private final int limit;
+        private int position;
+
+        Reader(byte[] data, int position, int limit) {
+            this.data = data;
+            this.position = position;
+            this.limit = limit;
+        }
+
+        private void require(int length) throws IOException {
+            if (length < 0 || position + length > limit) {
+                throw new StreamCorruptedException("Data is truncated");
+            }
+        }
+
+        int readByte() throws IOException {
+            require(1);
+            return data[position++];
+        }
+
+        int readVarInt() throws IOException {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new StreamCorruptedException("Malformed variable length number");
+        }
+
+        long readLong() throws IOException {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        String readString() throws IOException {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            require(length);
+            String answer = new String(data, position, length, UTF8);
+            position += length;
+            return answer;
+        }
+
+        void read(byte[] bytes, int length) throws IOException {
+            require(length);
+            System.arraycopy(data, position, bytes, 0, length);
+            position += length;
+        }
+
+        void skip(int length) throws IOException {
+            require(length);
+            position += length;
+        }
+    }
+
+}
@@ -175,7 +175,7 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     private ManagementNameStrategy managementNameStrategy = new DefaultManagementNameStrategy(this);
     private String managementName;
     private ClassLoader applicationContextClassLoader;
-    private EndpointRegistry<EndpointKey> endpoints;
+    private DefaultEndpointRegistry endpoints;
     private final AtomicInteger endpointKeyCounter = new AtomicInteger();
     private final List<EndpointStrategy> endpointStrategies = new ArrayList<EndpointStrategy>();
     private final Map<String, Component> components = new HashMap<String, Component>();
@@ -537,14 +537,22 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
 
         final String rawUri = uri;
 
-        // normalize uri so we can do endpoint hits with minor mistakes and parameters is not in the same order
-        uri = normalizeEndpointUri(uri);
+        // the same uri is often looked up again and again (eg dynamic recipient list, routing slip, or producer template)
+        // so use the alias cache to avoid normalizing the uri on each lookup
+        EndpointKey key = endpoints.getUriAlias(rawUri);
+        final boolean aliased = key != null;
+        if (aliased) {
+            uri = key.get();
+        } else {
+            // normalize uri so we can do endpoint hits with minor mistakes and parameters is not in the same order
+            uri = normalizeEndpointUri(uri);
+            key = getEndpointKey(uri);
+        }
 
         log.trace("Getting endpoint with raw uri: {}, normalized uri: {}", rawUri, uri);
 
         Endpoint answer;
         String scheme = null;
-        EndpointKey key = getEndpointKey(uri);
         answer = endpoints.get(key);
         if (answer == null) {
             try {
@@ -592,6 +600,10 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
             throw new ResolveEndpointFailedException(uri, "No component found with scheme: " + scheme);
         }
 
+        if (answer != null && !aliased) {
+            endpoints.putUriAlias(rawUri, key);
+        }
+
         return answer;
     }
 
@@ -37,6 +37,7 @@ import org.apache.camel.util.ServiceHelper;
 public class DefaultEndpointRegistry extends LRUCache<EndpointKey, Endpoint> implements EndpointRegistry<EndpointKey> {
     private static final long serialVersionUID = 1L;
     private ConcurrentMap<EndpointKey, Endpoint> staticMap;
+    private final LRUCache<String, EndpointKey> uriAliases;
     private final CamelContext context;
 
     public DefaultEndpointRegistry(CamelContext context) {
@@ -44,6 +45,9 @@ public class DefaultEndpointRegistry extends LRUCache<EndpointKey, Endpoint> imp
         super(CamelContextHelper.getMaximumEndpointCacheSize(context), CamelContextHelper.getMaximumEndpointCacheSize(context), false);
         // static map to hold endpoints we do not want to be evicted
         this.staticMap = new ConcurrentHashMap<EndpointKey, Endpoint>();
+        // aliases from the uri as given by the caller to the normalized key, which avoids normalizing the uri on every lookup
+        int size = CamelContextHelper.getMaximumEndpointCacheSize(context);
+        this.uriAliases = new LRUCache<String, EndpointKey>(size, size, false);
         this.context = context;
     }
 
@@ -69,6 +73,26 @@ public class DefaultEndpointRegistry extends LRUCache<EndpointKey, Endpoint> imp
         return answer;
     }
 
+    /**
+     * Gets the endpoint key which the given uri was previously resolved to.
+     *
+     * @param uri the uri as given by the caller (not normalized)
+     * @return the key, or <tt>null</tt> if no alias exists for the uri
+     */
+    EndpointKey getUriAlias(String uri) {
+        return uriAliases.get(uri);
+    }
+
+    /**
+     * Adds an alias from the given uri to the endpoint key it resolved to.
+     *
+     * @param uri the uri as given by the caller (not normalized)
+     * @param key the endpoint key
+     */
+    void putUriAlias(String uri, EndpointKey key) {
+        uriAliases.put(uri, key);
+    }
+
     @Override
     public Endpoint put(EndpointKey key, Endpoint endpoint) {
         // at first we must see if the key already exists and then replace it back, so it stays the same spot
@@ -145,6 +169,7 @@ public class DefaultEndpointRegistry extends LRUCache<EndpointKey, Endpoint> imp
     @Override
     public void clear() {
         staticMap.clear();
+        uriAliases.clear();
         super.clear();
     }
 
@@ -184,6 +209,34 @@ public class DefaultEndpointRegistry extends LRUCache<EndpointKey, Endpoint> imp
     public void purge() {
         // only purge the dynamic part
         super.clear();
+        uriAliases.clear();
+    }
+
+    /**
+     * Number of uri aliases in the alias cache
+     */
+    public int uriAliasSize() {
+        return uriAliases.size();
+    }
+
+    /**
+     * Number of lookups which was resolved from the alias cache, without normalizing the uri
+     */
+    public long getUriAliasHits() {
+        return uriAliases.getHits();
+    }
+
+    /**
+     * Number of lookups which was not resolved from the alias cache, and had to normalize the uri
+     */
+    public long getUriAliasMisses() {
+        return uriAliases.getMisses();
+    }
+
+    @Override
+    public void resetStatistics() {
+        super.resetStatistics();
+        uriAliases.resetStatistics();
     }
 
     @Override
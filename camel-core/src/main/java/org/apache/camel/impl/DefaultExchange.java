@@ -143,9 +143,11 @@ public final class DefaultExchange implements Exchange {
         Map<String, Object> answer = new ConcurrentHashMap<String, Object>(properties);
 
         // safe copy message history using a defensive copy
-        List<MessageHistory> history = (List<MessageHistory>) answer.remove(Exchange.MESSAGE_HISTORY);
-        if (history != null) {
-            answer.put(Exchange.MESSAGE_HISTORY, new ArrayList<MessageHistory>(history));
+        Object history = answer.remove(Exchange.MESSAGE_HISTORY);
+        if (history instanceof MessageHistoryList) {
+            answer.put(Exchange.MESSAGE_HISTORY, ((MessageHistoryList) history).copy());
+        } else if (history != null) {
+            answer.put(Exchange.MESSAGE_HISTORY, new ArrayList<MessageHistory>((List<MessageHistory>) history));
         }
 
         return answer;
@@ -50,6 +50,9 @@ import org.slf4j.LoggerFactory;
  * <li>exception</li>
  * </ul>
  * Any object that is not serializable will be skipped and Camel will log this at WARN level.
+ * <p/>
+ * The holder is serialized using Java serialization by default, but can also be written in a more compact
+ * format using a {@link org.apache.camel.spi.ExchangeHolderCodec}.
  *
  * @version 
  */
@@ -169,6 +172,78 @@ public class DefaultExchangeHolder implements Serializable {
         payload.properties.put(key, property);
     }
 
+    public String getExchangeId() {
+        return exchangeId;
+    }
+
+    public void setExchangeId(String exchangeId) {
+        this.exchangeId = exchangeId;
+    }
+
+    public Object getInBody() {
+        return inBody;
+    }
+
+    public void setInBody(Object inBody) {
+        this.inBody = inBody;
+    }
+
+    public Object getOutBody() {
+        return outBody;
+    }
+
+    public void setOutBody(Object outBody) {
+        this.outBody = outBody;
+    }
+
+    public Boolean getInFaultFlag() {
+        return inFaultFlag;
+    }
+
+    public void setInFaultFlag(Boolean inFaultFlag) {
+        this.inFaultFlag = inFaultFlag;
+    }
+
+    public Boolean getOutFaultFlag() {
+        return outFaultFlag;
+    }
+
+    public void setOutFaultFlag(Boolean outFaultFlag) {
+        this.outFaultFlag = outFaultFlag;
+    }
+
+    public Map<String, Object> getInHeaders() {
+        return inHeaders;
+    }
+
+    public void setInHeaders(Map<String, Object> inHeaders) {
+        this.inHeaders = inHeaders;
+    }
+
+    public Map<String, Object> getOutHeaders() {
+        return outHeaders;
+    }
+
+    public void setOutHeaders(Map<String, Object> outHeaders) {
+        this.outHeaders = outHeaders;
+    }
+
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(Map<String, Object> properties) {
+        this.properties = properties;
+    }
+
+    public Exception getException() {
+        return exception;
+    }
+
+    public void setException(Exception exception) {
+        this.exception = exception;
+    }
+
     public String toString() {
         StringBuilder sb = new StringBuilder("DefaultExchangeHolder[exchangeId=").append(exchangeId);
         sb.append("inBody=").append(inBody).append(", outBody=").append(outBody);
@@ -24,6 +24,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -33,10 +34,12 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.NamedNode;
 import org.apache.camel.StaticService;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.model.OptionalIdentifiedDefinition;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.ProcessorDefinitionHelper;
 import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.spi.ExecutorServiceLifecycleStrategy;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.LifecycleStrategy;
 import org.apache.camel.spi.ThreadPoolFactory;
@@ -49,6 +52,7 @@ import org.apache.camel.util.URISupport;
 import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
 import org.apache.camel.util.concurrent.ThreadHelper;
+import org.apache.camel.util.concurrent.VirtualThreadPerTaskExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -184,6 +188,16 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
         ObjectHelper.notNull(profile, "ThreadPoolProfile");
 
         ThreadPoolProfile defaultProfile = getDefaultThreadPoolProfile();
+        ThreadPoolType poolType = profile.getPoolType() != null ? profile.getPoolType() : defaultProfile.getPoolType();
+        if (poolType == ThreadPoolType.WorkStealing) {
+            // a work-stealing pool has no bounded queue, so the options configured for it have no effect
+            boolean queueSize = profile.getMaxQueueSize() != null && !profile.getMaxQueueSize().equals(defaultProfile.getMaxQueueSize());
+            boolean rejectedPolicy = profile.getRejectedPolicy() != null && profile.getRejectedPolicy() != defaultProfile.getRejectedPolicy();
+            if (queueSize || rejectedPolicy) {
+                LOG.warn("The maxQueueSize and rejectedPolicy options are not supported by work-stealing thread pools and are ignored"
+                        + " for thread pool profile: {} with name: {}", profile.getId(), sanitizedName);
+            }
+        }
         profile.addDefaults(defaultProfile);
 
         ThreadFactory threadFactory = createThreadFactory(sanitizedName, true);
@@ -338,6 +352,12 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
             for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
                 lifecycle.onThreadPoolRemove(camelContext, threadPool);
             }
+        } else if (isManagedExecutorService(executorService)) {
+            for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
+                if (lifecycle instanceof ExecutorServiceLifecycleStrategy) {
+                    ((ExecutorServiceLifecycleStrategy) lifecycle).onExecutorServiceRemove(camelContext, executorService);
+                }
+            }
         }
 
         // remove reference as its shutdown (do not remove if fail-safe)
@@ -382,6 +402,12 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
             for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
                 lifecycle.onThreadPoolRemove(camelContext, threadPool);
             }
+        } else if (isManagedExecutorService(executorService)) {
+            for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
+                if (lifecycle instanceof ExecutorServiceLifecycleStrategy) {
+                    ((ExecutorServiceLifecycleStrategy) lifecycle).onExecutorServiceRemove(camelContext, executorService);
+                }
+            }
         }
 
         // remove reference as its shutdown (do not remove if fail-safe)
@@ -540,12 +566,26 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
             for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
                 lifecycle.onThreadPoolAdd(camelContext, threadPool, id, sourceId, routeId, threadPoolProfileId);
             }
+        } else if (isManagedExecutorService(executorService)) {
+            for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
+                if (lifecycle instanceof ExecutorServiceLifecycleStrategy) {
+                    ((ExecutorServiceLifecycleStrategy) lifecycle).onExecutorServiceAdd(camelContext, executorService, id, sourceId, routeId, threadPoolProfileId);
+                }
+            }
         }
 
         // now call strategy to allow custom logic
         onNewExecutorService(executorService);
     }
 
+    /**
+     * Whether the executor service is a work-stealing or virtual thread executor service, which
+     * is not a {@link ThreadPoolExecutor} but can still be managed.
+     */
+    private static boolean isManagedExecutorService(ExecutorService executorService) {
+        return executorService instanceof ForkJoinPool || executorService instanceof VirtualThreadPerTaskExecutor;
+    }
+
     private ThreadFactory createThreadFactory(String name, boolean isDaemon) {
         ThreadFactory threadFactory = new CamelThreadFactory(threadNamePattern, name, isDaemon);
         return threadFactory;
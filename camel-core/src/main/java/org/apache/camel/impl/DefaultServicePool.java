@@ -18,10 +18,11 @@ package org.apache.camel.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.spi.ServicePool;
 import org.apache.camel.support.ServiceSupport;
@@ -31,12 +32,15 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Default implementation to inherit for a basic service pool.
+ * <p/>
+ * The pool is not synchronized, as the services for each key is kept in a {@link ConcurrentLinkedQueue}
+ * which is bounded by the capacity of the pool using an atomic counter.
  *
  * @version 
  */
 public abstract class DefaultServicePool<Key, Service> extends ServiceSupport implements ServicePool<Key, Service> {
     protected final Logger log = LoggerFactory.getLogger(getClass());
-    protected final ConcurrentMap<Key, BlockingQueue<Service>> pool = new ConcurrentHashMap<Key, BlockingQueue<Service>>();
+    protected final ConcurrentMap<Key, ServiceQueue<Service>> pool = new ConcurrentHashMap<Key, ServiceQueue<Service>>();
     protected int capacity = 100;
 
     protected DefaultServicePool() {
@@ -54,19 +58,22 @@ public abstract class DefaultServicePool<Key, Service> extends ServiceSupport im
         this.capacity = capacity;
     }
 
-    public synchronized int size() {
+    public int size() {
         int size = 0;
-        for (BlockingQueue<Service> entry : pool.values()) {
+        for (ServiceQueue<Service> entry : pool.values()) {
             size += entry.size();
         }
         return size;
     }
 
-    public synchronized Service addAndAcquire(Key key, Service service) {
-        BlockingQueue<Service> entry = pool.get(key);
+    public Service addAndAcquire(Key key, Service service) {
+        ServiceQueue<Service> entry = pool.get(key);
         if (entry == null) {
-            entry = new ArrayBlockingQueue<Service>(capacity);
-            pool.put(key, entry);
+            entry = new ServiceQueue<Service>(capacity);
+            ServiceQueue<Service> existing = pool.putIfAbsent(key, entry);
+            if (existing != null) {
+                entry = existing;
+            }
         }
         log.trace("AddAndAcquire key: {} service: {}", key, service);
 
@@ -77,23 +84,28 @@ public abstract class DefaultServicePool<Key, Service> extends ServiceSupport im
         return service;
     }
 
-    public synchronized Service acquire(Key key) {
-        BlockingQueue<Service> services = pool.get(key);
-        if (services == null || services.isEmpty()) {
+    public Service acquire(Key key) {
+        ServiceQueue<Service> services = pool.get(key);
+        if (services == null) {
             log.trace("No free services in pool to acquire for key: {}", key);
             return null;
         }
 
         Service answer = services.poll();
-        log.trace("Acquire: {} service: {}", key, answer);
+        if (answer == null) {
+            log.trace("No free services in pool to acquire for key: {}", key);
+        } else {
+            log.trace("Acquire: {} service: {}", key, answer);
+        }
         return answer;
     }
 
-    public synchronized void release(Key key, Service service) {
+    public void release(Key key, Service service) {
         log.trace("Release: {} service: {}", key, service);
-        BlockingQueue<Service> services = pool.get(key);
-        if (services != null) {
-            services.add(service);
+        ServiceQueue<Service> services = pool.get(key);
+        // the slot is reserved before the service is added so concurrent releases cannot exceed the capacity
+        if (services != null && !services.offer(service)) {
+            throw new IllegalStateException("Queue full");
         }
     }
 
@@ -107,13 +119,63 @@ public abstract class DefaultServicePool<Key, Service> extends ServiceSupport im
 
     protected void doStop() throws Exception {
         log.debug("Stopping service pool: {}", this);
-        for (BlockingQueue<Service> entry : pool.values()) {
+        for (ServiceQueue<Service> entry : pool.values()) {
             Collection<Service> values = new ArrayList<Service>();
             entry.drainTo(values);
             ServiceHelper.stopServices(values);
-            entry.clear();
         }
         pool.clear();
     }
 
+    /**
+     * The free services for a key, which is a lock free queue bounded by the capacity of the pool.
+     */
+    protected static final class ServiceQueue<Service> {
+        private final Queue<Service> services = new ConcurrentLinkedQueue<Service>();
+        // the size of a concurrent linked queue is not constant time, so its tracked separately
+        private final AtomicInteger size = new AtomicInteger();
+        private final int capacity;
+
+        ServiceQueue(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Adds the service, or returns <tt>false</tt> if the queue is full.
+         */
+        boolean offer(Service service) {
+            int current;
+            do {
+                current = size.get();
+                if (current >= capacity) {
+                    return false;
+                }
+            } while (!size.compareAndSet(current, current + 1));
+            services.offer(service);
+            return true;
+        }
+
+        /**
+         * Removes a service, or returns <tt>null</tt> if the queue is empty.
+         */
+        Service poll() {
+            Service answer = services.poll();
+            if (answer != null) {
+                size.decrementAndGet();
+            }
+            return answer;
+        }
+
+        void drainTo(Collection<Service> values) {
+            Service service;
+            while ((service = poll()) != null) {
+                values.add(service);
+            }
+        }
+
+        int size() {
+            return size.get();
+        }
+    }
+
 }
@@ -27,10 +27,12 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.StreamCacheArena;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.util.FilePathResolver;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,6 +65,10 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<SpoolRule>();
     private boolean anySpoolRules;
+    private long offHeapMemoryBudget;
+    private int offHeapChunkSize = 64 * 1024;
+    private long offHeapSpoolSegmentSize = 64 * 1024 * 1024;
+    private volatile StreamCacheArena arena;
 
     public CamelContext getCamelContext() {
         return camelContext;
@@ -148,6 +154,34 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         this.anySpoolRules = anySpoolTasks;
     }
 
+    public long getOffHeapMemoryBudget() {
+        return offHeapMemoryBudget;
+    }
+
+    public void setOffHeapMemoryBudget(long offHeapMemoryBudget) {
+        this.offHeapMemoryBudget = offHeapMemoryBudget;
+    }
+
+    public int getOffHeapChunkSize() {
+        return offHeapChunkSize;
+    }
+
+    public void setOffHeapChunkSize(int offHeapChunkSize) {
+        this.offHeapChunkSize = offHeapChunkSize;
+    }
+
+    public long getOffHeapSpoolSegmentSize() {
+        return offHeapSpoolSegmentSize;
+    }
+
+    public void setOffHeapSpoolSegmentSize(long offHeapSpoolSegmentSize) {
+        this.offHeapSpoolSegmentSize = offHeapSpoolSegmentSize;
+    }
+
+    public StreamCacheArena getArena() {
+        return arena;
+    }
+
     public Statistics getStatistics() {
         return statistics;
     }
@@ -263,8 +297,12 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             throw new IllegalArgumentException("SpoolHeapMemoryWatermarkThreshold must not be higher than 99, was: " + spoolUsedHeapMemoryThreshold);
         }
 
+        // the segment file is not encrypted so spool to temporary files if using a chiper
+        long segmentSize = ObjectHelper.isEmpty(spoolChiper) ? offHeapSpoolSegmentSize : 0;
+        boolean useSegment = offHeapMemoryBudget > 0 && segmentSize > 0;
+
         // if we can overflow to disk then make sure directory exists / is created
-        if (spoolThreshold > 0 || spoolUsedHeapMemoryThreshold > 0) {
+        if (spoolThreshold > 0 || spoolUsedHeapMemoryThreshold > 0 || useSegment) {
 
             if (spoolDirectory == null && spoolDirectoryName == null) {
                 throw new IllegalArgumentException("SpoolDirectory must be configured when using SpoolThreshold > 0");
@@ -308,6 +346,11 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             }
         }
 
+        if (offHeapMemoryBudget > 0) {
+            arena = new StreamCacheArena(spoolDirectory, offHeapMemoryBudget, offHeapChunkSize, segmentSize);
+            LOG.info("StreamCaching using off-heap arena: {}", arena);
+        }
+
         LOG.debug("StreamCaching configuration {}", this.toString());
 
         if (spoolDirectory != null) {
@@ -319,6 +362,12 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
 
     @Override
     protected void doStop() throws Exception {
+        if (arena != null) {
+            LOG.debug("Closing off-heap arena: {}", arena);
+            arena.close();
+            arena = null;
+        }
+
         if (spoolThreshold > 0 & spoolDirectory != null  && isRemoveSpoolDirectoryWhenStopping()) {
             LOG.debug("Removing spool directory: {}", spoolDirectory);
             FileUtil.removeDir(spoolDirectory);
@@ -339,6 +388,7 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             + ", spoolThreshold=" + spoolThreshold
             + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
             + ", bufferSize=" + bufferSize
+            + ", offHeapMemoryBudget=" + offHeapMemoryBudget
             + ", anySpoolRules=" + anySpoolRules + "]";
     }
 
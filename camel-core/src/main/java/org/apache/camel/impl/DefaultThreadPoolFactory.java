@@ -19,6 +19,7 @@ package org.apache.camel.impl;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
@@ -28,23 +29,47 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.CamelForkJoinWorkerThreadFactory;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.concurrent.RejectableScheduledThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
+import org.apache.camel.util.concurrent.VirtualThreadPerTaskExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Factory for thread pools that uses the JDK {@link Executors} for creating the thread pools.
+ * <p/>
+ * The {@link ThreadPoolProfile#getPoolType() pool type} of the profile decides whether a regular thread pool,
+ * a work-stealing {@link ForkJoinPool} or an executor using virtual threads is created. Scheduled thread pools
+ * are always regular thread pools.
  */
 public class DefaultThreadPoolFactory implements ThreadPoolFactory {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultThreadPoolFactory.class);
+
     public ExecutorService newCachedThreadPool(ThreadFactory threadFactory) {
         return Executors.newCachedThreadPool(threadFactory);
     }
     
     @Override
     public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
+        ThreadPoolType type = profile.getPoolType();
+        if (type == ThreadPoolType.WorkStealing) {
+            int parallelism = profile.getPoolSize() != null && profile.getPoolSize() > 0
+                    ? profile.getPoolSize() : Runtime.getRuntime().availableProcessors();
+            return newWorkStealingPool(parallelism, factory);
+        } else if (type == ThreadPoolType.Virtual) {
+            if (VirtualThreadPerTaskExecutor.isSupported()) {
+                return newVirtualThreadPool(factory);
+            }
+            LOG.warn("Virtual threads is not supported by this JVM. Using a regular thread pool for thread pool profile: {}", profile.getId());
+        }
+
         // allow core thread timeout is default false if not configured
         boolean allow = profile.getAllowCoreThreadTimeOut() != null ? profile.getAllowCoreThreadTimeOut() : false;
         return newThreadPool(profile.getPoolSize(), 
@@ -95,6 +120,38 @@ public class DefaultThreadPoolFactory implements ThreadPoolFactory {
         return answer;
     }
     
+    /**
+     * Creates a work-stealing thread pool.
+     *
+     * @param parallelism   the parallelism level
+     * @param threadFactory the thread factory, which is used for naming the worker threads if its a {@link CamelThreadFactory}
+     */
+    public ExecutorService newWorkStealingPool(int parallelism, ThreadFactory threadFactory) {
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory;
+        if (threadFactory instanceof CamelThreadFactory) {
+            CamelThreadFactory ctf = (CamelThreadFactory) threadFactory;
+            factory = new CamelForkJoinWorkerThreadFactory(ctf.getPattern(), ctf.getName(), ctf.isDaemon());
+        } else {
+            factory = ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+        }
+        // use async mode as tasks submitted are not joined
+        return new ForkJoinPool(parallelism, factory, null, true);
+    }
+
+    /**
+     * Creates an executor service which runs each task in a new virtual thread.
+     *
+     * @param threadFactory the thread factory, which is used for naming the threads if its a {@link CamelThreadFactory}
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public ExecutorService newVirtualThreadPool(ThreadFactory threadFactory) {
+        if (threadFactory instanceof CamelThreadFactory) {
+            CamelThreadFactory ctf = (CamelThreadFactory) threadFactory;
+            return new VirtualThreadPerTaskExecutor(ctf.getPattern(), ctf.getName());
+        }
+        return new VirtualThreadPerTaskExecutor(null, null);
+    }
+
     @Override
     public ScheduledExecutorService newScheduledThreadPool(ThreadPoolProfile profile, ThreadFactory threadFactory) {
         RejectedExecutionHandler rejectedExecutionHandler = profile.getRejectedExecutionHandler();
@@ -0,0 +1,212 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.StreamCache;
+import org.apache.camel.component.file.GenericFile;
+
+/**
+ * Keeps track of the estimated number of bytes of the message bodies which are inflight, per route and in total.
+ * <p/>
+ * The size of the body is estimated when the exchange begins, from {@link StreamCache#length()},
+ * the length of a <tt>byte[]</tt> or {@link CharSequence}, {@link GenericFile#getFileLength()},
+ * or else the <tt>Content-Length</tt> header. The same number of bytes are released when the exchange is done,
+ * even if the body has been changed in the meantime.
+ * <p/>
+ * An exchange which is routed to a sub route tracked by the same tracker is counted in both routes,
+ * in the same way as it is inflight in both routes.
+ * <p/>
+ * The registered {@link Listener}s are notified when bytes are released, so policies sharing the tracker
+ * can resume routes which were suspended because of the bytes inflight in routes of the other policies.
+ *
+ * @see ThrottlingInflightBytesRoutePolicy
+ */
+public class InflightBytesTracker {
+
+    private final ConcurrentMap<String, RouteInflightBytes> routes = new ConcurrentHashMap<String, RouteInflightBytes>();
+    private final AtomicLong inflightBytes = new AtomicLong();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+
+    /**
+     * Listener which is notified when inflight bytes has been released.
+     */
+    public interface Listener {
+
+        /**
+         * Invoked when inflight bytes has been released, such as when an exchange is done.
+         *
+         * @param tracker the tracker
+         */
+        void onInflightBytesReleased(InflightBytesTracker tracker);
+    }
+
+    private static final class RouteInflightBytes {
+        private final AtomicLong bytes = new AtomicLong();
+        private final ConcurrentMap<Exchange, Long> exchanges = new ConcurrentHashMap<Exchange, Long>();
+    }
+
+    /**
+     * Adds the exchange as inflight in the given route
+     *
+     * @param routeId  the route id
+     * @param exchange the exchange
+     * @param size     the estimated size of the body, see {@link #estimateBodySize(Exchange)}
+     */
+    public void add(String routeId, Exchange exchange, long size) {
+        RouteInflightBytes route = getOrCreate(routeId);
+        if (route.exchanges.putIfAbsent(exchange, size) == null) {
+            route.bytes.addAndGet(size);
+            inflightBytes.addAndGet(size);
+        }
+    }
+
+    /**
+     * Removes the exchange from being inflight in the given route
+     *
+     * @param routeId  the route id
+     * @param exchange the exchange
+     * @return the number of bytes which was released
+     */
+    public long remove(String routeId, Exchange exchange) {
+        RouteInflightBytes route = routes.get(routeId);
+        if (route == null) {
+            return 0;
+        }
+        Long size = route.exchanges.remove(exchange);
+        if (size == null) {
+            return 0;
+        }
+        route.bytes.addAndGet(-size);
+        inflightBytes.addAndGet(-size);
+        if (size > 0) {
+            notifyReleased();
+        }
+        return size;
+    }
+
+    /**
+     * Total number of bytes inflight
+     */
+    public long getInflightBytes() {
+        return inflightBytes.get();
+    }
+
+    /**
+     * Number of bytes inflight in the given route
+     */
+    public long getInflightBytes(String routeId) {
+        RouteInflightBytes route = routes.get(routeId);
+        return route != null ? route.bytes.get() : 0;
+    }
+
+    /**
+     * Number of exchanges inflight in the given route
+     */
+    public int size(String routeId) {
+        RouteInflightBytes route = routes.get(routeId);
+        return route != null ? route.exchanges.size() : 0;
+    }
+
+    /**
+     * Removes all the tracked exchanges of the given route
+     */
+    public void removeRoute(String routeId) {
+        RouteInflightBytes route = routes.remove(routeId);
+        if (route != null) {
+            inflightBytes.addAndGet(-route.bytes.get());
+            notifyReleased();
+        }
+    }
+
+    /**
+     * Removes all the tracked exchanges
+     */
+    public void clear() {
+        routes.clear();
+        inflightBytes.set(0);
+        notifyReleased();
+    }
+
+    /**
+     * Adds the listener to be notified when inflight bytes has been released
+     */
+    public void addListener(Listener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Removes the listener
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Estimates the size in bytes of the body of the exchange, without converting the body.
+     *
+     * @param exchange the exchange
+     * @return the estimated size, or <tt>0</tt> if not possible to estimate
+     */
+    public long estimateBodySize(Exchange exchange) {
+        Message msg = exchange.hasOut() ? exchange.getOut() : exchange.getIn();
+        Object body = msg.getBody();
+        if (body instanceof StreamCache) {
+            return ((StreamCache) body).length();
+        } else if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        } else if (body instanceof CharSequence) {
+            return ((CharSequence) body).length();
+        } else if (body instanceof GenericFile) {
+            return ((GenericFile<?>) body).getFileLength();
+        }
+        Long length = msg.getHeader(Exchange.CONTENT_LENGTH, Long.class);
+        return length != null && length > 0 ? length : 0;
+    }
+
+    private void notifyReleased() {
+        for (Listener listener : listeners) {
+            listener.onInflightBytesReleased(this);
+        }
+    }
+
+    private RouteInflightBytes getOrCreate(String routeId) {
+        RouteInflightBytes route = routes.get(routeId);
+        if (route == null) {
+            route = new RouteInflightBytes();
+            RouteInflightBytes existing = routes.putIfAbsent(routeId, route);
+            if (existing != null) {
+                route = existing;
+            }
+        }
+        return route;
+    }
+
+    @Override
+    public String toString() {
+        return "InflightBytesTracker[" + inflightBytes.get() + " bytes]";
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.apache.camel.MessageHistory;
+import org.apache.camel.NamedNode;
+
+/**
+ * A compact list of {@link MessageHistory} which is stored as {@link org.apache.camel.Exchange#MESSAGE_HISTORY}
+ * on the exchange.
+ * <p/>
+ * The route id, node, timestamp and elapsed time of each node is recorded into arrays, and the
+ * {@link MessageHistory} instances is first created when the list is read, such as when the error handler
+ * logs the message history.
+ */
+public final class MessageHistoryList extends AbstractList<MessageHistory> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private String[] routeIds;
+    private NamedNode[] nodes;
+    private long[] timestamps;
+    // the elapsed time is -1 while the node is being processed
+    private long[] elapsed;
+    private int size;
+
+    public MessageHistoryList() {
+        this.routeIds = new String[INITIAL_CAPACITY];
+        this.nodes = new NamedNode[INITIAL_CAPACITY];
+        this.timestamps = new long[INITIAL_CAPACITY];
+        this.elapsed = new long[INITIAL_CAPACITY];
+    }
+
+    private MessageHistoryList(MessageHistoryList source) {
+        this.size = source.size;
+        int capacity = Math.max(source.size, INITIAL_CAPACITY);
+        this.routeIds = Arrays.copyOf(source.routeIds, capacity);
+        this.nodes = Arrays.copyOf(source.nodes, capacity);
+        this.timestamps = Arrays.copyOf(source.timestamps, capacity);
+        this.elapsed = Arrays.copyOf(source.elapsed, capacity);
+    }
+
+    /**
+     * Records that the processing of the given node is started.
+     *
+     * @param routeId   the route id
+     * @param node      the node
+     * @param timestamp the timestamp in millis
+     * @return the index of the record
+     */
+    public int add(String routeId, NamedNode node, long timestamp) {
+        return doAdd(routeId, node, timestamp, -1);
+    }
+
+    /**
+     * Records that the processing of the node at the given index is done.
+     *
+     * @param index the index of the record
+     * @param node  the node, which is used to ensure the record is for the given node
+     * @return the elapsed time in millis, or <tt>-1</tt> if there is no such record being processed
+     */
+    public long nodeProcessingDone(int index, NamedNode node) {
+        if (index >= 0 && index < size && nodes[index] == node && elapsed[index] < 0) {
+            elapsed[index] = Math.max(0, System.currentTimeMillis() - timestamps[index]);
+            return elapsed[index];
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the record at the given index if its the last record, such as when the processing of
+     * the node was done fast and its record should not be kept.
+     *
+     * @param index the index of the record
+     * @return <tt>true</tt> if the record was removed
+     */
+    public boolean removeLast(int index) {
+        if (index < 0 || index != size - 1) {
+            return false;
+        }
+        size--;
+        routeIds[size] = null;
+        nodes[size] = null;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Gets the timestamp of the first record.
+     *
+     * @return the timestamp in millis, or <tt>0</tt> if the list is empty
+     */
+    public long getStartTimestamp() {
+        return size > 0 ? timestamps[0] : 0;
+    }
+
+    /**
+     * Creates a copy of this list, such as when the exchange is copied.
+     */
+    public MessageHistoryList copy() {
+        return new MessageHistoryList(this);
+    }
+
+    @Override
+    public boolean add(MessageHistory history) {
+        long taken = history.getElapsed();
+        doAdd(history.getRouteId(), history.getNode(), history.getTimestamp().getTime(), taken);
+        return true;
+    }
+
+    @Override
+    public MessageHistory get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new Entry(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(routeIds, 0, size, null);
+        Arrays.fill(nodes, 0, size, null);
+        size = 0;
+    }
+
+    private int doAdd(String routeId, NamedNode node, long timestamp, long taken) {
+        if (size == nodes.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            routeIds = Arrays.copyOf(routeIds, capacity);
+            nodes = Arrays.copyOf(nodes, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            elapsed = Arrays.copyOf(elapsed, capacity);
+        }
+        int index = size++;
+        routeIds[index] = routeId;
+        nodes[index] = node;
+        timestamps[index] = timestamp;
+        elapsed[index] = taken;
+        modCount++;
+        return index;
+    }
+
+    /**
+     * A {@link MessageHistory} view of a record in the list.
+     */
+    private final class Entry implements MessageHistory {
+        private final int index;
+
+        private Entry(int index) {
+            this.index = index;
+        }
+
+        public String getRouteId() {
+            return routeIds[index];
+        }
+
+        public NamedNode getNode() {
+            return nodes[index];
+        }
+
+        public Date getTimestamp() {
+            return new Date(timestamps[index]);
+        }
+
+        public long getElapsed() {
+            long taken = elapsed[index];
+            if (taken < 0) {
+                // still being processed
+                taken = Math.max(0, System.currentTimeMillis() - timestamps[index]);
+            }
+            return taken;
+        }
+
+        public void nodeProcessingDone() {
+            MessageHistoryList.this.nodeProcessingDone(index, nodes[index]);
+        }
+
+        @Override
+        public String toString() {
+            NamedNode node = nodes[index];
+            return "DefaultMessageHistory["
+                    + "routeId=" + routeIds[index]
+                    + ", node=" + (node != null ? node.getId() : null)
+                    + ']';
+        }
+    }
+}
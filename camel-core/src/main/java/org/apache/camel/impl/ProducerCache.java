@@ -17,6 +17,11 @@
 package org.apache.camel.impl;
 
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -44,6 +49,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Cache containing created {@link Producer}.
+ * <p/>
+ * Looking up a cached producer is lock-free, and only the creation of a producer for a given endpoint
+ * is serialized, so concurrent senders to the same endpoint do not create the same producer more than once.
+ * Therefore the map used as cache must be thread-safe.
  *
  * @version 
  */
@@ -53,6 +62,7 @@ public class ProducerCache extends ServiceSupport {
     private final CamelContext camelContext;
     private final ServicePool<Endpoint, Producer> pool;
     private final Map<String, Producer> producers;
+    private final ConcurrentMap<String, FutureTask<Producer>> creating = new ConcurrentHashMap<String, FutureTask<Producer>>();
     private final Object source;
     private boolean eventNotifierEnabled = true;
 
@@ -388,38 +398,89 @@ public class ProducerCache extends ServiceSupport {
         });
     }
 
-    protected synchronized Producer doGetProducer(Endpoint endpoint, boolean pooled) {
-        String key = endpoint.getEndpointUri();
-        Producer answer = producers.get(key);
-        if (pooled && answer == null) {
-            // try acquire from connection pool
-            answer = pool.acquire(endpoint);
-        }
+    protected Producer doGetProducer(final Endpoint endpoint, final boolean pooled) {
+        final String key = endpoint.getEndpointUri();
+        while (true) {
+            Producer answer = producers.get(key);
+            if (pooled && answer == null) {
+                // try acquire from connection pool
+                answer = pool.acquire(endpoint);
+            }
+            if (answer != null) {
+                return answer;
+            }
 
-        if (answer == null) {
-            // create a new producer
+            // only one thread at a time may create a producer for the given endpoint
+            FutureTask<Producer> task = new FutureTask<Producer>(new Callable<Producer>() {
+                public Producer call() throws Exception {
+                    return createProducer(endpoint, key, pooled);
+                }
+            });
+            FutureTask<Producer> existing = creating.putIfAbsent(key, task);
+            if (existing == null) {
+                try {
+                    task.run();
+                } finally {
+                    creating.remove(key, task);
+                }
+                return getCreatedProducer(endpoint, task);
+            }
+
+            // another thread is creating the producer, so wait for it and then try again, as a singleton producer
+            // is then in the cache, otherwise we need to create our own
             try {
-                answer = endpoint.createProducer();
-                // add as service which will also start the service
-                // (false => we and handling the lifecycle of the producer in this cache)
-                getCamelContext().addService(answer, false);
-            } catch (Exception e) {
+                existing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 throw new FailedToCreateProducerException(endpoint, e);
+            } catch (ExecutionException e) {
+                // ignore as we try to create the producer ourselves
+                LOG.trace("Error creating producer by another thread for endpoint: {} due: {}. Will try again.", endpoint, e.getCause());
             }
+        }
+    }
 
-            // add producer to cache or pool if applicable
-            if (pooled && answer instanceof ServicePoolAware) {
-                LOG.debug("Adding to producer service pool with key: {} for producer: {}", endpoint, answer);
-                answer = pool.addAndAcquire(endpoint, answer);
-            } else if (answer.isSingleton()) {
-                LOG.debug("Adding to producer cache with key: {} for producer: {}", endpoint, answer);
-                producers.put(key, answer);
-            }
+    private Producer createProducer(Endpoint endpoint, String key, boolean pooled) {
+        Producer answer;
+        try {
+            answer = endpoint.createProducer();
+            // add as service which will also start the service
+            // (false => we and handling the lifecycle of the producer in this cache)
+            getCamelContext().addService(answer, false);
+        } catch (Exception e) {
+            throw new FailedToCreateProducerException(endpoint, e);
+        }
+
+        // add producer to cache or pool if applicable
+        if (pooled && answer instanceof ServicePoolAware) {
+            LOG.debug("Adding to producer service pool with key: {} for producer: {}", endpoint, answer);
+            answer = pool.addAndAcquire(endpoint, answer);
+        } else if (answer.isSingleton()) {
+            LOG.debug("Adding to producer cache with key: {} for producer: {}", endpoint, answer);
+            producers.put(key, answer);
         }
 
         return answer;
     }
 
+    private static Producer getCreatedProducer(Endpoint endpoint, FutureTask<Producer> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            // cannot happen as the task has been run
+            Thread.currentThread().interrupt();
+            throw new FailedToCreateProducerException(endpoint, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new FailedToCreateProducerException(endpoint, cause);
+        }
+    }
+
     protected void doStart() throws Exception {
         ServiceHelper.startServices(producers.values());
         ServiceHelper.startServices(pool);
@@ -529,7 +590,7 @@ public class ProducerCache extends ServiceSupport {
     /**
      * Purges this cache
      */
-    public synchronized void purge() {
+    public void purge() {
         producers.clear();
         pool.purge();
     }
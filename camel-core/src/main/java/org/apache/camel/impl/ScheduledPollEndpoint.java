@@ -64,7 +64,8 @@ public abstract class ScheduledPollEndpoint extends DefaultEndpoint {
     private boolean sendEmptyMessageWhenIdle;
     @UriParam(label = "consumer", description = "If greedy is enabled, then the ScheduledPollConsumer will run immediately again, if the previous run polled 1 or more messages.")
     private boolean greedy;
-    @UriParam(enums = "spring,quartz2", label = "consumer", description = "To use a cron scheduler from either camel-spring or camel-quartz2 component")
+    @UriParam(enums = "spring,quartz2,wheel", label = "consumer", description = "To use a cron scheduler from either camel-spring or camel-quartz2 component,"
+            + " or the timing wheel scheduler which is shared in the CamelContext")
     private ScheduledPollConsumerScheduler scheduler;
     private String schedulerName; // used when configuring scheduler using a string value
     @UriParam(label = "consumer", description = "To configure additional properties when using a custom scheduler or any of the Quartz2, Spring based scheduler.")
@@ -110,6 +111,13 @@ public abstract class ScheduledPollEndpoint extends DefaultEndpoint {
             setSchedulerProperties(schedulerProperties);
         }
 
+        resolveScheduler();
+    }
+
+    /**
+     * Resolves the scheduler if configured using a string value
+     */
+    protected void resolveScheduler() {
         if (scheduler == null && schedulerName != null) {
             // special for scheduler if its "spring"
             if ("spring".equals(schedulerName)) {
@@ -126,6 +134,8 @@ public abstract class ScheduledPollEndpoint extends DefaultEndpoint {
                 } catch (ClassNotFoundException e) {
                     throw new IllegalArgumentException("Cannot load " + QUARTZ_2_SCHEDULER + " from classpath. Make sure camel-quarz2.jar is on the classpath.", e);
                 }
+            } else if ("wheel".equals(schedulerName)) {
+                setScheduler(new TimingWheelScheduledPollConsumerScheduler());
             } else {
                 setScheduler(CamelContextHelper.mandatoryLookup(getCamelContext(), schedulerName, ScheduledPollConsumerScheduler.class));
             }
@@ -154,6 +164,9 @@ public abstract class ScheduledPollEndpoint extends DefaultEndpoint {
     }
 
     protected void initConsumerProperties() {
+        // the scheduler may not have been resolved if the component configured all the options on the endpoint
+        resolveScheduler();
+
         // must setup consumer properties before we are ready to start
         Map<String, Object> options = getConsumerProperties();
         if (!options.containsKey("startScheduler")) {
@@ -330,7 +343,8 @@ public abstract class ScheduledPollEndpoint extends DefaultEndpoint {
      *
      * Notice: If using a custom scheduler then the options for initialDelay, useFixedDelay, timeUnit,
      * and scheduledExecutorService may not be in use. Use the text quartz2 to refer to use the Quartz2 scheduler;
-     * and use the text spring to use the Spring based; and use the text #myScheduler to refer to a custom scheduler
+     * and use the text spring to use the Spring based; and use the text wheel to use the timing wheel scheduler
+     * which is shared in the CamelContext; and use the text #myScheduler to refer to a custom scheduler
      * by its id in the Registry. See Quartz2 page for an example.
      */
     public void setScheduler(ScheduledPollConsumerScheduler scheduler) {
@@ -340,7 +354,7 @@ public abstract class ScheduledPollEndpoint extends DefaultEndpoint {
     /**
      * Allow to plugin a custom org.apache.camel.spi.ScheduledPollConsumerScheduler to use as the scheduler for
      * firing when the polling consumer runs. This option is used for referring to one of the built-in schedulers
-     * either <tt>spring</tt>, or <tt>quartz2</tt>.
+     * either <tt>spring</tt>, <tt>quartz2</tt>, or <tt>wheel</tt>.
      */
     public void setScheduler(String schedulerName) {
         this.schedulerName = schedulerName;
@@ -0,0 +1,370 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Consumer;
+import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.Route;
+import org.apache.camel.support.RoutePolicySupport;
+import org.apache.camel.util.CamelLogger;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A throttle based {@link org.apache.camel.spi.RoutePolicy} which is capable of dynamic
+ * throttling a route based on the estimated number of bytes of the inflight message bodies.
+ * <p/>
+ * The bytes are tracked using a {@link InflightBytesTracker}, and can be bounded per route and in total
+ * for all the routes using the tracker. The same tracker can be shared by several policies
+ * to have a context-wide budget.
+ * <p/>
+ * When a budget is exceeded then depending on the {@link ThrottlingAction} either the consumers are suspended
+ * until the inflight bytes is below the resume percentage of the budget again, or new exchanges are rejected
+ * with a {@link RejectedExecutionException}.
+ * <p/>
+ * The policy listens on the tracker, so when it is shared then routes which were suspended because of the bytes
+ * inflight in the routes of other policies are resumed when those bytes are released.
+ *
+ * @see ThrottlingInflightRoutePolicy
+ */
+public class ThrottlingInflightBytesRoutePolicy extends RoutePolicySupport implements CamelContextAware, InflightBytesTracker.Listener {
+
+    public enum ThrottlingAction {
+        Suspend, Reject
+    }
+
+    private final Set<Route> routes = new LinkedHashSet<Route>();
+    private final Set<Route> suspendedRoutes = Collections.newSetFromMap(new ConcurrentHashMap<Route, Boolean>());
+    private final Lock lock = new ReentrantLock();
+    private final AtomicLong rejectedCounter = new AtomicLong();
+    private CamelContext camelContext;
+    private InflightBytesTracker tracker = new InflightBytesTracker();
+    private ThrottlingAction action = ThrottlingAction.Suspend;
+    private long maxRouteInflightBytes;
+    private long maxTotalInflightBytes;
+    private int resumePercentOfMax = 70;
+    private LoggingLevel loggingLevel = LoggingLevel.INFO;
+    private CamelLogger logger;
+
+    public ThrottlingInflightBytesRoutePolicy() {
+    }
+
+    @Override
+    public String toString() {
+        return "ThrottlingInflightBytesRoutePolicy[" + maxRouteInflightBytes + " / " + maxTotalInflightBytes + " bytes / "
+                + resumePercentOfMax + "% using action " + action + "]";
+    }
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    public void onInit(Route route) {
+        super.onInit(route);
+        // we need to remember the routes we apply for
+        routes.add(route);
+    }
+
+    @Override
+    public void onRemove(Route route) {
+        routes.remove(route);
+        suspendedRoutes.remove(route);
+    }
+
+    @Override
+    public void onExchangeBegin(Route route, Exchange exchange) {
+        long size = tracker.estimateBodySize(exchange);
+
+        if (action == ThrottlingAction.Reject) {
+            String reason = exceeded(route, size);
+            if (reason != null) {
+                rejectedCounter.incrementAndGet();
+                exchange.setException(new RejectedExecutionException("Exchange rejected as " + reason + " on route: " + route.getId()));
+                // do not route the exchange
+                exchange.setProperty(Exchange.ROUTE_STOP, Boolean.TRUE);
+                return;
+            }
+        }
+
+        tracker.add(route.getId(), exchange, size);
+
+        if (action == ThrottlingAction.Suspend) {
+            throttle(route);
+        }
+    }
+
+    @Override
+    public void onExchangeDone(Route route, Exchange exchange) {
+        tracker.remove(route.getId(), exchange);
+
+        if (action == ThrottlingAction.Suspend) {
+            throttle(route);
+        }
+    }
+
+    @Override
+    public void onInflightBytesReleased(InflightBytesTracker tracker) {
+        // bytes of another policy sharing the tracker may have been released, so check whether our suspended routes can resume
+        if (action == ThrottlingAction.Suspend && !suspendedRoutes.isEmpty() && isRunAllowed()) {
+            throttle(new ArrayList<Route>(suspendedRoutes));
+        }
+    }
+
+    /**
+     * Throttles the routes by suspending the consumers if the inflight bytes exceeds the budgets,
+     * and resuming the consumers when the inflight bytes is below the resume percentage of the budgets.
+     *
+     * @param route the route which an exchange began or is done
+     */
+    protected void throttle(Route route) {
+        // when using a total budget then all the routes must be throttled
+        throttle(maxTotalInflightBytes > 0 ? routes : Collections.singleton(route));
+    }
+
+    private void throttle(Collection<Route> candidates) {
+        long total = tracker.getInflightBytes();
+        boolean totalStop = maxTotalInflightBytes > 0 && total > maxTotalInflightBytes;
+        boolean totalStart = maxTotalInflightBytes <= 0 || total <= resumeBytes(maxTotalInflightBytes);
+
+        for (Route candidate : candidates) {
+            long bytes = tracker.getInflightBytes(candidate.getId());
+            boolean stop = totalStop || maxRouteInflightBytes > 0 && bytes > maxRouteInflightBytes;
+            boolean start = totalStart && (maxRouteInflightBytes <= 0 || bytes <= resumeBytes(maxRouteInflightBytes));
+            if (log.isTraceEnabled()) {
+                log.trace("Route {} with {} inflight bytes ({} in total) evaluated as stop={}, start={}",
+                        new Object[]{candidate.getId(), bytes, total, stop, start});
+            }
+            if (stop || start) {
+                Consumer consumer = candidate.getConsumer();
+                try {
+                    lock.lock();
+                    if (stop) {
+                        stopConsumer(bytes, total, consumer);
+                        suspendedRoutes.add(candidate);
+                    } else {
+                        startConsumer(bytes, total, consumer);
+                        suspendedRoutes.remove(candidate);
+                    }
+                } catch (Exception e) {
+                    handleException(e);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether adding the given number of bytes would exceed any of the budgets
+     *
+     * @return the reason if exceeded, or <tt>null</tt> if not exceeded
+     */
+    private String exceeded(Route route, long size) {
+        if (maxRouteInflightBytes > 0) {
+            long bytes = tracker.getInflightBytes(route.getId());
+            // always allow a single exchange even if its larger than the budget
+            if (bytes > 0 && bytes + size > maxRouteInflightBytes) {
+                return (bytes + size) + " > " + maxRouteInflightBytes + " inflight bytes";
+            }
+        }
+        if (maxTotalInflightBytes > 0) {
+            long total = tracker.getInflightBytes();
+            if (total > 0 && total + size > maxTotalInflightBytes) {
+                return (total + size) + " > " + maxTotalInflightBytes + " total inflight bytes";
+            }
+        }
+        return null;
+    }
+
+    private long resumeBytes(long max) {
+        return resumePercentOfMax * max / 100;
+    }
+
+    public InflightBytesTracker getTracker() {
+        return tracker;
+    }
+
+    /**
+     * Sets the tracker to use, which allows to share the tracker between several policies
+     * so the total budget is for all their routes.
+     * <p/>
+     * The tracker must be set before the policy is started.
+     *
+     * @param tracker the tracker
+     */
+    public void setTracker(InflightBytesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    public ThrottlingAction getAction() {
+        return action;
+    }
+
+    /**
+     * Sets whether to suspend the consumers, or to reject the exchanges, when a budget is exceeded.
+     * <p/>
+     * Is default <tt>Suspend</tt>.
+     *
+     * @param action the action
+     */
+    public void setAction(ThrottlingAction action) {
+        this.action = action;
+    }
+
+    public long getMaxRouteInflightBytes() {
+        return maxRouteInflightBytes;
+    }
+
+    /**
+     * Sets the upper limit of the estimated number of bytes of the inflight exchanges per route.
+     * <p/>
+     * Is default 0 which means no limit.
+     *
+     * @param maxRouteInflightBytes the upper limit of inflight bytes per route
+     */
+    public void setMaxRouteInflightBytes(long maxRouteInflightBytes) {
+        this.maxRouteInflightBytes = maxRouteInflightBytes;
+    }
+
+    public long getMaxTotalInflightBytes() {
+        return maxTotalInflightBytes;
+    }
+
+    /**
+     * Sets the upper limit of the estimated number of bytes of the inflight exchanges in total
+     * for all the routes using the tracker.
+     * <p/>
+     * Is default 0 which means no limit.
+     *
+     * @param maxTotalInflightBytes the upper limit of inflight bytes in total
+     */
+    public void setMaxTotalInflightBytes(long maxTotalInflightBytes) {
+        this.maxTotalInflightBytes = maxTotalInflightBytes;
+    }
+
+    public int getResumePercentOfMax() {
+        return resumePercentOfMax;
+    }
+
+    /**
+     * Sets at which percentage of the max the throttler should start resuming the route.
+     * <p/>
+     * Will by default use 70%.
+     *
+     * @param resumePercentOfMax the percentage must be between 0 and 100
+     */
+    public void setResumePercentOfMax(int resumePercentOfMax) {
+        if (resumePercentOfMax < 0 || resumePercentOfMax > 100) {
+            throw new IllegalArgumentException("Must be a percentage between 0 and 100, was: " + resumePercentOfMax);
+        }
+        this.resumePercentOfMax = resumePercentOfMax;
+    }
+
+    /**
+     * Number of exchanges which has been rejected
+     */
+    public long getRejectedCounter() {
+        return rejectedCounter.get();
+    }
+
+    public LoggingLevel getLoggingLevel() {
+        return loggingLevel;
+    }
+
+    public CamelLogger getLogger() {
+        if (logger == null) {
+            logger = createLogger();
+        }
+        return logger;
+    }
+
+    /**
+     * Sets the logger to use for logging throttling activity.
+     *
+     * @param logger the logger
+     */
+    public void setLogger(CamelLogger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Sets the logging level to report the throttling activity.
+     * <p/>
+     * Is default <tt>INFO</tt> level.
+     *
+     * @param loggingLevel the logging level
+     */
+    public void setLoggingLevel(LoggingLevel loggingLevel) {
+        this.loggingLevel = loggingLevel;
+    }
+
+    protected CamelLogger createLogger() {
+        return new CamelLogger(LoggerFactory.getLogger(ThrottlingInflightBytesRoutePolicy.class), getLoggingLevel());
+    }
+
+    private void startConsumer(long bytes, long total, Consumer consumer) throws Exception {
+        boolean started = super.startConsumer(consumer);
+        if (started) {
+            getLogger().log("Throttling consumer: " + bytes + " inflight bytes (" + total + " in total) by resuming consumer: " + consumer);
+        }
+    }
+
+    private void stopConsumer(long bytes, long total, Consumer consumer) throws Exception {
+        boolean stopped = super.stopConsumer(consumer);
+        if (stopped) {
+            getLogger().log("Throttling consumer: " + bytes + " inflight bytes (" + total + " in total) by suspending consumer: " + consumer);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(camelContext, "CamelContext", this);
+        ObjectHelper.notNull(tracker, "tracker", this);
+        tracker.addListener(this);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        tracker.removeListener(this);
+        suspendedRoutes.clear();
+        // exchanges which are done while stopping are not removed, so discard our routes from the tracker
+        for (Route route : routes) {
+            tracker.removeRoute(route.getId());
+        }
+        rejectedCounter.set(0);
+    }
+
+}
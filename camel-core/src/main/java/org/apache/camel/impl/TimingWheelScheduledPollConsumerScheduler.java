@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Consumer;
+import org.apache.camel.spi.ScheduledPollConsumerScheduler;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.support.TimingWheelScheduler;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ScheduledPollConsumerScheduler} which uses the {@link TimingWheelScheduler} of the {@link CamelContext}
+ * to run the polling task, instead of a thread pool per consumer.
+ */
+public class TimingWheelScheduledPollConsumerScheduler extends ServiceSupport implements ScheduledPollConsumerScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheelScheduledPollConsumerScheduler.class);
+    private CamelContext camelContext;
+    private Consumer consumer;
+    private Runnable task;
+    private TimingWheelScheduler timingWheelScheduler;
+    private volatile TimingWheelScheduler.PeriodicTimer timer;
+
+    private long initialDelay = 1000;
+    private long delay = 500;
+    private TimeUnit timeUnit = TimeUnit.MILLISECONDS;
+    private boolean useFixedDelay = true;
+    private TimingWheelScheduler.OverrunPolicy overrunPolicy = TimingWheelScheduler.OverrunPolicy.Skip;
+    private boolean asyncFiring;
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public long getInitialDelay() {
+        return initialDelay;
+    }
+
+    public void setInitialDelay(long initialDelay) {
+        this.initialDelay = initialDelay;
+    }
+
+    public long getDelay() {
+        return delay;
+    }
+
+    public void setDelay(long delay) {
+        this.delay = delay;
+    }
+
+    public TimeUnit getTimeUnit() {
+        return timeUnit;
+    }
+
+    public void setTimeUnit(TimeUnit timeUnit) {
+        this.timeUnit = timeUnit;
+    }
+
+    public boolean isUseFixedDelay() {
+        return useFixedDelay;
+    }
+
+    public void setUseFixedDelay(boolean useFixedDelay) {
+        this.useFixedDelay = useFixedDelay;
+    }
+
+    public TimingWheelScheduler.OverrunPolicy getOverrunPolicy() {
+        return overrunPolicy;
+    }
+
+    /**
+     * When not using fixed delay, whether to catch up the polls which are overrun, or to skip them.
+     * Is by default skip.
+     */
+    public void setOverrunPolicy(TimingWheelScheduler.OverrunPolicy overrunPolicy) {
+        this.overrunPolicy = overrunPolicy;
+    }
+
+    public boolean isAsyncFiring() {
+        return asyncFiring;
+    }
+
+    /**
+     * Whether to schedule the next poll when the poll is started instead of when it completes, so polls may overlap.
+     */
+    public void setAsyncFiring(boolean asyncFiring) {
+        this.asyncFiring = asyncFiring;
+    }
+
+    /**
+     * The timer which runs the polling task, or <tt>null</tt> if the scheduler is not started.
+     */
+    public TimingWheelScheduler.PeriodicTimer getTimer() {
+        return timer;
+    }
+
+    @Override
+    public void onInit(Consumer consumer) {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void scheduleTask(Runnable task) {
+        this.task = task;
+    }
+
+    @Override
+    public void unscheduleTask() {
+        TimingWheelScheduler.PeriodicTimer current = timer;
+        if (current != null) {
+            current.cancel();
+            timer = null;
+        }
+    }
+
+    @Override
+    public void startScheduler() {
+        // only schedule task if we have not already done that
+        if (timer == null) {
+            LOG.debug("Scheduling poll ({}) with initialDelay: {}, delay: {} ({}) for: {}",
+                    new Object[]{isUseFixedDelay() ? "fixed delay" : "fixed rate", getInitialDelay(), getDelay(), getTimeUnit(), consumer.getEndpoint()});
+            TimingWheelScheduler.PeriodicTimer answer = new TimingWheelScheduler.PeriodicTimer(task, getDelay(), getTimeUnit());
+            answer.setFixedRate(!isUseFixedDelay());
+            answer.setOverrunPolicy(getOverrunPolicy());
+            answer.setAsyncFiring(isAsyncFiring());
+            timingWheelScheduler.schedule(answer, getInitialDelay(), getTimeUnit());
+            timer = answer;
+        }
+    }
+
+    @Override
+    public boolean isSchedulerStarted() {
+        return timer != null;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(consumer, "Consumer", this);
+        ObjectHelper.notNull(camelContext, "CamelContext", this);
+        ObjectHelper.notNull(task, "Task", this);
+
+        timingWheelScheduler = TimingWheelScheduler.getOrCreate(camelContext);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        unscheduleTask();
+    }
+
+}
@@ -24,9 +24,14 @@ import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
 import static java.lang.reflect.Modifier.isAbstract;
@@ -61,6 +66,12 @@ import org.slf4j.LoggerFactory;
  * Therefore its recommended to specify FQN class names in the {@link #META_INF_SERVICES} file.
  * Likewise the procedure for scanning using {@link PackageScanClassResolver} may require custom implementations
  * to work in various containers such as JBoss, OSGi, etc.
+ * <p/>
+ * If a JAR also contains the {@link IndexedTypeConverterLoader#META_INF_SERVICES} file, which the Camel annotation
+ * processor generates at build time, then the {@link IndexedTypeConverterLoader} classes listed in the file are used
+ * to load the type converters of the JAR, and its packages are neither scanned nor introspected using reflection.
+ * If the index cannot be loaded then the packages are scanned as usual, and so are the entries of the file which
+ * the index was not generated from.
  *
  * @version
  */
@@ -71,6 +82,7 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     protected PackageScanClassResolver resolver;
     protected Set<Class<?>> visitedClasses = new HashSet<Class<?>>();
     protected Set<String> visitedURIs = new HashSet<String>();
+    protected Map<String, IndexedResource> indexedResources = new LinkedHashMap<String, IndexedResource>();
 
     public AnnotationTypeConverterLoader(PackageScanClassResolver resolver) {
         this.resolver = resolver;
@@ -90,6 +102,15 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
             throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.", e);
         }
 
+        // load the JARs which have a type converter index, and scan the packages of those which failed
+        if (!indexedResources.isEmpty()) {
+            Set<String> names = new LinkedHashSet<String>(Arrays.asList(packageNames));
+            for (IndexedResource resource : indexedResources.values()) {
+                names.addAll(loadIndexedTypeConverters(registry, resource));
+            }
+            packageNames = names.toArray(new String[names.size()]);
+        }
+
         // if we only have camel-core on the classpath then we have already pre-loaded all its type converters
         // but we exposed the "org.apache.camel.core" package in camel-core. This ensures there is at least one
         // packageName to scan, which triggers the scanning process. That allows us to ensure that we look for
@@ -133,6 +154,92 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         // now clear the maps so we do not hold references
         visitedClasses.clear();
         visitedURIs.clear();
+        indexedResources.clear();
+    }
+
+    /**
+     * Loads the type converters of the JAR using its index, and returns the entries of its type converter file
+     * which must be scanned, which are all of them if the index could not be used.
+     */
+    private Set<String> loadIndexedTypeConverters(TypeConverterRegistry registry, IndexedResource resource) {
+        List<Class<?>> types = new ArrayList<Class<?>>(resource.loaderNames.size());
+        for (String name : resource.loaderNames) {
+            Class<?> type = null;
+            try {
+                type = ObjectHelper.loadClass(name, resource.classLoader);
+            } catch (Throwable e) {
+                LOG.debug("Cannot load type converter index " + name + " due " + e.getMessage() + ". Will scan packages instead.", e);
+            }
+            if (type == null) {
+                return resource.packageNames;
+            }
+            types.add(type);
+        }
+        List<IndexedTypeConverterLoader> loaders = new ArrayList<IndexedTypeConverterLoader>(types.size());
+        for (Class<?> type : types) {
+            IndexedTypeConverterLoader loader = loadIndexedTypeConverter(registry, type);
+            if (loader == null) {
+                return resource.packageNames;
+            }
+            loaders.add(loader);
+        }
+        return findEntriesNotIndexed(resource.packageNames, loaders);
+    }
+
+    /**
+     * Loads the type converters using the given {@link IndexedTypeConverterLoader} class generated at build time.
+     *
+     * @param registry the registry to load the type converters into
+     * @param type the generated loader class
+     * @return the loader which loaded the type converters, or <tt>null</tt> if the index could not be used
+     */
+    protected IndexedTypeConverterLoader loadIndexedTypeConverter(TypeConverterRegistry registry, Class<?> type) {
+        if (!IndexedTypeConverterLoader.class.isAssignableFrom(type)) {
+            LOG.warn("Ignoring type converter index: " + type.getName() + " as it is not a " + IndexedTypeConverterLoader.class.getName());
+            return null;
+        }
+        try {
+            LOG.trace("Loading type converter index: {}", type.getName());
+            IndexedTypeConverterLoader loader = (IndexedTypeConverterLoader) ObjectHelper.newInstance(type);
+            loader.load(registry);
+            return loader;
+        } catch (Throwable e) {
+            LOG.debug("Cannot load type converter index " + type.getName() + " due " + e.getMessage() + ". Will scan packages instead.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Finds the entries of a type converter file which the given indexes were not generated from, such as
+     * packages added to the file after the index was generated, or by a build which did not run the Camel
+     * annotation processor. Those entries must be scanned.
+     *
+     * @param entries the entries of the type converter file
+     * @param loaders the indexes of the same JAR
+     * @return the entries which are not indexed
+     */
+    protected Set<String> findEntriesNotIndexed(Set<String> entries, List<IndexedTypeConverterLoader> loaders) {
+        Set<String> answer = new LinkedHashSet<String>(entries);
+        for (IndexedTypeConverterLoader loader : loaders) {
+            String[] indexed = loader.getTypeConverterEntries();
+            if (indexed == null) {
+                return Collections.emptySet();
+            }
+            answer.removeAll(Arrays.asList(indexed));
+        }
+        if (!answer.isEmpty()) {
+            LOG.debug("Type converter index {} does not cover {}. Will scan them instead.", loaders, answer);
+        }
+        return answer;
+    }
+
+    /**
+     * Reads the class names from a {@link IndexedTypeConverterLoader#META_INF_SERVICES} file
+     */
+    protected List<String> readIndexedLoaderNames(URL url) throws IOException {
+        Set<String> names = new LinkedHashSet<String>();
+        readNames(names, url);
+        return new ArrayList<String>(names);
     }
 
     /**
@@ -208,6 +315,15 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     }
 
     protected void findPackages(Set<String> packages, ClassLoader classLoader) throws IOException {
+        // the index files generated at build time, keyed by the path of the type converter file in the same JAR
+        Map<String, URL> indexes = new HashMap<String, URL>();
+        Enumeration<URL> indexResources = classLoader.getResources(IndexedTypeConverterLoader.META_INF_SERVICES);
+        while (indexResources.hasMoreElements()) {
+            URL url = indexResources.nextElement();
+            String path = url.getPath();
+            indexes.put(path.substring(0, path.length() - "Loader".length()), url);
+        }
+
         Enumeration<URL> resources = classLoader.getResources(META_INF_SERVICES);
         while (resources.hasMoreElements()) {
             URL url = resources.nextElement();
@@ -216,26 +332,38 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
                 // remember we have visited this uri so we wont read it twice
                 visitedURIs.add(path);
                 LOG.debug("Loading file {} to retrieve list of packages, from url: {}", META_INF_SERVICES, url);
-                BufferedReader reader = IOHelper.buffered(new InputStreamReader(url.openStream(), UTF8));
-                try {
-                    while (true) {
-                        String line = reader.readLine();
-                        if (line == null) {
-                            break;
-                        }
-                        line = line.trim();
-                        if (line.startsWith("#") || line.length() == 0) {
-                            continue;
-                        }
-                        tokenize(packages, line);
-                    }
-                } finally {
-                    IOHelper.close(reader, null, LOG);
+                URL index = indexes.get(path);
+                if (index != null) {
+                    LOG.debug("Found type converter index {} for url: {}", index, url);
+                    Set<String> names = new LinkedHashSet<String>();
+                    readNames(names, url);
+                    indexedResources.put(path, new IndexedResource(readIndexedLoaderNames(index), classLoader, names));
+                } else {
+                    readNames(packages, url);
                 }
             }
         }
     }
 
+    private void readNames(Set<String> names, URL url) throws IOException {
+        BufferedReader reader = IOHelper.buffered(new InputStreamReader(url.openStream(), UTF8));
+        try {
+            while (true) {
+                String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                line = line.trim();
+                if (line.startsWith("#") || line.length() == 0) {
+                    continue;
+                }
+                tokenize(names, line);
+            }
+        } finally {
+            IOHelper.close(reader, null, LOG);
+        }
+    }
+
     /**
      * Tokenizes the line from the META-IN/services file using commas and
      * ignoring whitespace between packages
@@ -399,4 +527,19 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         return packages.toArray(new String[packages.size()]);
     }
 
+    /**
+     * A JAR with a type converter index.
+     */
+    protected static final class IndexedResource {
+        private final List<String> loaderNames;
+        private final ClassLoader classLoader;
+        private final Set<String> packageNames;
+
+        IndexedResource(List<String> loaderNames, ClassLoader classLoader, Set<String> packageNames) {
+            this.loaderNames = loaderNames;
+            this.classLoader = classLoader;
+            this.packageNames = packageNames;
+        }
+    }
+
 }
@@ -0,0 +1,197 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.TypeConverterLoaderException;
+import org.apache.camel.spi.TypeConverterAware;
+import org.apache.camel.spi.TypeConverterLoader;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.support.TypeConverterSupport;
+import org.apache.camel.util.CastUtils;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class for the type converter loaders which the Camel annotation processor generates at build time
+ * for a module with {@link org.apache.camel.Converter} classes.
+ * <p/>
+ * The generated loader registers the converters of the module without classpath scanning or reflection,
+ * and invokes the converter methods directly from {@link #doConvert(int, Exchange, Object, TypeConverterRegistry)}
+ * and {@link #doConvertFallback(int, Class, Exchange, Object, TypeConverterRegistry)} using the id the converter
+ * was registered with.
+ * <p/>
+ * The generated loaders are listed in the {@link #META_INF_SERVICES} file next to the
+ * {@link AnnotationTypeConverterLoader#META_INF_SERVICES} file of the module.
+ *
+ * @see AnnotationTypeConverterLoader
+ */
+public abstract class IndexedTypeConverterLoader implements TypeConverterLoader {
+    public static final String META_INF_SERVICES = "META-INF/services/org/apache/camel/TypeConverterLoader";
+    private static final Logger LOG = LoggerFactory.getLogger(IndexedTypeConverterLoader.class);
+    private final Map<Class<?>, CachingInjector<?>> injectors = new HashMap<Class<?>, CachingInjector<?>>();
+
+    @Override
+    public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
+        LOG.debug("Loading type converters from index: {}", this);
+        doLoad(registry);
+    }
+
+    /**
+     * Gets the entries of the {@link AnnotationTypeConverterLoader#META_INF_SERVICES} file which this index
+     * was generated from, or <tt>null</tt> if the index covers all the entries of the file.
+     * <p/>
+     * Entries which are added to the file afterwards are not covered by the index, and are scanned instead.
+     */
+    public String[] getTypeConverterEntries() {
+        return null;
+    }
+
+    /**
+     * Registers the converters of the module into the registry.
+     */
+    protected abstract void doLoad(TypeConverterRegistry registry) throws TypeConverterLoaderException;
+
+    /**
+     * Invokes the converter method with the given id.
+     */
+    protected abstract Object doConvert(int id, Exchange exchange, Object value, TypeConverterRegistry registry) throws Exception;
+
+    /**
+     * Invokes the fallback converter method with the given id.
+     */
+    protected Object doConvertFallback(int id, Class<?> type, Exchange exchange, Object value, TypeConverterRegistry registry) throws Exception {
+        throw new IllegalArgumentException("Unknown fallback converter: " + id);
+    }
+
+    /**
+     * Registers the converter with the given id
+     */
+    protected void addTypeConverter(TypeConverterRegistry registry, Class<?> toType, Class<?> fromType,
+                                    int id, boolean allowNull, String method) {
+        registry.addTypeConverter(toType, fromType, new IndexedTypeConverter(registry, id, allowNull, method));
+    }
+
+    /**
+     * Registers the fallback converter with the given id
+     */
+    protected void addFallbackTypeConverter(TypeConverterRegistry registry, int id, boolean allowNull, boolean canPromote, String method) {
+        registry.addFallbackTypeConverter(new IndexedFallbackTypeConverter(registry, id, allowNull, method), canPromote);
+    }
+
+    /**
+     * Logs a converter class which could not be loaded, the same way as {@link AnnotationTypeConverterLoader} does.
+     */
+    protected void ignoreConverterClass(String type, Throwable cause) {
+        LOG.warn("Ignoring converter type: " + type + " as a dependent class could not be found: " + cause, cause);
+    }
+
+    /**
+     * Gets the shared instance of a converter class which uses instance methods
+     */
+    protected <T> T getInstance(Class<T> type, TypeConverterRegistry registry) {
+        CachingInjector<?> injector;
+        synchronized (injectors) {
+            injector = injectors.get(type);
+            if (injector == null) {
+                injector = new CachingInjector<Object>(registry, CastUtils.cast(type, Object.class));
+                injectors.put(type, injector);
+            }
+        }
+        Object instance = injector.newInstance();
+        if (instance == null) {
+            throw new RuntimeCamelException("Could not instantiate an instance of: " + type.getCanonicalName());
+        }
+        // inject parent type converter
+        if (instance instanceof TypeConverterAware && registry instanceof TypeConverter) {
+            ((TypeConverterAware) instance).setTypeConverter((TypeConverter) registry);
+        }
+        return type.cast(instance);
+    }
+
+    private final class IndexedTypeConverter extends TypeConverterSupport {
+        private final TypeConverterRegistry registry;
+        private final int id;
+        private final boolean allowNull;
+        private final String method;
+
+        IndexedTypeConverter(TypeConverterRegistry registry, int id, boolean allowNull, String method) {
+            this.registry = registry;
+            this.id = id;
+            this.allowNull = allowNull;
+            this.method = method;
+        }
+
+        @Override
+        public boolean allowNull() {
+            return allowNull;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+            try {
+                return (T) doConvert(id, exchange, value, registry);
+            } catch (Exception e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "IndexedTypeConverter: " + method;
+        }
+    }
+
+    private final class IndexedFallbackTypeConverter extends TypeConverterSupport {
+        private final TypeConverterRegistry registry;
+        private final int id;
+        private final boolean allowNull;
+        private final String method;
+
+        IndexedFallbackTypeConverter(TypeConverterRegistry registry, int id, boolean allowNull, String method) {
+            this.registry = registry;
+            this.id = id;
+            this.allowNull = allowNull;
+            this.method = method;
+        }
+
+        @Override
+        public boolean allowNull() {
+            return allowNull;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+            try {
+                return (T) doConvertFallback(id, type, exchange, value, registry);
+            } catch (Exception e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "IndexedFallbackTypeConverter: " + method;
+        }
+    }
+}
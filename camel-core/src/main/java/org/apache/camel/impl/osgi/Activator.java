@@ -42,6 +42,7 @@ import org.apache.camel.Converter;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.TypeConverterLoaderException;
 import org.apache.camel.impl.converter.AnnotationTypeConverterLoader;
+import org.apache.camel.impl.converter.IndexedTypeConverterLoader;
 import org.apache.camel.impl.osgi.tracker.BundleTracker;
 import org.apache.camel.impl.osgi.tracker.BundleTrackerCustomizer;
 import org.apache.camel.impl.scan.AnnotatedWithPackageScanFilter;
@@ -352,6 +353,15 @@ public class Activator implements BundleActivator, BundleTrackerCustomizer {
                 // now filter out org.apache.camel.core as its not needed anymore (it was just a dummy)
                 packages.remove("org.apache.camel.core");
 
+                // use the type converter index generated at build time if the bundle has one
+                URL indexUrl = bundle.getEntry(IndexedTypeConverterLoader.META_INF_SERVICES);
+                if (indexUrl != null) {
+                    Set<String> notIndexed = loadIndexedTypeConverters(registry, indexUrl, packages);
+                    if (notIndexed != null) {
+                        packages.retainAll(notIndexed);
+                    }
+                }
+
                 for (String pkg : packages) {
 
                     if (StringHelper.isClassName(pkg)) {
@@ -409,6 +419,30 @@ public class Activator implements BundleActivator, BundleTrackerCustomizer {
                 visitedClasses.clear();
                 visitedURIs.clear();
             }
+
+            private Set<String> loadIndexedTypeConverters(TypeConverterRegistry registry, URL indexUrl, Set<String> packages) {
+                List<Class<?>> types = new ArrayList<Class<?>>();
+                try {
+                    for (String name : readIndexedLoaderNames(indexUrl)) {
+                        types.add(bundle.loadClass(name));
+                    }
+                } catch (Throwable t) {
+                    LOG.debug("Cannot load type converter index from bundle " + bundle.getBundleId() + " due " + t.getMessage() + ". Will scan packages instead.", t);
+                    return null;
+                }
+                if (types.isEmpty()) {
+                    return null;
+                }
+                List<IndexedTypeConverterLoader> loaders = new ArrayList<IndexedTypeConverterLoader>(types.size());
+                for (Class<?> type : types) {
+                    IndexedTypeConverterLoader loader = loadIndexedTypeConverter(registry, type);
+                    if (loader == null) {
+                        return null;
+                    }
+                    loaders.add(loader);
+                }
+                return findEntriesNotIndexed(packages, loaders);
+            }
         }
 
     }
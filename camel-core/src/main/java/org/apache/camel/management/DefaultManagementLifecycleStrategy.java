@@ -24,6 +24,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import javax.management.JMException;
 import javax.management.MalformedObjectNameException;
@@ -50,6 +51,7 @@ import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.impl.DefaultEndpointRegistry;
 import org.apache.camel.impl.EventDrivenConsumerRoute;
 import org.apache.camel.impl.ProducerCache;
+import org.apache.camel.impl.ThrottlingInflightBytesRoutePolicy;
 import org.apache.camel.impl.ThrottlingInflightRoutePolicy;
 import org.apache.camel.management.mbean.ManagedAsyncProcessorAwaitManager;
 import org.apache.camel.management.mbean.ManagedBacklogDebugger;
@@ -65,7 +67,9 @@ import org.apache.camel.management.mbean.ManagedRoute;
 import org.apache.camel.management.mbean.ManagedRuntimeEndpointRegistry;
 import org.apache.camel.management.mbean.ManagedService;
 import org.apache.camel.management.mbean.ManagedStreamCachingStrategy;
+import org.apache.camel.management.mbean.ManagedThrottlingInflightBytesRoutePolicy;
 import org.apache.camel.management.mbean.ManagedThrottlingInflightRoutePolicy;
+import org.apache.camel.management.mbean.ManagedTimingWheelScheduler;
 import org.apache.camel.management.mbean.ManagedTracer;
 import org.apache.camel.management.mbean.ManagedTypeConverterRegistry;
 import org.apache.camel.model.AOPDefinition;
@@ -82,8 +86,9 @@ import org.apache.camel.processor.interceptor.BacklogTracer;
 import org.apache.camel.processor.interceptor.Tracer;
 import org.apache.camel.spi.AsyncProcessorAwaitManager;
 import org.apache.camel.spi.EventNotifier;
+import org.apache.camel.spi.ExecutorServiceLifecycleStrategy;
+import org.apache.camel.spi.ExecutorServiceManagementObjectStrategy;
 import org.apache.camel.spi.InflightRepository;
-import org.apache.camel.spi.LifecycleStrategy;
 import org.apache.camel.spi.ManagementAgent;
 import org.apache.camel.spi.ManagementAware;
 import org.apache.camel.spi.ManagementNameStrategy;
@@ -97,6 +102,7 @@ import org.apache.camel.spi.TypeConverterRegistry;
 import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.support.TimerListenerManager;
+import org.apache.camel.support.TimingWheelScheduler;
 import org.apache.camel.util.KeyValueHolder;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
@@ -110,7 +116,7 @@ import org.slf4j.LoggerFactory;
  * @version 
  */
 @SuppressWarnings("deprecation")
-public class DefaultManagementLifecycleStrategy extends ServiceSupport implements LifecycleStrategy, CamelContextAware {
+public class DefaultManagementLifecycleStrategy extends ServiceSupport implements ExecutorServiceLifecycleStrategy, CamelContextAware {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultManagementLifecycleStrategy.class);
     // the wrapped processors is for performance counters, which are in use for the created routes
@@ -127,7 +133,7 @@ public class DefaultManagementLifecycleStrategy extends ServiceSupport implement
     private final Map<Tracer, ManagedTracer> managedTracers = new HashMap<Tracer, ManagedTracer>();
     private final Map<BacklogTracer, ManagedBacklogTracer> managedBacklogTracers = new HashMap<BacklogTracer, ManagedBacklogTracer>();
     private final Map<BacklogDebugger, ManagedBacklogDebugger> managedBacklogDebuggers = new HashMap<BacklogDebugger, ManagedBacklogDebugger>();
-    private final Map<ThreadPoolExecutor, Object> managedThreadPools = new HashMap<ThreadPoolExecutor, Object>();
+    private final Map<ExecutorService, Object> managedThreadPools = new HashMap<ExecutorService, Object>();
 
     public DefaultManagementLifecycleStrategy() {
     }
@@ -458,6 +464,8 @@ public class DefaultManagementLifecycleStrategy extends ServiceSupport implement
         } else if (service instanceof Processor) {
             // special for processors as we need to do some extra work
             return getManagedObjectForProcessor(context, (Processor) service, route);
+        } else if (service instanceof ThrottlingInflightBytesRoutePolicy) {
+            answer = new ManagedThrottlingInflightBytesRoutePolicy(context, (ThrottlingInflightBytesRoutePolicy) service);
         } else if (service instanceof ThrottlingInflightRoutePolicy) {
             answer = new ManagedThrottlingInflightRoutePolicy(context, (ThrottlingInflightRoutePolicy) service);
         } else if (service instanceof ConsumerCache) {
@@ -478,6 +486,8 @@ public class DefaultManagementLifecycleStrategy extends ServiceSupport implement
             answer = new ManagedRuntimeEndpointRegistry(context, (RuntimeEndpointRegistry) service);
         } else if (service instanceof StreamCachingStrategy) {
             answer = new ManagedStreamCachingStrategy(context, (StreamCachingStrategy) service);
+        } else if (service instanceof TimingWheelScheduler) {
+            answer = new ManagedTimingWheelScheduler(context, (TimingWheelScheduler) service);
         } else if (service != null) {
             // fallback as generic service
             answer = getManagementObjectStrategy().getManagedObjectForService(context, service);
@@ -651,7 +661,36 @@ public class DefaultManagementLifecycleStrategy extends ServiceSupport implement
         }
 
         Object mtp = getManagementObjectStrategy().getManagedObjectForThreadPool(camelContext, threadPool, id, sourceId, routeId, threadPoolProfileId);
+        doManageThreadPool(threadPool, mtp);
+    }
+
+    public void onThreadPoolRemove(CamelContext camelContext, ThreadPoolExecutor threadPool) {
+        doUnmanageThreadPool(threadPool);
+    }
+
+    public void onExecutorServiceAdd(CamelContext camelContext, ExecutorService executorService, String id,
+                                     String sourceId, String routeId, String threadPoolProfileId) {
+
+        if (!shouldRegister(executorService, null)) {
+            // avoid registering if not needed
+            return;
+        }
 
+        if (!(getManagementObjectStrategy() instanceof ExecutorServiceManagementObjectStrategy)) {
+            LOG.debug("Cannot manage executor service {} as the management object strategy does not support it", executorService);
+            return;
+        }
+
+        Object mtp = ((ExecutorServiceManagementObjectStrategy) getManagementObjectStrategy())
+                .getManagedObjectForExecutorService(camelContext, executorService, id, sourceId, routeId, threadPoolProfileId);
+        doManageThreadPool(executorService, mtp);
+    }
+
+    public void onExecutorServiceRemove(CamelContext camelContext, ExecutorService executorService) {
+        doUnmanageThreadPool(executorService);
+    }
+
+    private void doManageThreadPool(ExecutorService threadPool, Object mtp) {
         // skip already managed services, for example if a route has been restarted
         if (getManagementStrategy().isManaged(mtp, null)) {
             LOG.trace("The thread pool is already managed: {}", threadPool);
@@ -668,7 +707,7 @@ public class DefaultManagementLifecycleStrategy extends ServiceSupport implement
         }
     }
 
-    public void onThreadPoolRemove(CamelContext camelContext, ThreadPoolExecutor threadPool) {
+    private void doUnmanageThreadPool(ExecutorService threadPool) {
         if (!initialized) {
             return;
         }
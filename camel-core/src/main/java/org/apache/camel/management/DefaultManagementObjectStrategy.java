@@ -16,6 +16,7 @@
  */
 package org.apache.camel.management;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.camel.CamelContext;
@@ -63,13 +64,13 @@ import org.apache.camel.processor.aggregate.AggregateProcessor;
 import org.apache.camel.processor.idempotent.IdempotentConsumer;
 import org.apache.camel.spi.BrowsableEndpoint;
 import org.apache.camel.spi.EventNotifier;
-import org.apache.camel.spi.ManagementObjectStrategy;
+import org.apache.camel.spi.ExecutorServiceManagementObjectStrategy;
 import org.apache.camel.spi.RouteContext;
 
 /**
  * Default {@link org.apache.camel.spi.ManagementObjectStrategy}.
  */
-public class DefaultManagementObjectStrategy implements ManagementObjectStrategy {
+public class DefaultManagementObjectStrategy implements ExecutorServiceManagementObjectStrategy {
 
     public Object getManagedObjectForCamelContext(CamelContext context) {
         ManagedCamelContext mc = new ManagedCamelContext((ModelCamelContext)context);
@@ -133,6 +134,13 @@ public class DefaultManagementObjectStrategy implements ManagementObjectStrategy
         return mtp;
     }
 
+    public Object getManagedObjectForExecutorService(CamelContext context, ExecutorService executorService,
+                                                     String id, String sourceId, String routeId, String threadPoolProfileId) {
+        ManagedThreadPool mtp = new ManagedThreadPool(context, executorService, id, sourceId, routeId, threadPoolProfileId);
+        mtp.init(context.getManagementStrategy());
+        return mtp;
+    }
+
     public Object getManagedObjectForEventNotifier(CamelContext context, EventNotifier eventNotifier) {
         ManagedEventNotifier men = new ManagedEventNotifier(context, eventNotifier);
         men.init(context.getManagementStrategy());
@@ -134,6 +134,38 @@ public class ManagedBacklogTracer implements ManagedBacklogTracerMBean {
         backlogTracer.setBodyIncludeFiles(bodyIncludeFiles);
     }
 
+    public int getSamplingRate() {
+        return backlogTracer.getSamplingRate();
+    }
+
+    public void setSamplingRate(int samplingRate) {
+        backlogTracer.setSamplingRate(samplingRate);
+    }
+
+    public boolean isFlightRecorder() {
+        return backlogTracer.isFlightRecorder();
+    }
+
+    public void setFlightRecorder(boolean flightRecorder) {
+        backlogTracer.setFlightRecorder(flightRecorder);
+    }
+
+    public int getFlightRecorderSize() {
+        return backlogTracer.getFlightRecorderSize();
+    }
+
+    public void setFlightRecorderSize(int flightRecorderSize) {
+        backlogTracer.setFlightRecorderSize(flightRecorderSize);
+    }
+
+    public String getFlightRecorderHeaders() {
+        return backlogTracer.getFlightRecorderHeaders();
+    }
+
+    public void setFlightRecorderHeaders(String headers) {
+        backlogTracer.setFlightRecorderHeaders(headers);
+    }
+
     public List<BacklogTracerEventMessage> dumpTracedMessages(String nodeOrRouteId) {
         return backlogTracer.dumpTracedMessages(nodeOrRouteId);
     }
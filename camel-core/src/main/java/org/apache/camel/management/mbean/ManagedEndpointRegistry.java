@@ -28,6 +28,7 @@ import org.apache.camel.Endpoint;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
 import org.apache.camel.api.management.mbean.ManagedEndpointRegistryMBean;
+import org.apache.camel.impl.DefaultEndpointRegistry;
 import org.apache.camel.spi.EndpointRegistry;
 import org.apache.camel.util.ObjectHelper;
 
@@ -67,6 +68,28 @@ public class ManagedEndpointRegistry extends ManagedService implements ManagedEn
         return endpointRegistry.getMaximumCacheSize();
     }
 
+    public Integer getUriAliasSize() {
+        // the alias cache is only available on the default endpoint registry
+        if (endpointRegistry instanceof DefaultEndpointRegistry) {
+            return ((DefaultEndpointRegistry) endpointRegistry).uriAliasSize();
+        }
+        return 0;
+    }
+
+    public Long getUriAliasHits() {
+        if (endpointRegistry instanceof DefaultEndpointRegistry) {
+            return ((DefaultEndpointRegistry) endpointRegistry).getUriAliasHits();
+        }
+        return 0L;
+    }
+
+    public Long getUriAliasMisses() {
+        if (endpointRegistry instanceof DefaultEndpointRegistry) {
+            return ((DefaultEndpointRegistry) endpointRegistry).getUriAliasMisses();
+        }
+        return 0L;
+    }
+
     public void purge() {
         endpointRegistry.purge();
     }
@@ -456,4 +456,58 @@ public class ManagedErrorHandler implements ManagedErrorHandlerMBean {
         RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
         redelivery.getRedeliveryPolicy().setAllowRedeliveryWhileStopping(allow);
     }
+
+    public Integer getMaximumPendingRedeliveries() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getMaximumPendingRedeliveries();
+    }
+
+    public void setMaximumPendingRedeliveries(Integer maximum) {
+        if (!isSupportRedelivery()) {
+            throw new IllegalArgumentException("This error handler does not support redelivery");
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        redelivery.setMaximumPendingRedeliveries(maximum);
+    }
+
+    public String getPendingRedeliveriesOverflowAction() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getPendingRedeliveriesOverflowAction().name();
+    }
+
+    public Integer getPendingRedeliveries() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getPendingRedeliveries();
+    }
+
+    public Integer getPendingRedeliveriesOverflowCounter() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getPendingRedeliveriesOverflowCounter();
+    }
+
+    public Long getTimingWheelTickDuration() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getTimingWheelTickDuration();
+    }
 }
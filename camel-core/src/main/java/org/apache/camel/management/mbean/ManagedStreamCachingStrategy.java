@@ -19,6 +19,7 @@ package org.apache.camel.management.mbean;
 import org.apache.camel.CamelContext;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.ManagedStreamCachingStrategyMBean;
+import org.apache.camel.converter.stream.StreamCacheArena;
 import org.apache.camel.spi.ManagementStrategy;
 import org.apache.camel.spi.StreamCachingStrategy;
 
@@ -106,6 +107,39 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.isAnySpoolRules();
     }
 
+    public long getOffHeapMemoryBudget() {
+        return streamCachingStrategy.getOffHeapMemoryBudget();
+    }
+
+    public int getOffHeapChunkSize() {
+        return streamCachingStrategy.getOffHeapChunkSize();
+    }
+
+    public long getOffHeapSpoolSegmentSize() {
+        StreamCacheArena arena = streamCachingStrategy.getArena();
+        return arena != null ? arena.getSpoolSegmentSize() : 0;
+    }
+
+    public long getOffHeapMemoryAllocated() {
+        StreamCacheArena arena = streamCachingStrategy.getArena();
+        return arena != null ? arena.getMemoryAllocated() : 0;
+    }
+
+    public long getOffHeapMemoryUsed() {
+        StreamCacheArena arena = streamCachingStrategy.getArena();
+        return arena != null ? arena.getMemoryUsed() : 0;
+    }
+
+    public long getOffHeapSpoolUsed() {
+        StreamCacheArena arena = streamCachingStrategy.getArena();
+        return arena != null ? arena.getSpoolUsed() : 0;
+    }
+
+    public long getOffHeapFallbackCounter() {
+        StreamCacheArena arena = streamCachingStrategy.getArena();
+        return arena != null ? arena.getFallbackCounter() : 0;
+    }
+
     public long getCacheMemoryCounter() {
         return streamCachingStrategy.getStatistics().getCacheMemoryCounter();
     }
@@ -16,13 +16,18 @@
  */
 package org.apache.camel.management.mbean;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.ManagedThreadPoolMBean;
 import org.apache.camel.spi.ManagementStrategy;
+import org.apache.camel.util.concurrent.CamelForkJoinWorkerThreadFactory;
+import org.apache.camel.util.concurrent.VirtualThreadPerTaskExecutor;
 
 /**
  * @version 
@@ -31,7 +36,10 @@ import org.apache.camel.spi.ManagementStrategy;
 public class ManagedThreadPool implements ManagedThreadPoolMBean {
 
     private final CamelContext camelContext;
+    private final ExecutorService executorService;
     private final ThreadPoolExecutor threadPool;
+    private final ForkJoinPool forkJoinPool;
+    private final VirtualThreadPerTaskExecutor virtualPool;
     private final String id;
     private final String sourceId;
     private final String routeId;
@@ -39,8 +47,16 @@ public class ManagedThreadPool implements ManagedThreadPoolMBean {
 
     public ManagedThreadPool(CamelContext camelContext, ThreadPoolExecutor threadPool, String id,
                              String sourceId, String routeId, String threadPoolProfileId) {
+        this(camelContext, (ExecutorService) threadPool, id, sourceId, routeId, threadPoolProfileId);
+    }
+
+    public ManagedThreadPool(CamelContext camelContext, ExecutorService executorService, String id,
+                             String sourceId, String routeId, String threadPoolProfileId) {
         this.camelContext = camelContext;
-        this.threadPool = threadPool;
+        this.executorService = executorService;
+        this.threadPool = executorService instanceof ThreadPoolExecutor ? (ThreadPoolExecutor) executorService : null;
+        this.forkJoinPool = executorService instanceof ForkJoinPool ? (ForkJoinPool) executorService : null;
+        this.virtualPool = executorService instanceof VirtualThreadPerTaskExecutor ? (VirtualThreadPerTaskExecutor) executorService : null;
         this.sourceId = sourceId;
         this.id = id;
         this.routeId = routeId;
@@ -55,10 +71,17 @@ public class ManagedThreadPool implements ManagedThreadPoolMBean {
         return camelContext;
     }
 
+    /**
+     * Gets the thread pool, or <tt>null</tt> if the managed executor service is not a {@link ThreadPoolExecutor}
+     */
     public ThreadPoolExecutor getThreadPool() {
         return threadPool;
     }
 
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
     public String getCamelId() {
         return camelContext.getName();
     }
@@ -83,44 +106,101 @@ public class ManagedThreadPool implements ManagedThreadPoolMBean {
         return threadPoolProfileId;
     }
 
+    public String getPoolType() {
+        if (forkJoinPool != null) {
+            return ThreadPoolType.WorkStealing.name();
+        } else if (virtualPool != null) {
+            return ThreadPoolType.Virtual.name();
+        }
+        return ThreadPoolType.ThreadPool.name();
+    }
+
     public int getCorePoolSize() {
+        if (forkJoinPool != null) {
+            return forkJoinPool.getParallelism();
+        } else if (threadPool == null) {
+            return 0;
+        }
         return threadPool.getCorePoolSize();
     }
 
     public void setCorePoolSize(int corePoolSize) {
-        threadPool.setCorePoolSize(corePoolSize);
+        if (threadPool != null) {
+            threadPool.setCorePoolSize(corePoolSize);
+        }
     }
 
     public int getPoolSize() {
+        if (forkJoinPool != null) {
+            return forkJoinPool.getPoolSize();
+        } else if (virtualPool != null) {
+            return virtualPool.getActiveCount();
+        }
         return threadPool.getPoolSize();
     }
 
     public int getMaximumPoolSize() {
+        if (forkJoinPool != null) {
+            return forkJoinPool.getParallelism();
+        } else if (threadPool == null) {
+            // unbounded
+            return -1;
+        }
         return threadPool.getMaximumPoolSize();
     }
 
     public void setMaximumPoolSize(int maximumPoolSize) {
-        threadPool.setMaximumPoolSize(maximumPoolSize);
+        if (threadPool != null) {
+            threadPool.setMaximumPoolSize(maximumPoolSize);
+        }
     }
 
     public int getLargestPoolSize() {
+        if (forkJoinPool != null) {
+            if (forkJoinPool.getFactory() instanceof CamelForkJoinWorkerThreadFactory) {
+                return ((CamelForkJoinWorkerThreadFactory) forkJoinPool.getFactory()).getLargestPoolSize();
+            }
+            // not tracked by the fork join pool
+            return -1;
+        } else if (virtualPool != null) {
+            return virtualPool.getLargestPoolSize();
+        }
         return threadPool.getLargestPoolSize();
     }
 
     public int getActiveCount() {
+        if (forkJoinPool != null) {
+            return forkJoinPool.getActiveThreadCount();
+        } else if (virtualPool != null) {
+            return virtualPool.getActiveCount();
+        }
         return threadPool.getActiveCount();
     }
 
     public long getTaskCount() {
+        if (forkJoinPool != null) {
+            // not tracked by the fork join pool
+            return -1;
+        } else if (virtualPool != null) {
+            return virtualPool.getTaskCount();
+        }
         return threadPool.getTaskCount();
     }
 
     public long getCompletedTaskCount() {
+        if (forkJoinPool != null) {
+            // not tracked by the fork join pool
+            return -1;
+        } else if (virtualPool != null) {
+            return virtualPool.getCompletedTaskCount();
+        }
         return threadPool.getCompletedTaskCount();
     }
 
     public long getTaskQueueSize() {
-        if (threadPool.getQueue() != null) {
+        if (forkJoinPool != null) {
+            return forkJoinPool.getQueuedTaskCount() + forkJoinPool.getQueuedSubmissionCount();
+        } else if (threadPool != null && threadPool.getQueue() != null) {
             return threadPool.getQueue().size();
         } else {
             return 0;
@@ -128,7 +208,9 @@ public class ManagedThreadPool implements ManagedThreadPoolMBean {
     }
 
     public boolean isTaskQueueEmpty() {
-        if (threadPool.getQueue() != null) {
+        if (forkJoinPool != null) {
+            return forkJoinPool.isQuiescent();
+        } else if (threadPool != null && threadPool.getQueue() != null) {
             return threadPool.getQueue().isEmpty();
         } else {
             return true;
@@ -136,32 +218,44 @@ public class ManagedThreadPool implements ManagedThreadPoolMBean {
     }
 
     public long getKeepAliveTime() {
+        if (threadPool == null) {
+            return 0;
+        }
         return threadPool.getKeepAliveTime(TimeUnit.SECONDS);
     }
 
     public void setKeepAliveTime(long keepAliveTimeInSeconds) {
-        threadPool.setKeepAliveTime(keepAliveTimeInSeconds, TimeUnit.SECONDS);
+        if (threadPool != null) {
+            threadPool.setKeepAliveTime(keepAliveTimeInSeconds, TimeUnit.SECONDS);
+        }
     }
 
     public boolean isAllowCoreThreadTimeout() {
-        return threadPool.allowsCoreThreadTimeOut();
+        return threadPool != null && threadPool.allowsCoreThreadTimeOut();
     }
 
     public void setAllowCoreThreadTimeout(boolean allowCoreThreadTimeout) {
-        threadPool.allowCoreThreadTimeOut(allowCoreThreadTimeout);
+        if (threadPool != null) {
+            threadPool.allowCoreThreadTimeOut(allowCoreThreadTimeout);
+        }
     }
 
     public boolean isShutdown() {
-        return threadPool.isShutdown();
+        return executorService.isShutdown();
     }
 
     public void purge() {
-        threadPool.purge();
+        if (threadPool != null) {
+            threadPool.purge();
+        }
     }
 
     public int getTaskQueueRemainingCapacity() {
-        if (threadPool.getQueue() != null) {
+        if (threadPool != null && threadPool.getQueue() != null) {
             return threadPool.getQueue().remainingCapacity();
+        } else if (threadPool == null) {
+            // no bounded queue, so unlimited capacity
+            return Integer.MAX_VALUE;
         } else {
             // no queue found, so no capacity
             return 0;
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedThrottlingInflightBytesRoutePolicyMBean;
+import org.apache.camel.impl.ThrottlingInflightBytesRoutePolicy;
+
+/**
+ * @version 
+ */
+@ManagedResource(description = "Managed ThrottlingInflightBytesRoutePolicy")
+public class ManagedThrottlingInflightBytesRoutePolicy extends ManagedService implements ManagedThrottlingInflightBytesRoutePolicyMBean {
+    private final ThrottlingInflightBytesRoutePolicy policy;
+
+    public ManagedThrottlingInflightBytesRoutePolicy(CamelContext context, ThrottlingInflightBytesRoutePolicy policy) {
+        super(context, policy);
+        this.policy = policy;
+    }
+
+    public ThrottlingInflightBytesRoutePolicy getPolicy() {
+        return policy;
+    }
+
+    public long getMaxRouteInflightBytes() {
+        return getPolicy().getMaxRouteInflightBytes();
+    }
+
+    public void setMaxRouteInflightBytes(long maxRouteInflightBytes) {
+        getPolicy().setMaxRouteInflightBytes(maxRouteInflightBytes);
+    }
+
+    public long getMaxTotalInflightBytes() {
+        return getPolicy().getMaxTotalInflightBytes();
+    }
+
+    public void setMaxTotalInflightBytes(long maxTotalInflightBytes) {
+        getPolicy().setMaxTotalInflightBytes(maxTotalInflightBytes);
+    }
+
+    public int getResumePercentOfMax() {
+        return getPolicy().getResumePercentOfMax();
+    }
+
+    public void setResumePercentOfMax(int resumePercentOfMax) {
+        getPolicy().setResumePercentOfMax(resumePercentOfMax);
+    }
+
+    public String getAction() {
+        return getPolicy().getAction().name();
+    }
+
+    public void setAction(String action) {
+        getPolicy().setAction(ThrottlingInflightBytesRoutePolicy.ThrottlingAction.valueOf(action));
+    }
+
+    public long getInflightBytes() {
+        return getPolicy().getTracker().getInflightBytes();
+    }
+
+    public long getRejectedCounter() {
+        return getPolicy().getRejectedCounter();
+    }
+
+    public String getLoggingLevel() {
+        return getPolicy().getLoggingLevel().name();
+    }
+
+    public void setLoggingLevel(String loggingLevel) {
+        LoggingLevel level = LoggingLevel.valueOf(loggingLevel);
+        getPolicy().setLoggingLevel(level);
+        getPolicy().getLogger().setLevel(level);
+    }
+
+    public long inflightBytes(String routeId) {
+        return getPolicy().getTracker().getInflightBytes(routeId);
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedTimingWheelSchedulerMBean;
+import org.apache.camel.support.TimingWheelScheduler;
+
+/**
+ * @version 
+ */
+@ManagedResource(description = "Managed TimingWheelScheduler")
+public class ManagedTimingWheelScheduler extends ManagedService implements ManagedTimingWheelSchedulerMBean {
+    private final TimingWheelScheduler scheduler;
+
+    public ManagedTimingWheelScheduler(CamelContext context, TimingWheelScheduler scheduler) {
+        super(context, scheduler);
+        this.scheduler = scheduler;
+    }
+
+    public TimingWheelScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public long getTickDuration() {
+        return scheduler.getTickDuration();
+    }
+
+    public int getWheelSize() {
+        return scheduler.getWheelSize();
+    }
+
+    public int getPoolSize() {
+        return scheduler.getPoolSize();
+    }
+
+    public int getTimerCount() {
+        return scheduler.getTimerCount();
+    }
+
+    public long getFireCount() {
+        return scheduler.getFireCount();
+    }
+
+    public long getSkipCount() {
+        return scheduler.getSkipCount();
+    }
+
+    public long getMaxLag() {
+        return scheduler.getMaxLag();
+    }
+
+    public void resetStatistics() {
+        scheduler.resetStatistics();
+    }
+
+}
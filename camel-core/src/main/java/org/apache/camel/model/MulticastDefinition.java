@@ -73,6 +73,10 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
     private Boolean shareUnitOfWork;
     @XmlAttribute
     private Boolean parallelAggregate;
+    @XmlAttribute
+    private Boolean workStealing;
+    @XmlAttribute
+    private Integer maxParallelTasks;
 
     public MulticastDefinition() {
     }
@@ -168,6 +172,32 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
         return this;
     }
 
+    /**
+     * If enabled then parallel processing uses a work-stealing thread pool (unless a custom thread pool is configured),
+     * and the replies are aggregated on-the-fly by the threads which complete them. This means no thread is waiting
+     * for the replies to come back, and the caller thread continues routing asynchronously when all the replies has been aggregated.
+     * Notice if you set this option, then parallel processing is automatic implied, and you do not have to enable that option as well.
+     *
+     * @return the builder
+     */
+    public MulticastDefinition workStealing() {
+        setWorkStealing(true);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of multicasts which can be processed in parallel at the same time (sent but not yet aggregated),
+     * when using work stealing. This can be used to bound the fan-out, for example when splitting big messages in streaming mode.
+     * By default there is no limit.
+     *
+     * @param maxParallelTasks the maximum number of parallel tasks
+     * @return the builder
+     */
+    public MulticastDefinition maxParallelTasks(int maxParallelTasks) {
+        setMaxParallelTasks(maxParallelTasks);
+        return this;
+    }
+
     /**
      * If enabled then Camel will process replies out-of-order, eg in the order they come back.
      * If disabled, Camel will process replies in the same order as defined by the multicast.
@@ -277,14 +307,20 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
             strategy = new UseLatestAggregationStrategy();
         }
 
-        boolean isParallelProcessing = getParallelProcessing() != null && getParallelProcessing();
+        boolean isWorkStealing = getWorkStealing() != null && getWorkStealing();
+        boolean isParallelProcessing = getParallelProcessing() != null && getParallelProcessing() || isWorkStealing;
         boolean isShareUnitOfWork = getShareUnitOfWork() != null && getShareUnitOfWork();
         boolean isStreaming = getStreaming() != null && getStreaming();
         boolean isStopOnException = getStopOnException() != null && getStopOnException();
         boolean isParallelAggregate = getParallelAggregate() != null && getParallelAggregate();
 
         boolean shutdownThreadPool = ProcessorDefinitionHelper.willCreateNewThreadPool(routeContext, this, isParallelProcessing);
-        ExecutorService threadPool = ProcessorDefinitionHelper.getConfiguredExecutorService(routeContext, "Multicast", this, isParallelProcessing);
+        ExecutorService threadPool;
+        if (isWorkStealing) {
+            threadPool = ProcessorDefinitionHelper.getConfiguredWorkStealingExecutorService(routeContext, "Multicast", this);
+        } else {
+            threadPool = ProcessorDefinitionHelper.getConfiguredExecutorService(routeContext, "Multicast", this, isParallelProcessing);
+        }
 
         long timeout = getTimeout() != null ? getTimeout() : 0;
         if (timeout > 0 && !isParallelProcessing) {
@@ -296,6 +332,10 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
 
         MulticastProcessor answer = new MulticastProcessor(routeContext.getCamelContext(), list, strategy, isParallelProcessing,
                                       threadPool, shutdownThreadPool, isStreaming, isStopOnException, timeout, onPrepare, isShareUnitOfWork, isParallelAggregate);
+        answer.setWorkStealing(isWorkStealing);
+        if (getMaxParallelTasks() != null) {
+            answer.setMaxParallelTasks(getMaxParallelTasks());
+        }
         if (isShareUnitOfWork) {
             // wrap answer in a sub unit of work, since we share the unit of work
             CamelInternalProcessor internalProcessor = new CamelInternalProcessor(answer);
@@ -459,4 +499,20 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
         this.parallelAggregate = parallelAggregate;
     }
 
+    public Boolean getWorkStealing() {
+        return workStealing;
+    }
+
+    public void setWorkStealing(Boolean workStealing) {
+        this.workStealing = workStealing;
+    }
+
+    public Integer getMaxParallelTasks() {
+        return maxParallelTasks;
+    }
+
+    public void setMaxParallelTasks(Integer maxParallelTasks) {
+        this.maxParallelTasks = maxParallelTasks;
+    }
+
 }
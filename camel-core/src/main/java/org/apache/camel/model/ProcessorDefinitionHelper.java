@@ -29,8 +29,11 @@ import javax.xml.namespace.QName;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ThreadPoolType;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.RouteContext;
+import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.util.CamelContextHelper;
 import org.apache.camel.util.IntrospectionSupport;
 import org.apache.camel.util.ObjectHelper;
@@ -474,6 +477,36 @@ public final class ProcessorDefinitionHelper {
         return null;
     }
 
+    /**
+     * Will lookup and get the configured {@link java.util.concurrent.ExecutorService} from the given definition,
+     * and fallback to create a new work-stealing thread pool if none has been configured.
+     * <p/>
+     * The work-stealing thread pool is created by the {@link ExecutorServiceManager} using a thread pool profile
+     * of type {@link ThreadPoolType#WorkStealing}, with a parallelism of the number of available processors, or the pool size
+     * of the default thread pool profile if higher (as routing may block threads).
+     *
+     * @param routeContext the route context
+     * @param name         name which is appended to the thread name
+     * @param definition   the node definition which may leverage executor service.
+     * @return the configured or created executor service
+     * @throws IllegalArgumentException is thrown if lookup of executor service in {@link org.apache.camel.spi.Registry} was not found
+     */
+    public static ExecutorService getConfiguredWorkStealingExecutorService(RouteContext routeContext, String name,
+                                                                           ExecutorServiceAwareDefinition<?> definition) throws IllegalArgumentException {
+        ExecutorService answer = getConfiguredExecutorService(routeContext, name, definition, false);
+        if (answer == null) {
+            ExecutorServiceManager manager = routeContext.getCamelContext().getExecutorServiceManager();
+            int parallelism = Runtime.getRuntime().availableProcessors();
+            Integer poolSize = manager.getDefaultThreadPoolProfile().getPoolSize();
+            if (poolSize != null && poolSize > parallelism) {
+                parallelism = poolSize;
+            }
+            ThreadPoolProfile profile = new ThreadPoolProfileBuilder(name).poolType(ThreadPoolType.WorkStealing).poolSize(parallelism).build();
+            answer = manager.newThreadPool(definition, name, profile);
+        }
+        return answer;
+    }
+
     /**
      * Will lookup in {@link org.apache.camel.spi.Registry} for a {@link ScheduledExecutorService} registered with the given
      * <tt>executorServiceRef</tt> name.
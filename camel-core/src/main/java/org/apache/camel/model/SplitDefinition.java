@@ -72,6 +72,10 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
     private Boolean shareUnitOfWork;
     @XmlAttribute
     private Boolean parallelAggregate;
+    @XmlAttribute
+    private Boolean workStealing;
+    @XmlAttribute
+    private Integer maxParallelTasks;
 
     public SplitDefinition() {
     }
@@ -99,12 +103,18 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         Processor childProcessor = this.createChildProcessor(routeContext, true);
         aggregationStrategy = createAggregationStrategy(routeContext);
 
-        boolean isParallelProcessing = getParallelProcessing() != null && getParallelProcessing();
+        boolean isWorkStealing = getWorkStealing() != null && getWorkStealing();
+        boolean isParallelProcessing = getParallelProcessing() != null && getParallelProcessing() || isWorkStealing;
         boolean isStreaming = getStreaming() != null && getStreaming();
         boolean isShareUnitOfWork = getShareUnitOfWork() != null && getShareUnitOfWork();
         boolean isParallelAggregate = getParallelAggregate() != null && getParallelAggregate();
         boolean shutdownThreadPool = ProcessorDefinitionHelper.willCreateNewThreadPool(routeContext, this, isParallelProcessing);
-        ExecutorService threadPool = ProcessorDefinitionHelper.getConfiguredExecutorService(routeContext, "Split", this, isParallelProcessing);
+        ExecutorService threadPool;
+        if (isWorkStealing) {
+            threadPool = ProcessorDefinitionHelper.getConfiguredWorkStealingExecutorService(routeContext, "Split", this);
+        } else {
+            threadPool = ProcessorDefinitionHelper.getConfiguredExecutorService(routeContext, "Split", this, isParallelProcessing);
+        }
 
         long timeout = getTimeout() != null ? getTimeout() : 0;
         if (timeout > 0 && !isParallelProcessing) {
@@ -119,6 +129,10 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         Splitter answer = new Splitter(routeContext.getCamelContext(), exp, childProcessor, aggregationStrategy,
                             isParallelProcessing, threadPool, shutdownThreadPool, isStreaming, isStopOnException(),
                             timeout, onPrepare, isShareUnitOfWork, isParallelAggregate);
+        answer.setWorkStealing(isWorkStealing);
+        if (getMaxParallelTasks() != null) {
+            answer.setMaxParallelTasks(getMaxParallelTasks());
+        }
         if (isShareUnitOfWork) {
             // wrap answer in a sub unit of work, since we share the unit of work
             CamelInternalProcessor internalProcessor = new CamelInternalProcessor(answer);
@@ -221,6 +235,32 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         return this;
     }
 
+    /**
+     * If enabled then parallel processing uses a work-stealing thread pool (unless a custom thread pool is configured),
+     * and the replies are aggregated on-the-fly by the threads which complete them. This means no thread is waiting
+     * for the replies to come back, and the caller thread continues routing asynchronously when all the replies has been aggregated.
+     * Notice if you set this option, then parallel processing is automatic implied, and you do not have to enable that option as well.
+     *
+     * @return the builder
+     */
+    public SplitDefinition workStealing() {
+        setWorkStealing(true);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of splitted messages which can be processed in parallel at the same time (sent but not yet aggregated),
+     * when using work stealing. This can be used to bound the fan-out, for example when splitting big messages in streaming mode.
+     * By default there is no limit.
+     *
+     * @param maxParallelTasks the maximum number of parallel tasks
+     * @return the builder
+     */
+    public SplitDefinition maxParallelTasks(int maxParallelTasks) {
+        setMaxParallelTasks(maxParallelTasks);
+        return this;
+    }
+
     /**
      * When in streaming mode, then the splitter splits the original message on-demand, and each splitted
      * message is processed one by one. This reduces memory usage as the splitter do not split all the messages first,
@@ -380,6 +420,22 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         this.parallelAggregate = parallelAggregate;
     }
 
+    public Boolean getWorkStealing() {
+        return workStealing;
+    }
+
+    public void setWorkStealing(Boolean workStealing) {
+        this.workStealing = workStealing;
+    }
+
+    public Integer getMaxParallelTasks() {
+        return maxParallelTasks;
+    }
+
+    public void setMaxParallelTasks(Integer maxParallelTasks) {
+        this.maxParallelTasks = maxParallelTasks;
+    }
+
     public Boolean getStopOnException() {
         return stopOnException;
     }
@@ -25,6 +25,7 @@ import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.builder.xml.TimeUnitAdapter;
 import org.apache.camel.spi.Metadata;
 
@@ -54,6 +55,8 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
     private String allowCoreThreadTimeOut;
     @XmlAttribute
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    @XmlAttribute
+    private ThreadPoolType poolType;
 
     public ThreadPoolProfileDefinition() {
     }
@@ -109,6 +112,11 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         return this;
     }
 
+    public ThreadPoolProfileDefinition poolType(ThreadPoolType poolType) {
+        setPoolType(poolType);
+        return this;
+    }
+
     public ThreadPoolProfileDefinition allowCoreThreadTimeOut(boolean allowCoreThreadTimeOut) {
         setAllowCoreThreadTimeOut("" + allowCoreThreadTimeOut);
         return this;
@@ -218,4 +226,16 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    public ThreadPoolType getPoolType() {
+        return poolType;
+    }
+
+    /**
+     * Sets the type of thread pool, such as a work-stealing pool, or a virtual thread per task if the JVM supports virtual threads.
+     * By default a regular thread pool is used.
+     */
+    public void setPoolType(ThreadPoolType poolType) {
+        this.poolType = poolType;
+    }
+
 }
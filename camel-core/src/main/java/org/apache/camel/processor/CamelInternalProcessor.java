@@ -16,7 +16,6 @@
  */
 package org.apache.camel.processor;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
@@ -31,6 +30,7 @@ import org.apache.camel.StatefulService;
 import org.apache.camel.StreamCache;
 import org.apache.camel.api.management.PerformanceCounter;
 import org.apache.camel.impl.DefaultMessageHistory;
+import org.apache.camel.impl.MessageHistoryList;
 import org.apache.camel.management.DelegatePerformanceCounter;
 import org.apache.camel.management.mbean.ManagedPerformanceCounter;
 import org.apache.camel.model.ProcessorDefinition;
@@ -76,7 +76,10 @@ import org.slf4j.LoggerFactory;
 public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(CamelInternalProcessor.class);
-    private final List<CamelInternalProcessorAdvice> advices = new ArrayList<CamelInternalProcessorAdvice>();
+    private static final CamelInternalProcessorAdvice[] EMPTY_ADVICES = new CamelInternalProcessorAdvice[0];
+    // the advices are added when the route is being created, so we keep them in an array which is copied on write,
+    // so routing can execute the chain without any per exchange collections or iterators
+    private volatile CamelInternalProcessorAdvice[] advices = EMPTY_ADVICES;
 
     public CamelInternalProcessor() {
     }
@@ -90,8 +93,11 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
      *
      * @param advice  the advice to add
      */
-    public void addAdvice(CamelInternalProcessorAdvice advice) {
-        advices.add(advice);
+    public synchronized void addAdvice(CamelInternalProcessorAdvice advice) {
+        CamelInternalProcessorAdvice[] copy = new CamelInternalProcessorAdvice[advices.length + 1];
+        System.arraycopy(advices, 0, copy, 0, advices.length);
+        copy[advices.length] = advice;
+        advices = copy;
     }
 
     /**
@@ -132,20 +138,41 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
             return true;
         }
 
-        final List<Object> states = new ArrayList<Object>(advices.size());
-        for (CamelInternalProcessorAdvice task : advices) {
+        // the common chains are fused: no advices needs no callback, a single advice keeps its state in a field,
+        // and with more advices the states array is only created if any of the advices returned a state
+        final CamelInternalProcessorAdvice[] chain = advices;
+        if (chain.length == 1) {
+            CamelInternalProcessorAdvice task = chain[0];
+            Object state;
             try {
-                Object state = task.before(exchange);
-                states.add(state);
+                state = task.before(exchange);
             } catch (Throwable e) {
                 exchange.setException(e);
                 callback.done(true);
                 return true;
             }
-        }
+            callback = new SingleAdviceCallback(task, state, exchange, callback);
+        } else if (chain.length > 1) {
+            Object[] states = null;
+            for (int i = 0; i < chain.length; i++) {
+                try {
+                    Object state = chain[i].before(exchange);
+                    if (state != null) {
+                        if (states == null) {
+                            states = new Object[chain.length];
+                        }
+                        states[i] = state;
+                    }
+                } catch (Throwable e) {
+                    exchange.setException(e);
+                    callback.done(true);
+                    return true;
+                }
+            }
 
-        // create internal callback which will execute the advices in reverse order when done
-        callback = new InternalCallback(states, exchange, callback);
+            // create internal callback which will execute the advices in reverse order when done
+            callback = new InternalCallback(chain, states, exchange, callback);
+        }
 
         // UNIT_OF_WORK_PROCESS_SYNC is @deprecated and we should remove it from Camel 3.0
         Object synchronous = exchange.removeProperty(Exchange.UNIT_OF_WORK_PROCESS_SYNC);
@@ -213,13 +240,15 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
     /**
      * Internal callback that executes the after advices.
      */
-    private final class InternalCallback implements AsyncCallback {
+    private static final class InternalCallback implements AsyncCallback {
 
-        private final List<Object> states;
+        private final CamelInternalProcessorAdvice[] chain;
+        private final Object[] states;
         private final Exchange exchange;
         private final AsyncCallback callback;
 
-        private InternalCallback(List<Object> states, Exchange exchange, AsyncCallback callback) {
+        private InternalCallback(CamelInternalProcessorAdvice[] chain, Object[] states, Exchange exchange, AsyncCallback callback) {
+            this.chain = chain;
             this.states = states;
             this.exchange = exchange;
             this.callback = callback;
@@ -232,9 +261,9 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
             // we should call after in reverse order
             try {
-                for (int i = advices.size() - 1; i >= 0; i--) {
-                    CamelInternalProcessorAdvice task = advices.get(i);
-                    Object state = states.get(i);
+                for (int i = chain.length - 1; i >= 0; i--) {
+                    CamelInternalProcessorAdvice task = chain[i];
+                    Object state = states != null ? states[i] : null;
                     try {
                         task.after(exchange, state);
                     } catch (Exception e) {
@@ -255,6 +284,42 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
         }
     }
 
+    /**
+     * Internal callback that executes the after advice when there is only a single advice.
+     */
+    private static final class SingleAdviceCallback implements AsyncCallback {
+
+        private final CamelInternalProcessorAdvice task;
+        private final Object state;
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+
+        private SingleAdviceCallback(CamelInternalProcessorAdvice task, Object state, Exchange exchange, AsyncCallback callback) {
+            this.task = task;
+            this.state = state;
+            this.exchange = exchange;
+            this.callback = callback;
+        }
+
+        @Override
+        public void done(boolean doneSync) {
+            try {
+                task.after(exchange, state);
+            } catch (Exception e) {
+                exchange.setException(e);
+            } finally {
+                // ----------------------------------------------------------
+                // CAMEL END USER - DEBUG ME HERE +++ START +++
+                // ----------------------------------------------------------
+                // callback must be called
+                callback.done(doneSync);
+                // ----------------------------------------------------------
+                // CAMEL END USER - DEBUG ME HERE +++ END +++
+                // ----------------------------------------------------------
+            }
+        }
+    }
+
     /**
      * Strategy to determine if we should continue processing the {@link Exchange}.
      */
@@ -539,6 +604,13 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
         @Override
         public Object before(Exchange exchange) throws Exception {
             if (backlogTracer.shouldTrace(processorDefinition, exchange)) {
+                if (backlogTracer.isFlightRecorder()) {
+                    // only record a compact trace record, which is rendered when the traced messages is dumped
+                    String routeId = routeDefinition != null ? routeDefinition.getId() : null;
+                    backlogTracer.recordEvent(exchange, routeId, processorDefinition.getId(), first);
+                    return null;
+                }
+
                 Date timestamp = new Date();
                 String toNode = processorDefinition.getId();
                 String exchangeId = exchange.getExchangeId();
@@ -708,34 +780,77 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
      * Advice when Message History has been enabled.
      */
     @SuppressWarnings("unchecked")
-    public static class MessageHistoryAdvice implements CamelInternalProcessorAdvice<MessageHistory> {
+    public static class MessageHistoryAdvice implements CamelInternalProcessorAdvice<Object> {
 
         private final ProcessorDefinition<?> definition;
         private final String routeId;
+        private final int samplingRate;
+        private final long keepSlowerThan;
 
         public MessageHistoryAdvice(ProcessorDefinition<?> definition) {
+            this(definition, 1, -1);
+        }
+
+        /**
+         * @param definition     the node
+         * @param samplingRate   to only record the message history for one out of every N exchanges
+         * @param keepSlowerThan to only keep the records of the nodes which failed or took longer than the given millis,
+         *                       use <tt>-1</tt> to keep the records of all the nodes
+         */
+        public MessageHistoryAdvice(ProcessorDefinition<?> definition, int samplingRate, long keepSlowerThan) {
             this.definition = definition;
             this.routeId = ProcessorDefinitionHelper.getRouteId(definition);
+            this.samplingRate = samplingRate;
+            this.keepSlowerThan = keepSlowerThan;
         }
 
         @Override
-        public MessageHistory before(Exchange exchange) throws Exception {
-            List<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, List.class);
-            if (list == null) {
-                list = new ArrayList<MessageHistory>();
-                exchange.setProperty(Exchange.MESSAGE_HISTORY, list);
+        public Object before(Exchange exchange) throws Exception {
+            Object value = exchange.getProperty(Exchange.MESSAGE_HISTORY);
+            if (value == null) {
+                if (samplingRate > 1 && !isSampled(exchange)) {
+                    return null;
+                }
+                value = new MessageHistoryList();
+                exchange.setProperty(Exchange.MESSAGE_HISTORY, value);
+            }
+
+            if (value instanceof MessageHistoryList) {
+                MessageHistoryList list = (MessageHistoryList) value;
+                // only record the node and timestamp, the message history is created when the list is read
+                return list.add(routeId, definition, System.currentTimeMillis());
+            } else if (value instanceof List) {
+                // a list that has been set by the end user
+                MessageHistory history = new DefaultMessageHistory(routeId, definition, new Date());
+                ((List<MessageHistory>) value).add(history);
+                return history;
             }
-            MessageHistory history = new DefaultMessageHistory(routeId, definition, new Date());
-            list.add(history);
-            return history;
+            return null;
         }
 
         @Override
-        public void after(Exchange exchange, MessageHistory history) throws Exception {
-            if (history != null) {
-                history.nodeProcessingDone();
+        public void after(Exchange exchange, Object data) throws Exception {
+            if (data instanceof Integer) {
+                Object value = exchange.getProperty(Exchange.MESSAGE_HISTORY);
+                if (value instanceof MessageHistoryList) {
+                    MessageHistoryList list = (MessageHistoryList) value;
+                    int index = (Integer) data;
+                    long taken = list.nodeProcessingDone(index, definition);
+                    // discard the record right away if the node was fast, so the list only keeps the slow or failed nodes
+                    if (taken >= 0 && taken <= keepSlowerThan && exchange.getException() == null) {
+                        list.removeLast(index);
+                    }
+                }
+            } else if (data instanceof MessageHistory) {
+                ((MessageHistory) data).nodeProcessingDone();
             }
         }
+
+        private boolean isSampled(Exchange exchange) {
+            // sample by the exchange id so all the nodes of a sampled exchange is recorded
+            int hash = exchange.getExchangeId().hashCode() & Integer.MAX_VALUE;
+            return hash % samplingRate == 0;
+        }
     }
 
     /**
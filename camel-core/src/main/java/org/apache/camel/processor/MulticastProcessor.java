@@ -19,6 +19,7 @@ package org.apache.camel.processor;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -31,9 +32,13 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -158,6 +163,9 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
     private final long timeout;
     private final ConcurrentMap<PreparedErrorHandler, Processor> errorHandlers = new ConcurrentHashMap<PreparedErrorHandler, Processor>();
     private final boolean shareUnitOfWork;
+    private boolean workStealing;
+    private int maxParallelTasks;
+    private ScheduledExecutorService timeoutExecutorService;
 
     public MulticastProcessor(CamelContext camelContext, Collection<Processor> processors) {
         this(camelContext, processors, null);
@@ -229,7 +237,11 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
 
             pairs = createProcessorExchangePairs(exchange);
 
-            if (isParallelProcessing()) {
+            if (isParallelProcessing() && isWorkStealing()) {
+                // ensure an executor is set when running in parallel
+                ObjectHelper.notNull(executorService, "executorService", this);
+                sync = doProcessParallelAsync(exchange, result, pairs, callback);
+            } else if (isParallelProcessing()) {
                 // ensure an executor is set when running in parallel
                 ObjectHelper.notNull(executorService, "executorService", this);
                 doProcessParallel(exchange, result, pairs, isStreaming(), callback);
@@ -578,6 +590,352 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         }
     }
 
+    /**
+     * Processes the pairs in parallel using asynchronous completion, where the sub exchanges are aggregated
+     * on-the-fly by the thread which completes them, so no thread is waiting for the sub exchanges to complete.
+     *
+     * @return <tt>true</tt> if there was no sub exchanges to process, <tt>false</tt> if the multicast continues asynchronously
+     */
+    protected boolean doProcessParallelAsync(final Exchange original, final AtomicExchange result, final Iterable<ProcessorExchangePair> pairs,
+                                             final AsyncCallback callback) throws Exception {
+        Iterator<ProcessorExchangePair> it = pairs.iterator();
+        if (!it.hasNext()) {
+            return true;
+        }
+
+        ParallelAsyncState state = new ParallelAsyncState(original, result, pairs, it, callback);
+        if (timeout > 0) {
+            ObjectHelper.notNull(timeoutExecutorService, "TimeoutExecutorService", this);
+            state.scheduleTimeout();
+        }
+
+        LOG.trace("Starting to submit parallel tasks");
+        state.submitTasks();
+        return false;
+    }
+
+    /**
+     * Keeps track of the sub exchanges which are processed in parallel with asynchronous completion.
+     * <p/>
+     * Tasks are submitted as long there is room, according to the <tt>maxParallelTasks</tt> option, and the sub exchanges
+     * are aggregated when they complete, in the order they was submitted (or the order they complete if streaming).
+     * When a sub exchange is aggregated then room is made for the next task to be submitted, which ensures the
+     * iterator of the pairs is only advanced as fast as the sub exchanges are completed.
+     */
+    private final class ParallelAsyncState {
+
+        private final Exchange original;
+        private final AtomicExchange result;
+        private final Iterable<ProcessorExchangePair> pairs;
+        private final Iterator<ProcessorExchangePair> it;
+        private final AsyncCallback callback;
+        private final Lock lock = new ReentrantLock();
+        // completed sub exchanges waiting to be aggregated in order
+        private final Map<Integer, Exchange> completed = new HashMap<Integer, Exchange>();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile boolean running = true;
+        private volatile boolean failed;
+        private volatile ScheduledFuture<?> timeoutTask;
+        // the following are guarded by the lock
+        private int total;
+        private int aggregated;
+        private boolean allTasksSubmitted;
+        private boolean submitting;
+        private boolean resubmit;
+
+        private ParallelAsyncState(Exchange original, AtomicExchange result, Iterable<ProcessorExchangePair> pairs,
+                                   Iterator<ProcessorExchangePair> it, AsyncCallback callback) {
+            this.original = original;
+            this.result = result;
+            this.pairs = pairs;
+            this.it = it;
+            this.callback = callback;
+        }
+
+        private void scheduleTimeout() {
+            timeoutTask = timeoutExecutorService.schedule(new Runnable() {
+                public void run() {
+                    onTimeout();
+                }
+            }, timeout, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Submits the next tasks as long there is room.
+         * <p/>
+         * The tasks are submitted outside the lock, as the executor service may run the task in the submitting thread
+         * (such as with a caller runs rejection policy), which then completes the task and calls this method again.
+         * Such a nested call only signals the thread which is already submitting to check again, which avoids
+         * deep recursion with many sub exchanges.
+         */
+        private void submitTasks() {
+            lock.lock();
+            try {
+                if (submitting) {
+                    resubmit = true;
+                    return;
+                }
+                submitting = true;
+            } finally {
+                lock.unlock();
+            }
+
+            while (true) {
+                List<ParallelAsyncTask> tasks = new ArrayList<ParallelAsyncTask>();
+                boolean finished;
+                lock.lock();
+                try {
+                    resubmit = false;
+                    while (running && it.hasNext() && (maxParallelTasks <= 0 || total - aggregated < maxParallelTasks)) {
+                        ProcessorExchangePair pair = it.next();
+                        // assign the index before the task is submitted, as it may complete before execute returns
+                        int index = total++;
+                        updateNewExchange(pair.getExchange(), index, pairs, it);
+                        tasks.add(new ParallelAsyncTask(this, pair, index));
+                    }
+                    if (!allTasksSubmitted && !it.hasNext()) {
+                        LOG.trace("Signaling that all {} tasks has been submitted.", total);
+                        allTasksSubmitted = true;
+                    }
+                    finished = running && allTasksSubmitted && aggregated >= total;
+                } catch (Throwable e) {
+                    failed(e);
+                    finished = true;
+                } finally {
+                    lock.unlock();
+                }
+
+                try {
+                    for (ParallelAsyncTask task : tasks) {
+                        executorService.execute(task);
+                    }
+                } catch (Throwable e) {
+                    // unexpected exception was thrown, maybe rejected by the executor service
+                    lock.lock();
+                    try {
+                        failed(e);
+                    } finally {
+                        lock.unlock();
+                    }
+                    finished = true;
+                }
+
+                if (finished) {
+                    LOG.debug("Done parallel processing {} exchanges", total);
+                    complete();
+                }
+
+                lock.lock();
+                try {
+                    if (!resubmit || !running) {
+                        submitting = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        /**
+         * Fails the original exchange, which stops the multicast.
+         * <p/>
+         * Must be called while holding the lock.
+         */
+        private void failed(Throwable e) {
+            original.setException(e);
+            failed = true;
+            running = false;
+        }
+
+        private void onCompleted(int index, Exchange subExchange) {
+            // Decide whether to continue with the multicast or not; similar logic to the Pipeline
+            Integer number = getExchangeIndex(subExchange);
+            boolean continueProcessing = PipelineHelper.continueProcessing(subExchange, "Parallel processing failed for number " + number, LOG);
+
+            lock.lock();
+            try {
+                if (!running) {
+                    // we are already done due timeout or stopOnException
+                    LOG.trace("Parallel processing complete for exchange: {} after being done, will be ignored.", subExchange);
+                    return;
+                }
+
+                if (stopOnException && !continueProcessing) {
+                    // signal to stop running
+                    running = false;
+                    if (subExchange.getException() != null) {
+                        // wrap in exception to explain where it failed
+                        CamelExchangeException cause = new CamelExchangeException("Parallel processing failed for number " + number, subExchange, subExchange.getException());
+                        subExchange.setException(cause);
+                    }
+                    // this is similar to what the pipeline does, so we should set the failed exchange as the result
+                    LOG.debug("Cancelling tasks due stopOnException.");
+                    result.set(subExchange);
+                } else {
+                    LOG.trace("Parallel processing complete for exchange: {}", subExchange);
+                    completed.put(isStreaming() ? aggregated : index, subExchange);
+                    aggregateCompleted();
+                }
+            } catch (Throwable e) {
+                running = false;
+                // wrap in exception to explain where it failed
+                subExchange.setException(new CamelExchangeException("Parallel processing failed for number " + number, subExchange, e));
+                result.set(subExchange);
+            } finally {
+                lock.unlock();
+            }
+
+            if (running) {
+                // make room for the next tasks (or complete if all tasks are done)
+                submitTasks();
+            } else {
+                complete();
+            }
+        }
+
+        private void onTimeout() {
+            lock.lock();
+            try {
+                if (!running) {
+                    return;
+                }
+                running = false;
+                LOG.debug("Cancelling tasks due timeout after {} millis.", timeout);
+
+                // aggregate the sub exchanges which has already completed, and notify about the ones which has not
+                while (aggregated < total) {
+                    if (completed.containsKey(aggregated)) {
+                        aggregateCompleted();
+                    } else {
+                        AggregationStrategy strategy = getAggregationStrategy(null);
+                        if (strategy instanceof TimeoutAwareAggregationStrategy) {
+                            // notify the strategy we timed out
+                            Exchange oldExchange = result.get();
+                            if (oldExchange == null) {
+                                // if they all timed out the result may not have been set yet, so use the original exchange
+                                oldExchange = original;
+                            }
+                            ((TimeoutAwareAggregationStrategy) strategy).timeout(oldExchange, aggregated, total, timeout);
+                        } else {
+                            // log a WARN we timed out since it will not be aggregated and the Exchange will be lost
+                            LOG.warn("Parallel processing timed out after {} millis for number {}. This task will be cancelled and will not be aggregated.", timeout, aggregated);
+                        }
+                        LOG.debug("Timeout occurred after {} millis for number {} task.", timeout, aggregated);
+                        aggregated++;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            complete();
+        }
+
+        /**
+         * Aggregates the completed sub exchanges in order, as long the next in line has been completed.
+         * <p/>
+         * Must be called while holding the lock.
+         */
+        private void aggregateCompleted() {
+            Exchange subExchange = completed.remove(aggregated);
+            while (subExchange != null) {
+                if (parallelAggregate) {
+                    doAggregateInternal(getAggregationStrategy(subExchange), result, subExchange);
+                } else {
+                    doAggregate(getAggregationStrategy(subExchange), result, subExchange);
+                }
+                aggregated++;
+                subExchange = completed.remove(aggregated);
+            }
+        }
+
+        private void complete() {
+            // ensure we only complete once
+            if (done.compareAndSet(false, true)) {
+                running = false;
+                if (timeoutTask != null) {
+                    timeoutTask.cancel(false);
+                }
+                LOG.debug("Done aggregating {} exchanges on the fly for exchangeId: {}", aggregated, original.getExchangeId());
+                Exchange subExchange = !failed && result.get() != null ? result.get() : null;
+                doDone(original, subExchange, pairs, callback, false, true);
+            }
+        }
+    }
+
+    /**
+     * Task which processes a sub exchange when using parallel processing with asynchronous completion.
+     */
+    private final class ParallelAsyncTask implements Runnable {
+
+        private final ParallelAsyncState state;
+        private final ProcessorExchangePair pair;
+        private final int index;
+
+        private ParallelAsyncTask(ParallelAsyncState state, ProcessorExchangePair pair, int index) {
+            this.state = state;
+            this.pair = pair;
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            final Exchange exchange = pair.getExchange();
+            if (!state.running) {
+                // do not start processing the task if we are not running
+                return;
+            }
+
+            Processor processor = pair.getProcessor();
+            final Producer producer = pair.getProducer();
+
+            TracedRouteNodes traced = exchange.getUnitOfWork() != null ? exchange.getUnitOfWork().getTracedRouteNodes() : null;
+
+            // compute time taken if sending to another endpoint
+            final StopWatch watch = producer != null ? new StopWatch() : null;
+
+            try {
+                // prepare tracing starting from a new block
+                if (traced != null) {
+                    traced.pushBlock();
+                }
+
+                if (producer != null) {
+                    EventHelper.notifyExchangeSending(exchange.getContext(), exchange, producer.getEndpoint());
+                }
+                // let the prepared process it, remember to begin the exchange pair
+                AsyncProcessor async = AsyncProcessorConverterHelper.convert(processor);
+                pair.begin();
+                async.process(exchange, new AsyncCallback() {
+                    public void done(boolean doneSync) {
+                        // we are done with the exchange pair
+                        pair.done();
+
+                        // okay we are done, so notify the exchange was sent
+                        if (producer != null) {
+                            long timeTaken = watch.stop();
+                            Endpoint endpoint = producer.getEndpoint();
+                            // emit event that the exchange was sent to the endpoint
+                            EventHelper.notifyExchangeSent(exchange.getContext(), exchange, endpoint, timeTaken);
+                        }
+
+                        // continue on the thread which completed the sub exchange
+                        state.onCompleted(index, exchange);
+                    }
+                });
+            } catch (Throwable e) {
+                exchange.setException(e);
+                state.onCompleted(index, exchange);
+            } finally {
+                // pop the block so by next round we have the same staring point and thus the tracing looks accurate
+                if (traced != null) {
+                    traced.popBlock();
+                }
+            }
+        }
+    }
+
     protected boolean doProcessSequential(Exchange original, AtomicExchange result, Iterable<ProcessorExchangePair> pairs, AsyncCallback callback) throws Exception {
         AtomicInteger total = new AtomicInteger();
         Iterator<ProcessorExchangePair> it = pairs.iterator();
@@ -1117,7 +1475,13 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         if (timeout > 0 && !isParallelProcessing()) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled");
         }
-        if (isParallelProcessing() && aggregateExecutorService == null) {
+        if (isParallelProcessing() && isWorkStealing()) {
+            // sub exchanges are aggregated on-the-fly when they complete, so we only need a thread to trigger timeouts
+            if (timeout > 0 && timeoutExecutorService == null) {
+                String name = getClass().getSimpleName() + "-TimeoutTask";
+                timeoutExecutorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, name);
+            }
+        } else if (isParallelProcessing() && aggregateExecutorService == null) {
             // use unbounded thread pool so we ensure the aggregate on-the-fly task always will have assigned a thread
             // and run the tasks when the task is submitted. If not then the aggregate task may not be able to run
             // and signal completion during processing, which would lead to what would appear as a dead-lock or a slow processing
@@ -1156,6 +1520,10 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         if (aggregateExecutorService != null) {
             getCamelContext().getExecutorServiceManager().shutdownNow(aggregateExecutorService);
         }
+        if (timeoutExecutorService != null) {
+            getCamelContext().getExecutorServiceManager().shutdownNow(timeoutExecutorService);
+            timeoutExecutorService = null;
+        }
     }
 
     protected static void setToEndpoint(Exchange exchange, Processor processor) {
@@ -1271,6 +1639,30 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         return shareUnitOfWork;
     }
 
+    /**
+     * Whether parallel processing uses asynchronous completion, where the sub exchanges are aggregated on-the-fly
+     * by the threads that complete them, instead of having a dedicated thread waiting for the sub exchanges to complete.
+     */
+    public boolean isWorkStealing() {
+        return workStealing;
+    }
+
+    public void setWorkStealing(boolean workStealing) {
+        this.workStealing = workStealing;
+    }
+
+    /**
+     * The maximum number of sub exchanges which can be in progress at the same time (submitted but not yet aggregated)
+     * when using work stealing parallel processing. Zero or negative means unbounded.
+     */
+    public int getMaxParallelTasks() {
+        return maxParallelTasks;
+    }
+
+    public void setMaxParallelTasks(int maxParallelTasks) {
+        this.maxParallelTasks = maxParallelTasks;
+    }
+
     public List<Processor> next() {
         if (!hasNext()) {
             return null;
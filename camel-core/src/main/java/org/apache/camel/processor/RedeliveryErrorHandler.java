@@ -22,6 +22,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -37,6 +38,7 @@ import org.apache.camel.spi.ExchangeFormatter;
 import org.apache.camel.spi.ShutdownPrepared;
 import org.apache.camel.spi.SubUnitOfWorkCallback;
 import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.TimingWheelTimeoutMap;
 import org.apache.camel.util.AsyncProcessorConverterHelper;
 import org.apache.camel.util.AsyncProcessorHelper;
 import org.apache.camel.util.CamelContextHelper;
@@ -76,6 +78,26 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
     protected volatile boolean preparingShutdown;
     protected final ExchangeFormatter exchangeFormatter;
     protected final Processor onPrepare;
+    protected int maximumPendingRedeliveries;
+    protected OverflowAction pendingRedeliveriesOverflowAction = OverflowAction.DeadLetter;
+    protected long timingWheelTickDuration;
+    private final AtomicInteger pendingRedeliveries = new AtomicInteger();
+    private final AtomicInteger pendingRedeliveriesOverflowCounter = new AtomicInteger();
+    private RedeliveryTimingWheel timingWheel;
+
+    /**
+     * What to do with an exchange to be redelivered when the maximum number of pending redeliveries has been reached
+     */
+    public enum OverflowAction {
+        /**
+         * The exchange is regarded as exhausted and moved to the failure processor (such as the dead letter channel)
+         */
+        DeadLetter,
+        /**
+         * The exchange is failed with a {@link RejectedExecutionException}
+         */
+        Reject
+    }
 
     /**
      * Contains the current redelivery data
@@ -98,6 +120,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         Predicate continuedPredicate;
         boolean useOriginalInMessage;
         boolean handleNewException;
+        boolean pendingRedelivery;
 
         public RedeliveryData() {
             // init with values from the error handler
@@ -129,7 +152,24 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
             this.data = data;
         }
 
+        /**
+         * Fails the exchange as the redelivery cannot be performed, such as when shutting down.
+         */
+        public void reject() {
+            releasePendingRedelivery(data);
+            log.debug("Rejecting pending redelivery of exchangeId: {} as error handler is shutting down", exchange.getExchangeId());
+            exchange.setException(new RejectedExecutionException("Pending redelivery rejected as error handler: " + RedeliveryErrorHandler.this
+                    + " is shutting down", exchange.getException()));
+            // do not let any other error handler redeliver the exchange
+            exchange.setProperty(Exchange.REDELIVERY_EXHAUSTED, Boolean.TRUE);
+            // the redelivery was scheduled so the exchange is always done asynchronously
+            callback.done(false);
+        }
+
         public Boolean call() throws Exception {
+            // the redelivery is no longer pending
+            releasePendingRedelivery(data);
+
             // prepare for redelivery
             prepareExchangeForRedelivery(exchange, data);
 
@@ -369,8 +409,20 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
             boolean exhausted = isExhausted(exchange, data);
             boolean redeliverAllowed = isRedeliveryAllowed(data);
 
+            // a redelivery which may be scheduled must fit within the maximum number of pending redeliveries
+            boolean overflow = false;
+            if (redeliverAllowed && !exhausted && data.redeliveryCounter > 0
+                    && data.currentRedeliveryPolicy.isAsyncDelayedRedelivery() && !exchange.isTransacted()) {
+                overflow = !reservePendingRedelivery(exchange, data);
+                if (overflow && pendingRedeliveriesOverflowAction == OverflowAction.Reject) {
+                    rejectPendingRedelivery(exchange);
+                    callback.done(data.sync);
+                    return data.sync;
+                }
+            }
+
             // if we are exhausted or redelivery is not allowed, then deliver to failure processor (eg such as DLC)
-            if (!redeliverAllowed || exhausted) {
+            if (!redeliverAllowed || exhausted || overflow) {
                 Processor target = null;
                 boolean deliver = true;
 
@@ -420,12 +472,13 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                         if (log.isTraceEnabled()) {
                             log.trace("Scheduling redelivery task to run in {} millis for exchangeId: {}", data.redeliveryDelay, exchange.getExchangeId());
                         }
-                        executorService.schedule(task, data.redeliveryDelay, TimeUnit.MILLISECONDS);
+                        scheduleRedelivery(task, data);
 
                         return false;
                     } else {
                         // async delayed redelivery was disabled or we are transacted so we must be synchronous
                         // as the transaction manager requires to execute in the same thread context
+                        releasePendingRedelivery(data);
                         try {
                             data.currentRedeliveryPolicy.sleep(data.redeliveryDelay);
                         } catch (InterruptedException e) {
@@ -440,6 +493,9 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                     }
                 }
 
+                // we redeliver from this thread so the redelivery is not pending
+                releasePendingRedelivery(data);
+
                 // prepare for redelivery
                 prepareExchangeForRedelivery(exchange, data);
 
@@ -541,7 +597,19 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
 
         // compute if we are exhausted or not
         boolean exhausted = isExhausted(exchange, data);
-        if (exhausted) {
+
+        // the redelivery is scheduled so it must fit within the maximum number of pending redeliveries
+        boolean overflow = false;
+        if (!exhausted && data.redeliveryCounter > 0) {
+            overflow = !reservePendingRedelivery(exchange, data);
+            if (overflow && pendingRedeliveriesOverflowAction == OverflowAction.Reject) {
+                rejectPendingRedelivery(exchange);
+                callback.done(data.sync);
+                return;
+            }
+        }
+
+        if (exhausted || overflow) {
             Processor target = null;
             boolean deliver = true;
 
@@ -587,14 +655,79 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                 if (log.isTraceEnabled()) {
                     log.trace("Scheduling redelivery task to run in {} millis for exchangeId: {}", data.redeliveryDelay, exchange.getExchangeId());
                 }
-                executorService.schedule(task, data.redeliveryDelay, TimeUnit.MILLISECONDS);
+                scheduleRedelivery(task, data);
             } else {
                 // execute the task immediately
-                executorService.submit(task);
+                try {
+                    executorService.submit(task);
+                } catch (RejectedExecutionException e) {
+                    releasePendingRedelivery(data);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Schedules the redelivery task to run after the redelivery delay, using the timing wheel if enabled.
+     */
+    private void scheduleRedelivery(AsyncRedeliveryTask task, RedeliveryData data) {
+        try {
+            if (timingWheel != null) {
+                timingWheel.put(task, task, data.redeliveryDelay);
+            } else {
+                executorService.schedule(task, data.redeliveryDelay, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            releasePendingRedelivery(data);
+            throw e;
+        }
+    }
+
+    /**
+     * Reserves room for a pending redelivery of the given exchange.
+     *
+     * @return <tt>true</tt> if reserved, or <tt>false</tt> if the maximum number of pending redeliveries has been reached
+     */
+    private boolean reservePendingRedelivery(Exchange exchange, RedeliveryData data) {
+        if (data.pendingRedelivery) {
+            return true;
+        }
+        while (true) {
+            int current = pendingRedeliveries.get();
+            if (maximumPendingRedeliveries > 0 && current >= maximumPendingRedeliveries) {
+                pendingRedeliveriesOverflowCounter.incrementAndGet();
+                log.debug("Maximum pending redeliveries {} reached, performing {} for exchangeId: {}",
+                        new Object[]{maximumPendingRedeliveries, pendingRedeliveriesOverflowAction, exchange.getExchangeId()});
+                return false;
+            }
+            if (pendingRedeliveries.compareAndSet(current, current + 1)) {
+                data.pendingRedelivery = true;
+                return true;
+            }
+        }
+    }
+
+    private void releasePendingRedelivery(RedeliveryData data) {
+        if (data.pendingRedelivery) {
+            data.pendingRedelivery = false;
+            // the counter is reset when shutting down, so do not let it become negative
+            while (true) {
+                int current = pendingRedeliveries.get();
+                if (current <= 0 || pendingRedeliveries.compareAndSet(current, current - 1)) {
+                    break;
+                }
             }
         }
     }
 
+    private void rejectPendingRedelivery(Exchange exchange) {
+        exchange.setException(new RejectedExecutionException("Maximum pending redeliveries " + maximumPendingRedeliveries
+                + " reached on error handler: " + this, exchange.getException()));
+        // do not let any other error handler redeliver the exchange
+        exchange.setProperty(Exchange.REDELIVERY_EXHAUSTED, Boolean.TRUE);
+    }
+
     /**
      * Performs a defensive copy of the exchange if needed
      *
@@ -690,6 +823,58 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         return logger;
     }
 
+    public int getMaximumPendingRedeliveries() {
+        return maximumPendingRedeliveries;
+    }
+
+    /**
+     * Sets the maximum number of redeliveries which can be pending, scheduled to be redelivered asynchronously
+     * by this error handler. When the maximum has been reached the {@link #getPendingRedeliveriesOverflowAction()}
+     * decides what happens with the exchange. Is by default 0 which means unbounded.
+     */
+    public void setMaximumPendingRedeliveries(int maximumPendingRedeliveries) {
+        this.maximumPendingRedeliveries = maximumPendingRedeliveries;
+    }
+
+    public OverflowAction getPendingRedeliveriesOverflowAction() {
+        return pendingRedeliveriesOverflowAction;
+    }
+
+    /**
+     * Sets what to do when the maximum number of pending redeliveries has been reached. Is by default
+     * {@link OverflowAction#DeadLetter}.
+     */
+    public void setPendingRedeliveriesOverflowAction(OverflowAction pendingRedeliveriesOverflowAction) {
+        this.pendingRedeliveriesOverflowAction = pendingRedeliveriesOverflowAction;
+    }
+
+    public long getTimingWheelTickDuration() {
+        return timingWheelTickDuration;
+    }
+
+    /**
+     * Sets the tick duration in millis of a timing wheel to use for scheduling the asynchronous redeliveries,
+     * instead of scheduling each redelivery on the {@link ScheduledExecutorService}. The redelivery delay is then
+     * rounded up to the tick duration. Is by default 0 which means the timing wheel is not in use.
+     */
+    public void setTimingWheelTickDuration(long timingWheelTickDuration) {
+        this.timingWheelTickDuration = timingWheelTickDuration;
+    }
+
+    /**
+     * Number of redeliveries which are currently pending, scheduled to be redelivered asynchronously
+     */
+    public int getPendingRedeliveries() {
+        return pendingRedeliveries.get();
+    }
+
+    /**
+     * Number of exchanges which could not be redelivered as the maximum number of pending redeliveries was reached
+     */
+    public int getPendingRedeliveriesOverflowCounter() {
+        return pendingRedeliveriesOverflowCounter.get();
+    }
+
     protected Predicate getDefaultHandledPredicate() {
         // Default is not not handle errors
         return null;
@@ -1332,6 +1517,10 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
             if (log.isTraceEnabled()) {
                 log.trace("Using ExecutorService: {} for redeliveries on error handler: {}", executorService, this);
             }
+            if (timingWheelTickDuration > 0 && timingWheel == null) {
+                timingWheel = new RedeliveryTimingWheel(executorService, timingWheelTickDuration);
+            }
+            ServiceHelper.startService(timingWheel);
         }
 
         // reset flag when starting
@@ -1347,6 +1536,31 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
 
     @Override
     protected void doShutdown() throws Exception {
-        ServiceHelper.stopAndShutdownServices(deadLetter, output, outputAsync);
+        if (timingWheel != null) {
+            // the pending redeliveries would be discarded when the timing wheel is stopped, so fail their exchanges
+            // to have their callbacks invoked and the exchanges done
+            for (AsyncRedeliveryTask task : timingWheel.drain()) {
+                task.reject();
+            }
+        }
+        ServiceHelper.stopAndShutdownServices(timingWheel, deadLetter, output, outputAsync);
+        timingWheel = null;
+        pendingRedeliveries.set(0);
+    }
+
+    /**
+     * Timing wheel which submits the redelivery tasks to the executor service when they are due.
+     */
+    private final class RedeliveryTimingWheel extends TimingWheelTimeoutMap<AsyncRedeliveryTask, AsyncRedeliveryTask> {
+
+        private RedeliveryTimingWheel(ScheduledExecutorService executor, long tickDuration) {
+            super(executor, tickDuration);
+        }
+
+        @Override
+        public boolean onEviction(AsyncRedeliveryTask key, AsyncRedeliveryTask task) {
+            getExecutor().submit(task);
+            return true;
+        }
     }
 }
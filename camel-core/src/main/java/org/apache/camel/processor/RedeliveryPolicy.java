@@ -232,6 +232,13 @@ public class RedeliveryPolicy implements Cloneable, Serializable {
         // ensure the calculated result is not bigger than the max delay (if configured)
         if (maximumRedeliveryDelay > 0 && redeliveryDelayResult > maximumRedeliveryDelay) {
             redeliveryDelayResult = maximumRedeliveryDelay;
+
+            if (useCollisionAvoidance) {
+                // keep the spread below the max delay, otherwise every exchange which has backed off
+                // to the max delay would be redelivered in lock step
+                Random random = getRandomNumberGenerator();
+                redeliveryDelayResult -= Math.round(maximumRedeliveryDelay * collisionAvoidanceFactor * random.nextDouble());
+            }
         }
 
         return redeliveryDelayResult;
@@ -0,0 +1,317 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.interceptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.StreamCache;
+import org.apache.camel.api.management.mbean.BacklogTracerEventMessage;
+import org.apache.camel.util.StringHelper;
+
+/**
+ * A flight recorder used by the {@link BacklogTracer} to record traced messages as compact records
+ * in preallocated ring buffers. The threads are spread over a fixed number of ring buffers (stripes) by their
+ * thread id, so the memory used by the recorder is bounded no matter how many threads are traced.
+ * <p/>
+ * Recording a message only stores the exchange id, node, timestamp, body type and size, and the
+ * values of the selected headers into arrays which have been allocated up front. The records are first
+ * rendered as {@link BacklogTracerEventMessage} when they are dumped. When a ring buffer is full then the
+ * oldest records is overwritten, so the recorder always keeps the latest records per stripe.
+ */
+public final class BacklogFlightRecorder {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final int capacity;
+    private final String[] headers;
+    private final RecordBuffer[] buffers;
+
+    /**
+     * Creates a new flight recorder.
+     *
+     * @param capacity the number of records to keep per stripe
+     * @param headers  names of the headers to record, can be <tt>null</tt>
+     */
+    public BacklogFlightRecorder(int capacity, String[] headers) {
+        this(capacity, headers, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new flight recorder.
+     *
+     * @param capacity the number of records to keep per stripe
+     * @param headers  names of the headers to record, can be <tt>null</tt>
+     * @param stripes  the number of stripes, which is rounded up to a power of two
+     */
+    public BacklogFlightRecorder(int capacity, String[] headers, int stripes) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be a positive number, was: " + capacity);
+        }
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("The stripes must be a positive number, was: " + stripes);
+        }
+        this.capacity = capacity;
+        this.headers = headers != null ? headers : new String[0];
+        int size = 1;
+        while (size < stripes && size < MAX_STRIPES) {
+            size <<= 1;
+        }
+        this.buffers = new RecordBuffer[size];
+        for (int i = 0; i < size; i++) {
+            buffers[i] = new RecordBuffer(capacity, this.headers.length);
+        }
+    }
+
+    /**
+     * Records the message of the exchange into the ring buffer of the stripe of the current thread.
+     *
+     * @param uid       unique id of the trace record
+     * @param timestamp the timestamp in millis
+     * @param routeId   the route id
+     * @param toNode    the node id, or <tt>null</tt> if its the pseudo record for the start of the route
+     * @param exchange  the exchange
+     */
+    public void record(long uid, long timestamp, String routeId, String toNode, Exchange exchange) {
+        Message message = exchange.getIn();
+        Object body = message.getBody();
+        long id = Thread.currentThread().getId();
+        RecordBuffer buffer = buffers[(int) (id ^ (id >>> 32)) & (buffers.length - 1)];
+        buffer.record(uid, timestamp, routeId, toNode, exchange.getExchangeId(),
+                body != null ? body.getClass() : null, bodySize(body), message, headers);
+    }
+
+    /**
+     * Dumps the recorded messages, sorted by their uid.
+     *
+     * @param nodeId to only dump the messages for the given node or route, or <tt>null</tt> to dump all messages
+     * @return the messages
+     */
+    public List<BacklogTracerEventMessage> dump(String nodeId) {
+        List<Record> records = new ArrayList<Record>();
+        for (RecordBuffer buffer : buffers) {
+            buffer.copyTo(records, nodeId);
+        }
+        Collections.sort(records, new Comparator<Record>() {
+            public int compare(Record o1, Record o2) {
+                return o1.uid < o2.uid ? -1 : (o1.uid == o2.uid ? 0 : 1);
+            }
+        });
+
+        List<BacklogTracerEventMessage> answer = new ArrayList<BacklogTracerEventMessage>(records.size());
+        for (Record record : records) {
+            answer.add(new DefaultBacklogTracerEventMessage(record.uid, new Date(record.timestamp), record.routeId,
+                    record.toNode, record.exchangeId, toXml(record, 4)));
+        }
+        return answer;
+    }
+
+    /**
+     * Clears the recorded messages.
+     */
+    public void clear() {
+        for (RecordBuffer buffer : buffers) {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Number of recorded messages in total
+     */
+    public int size() {
+        int size = 0;
+        for (RecordBuffer buffer : buffers) {
+            size += buffer.size();
+        }
+        return size;
+    }
+
+    /**
+     * Number of records to keep per stripe
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Number of stripes, which each has a ring buffer of {@link #getCapacity()} records
+     */
+    public int getStripes() {
+        return buffers.length;
+    }
+
+    private String toXml(Record record, int indent) {
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < indent; i++) {
+            prefix.append(" ");
+        }
+
+        // use the same layout as MessageHelper#dumpAsXml, but without the body content
+        StringBuilder sb = new StringBuilder();
+        sb.append(prefix).append("<message exchangeId=\"").append(record.exchangeId).append("\">\n");
+        boolean hasHeaders = false;
+        for (String value : record.headerValues) {
+            hasHeaders |= value != null;
+        }
+        if (hasHeaders) {
+            sb.append(prefix).append("  <headers>\n");
+            for (int i = 0; i < headers.length; i++) {
+                String value = record.headerValues[i];
+                if (value != null) {
+                    sb.append(prefix).append("    <header key=\"").append(headers[i]).append("\">");
+                    sb.append(StringHelper.xmlEncode(value)).append("</header>\n");
+                }
+            }
+            sb.append(prefix).append("  </headers>\n");
+        }
+        sb.append(prefix).append("  <body");
+        if (record.bodyType != null) {
+            String type = record.bodyType.getCanonicalName();
+            sb.append(" type=\"").append(type != null ? type : record.bodyType.getName()).append("\"");
+        }
+        if (record.bodySize >= 0) {
+            sb.append(" size=\"").append(record.bodySize).append("\"");
+        }
+        sb.append("/>\n");
+        sb.append(prefix).append("</message>");
+        return sb.toString();
+    }
+
+    private static long bodySize(Object body) {
+        if (body == null) {
+            return 0;
+        } else if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        } else if (body instanceof CharSequence) {
+            return ((CharSequence) body).length();
+        } else if (body instanceof StreamCache) {
+            return ((StreamCache) body).length();
+        }
+        // unknown size
+        return -1;
+    }
+
+    /**
+     * A trace record copied from a ring buffer.
+     */
+    private static final class Record {
+        private long uid;
+        private long timestamp;
+        private String routeId;
+        private String toNode;
+        private String exchangeId;
+        private Class<?> bodyType;
+        private long bodySize;
+        private String[] headerValues;
+    }
+
+    /**
+     * A ring buffer of trace records, which is shared by the threads of its stripe.
+     */
+    private static final class RecordBuffer {
+        private final int capacity;
+        private final int headerCount;
+        private final long[] uids;
+        private final long[] timestamps;
+        private final String[] routeIds;
+        private final String[] toNodes;
+        private final String[] exchangeIds;
+        private final Class<?>[] bodyTypes;
+        private final long[] bodySizes;
+        private final String[] headerValues;
+        // the position of the next record to write
+        private long position;
+        private long cleared;
+
+        RecordBuffer(int capacity, int headerCount) {
+            this.capacity = capacity;
+            this.headerCount = headerCount;
+            this.uids = new long[capacity];
+            this.timestamps = new long[capacity];
+            this.routeIds = new String[capacity];
+            this.toNodes = new String[capacity];
+            this.exchangeIds = new String[capacity];
+            this.bodyTypes = new Class<?>[capacity];
+            this.bodySizes = new long[capacity];
+            this.headerValues = new String[capacity * headerCount];
+        }
+
+        void record(long uid, long timestamp, String routeId, String toNode, String exchangeId,
+                    Class<?> bodyType, long bodySize, Message message, String[] headers) {
+            // lookup the header values before taking the lock
+            String[] values = null;
+            if (headerCount > 0) {
+                values = new String[headerCount];
+                for (int i = 0; i < headerCount; i++) {
+                    Object value = message.getHeader(headers[i]);
+                    values[i] = value != null ? value.toString() : null;
+                }
+            }
+
+            synchronized (this) {
+                int index = (int) (position % capacity);
+                uids[index] = uid;
+                timestamps[index] = timestamp;
+                routeIds[index] = routeId;
+                toNodes[index] = toNode;
+                exchangeIds[index] = exchangeId;
+                bodyTypes[index] = bodyType;
+                bodySizes[index] = bodySize;
+                if (values != null) {
+                    System.arraycopy(values, 0, headerValues, index * headerCount, headerCount);
+                }
+                position++;
+            }
+        }
+
+        synchronized void copyTo(List<Record> records, String nodeId) {
+            long start = Math.max(Math.max(0, position - capacity), cleared);
+            for (long pos = start; pos < position; pos++) {
+                int index = (int) (pos % capacity);
+                String toNode = toNodes[index];
+                String routeId = routeIds[index];
+                if (nodeId != null && !nodeId.equals(toNode) && !nodeId.equals(routeId)) {
+                    continue;
+                }
+                Record record = new Record();
+                record.uid = uids[index];
+                record.timestamp = timestamps[index];
+                record.routeId = routeId;
+                record.toNode = toNode;
+                record.exchangeId = exchangeIds[index];
+                record.bodyType = bodyTypes[index];
+                record.bodySize = bodySizes[index];
+                record.headerValues = new String[headerCount];
+                System.arraycopy(headerValues, index * headerCount, record.headerValues, 0, headerCount);
+                records.add(record);
+            }
+        }
+
+        synchronized void clear() {
+            cleared = position;
+        }
+
+        synchronized int size() {
+            return (int) Math.min(capacity, position - cleared);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.camel.processor.interceptor;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -42,6 +43,10 @@ import org.slf4j.LoggerFactory;
  * <p/>
  * This tracer allows to store message tracers per node in the Camel routes. The tracers
  * is stored in a backlog queue (FIFO based) which allows to pull the traced messages on demand.
+ * <p/>
+ * In flight recorder mode the tracer does not dump the messages as XML while tracing, but records
+ * compact trace records in a {@link BacklogFlightRecorder}, which is only rendered when the traced
+ * messages are dumped. This mode has a low overhead, and combined with sampling it can be always on.
  */
 public final class BacklogTracer extends ServiceSupport implements InterceptStrategy {
 
@@ -64,6 +69,11 @@ public final class BacklogTracer extends ServiceSupport implements InterceptStra
     private String[] patterns;
     private String traceFilter;
     private Predicate predicate;
+    private int samplingRate = 1;
+    private boolean flightRecorder;
+    private int flightRecorderSize = 1000;
+    private String flightRecorderHeaders;
+    private volatile BacklogFlightRecorder recorder;
 
     private BacklogTracer(CamelContext camelContext) {
         this.camelContext = camelContext;
@@ -112,6 +122,10 @@ public final class BacklogTracer extends ServiceSupport implements InterceptStra
             return false;
         }
 
+        if (samplingRate > 1 && !isSampled(exchange)) {
+            return false;
+        }
+
         boolean pattern = true;
         boolean filter = true;
 
@@ -164,10 +178,39 @@ public final class BacklogTracer extends ServiceSupport implements InterceptStra
         queue.add(event);
     }
 
+    /**
+     * Records the message in the flight recorder.
+     *
+     * @param exchange the exchange
+     * @param routeId  the route id
+     * @param toNode   the node id
+     * @param first    whether its the first node in the route, which adds a pseudo record for the start of the route
+     */
+    public void recordEvent(Exchange exchange, String routeId, String toNode, boolean first) {
+        BacklogFlightRecorder target = recorder;
+        if (!enabled || target == null) {
+            return;
+        }
+
+        long timestamp = System.currentTimeMillis();
+        if (first) {
+            Object created = exchange.getProperty(Exchange.CREATED_TIMESTAMP);
+            long time = created instanceof Date ? ((Date) created).getTime() : timestamp;
+            target.record(incrementTraceCounter(), time, routeId, null, exchange);
+        }
+        target.record(incrementTraceCounter(), timestamp, routeId, toNode, exchange);
+    }
+
     private boolean shouldTraceFilter(Exchange exchange) {
         return predicate.matches(exchange);
     }
 
+    private boolean isSampled(Exchange exchange) {
+        // sample by the exchange id so all the nodes of a sampled exchange is traced
+        int hash = exchange.getExchangeId().hashCode() & Integer.MAX_VALUE;
+        return hash % samplingRate == 0;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -253,6 +296,67 @@ public final class BacklogTracer extends ServiceSupport implements InterceptStra
         }
     }
 
+    public int getSamplingRate() {
+        return samplingRate;
+    }
+
+    public void setSamplingRate(int samplingRate) {
+        if (samplingRate <= 0) {
+            throw new IllegalArgumentException("The sampling rate must be a positive number, was: " + samplingRate);
+        }
+        this.samplingRate = samplingRate;
+    }
+
+    public boolean isFlightRecorder() {
+        return flightRecorder;
+    }
+
+    public void setFlightRecorder(boolean flightRecorder) {
+        this.flightRecorder = flightRecorder;
+        if (flightRecorder && recorder == null) {
+            recorder = createFlightRecorder();
+        }
+    }
+
+    public int getFlightRecorderSize() {
+        return flightRecorderSize;
+    }
+
+    public void setFlightRecorderSize(int flightRecorderSize) {
+        if (flightRecorderSize <= 0) {
+            throw new IllegalArgumentException("The flight recorder size must be a positive number, was: " + flightRecorderSize);
+        }
+        this.flightRecorderSize = flightRecorderSize;
+        if (recorder != null) {
+            // the ring buffers are preallocated so we need a new recorder
+            recorder = createFlightRecorder();
+        }
+    }
+
+    public String getFlightRecorderHeaders() {
+        return flightRecorderHeaders;
+    }
+
+    public void setFlightRecorderHeaders(String flightRecorderHeaders) {
+        this.flightRecorderHeaders = flightRecorderHeaders;
+        if (recorder != null) {
+            // the ring buffers are preallocated so we need a new recorder
+            recorder = createFlightRecorder();
+        }
+    }
+
+    private BacklogFlightRecorder createFlightRecorder() {
+        String[] headers = null;
+        if (flightRecorderHeaders != null) {
+            // the headers can be separated by comma
+            headers = flightRecorderHeaders.split(",");
+            for (int i = 0; i < headers.length; i++) {
+                headers[i] = headers[i].trim();
+            }
+        }
+        return new BacklogFlightRecorder(flightRecorderSize, headers);
+    }
+
     public long getTraceCounter() {
         return traceCounter.get();
     }
@@ -275,6 +379,12 @@ public final class BacklogTracer extends ServiceSupport implements InterceptStra
             queue.removeAll(answer);
         }
 
+        BacklogFlightRecorder target = recorder;
+        if (target != null && nodeId != null) {
+            // the records stays in the flight recorder until they are overwritten by newer records
+            answer.addAll(target.dump(nodeId));
+        }
+
         return answer;
     }
 
@@ -296,6 +406,13 @@ public final class BacklogTracer extends ServiceSupport implements InterceptStra
         if (isRemoveOnDump()) {
             queue.clear();
         }
+        BacklogFlightRecorder target = recorder;
+        if (target != null) {
+            answer.addAll(target.dump(null));
+            if (isRemoveOnDump()) {
+                target.clear();
+            }
+        }
         return answer;
     }
 
@@ -313,6 +430,10 @@ public final class BacklogTracer extends ServiceSupport implements InterceptStra
 
     public void clear() {
         queue.clear();
+        BacklogFlightRecorder target = recorder;
+        if (target != null) {
+            target.clear();
+        }
     }
 
     public long incrementTraceCounter() {
@@ -325,7 +446,7 @@ public final class BacklogTracer extends ServiceSupport implements InterceptStra
 
     @Override
     protected void doStop() throws Exception {
-        queue.clear();
+        clear();
     }
 
 }
@@ -39,6 +39,7 @@ import org.apache.camel.processor.InterceptorToAsyncProcessorBridge;
 import org.apache.camel.processor.WrapProcessor;
 import org.apache.camel.spi.InterceptStrategy;
 import org.apache.camel.spi.RouteContext;
+import org.apache.camel.util.CamelContextHelper;
 import org.apache.camel.util.OrderedComparator;
 import org.apache.camel.util.ServiceHelper;
 import org.slf4j.Logger;
@@ -242,7 +243,8 @@ public class DefaultChannel extends CamelInternalProcessor implements ModelChann
 
         if (routeContext.isMessageHistory()) {
             // add message history advice
-            addAdvice(new MessageHistoryAdvice(targetOutputDef));
+            addAdvice(new MessageHistoryAdvice(targetOutputDef, CamelContextHelper.getMessageHistorySamplingRate(camelContext),
+                    CamelContextHelper.getMessageHistoryKeepSlowerThan(camelContext)));
         }
 
         // the regular tracer is not a task on internalProcessor as this is not really needed
@@ -34,6 +34,10 @@ import org.apache.camel.StaticService;
  * <p/>
  * The dynamic cache stores the endpoints that are created and used ad-hoc, such as from custom Java code that creates new endpoints etc.
  * The dynamic cache has an upper limit, that by default is 1000 entries.
+ * <p/>
+ * In front of the caches the registry keeps a bounded alias cache from the uri as given by the caller to the
+ * key of the endpoint, so repeated lookups with the same uri (such as from a dynamic recipient list)
+ * do not have to normalize the uri again.
  *
  * @param <K> endpoint key
  */
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.io.IOException;
+
+import org.apache.camel.impl.DefaultExchangeHolder;
+
+/**
+ * A pluggable codec to write a {@link DefaultExchangeHolder} to bytes and read it back again,
+ * for example when exchanges are persisted in an aggregation repository.
+ * <p/>
+ * Codecs must write a versioned format and must be able to tell if they are able to decode some
+ * given bytes, so repositories can fallback and read records which was written with another codec,
+ * such as Java serialization used in older versions.
+ *
+ * @version 
+ */
+public interface ExchangeHolderCodec {
+
+    /**
+     * Encodes the holder to bytes.
+     *
+     * @param holder the holder
+     * @return the encoded bytes
+     * @throws IOException is thrown if error encoding
+     */
+    byte[] encode(DefaultExchangeHolder holder) throws IOException;
+
+    /**
+     * Whether the given bytes has been written by this codec, and can be decoded.
+     *
+     * @param data   the data
+     * @param offset the offset in the data
+     * @param length the length of the data
+     * @return <tt>true</tt> if this codec can decode the data, <tt>false</tt> otherwise
+     */
+    boolean canDecode(byte[] data, int offset, int length);
+
+    /**
+     * Decodes the holder from the given bytes.
+     *
+     * @param data   the data
+     * @param offset the offset in the data
+     * @param length the length of the data
+     * @return the decoded holder
+     * @throws IOException is thrown if error decoding
+     */
+    DefaultExchangeHolder decode(byte[] data, int offset, int length) throws IOException;
+}
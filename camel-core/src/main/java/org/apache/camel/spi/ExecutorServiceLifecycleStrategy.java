@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.camel.CamelContext;
+
+/**
+ * A {@link LifecycleStrategy} which is also notified about the executor services which are not a
+ * {@link ThreadPoolExecutor}, such as work-stealing or virtual thread executor services.
+ * <p/>
+ * The {@link LifecycleStrategy#onThreadPoolAdd(CamelContext, ThreadPoolExecutor, String, String, String, String)}
+ * callbacks are only invoked for {@link ThreadPoolExecutor}s.
+ *
+ * @version 
+ */
+public interface ExecutorServiceLifecycleStrategy extends LifecycleStrategy {
+
+    /**
+     * Notification on adding an executor service which is not a {@link ThreadPoolExecutor}.
+     *
+     * @param camelContext        the camel context
+     * @param executorService     the executor service
+     * @param id                  id of the executor service (can be null in special cases)
+     * @param sourceId            id of the source creating the executor service (can be null in special cases)
+     * @param routeId             id of the route for the source (is null if no source)
+     * @param threadPoolProfileId id of the thread pool profile, if used for creating this executor service (can be null)
+     */
+    void onExecutorServiceAdd(CamelContext camelContext, ExecutorService executorService, String id,
+                              String sourceId, String routeId, String threadPoolProfileId);
+
+    /**
+     * Notification on removing an executor service which is not a {@link ThreadPoolExecutor}.
+     *
+     * @param camelContext    the camel context
+     * @param executorService the executor service
+     */
+    void onExecutorServiceRemove(CamelContext camelContext, ExecutorService executorService);
+
+}
@@ -0,0 +1,35 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.camel.CamelContext;
+
+/**
+ * A {@link ManagementObjectStrategy} which can also create the managed objects for the executor services
+ * which are not a {@link ThreadPoolExecutor}, such as work-stealing or virtual thread executor services.
+ *
+ * @version 
+ */
+public interface ExecutorServiceManagementObjectStrategy extends ManagementObjectStrategy {
+
+    Object getManagedObjectForExecutorService(CamelContext context, ExecutorService executorService,
+                                              String id, String sourceId, String routeId, String threadPoolProfileId);
+
+}
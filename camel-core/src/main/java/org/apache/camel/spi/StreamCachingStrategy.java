@@ -21,6 +21,7 @@ import java.io.File;
 import org.apache.camel.Exchange;
 import org.apache.camel.StaticService;
 import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.StreamCacheArena;
 
 /**
  * Strategy for using <a href="http://camel.apache.org/stream-caching.html">stream caching</a>.
@@ -194,6 +195,46 @@ public interface StreamCachingStrategy extends StaticService {
 
     boolean isAnySpoolRules();
 
+    /**
+     * Sets the total number of bytes of off-heap memory the pooled stream cache arena may allocate.
+     * <p/>
+     * When in use the stream caches are stored in chunks of off-heap memory which are pooled and reused,
+     * instead of allocating new in-memory buffers on the heap, and when spooling then a memory-mapped
+     * segment file is reused instead of creating a temporary file per stream cache.
+     * <p/>
+     * The default value is <tt>0</tt> which means the arena is not in use.
+     */
+    void setOffHeapMemoryBudget(long bytes);
+
+    long getOffHeapMemoryBudget();
+
+    /**
+     * Sets the size in bytes of the chunks in the off-heap arena.
+     * <p/>
+     * The default size is 64kb.
+     */
+    void setOffHeapChunkSize(int chunkSize);
+
+    int getOffHeapChunkSize();
+
+    /**
+     * Sets the size in bytes of the memory-mapped segment file the off-heap arena spools to.
+     * When the segment is exhausted then the stream caches are spooled to temporary files.
+     * <p/>
+     * The segment is not used when {@link #setSpoolChiper(String)} is in use,
+     * as the segment is not encrypted. The default size is 64mb, use <tt>0</tt> to not use a segment file.
+     */
+    void setOffHeapSpoolSegmentSize(long bytes);
+
+    long getOffHeapSpoolSegmentSize();
+
+    /**
+     * Gets the pooled off-heap arena.
+     *
+     * @return the arena, or <tt>null</tt> if not in use
+     */
+    StreamCacheArena getArena();
+
     /**
      * Gets the utilization statistics.
      */
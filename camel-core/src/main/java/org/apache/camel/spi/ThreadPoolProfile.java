@@ -21,6 +21,7 @@ import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 
 /**
  * A profile which defines thread pool settings.
@@ -44,6 +45,7 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
     private Integer maxQueueSize;
     private Boolean allowCoreThreadTimeOut;
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    private ThreadPoolType poolType;
 
     /**
      * Creates a new thread pool profile, with no id set.
@@ -238,6 +240,26 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    /**
+     * Gets the type of thread pool to create.
+     *
+     * @return the type, or <tt>null</tt> if not set which means a regular thread pool
+     */
+    public ThreadPoolType getPoolType() {
+        return poolType;
+    }
+
+    /**
+     * Sets the type of thread pool to create, such as a work-stealing pool or a virtual thread per task.
+     * <p/>
+     * The type only applies to thread pools, not scheduled thread pools.
+     *
+     * @param poolType the type
+     */
+    public void setPoolType(ThreadPoolType poolType) {
+        this.poolType = poolType;
+    }
+
     /**
      * Overwrites each attribute that is null with the attribute from defaultProfile 
      * 
@@ -268,6 +290,9 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
         if (rejectedPolicy == null) {
             rejectedPolicy = defaultProfile.getRejectedPolicy();
         }
+        if (poolType == null) {
+            poolType = defaultProfile.getPoolType();
+        }
     }
 
     @Override
@@ -282,6 +307,7 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
         cloned.setAllowCoreThreadTimeOut(allowCoreThreadTimeOut);
         cloned.setRejectedPolicy(rejectedPolicy);
         cloned.setTimeUnit(timeUnit);
+        cloned.setPoolType(poolType);
         return cloned;
     }
 
@@ -289,7 +315,7 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
     public String toString() {
         return "ThreadPoolProfile[" + id + " (" + defaultProfile + ") size:" + poolSize + "-" + maxPoolSize
                 + ", keepAlive: " + keepAliveTime + " " + timeUnit + ", maxQueue: " + maxQueueSize
-                + ", allowCoreThreadTimeOut:" + allowCoreThreadTimeOut + ", rejectedPolicy:" + rejectedPolicy + "]";
+                + ", allowCoreThreadTimeOut:" + allowCoreThreadTimeOut + ", rejectedPolicy:" + rejectedPolicy + ", poolType:" + poolType + "]";
     }
 
 }
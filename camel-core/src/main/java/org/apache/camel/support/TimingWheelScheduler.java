@@ -0,0 +1,620 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link CamelContext} wide scheduler which fires periodic timers using a hashed timing wheel.
+ * <p/>
+ * A single thread advances the wheel in ticks (of {@link #getTickDuration()} millis), and hands over
+ * the timers which are due to a pool of worker threads, so a slow timer does not delay the other timers.
+ * The ticks are calculated from the time the scheduler was started, so the wheel does not drift, and it
+ * catches up if the wheel thread has been delayed. The wheel thread sleeps until the earliest timer is due,
+ * or until a timer is scheduled, so it does not wake up every tick when idle. The worker threads are started
+ * when needed, and stopped again when they have been idle for a while.
+ * <p/>
+ * A {@link PeriodicTimer} fires at a fixed rate, or with a fixed delay after the previous firing completed.
+ * When firing at fixed rate the {@link OverrunPolicy} decides what happens if a firing was late, such as when
+ * the previous firing took longer than the period. With async firing the next firing is scheduled when the
+ * timer fires, instead of when the firing completes, so firings can overlap.
+ * <p/>
+ * Each timer keeps track of how late it fired (the lag), and how many firings it skipped, so its possible
+ * to see when timers fall behind.
+ * <p/>
+ * Use {@link #getOrCreate(CamelContext)} to use the scheduler of a {@link CamelContext}. To configure the
+ * scheduler add it to the {@link CamelContext} as a service before it's used.
+ *
+ * @version 
+ */
+public class TimingWheelScheduler extends ServiceSupport implements CamelContextAware {
+
+    public static final long DEFAULT_TICK_DURATION = 1;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+    public static final int DEFAULT_POOL_SIZE = 10;
+
+    // the worker threads are stopped when they have been idle for this number of seconds
+    private static final long WORKER_KEEP_ALIVE = 60;
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheelScheduler.class);
+
+    /**
+     * What to do when a timer at fixed rate fires later than its next firing was due
+     */
+    public enum OverrunPolicy {
+        /**
+         * Fire the missed firings as soon as possible, until the timer has caught up
+         */
+        CatchUp,
+        /**
+         * Skip the missed firings, and fire at the next time which is in the future
+         */
+        Skip
+    }
+
+    private final Queue<PeriodicTimer> pending = new ConcurrentLinkedQueue<PeriodicTimer>();
+    private final Set<PeriodicTimer> timers = Collections.newSetFromMap(new ConcurrentHashMap<PeriodicTimer, Boolean>());
+    private CamelContext camelContext;
+    private long tickDuration = DEFAULT_TICK_DURATION;
+    private int wheelSize = DEFAULT_WHEEL_SIZE;
+    private int poolSize = DEFAULT_POOL_SIZE;
+    private ExecutorService wheelExecutor;
+    private ExecutorService workerPool;
+    private volatile Wheel wheel;
+    private long startTime;
+    private long tickNanos;
+
+    public TimingWheelScheduler() {
+    }
+
+    /**
+     * Gets the scheduler of the given {@link CamelContext}, which is created if not already added as a service.
+     */
+    public static TimingWheelScheduler getOrCreate(CamelContext camelContext) throws Exception {
+        synchronized (TimingWheelScheduler.class) {
+            TimingWheelScheduler answer = camelContext.hasService(TimingWheelScheduler.class);
+            if (answer == null) {
+                answer = new TimingWheelScheduler();
+                camelContext.addService(answer, true);
+            } else {
+                // the scheduler may have been stopped, such as when CamelContext is restarted
+                ServiceHelper.startService(answer);
+            }
+            return answer;
+        }
+    }
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    /**
+     * The duration of a tick in millis, which is the precision of the timers. Is by default 1 millis.
+     */
+    public void setTickDuration(long tickDuration) {
+        this.tickDuration = tickDuration;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    /**
+     * Number of buckets in the timing wheel, is rounded up to a power of two. Is by default 512.
+     */
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * The maximum number of worker threads which fires the timers. The threads are started when needed,
+     * and stopped when they have been idle for a minute. Is by default 10.
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Schedules the timer to fire the first time after the initial delay.
+     *
+     * @param timer        the timer
+     * @param initialDelay the initial delay
+     * @param unit         the time unit of the initial delay
+     */
+    public void schedule(PeriodicTimer timer, long initialDelay, TimeUnit unit) {
+        if (!isStarted()) {
+            throw new IllegalStateException("TimingWheelScheduler is not started");
+        }
+        if (timer.scheduler != null) {
+            throw new IllegalStateException("The timer is already scheduled: " + timer);
+        }
+        timer.scheduler = this;
+        timer.deadline = System.nanoTime() + unit.toNanos(Math.max(0, initialDelay));
+        timers.add(timer);
+        addPending(timer);
+    }
+
+    /**
+     * Number of timers which is scheduled
+     */
+    public int getTimerCount() {
+        return timers.size();
+    }
+
+    /**
+     * The highest lag in millis of the timers which is scheduled
+     */
+    public long getMaxLag() {
+        long answer = 0;
+        for (PeriodicTimer timer : timers) {
+            answer = Math.max(answer, timer.getMaxLag());
+        }
+        return answer;
+    }
+
+    /**
+     * The total number of firings of the timers which is scheduled
+     */
+    public long getFireCount() {
+        long answer = 0;
+        for (PeriodicTimer timer : timers) {
+            answer += timer.getFireCount();
+        }
+        return answer;
+    }
+
+    /**
+     * The total number of skipped firings of the timers which is scheduled
+     */
+    public long getSkipCount() {
+        long answer = 0;
+        for (PeriodicTimer timer : timers) {
+            answer += timer.getSkipCount();
+        }
+        return answer;
+    }
+
+    /**
+     * Resets the lag and counters of the timers which is scheduled
+     */
+    public void resetStatistics() {
+        for (PeriodicTimer timer : timers) {
+            timer.resetStatistics();
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(camelContext, "CamelContext", this);
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("TickDuration must be > 0, was " + tickDuration);
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("WheelSize must be between 1 and 2^30, was " + wheelSize);
+        }
+
+        // the workers are started when timers fire, and stopped when idle, so an idle scheduler holds no worker threads
+        ThreadPoolProfile profile = new ThreadPoolProfileBuilder("TimingWheelScheduler")
+                .poolSize(poolSize)
+                .maxPoolSize(poolSize)
+                .keepAliveTime(WORKER_KEEP_ALIVE, TimeUnit.SECONDS)
+                .allowCoreThreadTimeOut(true)
+                .build();
+        workerPool = camelContext.getExecutorServiceManager().newThreadPool(this, "TimingWheelScheduler", profile);
+        wheelExecutor = camelContext.getExecutorServiceManager().newSingleThreadExecutor(this, "TimingWheelScheduler Tick");
+
+        tickNanos = TimeUnit.MILLISECONDS.toNanos(tickDuration);
+        startTime = System.nanoTime();
+        wheel = new Wheel();
+        wheelExecutor.execute(wheel);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // each wheel has its own stop flag, so a wheel which has not stopped yet keeps stopping after a restart
+        Wheel current = wheel;
+        if (current != null) {
+            wheel = null;
+            current.stop();
+        }
+        if (wheelExecutor != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(wheelExecutor);
+            wheelExecutor = null;
+        }
+        if (workerPool != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(workerPool);
+            workerPool = null;
+        }
+        for (PeriodicTimer timer : timers) {
+            timer.cancelled = true;
+        }
+        timers.clear();
+        pending.clear();
+    }
+
+    private void addPending(PeriodicTimer timer) {
+        pending.add(timer);
+        // wake up the wheel thread so it can schedule the timer, as it may sleep until a later timer is due
+        Wheel current = wheel;
+        if (current != null) {
+            current.wakeUp();
+        }
+    }
+
+    private void fire(final PeriodicTimer timer, final long scheduled) {
+        try {
+            workerPool.execute(new Runnable() {
+                public void run() {
+                    timer.fire(scheduled);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Cannot fire timer {} as the scheduler is stopping", timer);
+        }
+    }
+
+    /**
+     * The task which advances the timing wheel
+     */
+    private final class Wheel implements Runnable {
+
+        private final PeriodicTimer[] buckets;
+        private final int mask;
+        // the next tick to expire
+        private long tick;
+        private volatile boolean stopped;
+        private volatile Thread wheelThread;
+
+        private Wheel() {
+            int size = 1;
+            while (size < wheelSize) {
+                size <<= 1;
+            }
+            this.buckets = new PeriodicTimer[size];
+            this.mask = size - 1;
+        }
+
+        public void run() {
+            wheelThread = Thread.currentThread();
+            try {
+                // the wheel is interrupted when the executor is shutdown
+                while (!stopped && !Thread.interrupted()) {
+                    transferPending();
+
+                    // expire the ticks which are over, each bucket is only visited once if the wheel has been sleeping for long
+                    long now = System.nanoTime();
+                    long last = (now - startTime) / tickNanos - 1;
+                    if (last >= tick) {
+                        for (long t = Math.max(tick, last - mask); t <= last; t++) {
+                            expireTick(t, last, now);
+                        }
+                        tick = last + 1;
+                        // timers may have been rescheduled while expiring
+                        continue;
+                    }
+
+                    // sleep until the end of the tick of the earliest timer, or until a timer is added to pending
+                    long due = nextDueTick();
+                    if (!pending.isEmpty() || stopped) {
+                        continue;
+                    }
+                    if (due == Long.MAX_VALUE) {
+                        LockSupport.park(this);
+                    } else {
+                        long wait = startTime + (due + 1) * tickNanos - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(this, wait);
+                        }
+                    }
+                }
+            } catch (Throwable e) {
+                LOG.warn("TimingWheelScheduler stopped due to " + e.getMessage() + ". No timers will be fired.", e);
+            } finally {
+                wheelThread = null;
+            }
+        }
+
+        private void stop() {
+            stopped = true;
+            wakeUp();
+        }
+
+        private void wakeUp() {
+            Thread thread = wheelThread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        private void transferPending() {
+            PeriodicTimer timer;
+            // a stopped wheel must not take the timers of the wheel of a restarted scheduler
+            while (!stopped && (timer = pending.poll()) != null) {
+                if (!timer.cancelled) {
+                    schedule(timer, tick);
+                }
+            }
+        }
+
+        private void schedule(PeriodicTimer timer, long minTick) {
+            // the timer is due in the tick which contains the deadline, as its fired at the end of the tick
+            long ticks = Math.max(minTick, (timer.deadline - startTime) / tickNanos);
+            timer.dueTick = ticks;
+            int index = (int) (ticks & mask);
+            timer.next = buckets[index];
+            buckets[index] = timer;
+        }
+
+        /**
+         * Finds the tick of the earliest timer, or <tt>Long.MAX_VALUE</tt> if there is no timers
+         */
+        private long nextDueTick() {
+            long answer = Long.MAX_VALUE;
+            for (int i = 0; i < buckets.length; i++) {
+                long t = tick + i;
+                for (PeriodicTimer timer = buckets[(int) (t & mask)]; timer != null; timer = timer.next) {
+                    if (timer.dueTick <= t) {
+                        // the buckets are visited in order so this is the earliest timer
+                        return t;
+                    }
+                    answer = Math.min(answer, timer.dueTick);
+                }
+            }
+            return answer;
+        }
+
+        /**
+         * Fires the timers in the bucket of the given tick which is due
+         *
+         * @param t    the tick
+         * @param last the last tick which is over, the timers due in this or an earlier tick is fired
+         * @param now  the current time
+         */
+        private void expireTick(long t, long last, long now) {
+            int index = (int) (t & mask);
+            PeriodicTimer timer = buckets[index];
+            buckets[index] = null;
+
+            PeriodicTimer keep = null;
+            while (timer != null) {
+                PeriodicTimer next = timer.next;
+                timer.next = null;
+                if (timer.cancelled) {
+                    // drop the timer
+                    timer = next;
+                    continue;
+                }
+                if (timer.dueTick > last) {
+                    // due in a later round
+                    timer.next = keep;
+                    keep = timer;
+                } else {
+                    long scheduled = timer.deadline;
+                    if (timer.asyncFiring && timer.period > 0) {
+                        // schedule the next firing already now so the firings are not delayed by the processing,
+                        // but no earlier than the next tick
+                        timer.deadline = timer.nextDeadline(scheduled, now);
+                        schedule(timer, last + 1);
+                    }
+                    fire(timer, scheduled);
+                }
+                timer = next;
+            }
+
+            // add back the timers which are due in a later round
+            while (keep != null) {
+                PeriodicTimer next = keep.next;
+                keep.next = buckets[index];
+                buckets[index] = keep;
+                keep = next;
+            }
+        }
+    }
+
+    /**
+     * A timer which is fired by the {@link TimingWheelScheduler}.
+     */
+    public static class PeriodicTimer {
+
+        private final Runnable task;
+        private final long period;
+        private boolean fixedRate = true;
+        private OverrunPolicy overrunPolicy = OverrunPolicy.Skip;
+        private boolean asyncFiring;
+        private final AtomicLong fireCounter = new AtomicLong();
+        private final AtomicLong skipCounter = new AtomicLong();
+        private volatile long lastLag;
+        private volatile long maxLag;
+        private volatile boolean cancelled;
+        private volatile TimingWheelScheduler scheduler;
+        // state owned by the wheel
+        private volatile long deadline;
+        private long dueTick;
+        private PeriodicTimer next;
+
+        /**
+         * Creates a timer.
+         *
+         * @param task   the task to run when the timer fires
+         * @param period the period between firings, or 0 to only fire once
+         * @param unit   the time unit of the period
+         */
+        public PeriodicTimer(Runnable task, long period, TimeUnit unit) {
+            ObjectHelper.notNull(task, "task");
+            this.task = task;
+            this.period = unit.toNanos(Math.max(0, period));
+        }
+
+        public boolean isFixedRate() {
+            return fixedRate;
+        }
+
+        /**
+         * Whether to fire at fixed rate, or with a fixed delay between a firing completes and the next firing.
+         * Is by default fixed rate.
+         */
+        public void setFixedRate(boolean fixedRate) {
+            this.fixedRate = fixedRate;
+        }
+
+        public OverrunPolicy getOverrunPolicy() {
+            return overrunPolicy;
+        }
+
+        /**
+         * What to do when firing at fixed rate and a firing was late. Is by default {@link OverrunPolicy#Skip}.
+         */
+        public void setOverrunPolicy(OverrunPolicy overrunPolicy) {
+            this.overrunPolicy = overrunPolicy;
+        }
+
+        public boolean isAsyncFiring() {
+            return asyncFiring;
+        }
+
+        /**
+         * Whether to schedule the next firing when the timer fires, so the firings are not delayed by the task,
+         * and firings may overlap. The timer is then always fired at fixed rate. Is by default <tt>false</tt>.
+         */
+        public void setAsyncFiring(boolean asyncFiring) {
+            this.asyncFiring = asyncFiring;
+        }
+
+        /**
+         * Cancels the timer, a firing in progress is not interrupted.
+         */
+        public void cancel() {
+            cancelled = true;
+            TimingWheelScheduler current = scheduler;
+            if (current != null) {
+                current.timers.remove(this);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Number of times the timer has fired
+         */
+        public long getFireCount() {
+            return fireCounter.get();
+        }
+
+        /**
+         * Number of firings which has been skipped, as they were overrun
+         */
+        public long getSkipCount() {
+            return skipCounter.get();
+        }
+
+        /**
+         * The lag in millis of the last firing, which is how late the timer fired compared to when it was due
+         */
+        public long getLastLag() {
+            return TimeUnit.NANOSECONDS.toMillis(lastLag);
+        }
+
+        /**
+         * The highest lag in millis of the firings
+         */
+        public long getMaxLag() {
+            return TimeUnit.NANOSECONDS.toMillis(maxLag);
+        }
+
+        public void resetStatistics() {
+            fireCounter.set(0);
+            skipCounter.set(0);
+            lastLag = 0;
+            maxLag = 0;
+        }
+
+        private void fire(long scheduled) {
+            if (cancelled) {
+                return;
+            }
+
+            long lag = Math.max(0, System.nanoTime() - scheduled);
+            lastLag = lag;
+            if (lag > maxLag) {
+                maxLag = lag;
+            }
+            fireCounter.incrementAndGet();
+
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // catch all to keep the timer firing
+                LOG.warn("Error during firing timer. This exception will be ignored, to let the timer be able to trigger again.", e);
+            }
+
+            if (!asyncFiring && period > 0 && !cancelled) {
+                long now = System.nanoTime();
+                deadline = fixedRate ? nextDeadline(scheduled, now) : now + period;
+                scheduler.addPending(this);
+            } else if (period <= 0) {
+                cancel();
+            }
+        }
+
+        private long nextDeadline(long scheduled, long now) {
+            long answer = scheduled + period;
+            if (answer < now && overrunPolicy == OverrunPolicy.Skip) {
+                // skip the firings which are overrun
+                long skip = (now - answer) / period + 1;
+                skipCounter.addAndGet(skip);
+                answer += skip * period;
+            }
+            return answer;
+        }
+
+        @Override
+        public String toString() {
+            return "PeriodicTimer[" + task + "]";
+        }
+    }
+}
@@ -0,0 +1,516 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TimeoutMap} which uses a hashed timing wheel to expire the entries.
+ * <p/>
+ * Unlike {@link DefaultTimeoutMap} the entries are not scanned when purging, and no global lock is used when
+ * adding, getting or removing entries. The entries are kept in a {@link ConcurrentHashMap} and are
+ * handed over to the timing wheel using lock-free queues. Each time the purge task runs the wheel is advanced
+ * one tick (of {@link #getPurgePollTime()} millis) at a time, and only the entries in the bucket of the
+ * current tick are inspected. Removed entries are unlinked from their bucket in constant time.
+ * <p/>
+ * An entry is removed from the map before {@link #onEviction(Object, Object)} is invoked, so a concurrent
+ * {@link #get(Object)} or {@link #remove(Object)} does not return an entry which is being evicted. If
+ * {@link #onEviction(Object, Object)} returns <tt>false</tt> the entry is added back and checked again on the next tick.
+ * <p/>
+ * You must provide a {@link java.util.concurrent.ScheduledExecutorService} in the constructor which is used
+ * to schedule the background task which advances the timing wheel.
+ * You must also invoke {@link #start()} to startup the timeout map, before its ready to be used.
+ * And you must invoke {@link #stop()} to stop the map when no longer in use.
+ *
+ * @version 
+ */
+public class TimingWheelTimeoutMap<K, V> extends ServiceSupport implements TimeoutMap<K, V>, Runnable {
+
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, WheelEntry<K, V>> map = new ConcurrentHashMap<K, WheelEntry<K, V>>();
+    private final Queue<WheelEntry<K, V>> pending = new ConcurrentLinkedQueue<WheelEntry<K, V>>();
+    private final Queue<WheelEntry<K, V>> cancelled = new ConcurrentLinkedQueue<WheelEntry<K, V>>();
+    private final ScheduledExecutorService executor;
+    private final long purgePollTime;
+    private final Bucket<K, V>[] wheel;
+    private final int mask;
+    // guards the wheel so only one thread advances it at any time
+    private final Lock tickLock = new ReentrantLock();
+    private volatile ScheduledFuture<?> future;
+    private long startTime;
+    private long tick;
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor) {
+        this(executor, 1000);
+    }
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+        this(executor, requestMapPollTimeMillis, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Creates the timeout map.
+     *
+     * @param executor                 the scheduler which advances the timing wheel
+     * @param requestMapPollTimeMillis the duration of a tick in millis
+     * @param wheelSize                number of buckets in the timing wheel, is rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, int wheelSize) {
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        if (requestMapPollTimeMillis <= 0) {
+            throw new IllegalArgumentException("RequestMapPollTimeMillis must be > 0, was " + requestMapPollTimeMillis);
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("WheelSize must be between 1 and 2^30, was " + wheelSize);
+        }
+        this.executor = executor;
+        this.purgePollTime = requestMapPollTimeMillis;
+
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            this.wheel[i] = new Bucket<K, V>();
+        }
+        this.mask = size - 1;
+    }
+
+    public V get(K key) {
+        WheelEntry<K, V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        // the entry is rescheduled lazily when its bucket is reached
+        updateExpireTime(entry);
+        return entry.getValue();
+    }
+
+    public V put(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<K, V>(key, value, timeoutMillis);
+        updateExpireTime(entry);
+        WheelEntry<K, V> result = map.put(key, entry);
+        if (result != null) {
+            cancel(result);
+        }
+        pending.add(entry);
+        return result != null ? result.getValue() : null;
+    }
+
+    public V putIfAbsent(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<K, V>(key, value, timeoutMillis);
+        updateExpireTime(entry);
+        // just make sure we don't override the old entry
+        WheelEntry<K, V> result = map.putIfAbsent(key, entry);
+        if (result == null) {
+            pending.add(entry);
+            return null;
+        }
+        return result.getValue();
+    }
+
+    public V remove(K key) {
+        WheelEntry<K, V> entry = map.remove(key);
+        if (entry != null) {
+            cancel(entry);
+            return entry.getValue();
+        }
+        return null;
+    }
+
+    public Object[] getKeys() {
+        Set<K> keySet = map.keySet();
+        Object[] keys = new Object[keySet.size()];
+        return keySet.toArray(keys);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Removes all the entries without evicting them, such as when stopping and the entries must be handled
+     * instead of being discarded.
+     *
+     * @return the values of the removed entries, sorted by their expire time
+     */
+    public List<V> drain() {
+        List<WheelEntry<K, V>> entries = new ArrayList<WheelEntry<K, V>>(map.size());
+        for (WheelEntry<K, V> entry : map.values()) {
+            // claim the entry by removing it from the map, so it cannot be evicted or removed concurrently
+            if (map.remove(entry.getKey(), entry)) {
+                cancel(entry);
+                entries.add(entry);
+            }
+        }
+        Collections.sort(entries, new Comparator<WheelEntry<K, V>>() {
+            public int compare(WheelEntry<K, V> a, WheelEntry<K, V> b) {
+                long diff = a.getExpireTime() - b.getExpireTime();
+                if (diff == 0) {
+                    return 0;
+                }
+                return diff > 0 ? 1 : -1;
+            }
+        });
+
+        List<V> answer = new ArrayList<V>(entries.size());
+        for (WheelEntry<K, V> entry : entries) {
+            answer.add(entry.getValue());
+        }
+        return answer;
+    }
+
+    /**
+     * The timer task which advances the timing wheel
+     */
+    public void run() {
+        // only run if allowed
+        if (!isRunAllowed()) {
+            log.trace("Purge task not allowed to run");
+            return;
+        }
+
+        log.trace("Running purge task to see if any entries has been timed out");
+        try {
+            purge();
+        } catch (Throwable t) {
+            // must catch and log exception otherwise the executor will now schedule next run
+            log.warn("Exception occurred during purge task. This exception will be ignored.", t);
+        }
+    }
+
+    public void purge() {
+        tickLock.lock();
+        try {
+            if (startTime == 0) {
+                // not started
+                return;
+            }
+
+            log.trace("There are {} in the timeout map", map.size());
+            long now = currentTime();
+            transferCancelled();
+            transferPending();
+
+            // advance the wheel for each tick which has passed, so we catch up if the purge task has been delayed
+            while (startTime + (tick + 1) * purgePollTime <= now) {
+                expireTick(now);
+                tick++;
+                // new entries may have been added while running the eviction callbacks
+                transferCancelled();
+                transferPending();
+            }
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public long getPurgePollTime() {
+        return purgePollTime;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * lets schedule each time to allow folks to change the time at runtime
+     */
+    protected void schedulePoll() {
+        future = executor.scheduleWithFixedDelay(this, 0, purgePollTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A hook to allow derivations to avoid evicting the current entry
+     */
+    protected boolean isValidForEviction(TimeoutMapEntry<K, V> entry) {
+        return true;
+    }
+
+    public boolean onEviction(K key, V value) {
+        return true;
+    }
+
+    protected void updateExpireTime(TimeoutMapEntry<K, V> entry) {
+        long now = currentTime();
+        entry.setExpireTime(entry.getTimeout() + now);
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    private void cancel(WheelEntry<K, V> entry) {
+        entry.cancelled = true;
+        cancelled.add(entry);
+    }
+
+    private void transferCancelled() {
+        WheelEntry<K, V> entry;
+        while ((entry = cancelled.poll()) != null) {
+            if (entry.bucket != null) {
+                entry.bucket.remove(entry);
+            }
+        }
+    }
+
+    private void transferPending() {
+        WheelEntry<K, V> entry;
+        while ((entry = pending.poll()) != null) {
+            if (!entry.cancelled) {
+                schedule(entry, (entry.getExpireTime() - startTime) / purgePollTime);
+            }
+        }
+    }
+
+    private void schedule(WheelEntry<K, V> entry, long deadlineTick) {
+        // if the deadline has already passed then use the current tick
+        long ticks = Math.max(deadlineTick, tick);
+        entry.rounds = (ticks - tick) / wheel.length;
+        wheel[(int) (ticks & mask)].add(entry);
+    }
+
+    private void expireTick(long now) {
+        Bucket<K, V> bucket = wheel[(int) (tick & mask)];
+        if (bucket.head == null) {
+            return;
+        }
+
+        List<WheelEntry<K, V>> expired = null;
+        List<WheelEntry<K, V>> reschedule = null;
+
+        WheelEntry<K, V> entry = bucket.head;
+        while (entry != null) {
+            WheelEntry<K, V> next = entry.next;
+            if (entry.rounds > 0) {
+                entry.rounds--;
+            } else {
+                bucket.remove(entry);
+                if (!entry.cancelled) {
+                    if (entry.getExpireTime() > now || !isValidForEviction(entry)) {
+                        // the expire time has been updated or it should not be evicted yet
+                        if (reschedule == null) {
+                            reschedule = new ArrayList<WheelEntry<K, V>>();
+                        }
+                        reschedule.add(entry);
+                    } else {
+                        if (expired == null) {
+                            expired = new ArrayList<WheelEntry<K, V>>();
+                        }
+                        expired.add(entry);
+                    }
+                }
+            }
+            entry = next;
+        }
+
+        if (expired != null) {
+            // sort according to the expired time so we got the first expired first
+            if (expired.size() > 1) {
+                Collections.sort(expired, new Comparator<WheelEntry<K, V>>() {
+                    public int compare(WheelEntry<K, V> a, WheelEntry<K, V> b) {
+                        long diff = a.getExpireTime() - b.getExpireTime();
+                        if (diff == 0) {
+                            return 0;
+                        }
+                        return diff > 0 ? 1 : -1;
+                    }
+                });
+            }
+            for (WheelEntry<K, V> e : expired) {
+                evict(e);
+            }
+        }
+
+        if (reschedule != null) {
+            for (WheelEntry<K, V> e : reschedule) {
+                long deadlineTick = (e.getExpireTime() - startTime) / purgePollTime;
+                // must be at least the next tick as this tick is done
+                schedule(e, Math.max(deadlineTick, tick + 1));
+            }
+        }
+    }
+
+    private void evict(WheelEntry<K, V> entry) {
+        // claim the entry by removing it from the map, a concurrent remove wins
+        if (!map.remove(entry.getKey(), entry)) {
+            return;
+        }
+
+        log.debug("Evicting inactive entry ID: {}", entry);
+        boolean evict = false;
+        try {
+            evict = onEviction(entry.getKey(), entry.getValue());
+        } catch (Throwable t) {
+            log.warn("Exception happened during eviction of entry ID {}, won't evict and will continue trying: {}",
+                    entry, t);
+        }
+
+        if (!evict && map.putIfAbsent(entry.getKey(), entry) == null) {
+            // keep the entry and try again on the next tick
+            schedule(entry, tick + 1);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        tickLock.lock();
+        try {
+            startTime = currentTime();
+            tick = 0;
+        } finally {
+            tickLock.unlock();
+        }
+        schedulePoll();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        tickLock.lock();
+        try {
+            startTime = 0;
+            for (Bucket<K, V> bucket : wheel) {
+                bucket.clear();
+            }
+            pending.clear();
+            cancelled.clear();
+            // clear map if we stop
+            map.clear();
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    /**
+     * Entry in the timing wheel, the links and rounds are only accessed while advancing the wheel.
+     */
+    private static final class WheelEntry<K, V> extends TimeoutMapEntry<K, V> {
+        private volatile long expireTime;
+        private volatile boolean cancelled;
+        private Bucket<K, V> bucket;
+        private WheelEntry<K, V> next;
+        private WheelEntry<K, V> prev;
+        private long rounds;
+
+        private WheelEntry(K key, V value, long timeout) {
+            super(key, value, timeout);
+        }
+
+        @Override
+        public long getExpireTime() {
+            return expireTime;
+        }
+
+        @Override
+        public void setExpireTime(long expireTime) {
+            this.expireTime = expireTime;
+        }
+    }
+
+    /**
+     * A bucket in the timing wheel, which is a doubly linked list of entries.
+     */
+    private static final class Bucket<K, V> {
+        private WheelEntry<K, V> head;
+        private WheelEntry<K, V> tail;
+
+        void add(WheelEntry<K, V> entry) {
+            entry.bucket = this;
+            entry.prev = tail;
+            entry.next = null;
+            if (tail == null) {
+                head = entry;
+            } else {
+                tail.next = entry;
+            }
+            tail = entry;
+        }
+
+        void remove(WheelEntry<K, V> entry) {
+            if (entry.bucket != this) {
+                return;
+            }
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            } else {
+                tail = entry.prev;
+            }
+            entry.bucket = null;
+            entry.next = null;
+            entry.prev = null;
+        }
+
+        void clear() {
+            WheelEntry<K, V> entry = head;
+            while (entry != null) {
+                WheelEntry<K, V> next = entry.next;
+                entry.bucket = null;
+                entry.next = null;
+                entry.prev = null;
+                entry = next;
+            }
+            head = null;
+            tail = null;
+        }
+    }
+
+}
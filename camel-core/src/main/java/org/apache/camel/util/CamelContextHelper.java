@@ -253,6 +253,67 @@ public final class CamelContextHelper {
         return 1000;
     }
 
+    /**
+     * Gets the sampling rate of the message history, to only record the message history for one out of every N exchanges.
+     * <p/>
+     * Will use the property set on CamelContext with the key {@link Exchange#MESSAGE_HISTORY_SAMPLING_RATE}.
+     * If no property has been set, then it will fallback to return a rate of 1, which records all the exchanges.
+     *
+     * @param camelContext the camel context
+     * @return the sampling rate
+     * @throws IllegalArgumentException is thrown if the property is illegal
+     */
+    public static int getMessageHistorySamplingRate(CamelContext camelContext) throws IllegalArgumentException {
+        if (camelContext != null) {
+            String s = camelContext.getProperty(Exchange.MESSAGE_HISTORY_SAMPLING_RATE);
+            if (s != null) {
+                try {
+                    Integer rate = Integer.valueOf(s);
+                    if (rate == null || rate <= 0) {
+                        throw new IllegalArgumentException("Property " + Exchange.MESSAGE_HISTORY_SAMPLING_RATE + " must be a positive number, was: " + s);
+                    }
+                    return rate;
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Property " + Exchange.MESSAGE_HISTORY_SAMPLING_RATE + " must be a positive number, was: " + s, e);
+                }
+            }
+        }
+
+        // 1 is the default fallback
+        return 1;
+    }
+
+    /**
+     * Gets the time in millis the processing of a node must be slower than, to keep its record in the message history.
+     * The records of the nodes which failed, and the nodes enclosing a kept record, are always kept.
+     * <p/>
+     * Will use the property set on CamelContext with the key {@link Exchange#MESSAGE_HISTORY_KEEP_SLOWER_THAN}.
+     * If no property has been set, then it will fallback to return <tt>-1</tt>, which keeps the records of all the nodes.
+     *
+     * @param camelContext the camel context
+     * @return the time in millis, or <tt>-1</tt> to keep the records of all the nodes
+     * @throws IllegalArgumentException is thrown if the property is illegal
+     */
+    public static long getMessageHistoryKeepSlowerThan(CamelContext camelContext) throws IllegalArgumentException {
+        if (camelContext != null) {
+            String s = camelContext.getProperty(Exchange.MESSAGE_HISTORY_KEEP_SLOWER_THAN);
+            if (s != null) {
+                try {
+                    Long millis = Long.valueOf(s);
+                    if (millis == null || millis < 0) {
+                        throw new IllegalArgumentException("Property " + Exchange.MESSAGE_HISTORY_KEEP_SLOWER_THAN + " must be zero or a positive number, was: " + s);
+                    }
+                    return millis;
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Property " + Exchange.MESSAGE_HISTORY_KEEP_SLOWER_THAN + " must be zero or a positive number, was: " + s, e);
+                }
+            }
+        }
+
+        // -1 is the default fallback
+        return -1;
+    }
+
     /**
      * Parses the given text and handling property placeholders as well
      *
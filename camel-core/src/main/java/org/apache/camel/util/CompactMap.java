@@ -0,0 +1,315 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map with a fixed set of keys which is shared by many maps, and where the values are stored in an array.
+ * <p/>
+ * This is intended for data such as the rows of a database result set, where every row has the same columns,
+ * and therefore avoids creating a hash table with the same keys for every row. The keys are iterated
+ * in the order they were given.
+ * <p/>
+ * Values of existing keys can be updated cheaply. Adding or removing keys is supported by copying the map
+ * into a regular map, which preserves the order of the keys, also when using case insensitive keys.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe.
+ */
+public class CompactMap<V> extends AbstractMap<String, V> implements Serializable {
+
+    private static final long serialVersionUID = 8245716429542383451L;
+
+    private final Keys keys;
+    private Object[] values;
+    private Map<String, V> map;
+    // the actual keys of the inflated map by their normalized key, when using case insensitive keys
+    private Map<String, String> inflatedKeys;
+
+    public CompactMap(Keys keys) {
+        this.keys = keys;
+        this.values = new Object[keys.size()];
+    }
+
+    /**
+     * Sets the value of the key at the given position of the names the {@link Keys} was created with.
+     *
+     * @param position the position (0 based)
+     * @param value    the value
+     */
+    public void setValue(int position, V value) {
+        if (map != null) {
+            put(keys.names[keys.slots[position]], value);
+        } else {
+            values[keys.slots[position]] = value;
+        }
+    }
+
+    @Override
+    public int size() {
+        return map != null ? map.size() : values.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map != null ? map.containsKey(actualKey(key)) : keys.indexOf(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (map != null) {
+            return map.get(actualKey(key));
+        }
+        int index = keys.indexOf(key);
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(String key, V value) {
+        if (map == null) {
+            int index = keys.indexOf(key);
+            if (index >= 0) {
+                V answer = (V) values[index];
+                values[index] = value;
+                return answer;
+            }
+            inflate();
+        }
+        String actual = key;
+        if (inflatedKeys != null && key != null) {
+            String normalized = keys.normalize(key);
+            actual = inflatedKeys.get(normalized);
+            if (actual == null) {
+                actual = key;
+                inflatedKeys.put(normalized, key);
+            }
+        }
+        return map.put(actual, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (map == null) {
+            if (keys.indexOf(key) < 0) {
+                return null;
+            }
+            inflate();
+        }
+        Object actual = actualKey(key);
+        if (inflatedKeys != null && key instanceof String) {
+            inflatedKeys.remove(keys.normalize((String) key));
+        }
+        return map.remove(actual);
+    }
+
+    @Override
+    public void clear() {
+        if (map == null) {
+            inflate();
+        }
+        map.clear();
+        if (inflatedKeys != null) {
+            inflatedKeys.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        if (map != null) {
+            return map.entrySet();
+        }
+        return new AbstractSet<Entry<String, V>>() {
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return CompactMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Copies the values into a regular map, so keys can be added and removed.
+     * <p/>
+     * The keys are kept in order, and case insensitive keys are looked up by their normalized key.
+     */
+    @SuppressWarnings("unchecked")
+    private void inflate() {
+        Map<String, V> answer = new LinkedHashMap<String, V>(values.length * 2);
+        if (keys.caseInsensitive) {
+            inflatedKeys = new HashMap<String, String>(values.length * 2);
+        }
+        for (int i = 0; i < values.length; i++) {
+            answer.put(keys.names[i], (V) values[i]);
+            if (inflatedKeys != null) {
+                inflatedKeys.put(keys.normalize(keys.names[i]), keys.names[i]);
+            }
+        }
+        map = answer;
+        values = null;
+    }
+
+    /**
+     * The key as stored in the inflated map, which may differ in case from the given key.
+     */
+    private Object actualKey(Object key) {
+        if (inflatedKeys != null && key instanceof String) {
+            String actual = inflatedKeys.get(keys.normalize((String) key));
+            if (actual != null) {
+                return actual;
+            }
+        }
+        return key;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, V>> {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return values != null && index < values.length;
+        }
+
+        @Override
+        public Entry<String, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final int current = index++;
+            return new Entry<String, V>() {
+                @Override
+                public String getKey() {
+                    return keys.names[current];
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public V getValue() {
+                    return (V) values[current];
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public V setValue(V value) {
+                    V answer = (V) values[current];
+                    values[current] = value;
+                    return answer;
+                }
+
+                @Override
+                public boolean equals(Object o) {
+                    if (!(o instanceof Entry)) {
+                        return false;
+                    }
+                    Entry<?, ?> e = (Entry<?, ?>) o;
+                    return ObjectHelper.equal(getKey(), e.getKey()) && ObjectHelper.equal(getValue(), e.getValue());
+                }
+
+                @Override
+                public int hashCode() {
+                    V value = getValue();
+                    return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+                }
+
+                @Override
+                public String toString() {
+                    return getKey() + "=" + getValue();
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Cannot remove using the iterator, use Map.remove instead");
+        }
+    }
+
+    /**
+     * The keys shared by the {@link CompactMap}s, which is created once for example for each database result set.
+     */
+    public static final class Keys implements Serializable {
+
+        private static final long serialVersionUID = -4326520593287716544L;
+
+        private final String[] names;
+        private final int[] slots;
+        private final Map<String, Integer> index;
+        private final boolean caseInsensitive;
+
+        /**
+         * Creates the keys.
+         * <p/>
+         * If the same name (for example a column name) occurs more than once, then they share the same key
+         * and the value of the last occurrence wins, as it would when putting the values into a regular map.
+         *
+         * @param names            the names in the order of the values
+         * @param caseInsensitive  whether the keys are case insensitive
+         */
+        public Keys(String[] names, boolean caseInsensitive) {
+            this.caseInsensitive = caseInsensitive;
+            this.slots = new int[names.length];
+            this.index = new HashMap<String, Integer>(names.length * 2);
+            List<String> distinct = new ArrayList<String>(names.length);
+            for (int i = 0; i < names.length; i++) {
+                String key = normalize(names[i]);
+                Integer slot = index.get(key);
+                if (slot == null) {
+                    slot = distinct.size();
+                    distinct.add(names[i]);
+                    index.put(key, slot);
+                }
+                slots[i] = slot;
+            }
+            this.names = distinct.toArray(new String[distinct.size()]);
+        }
+
+        /**
+         * Number of distinct keys
+         */
+        public int size() {
+            return names.length;
+        }
+
+        int indexOf(Object key) {
+            if (!(key instanceof String)) {
+                return -1;
+            }
+            Integer answer = index.get(normalize((String) key));
+            return answer != null ? answer : -1;
+        }
+
+        private String normalize(String key) {
+            return caseInsensitive && key != null ? key.toLowerCase(Locale.ENGLISH) : key;
+        }
+    }
+}
@@ -43,6 +43,7 @@ import org.apache.camel.NoTypeConversionAvailableException;
 import org.apache.camel.TypeConversionException;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.MessageHistoryList;
 import org.apache.camel.impl.MessageSupport;
 import org.apache.camel.spi.UnitOfWork;
 
@@ -873,9 +874,11 @@ public final class ExchangeHelper {
         Map<String, Object> answer = new ConcurrentHashMap<String, Object>(properties);
 
         // safe copy message history using a defensive copy
-        List<MessageHistory> history = (List<MessageHistory>) answer.remove(Exchange.MESSAGE_HISTORY);
-        if (history != null) {
-            answer.put(Exchange.MESSAGE_HISTORY, new ArrayList<MessageHistory>(history));
+        Object history = answer.remove(Exchange.MESSAGE_HISTORY);
+        if (history instanceof MessageHistoryList) {
+            answer.put(Exchange.MESSAGE_HISTORY, ((MessageHistoryList) history).copy());
+        } else if (history != null) {
+            answer.put(Exchange.MESSAGE_HISTORY, new ArrayList<MessageHistory>((List<MessageHistory>) history));
         }
 
         return answer;
@@ -30,6 +30,9 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
@@ -401,6 +404,49 @@ public final class IOHelper {
         }
     }
 
+    /**
+     * Unmaps the memory mapped (or direct) buffer, which releases the mapping of the file without waiting
+     * for the buffer to be garbage collected.
+     * <p/>
+     * The buffer must not be used afterwards. This is not supported by the public API of the JDK, so the
+     * internal cleaner of the buffer is invoked by reflection; if that is not possible the mapping is released
+     * when the buffer is garbage collected.
+     *
+     * @param buffer the buffer to unmap
+     * @return <tt>true</tt> if the buffer was unmapped, <tt>false</tt> if not supported
+     */
+    public static boolean unmap(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) {
+            return false;
+        }
+        try {
+            // Java 9 onwards
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            return true;
+        } catch (NoSuchMethodException e) {
+            // Java 8 or older
+        } catch (Throwable e) {
+            LOG.debug("Cannot unmap buffer. This exception will be ignored.", e);
+            return false;
+        }
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+                return true;
+            }
+        } catch (Throwable e) {
+            LOG.debug("Cannot unmap buffer. This exception will be ignored.", e);
+        }
+        return false;
+    }
+
     public static void validateCharset(String charset) throws UnsupportedCharsetException {
         if (charset != null) {
             if (Charset.isSupported(charset)) {
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread factory for {@link ForkJoinPool} work-stealing pools which creates threads supporting a naming pattern.
+ */
+public final class CamelForkJoinWorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+    private static final Logger LOG = LoggerFactory.getLogger(CamelForkJoinWorkerThreadFactory.class);
+
+    private final String pattern;
+    private final String name;
+    private final boolean daemon;
+    private final AtomicInteger poolSize = new AtomicInteger();
+    private final AtomicInteger largestPoolSize = new AtomicInteger();
+
+    public CamelForkJoinWorkerThreadFactory(String pattern, String name, boolean daemon) {
+        this.pattern = pattern;
+        this.name = name;
+        this.daemon = daemon;
+    }
+
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        String threadName = ThreadHelper.resolveThreadName(pattern, name);
+        ForkJoinWorkerThread answer = new CamelForkJoinWorkerThread(pool, this);
+        answer.setName(threadName);
+        answer.setDaemon(daemon);
+
+        LOG.trace("Created thread[{}] -> {}", threadName, answer);
+        return answer;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the largest number of worker threads that have ever simultaneously been in the pools using this factory.
+     */
+    public int getLargestPoolSize() {
+        return largestPoolSize.get();
+    }
+
+    private void onStart() {
+        int size = poolSize.incrementAndGet();
+        while (true) {
+            int largest = largestPoolSize.get();
+            if (size <= largest || largestPoolSize.compareAndSet(largest, size)) {
+                break;
+            }
+        }
+    }
+
+    private void onTermination() {
+        poolSize.decrementAndGet();
+    }
+
+    public String toString() {
+        return "CamelForkJoinWorkerThreadFactory[" + name + "]";
+    }
+
+    /**
+     * The constructor of {@link ForkJoinWorkerThread} is protected, so we need a sub class.
+     */
+    private static final class CamelForkJoinWorkerThread extends ForkJoinWorkerThread {
+        private final CamelForkJoinWorkerThreadFactory factory;
+
+        private CamelForkJoinWorkerThread(ForkJoinPool pool, CamelForkJoinWorkerThreadFactory factory) {
+            super(pool);
+            this.factory = factory;
+        }
+
+        @Override
+        protected void onStart() {
+            super.onStart();
+            factory.onStart();
+        }
+
+        @Override
+        protected void onTermination(Throwable exception) {
+            factory.onTermination();
+            super.onTermination(exception);
+        }
+    }
+}
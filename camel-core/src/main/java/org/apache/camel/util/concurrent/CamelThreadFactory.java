@@ -50,6 +50,14 @@ public final class CamelThreadFactory implements ThreadFactory {
         return name;
     }
 
+    public String getPattern() {
+        return pattern;
+    }
+
+    public boolean isDaemon() {
+        return daemon;
+    }
+
     public String toString() {
         return "CamelThreadFactory[" + name + "]";
     }
@@ -0,0 +1,222 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} which runs each task in a new virtual thread.
+ * <p/>
+ * Virtual threads are created using reflection, so this class can be loaded on JVMs without virtual threads,
+ * use {@link #isSupported()} to check whether the JVM supports virtual threads.
+ * <p/>
+ * The executor keeps track of the running threads and task counts, so it can be managed
+ * like a regular thread pool.
+ */
+public class VirtualThreadPerTaskExecutor extends AbstractExecutorService {
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPerTaskExecutor.class);
+    private static final Method OF_VIRTUAL;
+    private static final Method FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method factory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+        } catch (Throwable e) {
+            // virtual threads not supported
+            ofVirtual = null;
+            factory = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        FACTORY = factory;
+    }
+
+    private final ThreadFactory threadFactory;
+    private final String pattern;
+    private final String name;
+    private final Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong completedTaskCount = new AtomicLong();
+    private final AtomicInteger largestPoolSize = new AtomicInteger();
+    private volatile boolean shutdown;
+
+    /**
+     * Creates the executor.
+     *
+     * @param pattern the thread name pattern (optional)
+     * @param name    the name which is used in the thread names (optional)
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public VirtualThreadPerTaskExecutor(String pattern, String name) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads is not supported by this JVM");
+        }
+        try {
+            this.threadFactory = (ThreadFactory) FACTORY.invoke(OF_VIRTUAL.invoke(null));
+        } catch (Exception e) {
+            throw new UnsupportedOperationException("Cannot create virtual thread factory due " + e.getMessage(), e);
+        }
+        this.pattern = pattern;
+        this.name = name;
+    }
+
+    /**
+     * Whether the JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && FACTORY != null;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        lock.readLock().lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor is shutdown: " + this);
+            }
+            Thread thread = threadFactory.newThread(new Task(command));
+            if (pattern != null && name != null) {
+                thread.setName(ThreadHelper.resolveThreadName(pattern, name));
+            }
+            taskCount.incrementAndGet();
+            threads.add(thread);
+            int size = threads.size();
+            int largest = largestPoolSize.get();
+            while (size > largest && !largestPoolSize.compareAndSet(largest, size)) {
+                largest = largestPoolSize.get();
+            }
+            thread.start();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        lock.writeLock().lock();
+        try {
+            shutdown = true;
+            if (threads.isEmpty()) {
+                terminated.countDown();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        // the tasks are started right away so there is never any pending tasks
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Number of threads currently running tasks
+     */
+    public int getActiveCount() {
+        return threads.size();
+    }
+
+    /**
+     * Largest number of threads which has been running tasks at the same time
+     */
+    public int getLargestPoolSize() {
+        return largestPoolSize.get();
+    }
+
+    /**
+     * Total number of tasks which has been submitted
+     */
+    public long getTaskCount() {
+        return taskCount.get();
+    }
+
+    /**
+     * Total number of tasks which has completed
+     */
+    public long getCompletedTaskCount() {
+        return completedTaskCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualThreadPerTaskExecutor[" + name + ", active: " + threads.size() + ", tasks: " + taskCount.get()
+                + ", completed: " + completedTaskCount.get() + (shutdown ? ", shutdown" : "") + "]";
+    }
+
+    private final class Task implements Runnable {
+        private final Runnable command;
+
+        private Task(Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            try {
+                command.run();
+            } catch (Throwable e) {
+                LOG.warn("Error running task " + command + " due " + e.getMessage() + ". This exception is ignored.", e);
+            } finally {
+                threads.remove(Thread.currentThread());
+                completedTaskCount.incrementAndGet();
+                if (shutdown && threads.isEmpty()) {
+                    terminated.countDown();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.dataset;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class DataSetLatencyHistogramTest extends TestCase {
+
+    public void testHistogram() throws Exception {
+        DataSetLatencyHistogram histogram = new DataSetLatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(500.5, histogram.getMean(), 0.001);
+        assertEquals(1000, histogram.getPercentile(100));
+
+        // percentiles are accurate within 12.5%
+        assertAccurate(500, histogram.getPercentile(50));
+        assertAccurate(900, histogram.getPercentile(90));
+        assertAccurate(990, histogram.getPercentile(99));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    public void testBuckets() throws Exception {
+        for (long value : new long[]{0, 1, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE}) {
+            int index = DataSetLatencyHistogram.bucketIndex(value);
+            assertTrue(value + " should be within bucket " + index, value <= DataSetLatencyHistogram.bucketUpperBound(index));
+            if (index > 0) {
+                assertTrue(value + " should be above bucket " + (index - 1), value > DataSetLatencyHistogram.bucketUpperBound(index - 1));
+            }
+        }
+    }
+
+    private static void assertAccurate(long expected, long actual) {
+        assertTrue("Expected " + expected + " but was " + actual, actual >= expected && actual <= expected * 1.125);
+    }
+}
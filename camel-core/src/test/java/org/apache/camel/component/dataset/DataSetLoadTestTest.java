@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.dataset;
+
+import javax.naming.Context;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class DataSetLoadTestTest extends ContextTestSupport {
+
+    private SimpleDataSet dataSet = new SimpleDataSet(1000);
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    public void testLoadTestConstantRate() throws Exception {
+        final String uri = "dataset:foo?loadTest=true&initialDelay=0&produceRate=2000";
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(uri).to("seda:test");
+
+                from("seda:test").to(uri);
+            }
+        });
+        context.start();
+
+        DataSetEndpoint endpoint = getMandatoryEndpoint(uri, DataSetEndpoint.class);
+        endpoint.setResultWaitTime(10000);
+        endpoint.assertIsSatisfied();
+
+        assertEquals(1000, endpoint.getReceivedCounter());
+        assertEquals(0, endpoint.getOutOfOrderCounter());
+        assertEquals(0, endpoint.getFailureCounter());
+        assertEquals(1000, endpoint.getLatencyHistogram().getCount());
+        // no exchanges are retained
+        assertEquals(0, endpoint.getReceivedExchanges().size());
+
+        String summary = endpoint.getLoadTestSummary();
+        assertTrue(summary, summary.contains("received 1000 of 1000 messages"));
+        assertTrue(summary, summary.contains("out of order: 0"));
+    }
+
+    public void testLoadTestRampRate() throws Exception {
+        final String uri = "dataset:foo?loadTest=true&initialDelay=0&produceRate=2000&loadProfile=ramp&rampUpPeriod=500";
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(uri).to(uri);
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        context.start();
+
+        DataSetEndpoint endpoint = getMandatoryEndpoint(uri, DataSetEndpoint.class);
+        endpoint.setResultWaitTime(10000);
+        endpoint.assertIsSatisfied();
+        long delta = System.currentTimeMillis() - start;
+
+        // 500 messages during the ramp up of 500 millis, and then 500 messages at 2000 per second
+        assertTrue("Should take at least 600 millis, was " + delta, delta >= 600);
+        assertEquals(1000, endpoint.getLatencyHistogram().getCount());
+    }
+
+    public void testLoadTestBurstRate() throws Exception {
+        final String uri = "dataset:foo?loadTest=true&initialDelay=0&produceRate=2000&loadProfile=Burst&burstSize=250";
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(uri).to(uri);
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        context.start();
+
+        DataSetEndpoint endpoint = getMandatoryEndpoint(uri, DataSetEndpoint.class);
+        endpoint.setResultWaitTime(10000);
+        endpoint.assertIsSatisfied();
+        long delta = System.currentTimeMillis() - start;
+
+        // the 4th burst of 250 messages starts after 375 millis
+        assertTrue("Should take at least 350 millis, was " + delta, delta >= 350);
+        assertEquals(0, endpoint.getOutOfOrderCounter());
+    }
+
+    public void testLoadTestOutOfOrder() throws Exception {
+        final String uri = "dataset:foo?loadTest=true&initialDelay=0&produceDelay=0";
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                // the direct route must be started before the dataset begins sending
+                from("direct:reorder").process(new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        // pretend the 11th message is the 6th message which has already been received
+                        long index = exchange.getIn().getHeader(Exchange.DATASET_INDEX, Long.class);
+                        if (index == 10) {
+                            exchange.getIn().setHeader(Exchange.DATASET_INDEX, 5L);
+                        }
+                    }
+                }).to(uri);
+
+                from(uri).to("direct:reorder");
+            }
+        });
+        context.start();
+
+        DataSetEndpoint endpoint = getMandatoryEndpoint(uri, DataSetEndpoint.class);
+        endpoint.setResultWaitTime(10000);
+        try {
+            endpoint.assertIsSatisfied();
+            fail("Should have failed");
+        } catch (AssertionError e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("received out of order after 9"));
+        }
+        assertEquals(1, endpoint.getOutOfOrderCounter());
+        assertEquals(1, endpoint.getFailureCounter());
+        assertEquals(1, endpoint.getFailures().size());
+    }
+
+    @Override
+    protected Context createJndiContext() throws Exception {
+        Context context = super.createJndiContext();
+        context.bind("foo", dataSet);
+        return context;
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.util.Comparator;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+
+/**
+ * Unit test for max messages per poll using a sorter, where the files are selected using a bounded heap
+ */
+public class FileConsumeNotEagerMaxMessagesPerPollSorterTest extends ContextTestSupport {
+
+    private String fileUrl = "file://target/pollsorter/?initialDelay=2000&delay=5000&"
+            + "maxMessagesPerPoll=2&eagerMaxMessagesPerPoll=false&sorter=#mySorter";
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("mySorter", new Comparator<GenericFile<Object>>() {
+            public int compare(GenericFile<Object> o1, GenericFile<Object> o2) {
+                return o1.getFileName().compareToIgnoreCase(o2.getFileName());
+            }
+        });
+        return jndi;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/pollsorter");
+        super.setUp();
+        template.sendBodyAndHeader("file://target/pollsorter", "DDD", Exchange.FILE_NAME, "ddd.txt");
+        template.sendBodyAndHeader("file://target/pollsorter", "CCC", Exchange.FILE_NAME, "ccc.txt");
+        template.sendBodyAndHeader("file://target/pollsorter", "AAA", Exchange.FILE_NAME, "aaa.txt");
+        template.sendBodyAndHeader("file://target/pollsorter", "BBB", Exchange.FILE_NAME, "bbb.txt");
+    }
+
+    public void testMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("AAA", "BBB");
+        mock.setResultWaitTime(4000);
+        mock.expectedPropertyReceived(Exchange.BATCH_SIZE, 2);
+
+        assertMockEndpointsSatisfied();
+
+        mock.reset();
+        mock.expectedBodiesReceived("CCC", "DDD");
+        mock.expectedPropertyReceived(Exchange.BATCH_SIZE, 2);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(fileUrl).convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+
+}
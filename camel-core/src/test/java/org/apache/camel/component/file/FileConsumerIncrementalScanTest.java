@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * Unit test for the incremental scan option
+ */
+public class FileConsumerIncrementalScanTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/incremental");
+        super.setUp();
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    public void testIncrementalScan() throws Exception {
+        doTestIncrementalScan("file://target/incremental?noop=true&idempotent=false&incrementalScan=true&delay=50");
+    }
+
+    public void testIncrementalScanUsingWatchService() throws Exception {
+        doTestIncrementalScan("file://target/incremental?noop=true&idempotent=false&incrementalScan=true&useWatchService=true&delay=50");
+    }
+
+    public void testIncrementalScanIndexFile() throws Exception {
+        template.sendBodyAndHeader("file://target/incremental", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        String uri = "file://target/incremental?noop=true&idempotent=false&incrementalScan=true&scanIndexFile=target/incremental/.index/scan.idx";
+        addRoute(uri);
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+        assertMockEndpointsSatisfied();
+
+        context.stopRoute("incremental");
+
+        File index = new File("target/incremental/.index/scan.idx");
+        assertTrue("Index file should exist", index.exists());
+        String content = context.getTypeConverter().convertTo(String.class, index);
+        assertTrue(content.contains(new File("target/incremental/hello.txt").getAbsolutePath()));
+
+        // the file should not be consumed again after restart as its in the persisted index
+        mock.reset();
+        mock.expectedMessageCount(0);
+        context.startRoute("incremental");
+        mock.setAssertPeriod(500);
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testIncrementalScanUsingWatchServiceMaxMessagesPerPoll() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            template.sendBodyAndHeader("file://target/incremental", "Message " + i, Exchange.FILE_NAME, "file" + i + ".txt");
+        }
+
+        // the files which are already in the directory are more than can be polled at once
+        addRoute("file://target/incremental?noop=true&idempotent=false&incrementalScan=true&useWatchService=true"
+                + "&maxMessagesPerPoll=2&delay=50");
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("Message 0", "Message 1", "Message 2", "Message 3", "Message 4");
+        mock.setAssertPeriod(500);
+        assertMockEndpointsSatisfied();
+    }
+
+    private void doTestIncrementalScan(String uri) throws Exception {
+        template.sendBodyAndHeader("file://target/incremental", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        addRoute(uri);
+
+        // the file is left in the directory but only consumed once as its unchanged
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+        mock.setAssertPeriod(500);
+        assertMockEndpointsSatisfied();
+
+        // new and changed files should be consumed
+        mock.reset();
+        mock.expectedBodiesReceivedInAnyOrder("Bye World", "Hello again World");
+        // write using a temp file so the files appear with their full content, as the consumer uses no read lock
+        template.sendBodyAndHeader("file://target/incremental?tempFileName=inprogress/${file:name}", "Bye World", Exchange.FILE_NAME, "bye.txt");
+        template.sendBodyAndHeader("file://target/incremental?tempFileName=inprogress/${file:name}", "Hello again World", Exchange.FILE_NAME, "hello.txt");
+        mock.setAssertPeriod(500);
+        assertMockEndpointsSatisfied();
+    }
+
+    private void addRoute(final String uri) throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(uri).routeId("incremental").convertBodyTo(String.class).to("mock:result");
+            }
+        });
+        context.start();
+    }
+}
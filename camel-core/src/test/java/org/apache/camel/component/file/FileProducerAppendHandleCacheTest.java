@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * @version 
+ */
+public class FileProducerAppendHandleCacheTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/appendcache");
+        super.setUp();
+    }
+
+    public void testAppendUsingCachedHandle() throws Exception {
+        String uri = "file://target/appendcache?fileExist=Append&appendHandleCacheSize=10&forceWritesBatchSize=5";
+        for (int i = 0; i < 20; i++) {
+            template.sendBodyAndHeader(uri, "Line " + i + "\n", Exchange.FILE_NAME, "audit.log");
+        }
+
+        FileEndpoint endpoint = context.getEndpoint(uri, FileEndpoint.class);
+        assertEquals(1, endpoint.getAppendHandleCache().size());
+
+        String content;
+        try (InputStream is = new FileInputStream("target/appendcache/audit.log")) {
+            content = IOHelper.loadText(is);
+        }
+        assertTrue(content.startsWith("Line 0\nLine 1\n"));
+        assertTrue(content.endsWith("Line 19\n"));
+    }
+
+    public void testAppendEvictsLeastRecentlyUsed() throws Exception {
+        String uri = "file://target/appendcache?fileExist=Append&appendHandleCacheSize=1&charset=UTF-8";
+        template.sendBodyAndHeader(uri, "A1", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader(uri, "B1", Exchange.FILE_NAME, "b.txt");
+        template.sendBodyAndHeader(uri, "A2", Exchange.FILE_NAME, "a.txt");
+
+        FileEndpoint endpoint = context.getEndpoint(uri, FileEndpoint.class);
+        assertEquals(1, endpoint.getAppendHandleCache().size());
+
+        assertFileContent("target/appendcache/a.txt", "A1A2");
+        assertFileContent("target/appendcache/b.txt", "B1");
+    }
+
+    public void testAppendMemoryMapped() throws Exception {
+        String uri = "file://target/appendcache?fileExist=Append&appendHandleCacheSize=10&appendMappedWindowSize=16";
+        template.sendBodyAndHeader(uri, "Hello World\n", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(uri, "Bye World\n", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(uri, "Hi World\n", Exchange.FILE_NAME, "hello.txt");
+
+        // the mapped window is truncated to the written data when the handle is closed
+        context.stop();
+
+        assertFileContent("target/appendcache/hello.txt", "Hello World\nBye World\nHi World\n");
+    }
+
+    private void assertFileContent(String name, String expected) throws Exception {
+        File file = new File(name);
+        assertTrue("File should exist: " + file, file.exists());
+        assertEquals(expected, context.getTypeConverter().convertTo(String.class, file));
+    }
+}
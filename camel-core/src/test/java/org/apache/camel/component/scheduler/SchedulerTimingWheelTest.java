@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.scheduler;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.TimingWheelScheduledPollConsumerScheduler;
+
+/**
+ * @version 
+ */
+public class SchedulerTimingWheelTest extends ContextTestSupport {
+
+    public void testTimingWheel() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMinimumMessageCount(5);
+
+        assertMockEndpointsSatisfied();
+
+        SchedulerEndpoint endpoint = context.getEndpoint("scheduler:foo?scheduler=wheel&initialDelay=0&delay=10&useFixedDelay=false", SchedulerEndpoint.class);
+        TimingWheelScheduledPollConsumerScheduler scheduler = assertIsInstanceOf(TimingWheelScheduledPollConsumerScheduler.class, endpoint.getScheduler());
+        assertTrue(scheduler.isSchedulerStarted());
+        assertTrue(scheduler.getTimer().getFireCount() >= 5);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() {
+                from("scheduler:foo?scheduler=wheel&initialDelay=0&delay=10&useFixedDelay=false")
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.timer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.support.TimingWheelScheduler;
+import org.apache.camel.util.ServiceHelper;
+
+/**
+ * @version 
+ */
+public class TimerTimingWheelTest extends ContextTestSupport {
+
+    public void testTimingWheel() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(5);
+        mock.message(0).exchangeProperty(Exchange.TIMER_COUNTER).isEqualTo(1);
+        mock.message(4).exchangeProperty(Exchange.TIMER_COUNTER).isEqualTo(5);
+
+        context.startRoute("wheel");
+
+        assertMockEndpointsSatisfied();
+
+        // the timers share the timing wheel scheduler of the CamelContext
+        TimingWheelScheduler scheduler = context.hasService(TimingWheelScheduler.class);
+        assertNotNull(scheduler);
+
+        // the timer is removed from the scheduler when the repeat count has been reached, which can be after the last message
+        for (int i = 0; i < 100 && scheduler.getTimerCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, scheduler.getTimerCount());
+    }
+
+    public void testTimerScheduledWhileWheelSleeps() throws Exception {
+        TimingWheelScheduler scheduler = TimingWheelScheduler.getOrCreate(context);
+
+        // the wheel sleeps until this timer is due
+        final CountDownLatch later = new CountDownLatch(1);
+        scheduler.schedule(new TimingWheelScheduler.PeriodicTimer(new Runnable() {
+            public void run() {
+                later.countDown();
+            }
+        }, 0, TimeUnit.MILLISECONDS), 1, TimeUnit.HOURS);
+        Thread.sleep(100);
+
+        // so it must be woken up to fire an earlier timer
+        final CountDownLatch sooner = new CountDownLatch(1);
+        scheduler.schedule(new TimingWheelScheduler.PeriodicTimer(new Runnable() {
+            public void run() {
+                sooner.countDown();
+            }
+        }, 0, TimeUnit.MILLISECONDS), 50, TimeUnit.MILLISECONDS);
+
+        assertTrue("The earlier timer should fire", sooner.await(2, TimeUnit.SECONDS));
+        assertEquals(1, later.getCount());
+    }
+
+    public void testRestartScheduler() throws Exception {
+        TimingWheelScheduler scheduler = TimingWheelScheduler.getOrCreate(context);
+        ServiceHelper.stopService(scheduler);
+        ServiceHelper.startService(scheduler);
+
+        final CountDownLatch latch = new CountDownLatch(3);
+        scheduler.schedule(new TimingWheelScheduler.PeriodicTimer(new Runnable() {
+            public void run() {
+                latch.countDown();
+            }
+        }, 10, TimeUnit.MILLISECONDS), 0, TimeUnit.MILLISECONDS);
+        assertTrue("The timer should fire after restart", latch.await(2, TimeUnit.SECONDS));
+
+        // the wheel of the stopped scheduler must not keep running
+        int wheels = Integer.MAX_VALUE;
+        for (int i = 0; i < 100 && wheels > 1; i++) {
+            Thread.sleep(10);
+            wheels = 0;
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if (thread.isAlive() && thread.getName().contains("TimingWheelScheduler Tick")) {
+                    wheels++;
+                }
+            }
+        }
+        assertEquals(1, wheels);
+    }
+
+    public void testSkipOverrun() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:skip");
+        mock.expectedMinimumMessageCount(3);
+
+        context.startRoute("skip");
+
+        assertMockEndpointsSatisfied();
+
+        // the processing takes longer than the period so firings are skipped
+        TimerEndpoint endpoint = context.getEndpoint("timer:skip?timingWheel=true&fixedRate=true&period=10&delay=0", TimerEndpoint.class);
+        assertTrue("Should have skipped firings", endpoint.getSkipCount() > 0);
+        assertTrue("Should have lag", endpoint.getMaxLag() >= 0);
+    }
+
+    public void testAsyncFiring() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:async");
+        mock.expectedMessageCount(5);
+        // the firings is not delayed by the processing so they all complete at about the same time
+        mock.setResultWaitTime(1200);
+
+        long start = System.currentTimeMillis();
+        context.startRoute("async");
+
+        assertMockEndpointsSatisfied();
+        long delta = System.currentTimeMillis() - start;
+        assertTrue("Should not fire one at a time, took " + delta, delta < 1200);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("timer:wheel?timingWheel=true&fixedRate=true&period=10&delay=0&repeatCount=5").routeId("wheel").noAutoStartup()
+                    .to("mock:result");
+
+                from("timer:skip?timingWheel=true&fixedRate=true&period=10&delay=0").routeId("skip").noAutoStartup()
+                    .process(new SleepProcessor(35))
+                    .to("mock:skip");
+
+                from("timer:async?timingWheel=true&asyncFiring=true&period=10&delay=0&repeatCount=5").routeId("async").noAutoStartup()
+                    .process(new SleepProcessor(300))
+                    .to("mock:async");
+            }
+        };
+    }
+
+    private static final class SleepProcessor implements Processor {
+        private final long sleep;
+
+        private SleepProcessor(long sleep) {
+            this.sleep = sleep;
+        }
+
+        public void process(Exchange exchange) throws Exception {
+            Thread.sleep(sleep);
+        }
+    }
+}
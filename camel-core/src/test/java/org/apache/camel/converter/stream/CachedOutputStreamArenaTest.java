@@ -0,0 +1,238 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.DefaultUnitOfWork;
+
+public class CachedOutputStreamArenaTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory("target/cachedir");
+        context.getStreamCachingStrategy().setSpoolThreshold(-1);
+        context.getStreamCachingStrategy().setOffHeapChunkSize(16);
+        context.getStreamCachingStrategy().setOffHeapMemoryBudget(32);
+        context.getStreamCachingStrategy().setOffHeapSpoolSegmentSize(64);
+        return context;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/cachedir");
+        super.setUp();
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    private Exchange createExchange() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.setUnitOfWork(new DefaultUnitOfWork(exchange));
+        return exchange;
+    }
+
+    private static String data(int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + i % 26));
+        }
+        return sb.toString();
+    }
+
+    public void testCacheInOffHeapMemory() throws Exception {
+        context.start();
+        StreamCacheArena arena = context.getStreamCachingStrategy().getArena();
+        assertNotNull(arena);
+
+        Exchange exchange = createExchange();
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data(20).getBytes());
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the ArenaInputStreamCache", cache instanceof ArenaInputStreamCache);
+        assertTrue(cache.inMemory());
+        assertEquals(20, cache.length());
+        assertEquals(data(20), context.getTypeConverter().convertTo(String.class, cache));
+        assertEquals(32, arena.getMemoryUsed());
+
+        // can be read again after reset
+        cache.reset();
+        assertEquals(data(20), context.getTypeConverter().convertTo(String.class, cache));
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, arena.getMemoryUsed());
+
+        try {
+            cache.reset();
+            ((InputStream) cache).read();
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            // expected as the chunks has been returned to the arena
+        }
+
+        // the chunks are reused
+        exchange = createExchange();
+        cos = new CachedOutputStream(exchange);
+        cos.write(data(30).getBytes());
+        assertEquals(data(30), context.getTypeConverter().convertTo(String.class, cos.newStreamCache()));
+        assertEquals(32, arena.getMemoryAllocated());
+        exchange.getUnitOfWork().done(exchange);
+    }
+
+    public void testSpillToSegment() throws Exception {
+        context.start();
+        StreamCacheArena arena = context.getStreamCachingStrategy().getArena();
+
+        Exchange exchange = createExchange();
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        for (byte b : data(80).getBytes()) {
+            cos.write(b);
+        }
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the ArenaInputStreamCache", cache instanceof ArenaInputStreamCache);
+        assertFalse(cache.inMemory());
+        assertEquals(data(80), context.getTypeConverter().convertTo(String.class, cache));
+        assertEquals(32, arena.getMemoryUsed());
+        assertEquals(48, arena.getSpoolUsed());
+
+        // a single segment file is used
+        String[] files = new File("target/cachedir").list();
+        assertEquals(1, files.length);
+        assertTrue(files[0].endsWith(".segment"));
+
+        // the copy keeps the chunks until both exchanges are done
+        Exchange copy = createExchange();
+        StreamCache other = cache.copy(copy);
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(48, arena.getSpoolUsed());
+        assertEquals(data(80), context.getTypeConverter().convertTo(String.class, other));
+        copy.getUnitOfWork().done(copy);
+        assertEquals(0, arena.getSpoolUsed());
+        assertEquals(0, arena.getMemoryUsed());
+
+        // the segment file is unmapped and deleted when stopping
+        context.stop();
+        assertEquals(0, new File("target/cachedir").list().length);
+    }
+
+    public void testReadWithinChunkAfterReleased() throws Exception {
+        context.start();
+
+        Exchange exchange = createExchange();
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data(10).getBytes());
+        InputStream is = (InputStream) cos.newStreamCache();
+
+        // read part of the chunk
+        byte[] buf = new byte[4];
+        assertEquals(4, is.read(buf));
+        assertEquals("abcd", new String(buf));
+
+        exchange.getUnitOfWork().done(exchange);
+
+        // the chunk is reused by another stream cache
+        Exchange other = createExchange();
+        CachedOutputStream otherCos = new CachedOutputStream(other);
+        otherCos.write("0123456789".getBytes());
+
+        // and the rest of the chunk must not be read
+        try {
+            is.read(buf);
+            fail("Should have thrown exception");
+        } catch (IOException e) {
+            // expected as the chunks has been returned to the arena
+        }
+        try {
+            is.read();
+            fail("Should have thrown exception");
+        } catch (IOException e) {
+            // expected as the chunks has been returned to the arena
+        }
+        try {
+            is.skip(2);
+            fail("Should have thrown exception");
+        } catch (IOException e) {
+            // expected as the chunks has been returned to the arena
+        }
+
+        other.getUnitOfWork().done(other);
+    }
+
+    public void testFallbackToTempFile() throws Exception {
+        context.start();
+        StreamCacheArena arena = context.getStreamCachingStrategy().getArena();
+
+        Exchange exchange = createExchange();
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data(100).getBytes(), 0, 50);
+        cos.write(data(100).getBytes(), 50, 50);
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the FileInputStreamCache", cache instanceof FileInputStreamCache);
+        assertEquals(data(100), context.getTypeConverter().convertTo(String.class, cache));
+        assertEquals(1, arena.getFallbackCounter());
+        // the chunks are returned to the arena right away
+        assertEquals(0, arena.getMemoryUsed());
+        assertEquals(0, arena.getSpoolUsed());
+
+        exchange.getUnitOfWork().done(exchange);
+        ((InputStream) cache).close();
+    }
+
+    public void testReleaseAfterArenaClosed() throws Exception {
+        context.start();
+        StreamCacheArena arena = context.getStreamCachingStrategy().getArena();
+
+        Exchange exchange = createExchange();
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data(20).getBytes());
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the ArenaInputStreamCache", cache instanceof ArenaInputStreamCache);
+        assertEquals(32, arena.getMemoryUsed());
+
+        context.stop();
+        assertEquals(0, arena.getMemoryUsed());
+
+        // the chunks released after the arena is closed are dropped
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, arena.getMemoryUsed());
+        assertEquals(0, arena.getMemoryAllocated());
+        assertNull(arena.allocateMemory());
+    }
+
+    public void testArenaClosedWhenStopping() throws Exception {
+        context.start();
+        assertNotNull(context.getStreamCachingStrategy().getArena());
+
+        context.stop();
+        assertNull(context.getStreamCachingStrategy().getArena());
+    }
+}
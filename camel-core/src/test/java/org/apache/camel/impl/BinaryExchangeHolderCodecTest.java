@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+
+/**
+ * @version 
+ */
+public class BinaryExchangeHolderCodecTest extends ContextTestSupport {
+
+    private BinaryExchangeHolderCodec codec = new BinaryExchangeHolderCodec();
+
+    public void testRoundTrip() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("foo", 123);
+        exchange.getIn().setHeader("bar", -456789L);
+        exchange.getIn().setHeader("flag", true);
+        exchange.getIn().setHeader("price", 1.5d);
+        exchange.getIn().setHeader("ratio", 0.25f);
+        exchange.getIn().setHeader("date", new Date(1234567890L));
+        exchange.getIn().setHeader("amount", new BigDecimal("12.34"));
+        List<String> list = new ArrayList<String>();
+        list.add("A");
+        list.add("B");
+        exchange.getIn().setHeader("list", list);
+        exchange.getIn().setHeader(Exchange.FILE_NAME, "hello.txt");
+        exchange.getOut().setBody("Bye World");
+        exchange.getOut().setHeader("foo", 'c');
+        exchange.getOut().setFault(true);
+        exchange.setProperty(Exchange.AGGREGATED_SIZE, 3);
+        exchange.setProperty("foo", "Hi");
+        exchange.setException(new IllegalArgumentException("Damn"));
+
+        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange);
+        byte[] data = codec.encode(holder);
+        assertTrue(codec.canDecode(data, 0, data.length));
+
+        Exchange answer = new DefaultExchange(context);
+        DefaultExchangeHolder.unmarshal(answer, codec.decode(data, 0, data.length));
+
+        assertEquals(exchange.getExchangeId(), answer.getExchangeId());
+        assertEquals("Hello World", answer.getIn().getBody());
+        assertEquals(123, answer.getIn().getHeader("foo"));
+        assertEquals(-456789L, answer.getIn().getHeader("bar"));
+        assertEquals(Boolean.TRUE, answer.getIn().getHeader("flag"));
+        assertEquals(1.5d, answer.getIn().getHeader("price"));
+        assertEquals(0.25f, answer.getIn().getHeader("ratio"));
+        assertEquals(new Date(1234567890L), answer.getIn().getHeader("date"));
+        assertEquals(new BigDecimal("12.34"), answer.getIn().getHeader("amount"));
+        assertEquals(list, answer.getIn().getHeader("list"));
+        assertEquals("hello.txt", answer.getIn().getHeader(Exchange.FILE_NAME));
+        assertEquals("Bye World", answer.getOut().getBody());
+        assertEquals('c', answer.getOut().getHeader("foo"));
+        assertTrue(answer.getOut().isFault());
+        assertEquals(3, answer.getProperty(Exchange.AGGREGATED_SIZE));
+        assertEquals("Hi", answer.getProperty("foo"));
+        assertIsInstanceOf(IllegalArgumentException.class, answer.getException());
+        assertEquals("Damn", answer.getException().getMessage());
+    }
+
+    public void testBinaryBodies() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(new byte[]{1, 2, 3});
+
+        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange);
+        byte[] data = codec.encode(holder);
+        DefaultExchangeHolder decoded = codec.decode(data, 0, data.length);
+        byte[] body = (byte[]) decoded.getInBody();
+        assertEquals(3, body.length);
+        assertEquals(3, body[2]);
+
+        holder.setInBody(ByteBuffer.wrap(new byte[]{9, 8, 7, 6}, 1, 2));
+        data = codec.encode(holder);
+        decoded = codec.decode(data, 0, data.length);
+        ByteBuffer buffer = (ByteBuffer) decoded.getInBody();
+        assertEquals(2, buffer.remaining());
+        assertEquals(8, buffer.get());
+        assertEquals(7, buffer.get());
+    }
+
+    public void testCompress() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append("Hello World ");
+        }
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(sb.toString());
+        exchange.getIn().setHeader("foo", "bar");
+        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange);
+
+        byte[] plain = codec.encode(holder);
+        codec.setCompress(true);
+        byte[] compressed = codec.encode(holder);
+        assertTrue("Should be compressed", compressed.length < plain.length / 10);
+
+        DefaultExchangeHolder decoded = codec.decode(compressed, 0, compressed.length);
+        assertEquals(sb.toString(), decoded.getInBody());
+        assertEquals("bar", decoded.getInHeaders().get("foo"));
+    }
+
+    public void testSmallerThanJavaSerialization() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("foo", 123);
+        exchange.getIn().setHeader(Exchange.FILE_NAME, "hello.txt");
+        exchange.setProperty(Exchange.AGGREGATED_SIZE, 3);
+        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange);
+
+        byte[] serialized = serialize(holder);
+        byte[] data = codec.encode(holder);
+        assertTrue("Should be smaller than Java serialization", data.length * 4 < serialized.length);
+
+        // java serialized data is not for this codec
+        assertFalse(codec.canDecode(serialized, 0, serialized.length));
+    }
+
+    private static byte[] serialize(Object object) throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(bos);
+        oos.writeObject(object);
+        oos.close();
+        return bos.toByteArray();
+    }
+}
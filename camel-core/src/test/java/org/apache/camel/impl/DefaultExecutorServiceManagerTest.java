@@ -16,15 +16,24 @@
  */
 package org.apache.camel.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
+import org.apache.camel.spi.ExecutorServiceLifecycleStrategy;
 import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.LifecycleStrategySupport;
+import org.apache.camel.util.concurrent.CamelForkJoinWorkerThreadFactory;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
+import org.apache.camel.util.concurrent.VirtualThreadPerTaskExecutor;
 
 /**
  * @version 
@@ -524,4 +533,102 @@ public class DefaultExecutorServiceManagerTest extends ContextTestSupport {
         assertTrue(pool.isTerminated());
     }
 
+    public void testNewWorkStealingThreadPool() throws Exception {
+        ThreadPoolProfile profile = new ThreadPoolProfile("custom");
+        profile.setPoolType(ThreadPoolType.WorkStealing);
+        profile.setPoolSize(3);
+
+        ExecutorService pool = context.getExecutorServiceManager().newThreadPool(this, "Cool", profile);
+        assertNotNull(pool);
+
+        ForkJoinPool fjp = assertIsInstanceOf(ForkJoinPool.class, pool);
+        assertEquals(3, fjp.getParallelism());
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final String[] name = new String[1];
+        pool.execute(new Runnable() {
+            public void run() {
+                name[0] = Thread.currentThread().getName();
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(name[0].endsWith("Cool"));
+
+        CamelForkJoinWorkerThreadFactory factory = assertIsInstanceOf(CamelForkJoinWorkerThreadFactory.class, fjp.getFactory());
+        assertTrue(factory.getLargestPoolSize() >= 1);
+        assertTrue(factory.getLargestPoolSize() <= 3);
+
+        context.stop();
+        assertTrue(pool.isShutdown());
+    }
+
+    public void testWorkStealingThreadPoolLifecycle() throws Exception {
+        final List<String> events = new ArrayList<String>();
+        context.addLifecycleStrategy(new MyExecutorServiceLifecycleStrategy(events));
+
+        ThreadPoolProfile profile = new ThreadPoolProfile("custom");
+        profile.setPoolType(ThreadPoolType.WorkStealing);
+        ExecutorService pool = context.getExecutorServiceManager().newThreadPool(this, "Cool", profile);
+        assertEquals("[add custom]", events.toString());
+
+        context.getExecutorServiceManager().shutdownNow(pool);
+        assertEquals("[add custom, remove]", events.toString());
+    }
+
+    private static final class MyExecutorServiceLifecycleStrategy extends LifecycleStrategySupport implements ExecutorServiceLifecycleStrategy {
+        private final List<String> events;
+
+        private MyExecutorServiceLifecycleStrategy(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void onThreadPoolAdd(CamelContext camelContext, ThreadPoolExecutor threadPool, String id,
+                                    String sourceId, String routeId, String threadPoolProfileId) {
+            fail("Should not be called for a work-stealing thread pool");
+        }
+
+        @Override
+        public void onExecutorServiceAdd(CamelContext camelContext, ExecutorService executorService, String id,
+                                         String sourceId, String routeId, String threadPoolProfileId) {
+            events.add("add " + threadPoolProfileId);
+        }
+
+        @Override
+        public void onExecutorServiceRemove(CamelContext camelContext, ExecutorService executorService) {
+            events.add("remove");
+        }
+    }
+
+    public void testNewVirtualThreadPool() throws Exception {
+        ThreadPoolProfile profile = new ThreadPoolProfile("custom");
+        profile.setPoolType(ThreadPoolType.Virtual);
+        profile.setPoolSize(2);
+        profile.setMaxPoolSize(4);
+
+        ExecutorService pool = context.getExecutorServiceManager().newThreadPool(this, "Cool", profile);
+        assertNotNull(pool);
+
+        if (VirtualThreadPerTaskExecutor.isSupported()) {
+            assertIsInstanceOf(VirtualThreadPerTaskExecutor.class, pool);
+        } else {
+            // fallback to a regular thread pool
+            ThreadPoolExecutor tp = assertIsInstanceOf(ThreadPoolExecutor.class, pool);
+            assertEquals(2, tp.getCorePoolSize());
+            assertEquals(4, tp.getMaximumPoolSize());
+        }
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        pool.execute(new Runnable() {
+            public void run() {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        context.stop();
+        assertTrue(pool.isShutdown());
+    }
+
 }
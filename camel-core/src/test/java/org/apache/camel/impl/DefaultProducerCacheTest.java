@@ -16,6 +16,13 @@
  */
 package org.apache.camel.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.Consumer;
@@ -32,6 +39,7 @@ public class DefaultProducerCacheTest extends ContextTestSupport {
 
     private final AtomicInteger stopCounter = new AtomicInteger();
     private final AtomicInteger shutdownCounter = new AtomicInteger();
+    private final AtomicInteger createCounter = new AtomicInteger();
 
     public void testCacheProducerAcquireAndRelease() throws Exception {
         ProducerCache cache = new ProducerCache(this, context);
@@ -102,6 +110,40 @@ public class DefaultProducerCacheTest extends ContextTestSupport {
         assertEquals(3, shutdownCounter.get());
     }
 
+    public void testCacheProducerConcurrentAcquire() throws Exception {
+        final ProducerCache cache = new ProducerCache(this, context);
+        cache.start();
+
+        final Endpoint e = new MyEndpoint(true, 1);
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<Future<Producer>> futures = new ArrayList<Future<Producer>>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(executor.submit(new Callable<Producer>() {
+                public Producer call() throws Exception {
+                    latch.await();
+                    Producer p = cache.acquireProducer(e);
+                    cache.releaseProducer(e, p);
+                    return p;
+                }
+            }));
+        }
+        latch.countDown();
+
+        Producer producer = futures.get(0).get();
+        for (Future<Producer> future : futures) {
+            assertSame(producer, future.get());
+        }
+        executor.shutdownNow();
+
+        // the singleton producer should only be created once
+        assertEquals(1, createCounter.get());
+        assertEquals("Size should be 1", 1, cache.size());
+
+        cache.stop();
+    }
+
     private final class MyEndpoint extends DefaultEndpoint {
 
         private final boolean isSingleton;
@@ -114,6 +156,9 @@ public class DefaultProducerCacheTest extends ContextTestSupport {
 
         @Override
         public Producer createProducer() throws Exception {
+            createCounter.incrementAndGet();
+            // simulate a slow producer creation so concurrent callers will wait for it
+            Thread.sleep(50);
             return new MyProducer(this);
         }
 
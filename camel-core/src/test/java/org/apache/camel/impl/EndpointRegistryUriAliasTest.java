@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.EndpointRegistry;
+
+public class EndpointRegistryUriAliasTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getProperties().put(Exchange.MAXIMUM_ENDPOINT_CACHE_SIZE, "20");
+        return context;
+    }
+
+    public void testUriAlias() throws Exception {
+        DefaultEndpointRegistry registry = getEndpointRegistry();
+        long hits = registry.getUriAliasHits();
+
+        Endpoint foo = context.getEndpoint("log:foo?showAll=true&level=WARN");
+        assertEquals(hits, registry.getUriAliasHits());
+
+        // same uri is resolved from the alias
+        assertSame(foo, context.getEndpoint("log:foo?showAll=true&level=WARN"));
+        assertSame(foo, context.getEndpoint("log:foo?showAll=true&level=WARN"));
+        assertEquals(hits + 2, registry.getUriAliasHits());
+
+        // parameters in another order is normalized to the same endpoint and added as another alias
+        assertSame(foo, context.getEndpoint("log:foo?level=WARN&showAll=true"));
+        assertSame(foo, context.getEndpoint("log:foo?level=WARN&showAll=true"));
+        assertEquals(hits + 3, registry.getUriAliasHits());
+    }
+
+    public void testUriAliasRemovedEndpoint() throws Exception {
+        Endpoint foo = context.getEndpoint("mock:foo");
+        assertSame(foo, context.getEndpoint("mock:foo"));
+
+        context.removeEndpoints("mock:foo");
+
+        // the alias should not keep the removed endpoint alive
+        Endpoint foo2 = context.getEndpoint("mock:foo");
+        assertNotSame(foo, foo2);
+        assertSame(foo2, context.getEndpoint("mock:foo"));
+    }
+
+    public void testUriAliasBounded() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("mock:unknown" + i, "Hello " + i);
+        }
+
+        DefaultEndpointRegistry registry = getEndpointRegistry();
+        assertTrue("Should be bounded", registry.uriAliasSize() <= 20);
+
+        registry.purge();
+        assertEquals(0, registry.uriAliasSize());
+    }
+
+    private DefaultEndpointRegistry getEndpointRegistry() {
+        // the alias cache is only available on the default endpoint registry
+        EndpointRegistry<?> registry = context.getEndpointRegistry();
+        return (DefaultEndpointRegistry) registry;
+    }
+
+}
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Sends from many threads through a single shared {@link org.apache.camel.ProducerTemplate},
+ * which all acquires their producers from the same {@link ProducerCache}.
+ */
+public class ProducerTemplateConcurrentPerformanceTest extends ContextTestSupport {
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+    private final int threads = 64;
+    private final int endpoints = 8;
+    private final int messages = 2000;
+
+    public void testConcurrentSend() throws Exception {
+        COUNTER.set(0);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            final int index = i;
+            executor.submit(new Runnable() {
+                public void run() {
+                    try {
+                        start.await();
+                        for (int j = 0; j < messages; j++) {
+                            template.sendBody("direct:foo" + ((index + j) % endpoints), "Hello World");
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+
+        StopWatch watch = new StopWatch();
+        start.countDown();
+        assertTrue("Should complete", done.await(60, TimeUnit.SECONDS));
+        long taken = watch.stop();
+        executor.shutdownNow();
+
+        assertEquals(threads * messages, COUNTER.get());
+        log.info("Sent {} messages using {} threads took {} ms", new Object[]{threads * messages, threads, taken});
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                Processor counter = new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        COUNTER.incrementAndGet();
+                    }
+                };
+                for (int i = 0; i < endpoints; i++) {
+                    from("direct:foo" + i).process(counter);
+                }
+            }
+        };
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.camel.impl;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -188,6 +189,43 @@ public class ServicePoolTest extends ContextTestSupport {
         assertEquals(5, pool.size());
     }
 
+    public void testConcurrentReleaseQueueFull() throws Exception {
+        final Endpoint endpoint = context.getEndpoint("mock:foo");
+        pool.addAndAcquire(endpoint, new MyProducer(endpoint));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        List<Future<Boolean>> response = new ArrayList<Future<Boolean>>();
+        for (int i = 0; i < 20; i++) {
+            response.add(executor.submit(new Callable<Boolean>() {
+                public Boolean call() throws Exception {
+                    Producer producer = new MyProducer(endpoint);
+                    latch.await();
+                    try {
+                        pool.release(endpoint, producer);
+                        return true;
+                    } catch (IllegalStateException e) {
+                        assertEquals("Queue full", e.getMessage());
+                        return false;
+                    }
+                }
+            }));
+        }
+        latch.countDown();
+
+        int released = 0;
+        for (Future<Boolean> future : response) {
+            if (future.get()) {
+                released++;
+            }
+        }
+        executor.shutdownNow();
+
+        // the capacity must never be exceeded by concurrent releases
+        assertEquals(5, released);
+        assertEquals(5, pool.size());
+    }
+
     public void testConcurrent() throws Exception {
         final Endpoint endpoint = context.getEndpoint("mock:foo");
 
@@ -0,0 +1,218 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.camel.TestSupport;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.converter.IOConverter;
+import org.apache.camel.impl.DefaultClassResolver;
+import org.apache.camel.impl.DefaultFactoryFinderResolver;
+import org.apache.camel.impl.DefaultPackageScanClassResolver;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ReflectionInjector;
+import org.apache.camel.util.ServiceHelper;
+
+/**
+ * Compiles converter classes using the Camel annotation processor, and loads the generated type converter index.
+ */
+public class ConverterAnnotationProcessorTest extends TestSupport {
+
+    private static final String PROCESSOR = "org.apache.camel.tools.apt.ConverterAnnotationProcessor";
+    private static final String PACKAGE = "org.apache.camel.example.apt";
+
+    private final File src = new File("target/converter-apt/src");
+    private final File generated = new File("target/converter-apt/generated");
+    private final File classes = new File("target/converter-apt/classes");
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        deleteDirectory("target/converter-apt");
+        createDirectory(generated.getPath());
+        createDirectory(classes.getPath() + "/META-INF/services/org/apache/camel");
+        writeFile(new File(classes, AnnotationTypeConverterLoader.META_INF_SERVICES), PACKAGE + "\n");
+
+        writeSource(PACKAGE + ".Foo", "public class Foo {\n"
+                + "    private final String value;\n"
+                + "    public Foo(String value) { this.value = value; }\n"
+                + "    public String toString() { return value; }\n"
+                + "}\n");
+        // the converter methods are declared in an abstract super class
+        writeSource(PACKAGE + ".AbstractFooConverter", "public abstract class AbstractFooConverter {\n"
+                + "    @org.apache.camel.Converter\n"
+                + "    public Foo toFoo(String value) { return new Foo(prefix() + value); }\n"
+                + "    protected abstract String prefix();\n"
+                + "}\n");
+        writeSource(PACKAGE + ".FooConverter", "@org.apache.camel.Converter\n"
+                + "public class FooConverter extends AbstractFooConverter {\n"
+                + "    protected String prefix() { return \"foo:\"; }\n"
+                + "}\n");
+        // a converter in a sub package
+        writeSource(PACKAGE + ".sub.NumberConverter", "@org.apache.camel.Converter\n"
+                + "public final class NumberConverter {\n"
+                + "    private NumberConverter() { }\n"
+                + "    @org.apache.camel.Converter\n"
+                + "    public static " + PACKAGE + ".Foo toFoo(Integer value) { return new " + PACKAGE + ".Foo(\"number:\" + value); }\n"
+                + "}\n");
+    }
+
+    public void testIndex() throws Exception {
+        if (!isProcessorAvailable()) {
+            return;
+        }
+        compile(true, PACKAGE + ".Foo", PACKAGE + ".AbstractFooConverter", PACKAGE + ".FooConverter", PACKAGE + ".sub.NumberConverter");
+
+        String index = IOConverter.toString(new File(classes, IndexedTypeConverterLoader.META_INF_SERVICES), null);
+        assertTrue(index, index.contains(PACKAGE + ".FooConverterLoader"));
+
+        assertConverters(true);
+    }
+
+    public void testIncrementalCompile() throws Exception {
+        if (!isProcessorAvailable()) {
+            return;
+        }
+        compile(true, PACKAGE + ".Foo", PACKAGE + ".AbstractFooConverter", PACKAGE + ".FooConverter", PACKAGE + ".sub.NumberConverter");
+
+        // only the changed converter is compiled, the other one is in the previous index
+        writeSource(PACKAGE + ".FooConverter", "@org.apache.camel.Converter\n"
+                + "public class FooConverter extends AbstractFooConverter {\n"
+                + "    protected String prefix() { return \"foo:\"; }\n"
+                + "    @org.apache.camel.Converter\n"
+                + "    public Foo toFoo(StringBuilder value) { return new Foo(\"builder:\" + value); }\n"
+                + "}\n");
+        compile(true, PACKAGE + ".FooConverter");
+
+        assertConverters(true);
+
+        ClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader());
+        Class<?> loader = classLoader.loadClass(PACKAGE + ".FooConverterLoader");
+        IndexedTypeConverterLoader index = (IndexedTypeConverterLoader) loader.newInstance();
+        DefaultTypeConverter converter = new DefaultTypeConverter(new DefaultPackageScanClassResolver(), new ReflectionInjector(),
+                new DefaultFactoryFinderResolver().resolveDefaultFactoryFinder(new DefaultClassResolver()));
+        index.load(converter);
+        Class<?> foo = classLoader.loadClass(PACKAGE + ".Foo");
+        assertEquals("IndexedTypeConverter: " + PACKAGE + ".FooConverter.toFoo(java.lang.StringBuilder)",
+                converter.lookup(foo, StringBuilder.class).toString());
+        assertEquals("builder:Camel", converter.convertTo(foo, new StringBuilder("Camel")).toString());
+        assertNotNull(converter.lookup(foo, Integer.class));
+    }
+
+    public void testEntryNotIndexedIsScanned() throws Exception {
+        if (!isProcessorAvailable()) {
+            return;
+        }
+        compile(true, PACKAGE + ".Foo", PACKAGE + ".AbstractFooConverter", PACKAGE + ".FooConverter");
+
+        // a converter added to the type converter file by a build which did not run the annotation processor
+        compile(false, PACKAGE + ".sub.NumberConverter");
+        writeFile(new File(classes, AnnotationTypeConverterLoader.META_INF_SERVICES), PACKAGE + "\n" + PACKAGE + ".sub.NumberConverter\n");
+
+        assertConverters(false);
+    }
+
+    private void assertConverters(boolean numberIndexed) throws Exception {
+        // the type converter files are found using the thread context class loader
+        ClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader());
+        ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        DefaultTypeConverter converter = new DefaultTypeConverter(new DefaultPackageScanClassResolver(), new ReflectionInjector(),
+                new DefaultFactoryFinderResolver().resolveDefaultFactoryFinder(new DefaultClassResolver()));
+        try {
+            ServiceHelper.startService(converter);
+
+            Class<?> foo = classLoader.loadClass(PACKAGE + ".Foo");
+
+            TypeConverter fromString = converter.lookup(foo, String.class);
+            assertEquals("IndexedTypeConverter: " + PACKAGE + ".AbstractFooConverter.toFoo(java.lang.String)", fromString.toString());
+            assertEquals("foo:Camel", converter.convertTo(foo, "Camel").toString());
+
+            TypeConverter fromInteger = converter.lookup(foo, Integer.class);
+            assertEquals(numberIndexed, fromInteger.toString().startsWith("IndexedTypeConverter"));
+            assertEquals("number:123", converter.convertTo(foo, 123).toString());
+        } finally {
+            ServiceHelper.stopService(converter);
+            Thread.currentThread().setContextClassLoader(tccl);
+        }
+    }
+
+    private boolean isProcessorAvailable() {
+        // the annotation processor is only on the classpath when the apt profile is enabled
+        return ToolProvider.getSystemJavaCompiler() != null && ObjectHelper.loadClass(PROCESSOR) != null;
+    }
+
+    private void compile(boolean processor, String... classNames) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        try {
+            List<File> files = new ArrayList<File>();
+            for (String name : classNames) {
+                files.add(new File(src, name.replace('.', '/') + ".java"));
+            }
+            List<String> options = new ArrayList<String>(Arrays.asList("-d", classes.getPath(), "-s", generated.getPath(),
+                    "-classpath", System.getProperty("java.class.path") + File.pathSeparator + classes.getPath()));
+            if (processor) {
+                options.addAll(Arrays.asList("-processor", PROCESSOR));
+            } else {
+                options.add("-proc:none");
+            }
+
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+            boolean success = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(files)).call();
+            assertTrue("Compilation failed: " + diagnostics.getDiagnostics(), success);
+            // the loader must be generated before the last round
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                String message = diagnostic.getMessage(null);
+                assertFalse(message, message.contains("last round"));
+            }
+        } finally {
+            fileManager.close();
+        }
+    }
+
+    private void writeSource(String className, String body) throws Exception {
+        int idx = className.lastIndexOf('.');
+        writeFile(new File(src, className.replace('.', '/') + ".java"), "package " + className.substring(0, idx) + ";\n\n" + body);
+    }
+
+    private static void writeFile(File file, String text) throws Exception {
+        file.getParentFile().mkdirs();
+        Writer writer = new FileWriter(file);
+        try {
+            writer.write(text);
+        } finally {
+            IOHelper.close(writer);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.io.IOException;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.spi.TypeConverterRegistry;
+
+public class IndexedTypeConverterLoaderTest extends ContextTestSupport {
+
+    public void testLoad() throws Exception {
+        int before = context.getTypeConverterRegistry().size();
+
+        new MyConvertersLoader().load(context.getTypeConverterRegistry());
+
+        int after = context.getTypeConverterRegistry().size();
+        assertEquals("There should be 3 more type converters", 3, after - before);
+
+        Country country = context.getTypeConverter().convertTo(Country.class, "en");
+        assertNotNull(country);
+        assertEquals("England", country.getName());
+        assertEquals("en", context.getTypeConverter().convertTo(String.class, country));
+
+        Country germany = context.getTypeConverter().convertTo(Country.class, 49);
+        assertEquals("Germany", germany.getName());
+
+        assertEquals("IndexedTypeConverter: org.apache.camel.impl.converter.MyConverters.toCountry(java.lang.String)",
+                context.getTypeConverterRegistry().lookup(Country.class, String.class).toString());
+    }
+
+    public void testConverterException() throws Exception {
+        new MyConvertersLoader().load(context.getTypeConverterRegistry());
+
+        try {
+            context.getTypeConverter().mandatoryConvertTo(Country.class, 1);
+            fail("Should have thrown exception");
+        } catch (TypeConversionException e) {
+            assertIsInstanceOf(IOException.class, e.getCause().getCause());
+        }
+    }
+
+    public void testFallback() throws Exception {
+        new MyConvertersLoader().load(context.getTypeConverterRegistry());
+
+        Country country = context.getTypeConverter().convertTo(Country.class, new StringBuilder("se"));
+        assertEquals("Sweden", country.getName());
+    }
+
+    public static Country toCountry(Integer code) throws IOException {
+        if (code == 49) {
+            Country answer = new Country();
+            answer.setIso("de");
+            answer.setName("Germany");
+            return answer;
+        }
+        throw new IOException("Unknown country code: " + code);
+    }
+
+    public static <T> T fallback(Class<T> type, Object value, TypeConverterRegistry registry) {
+        if (type == Country.class && value instanceof StringBuilder && "se".equals(value.toString())) {
+            Country answer = new Country();
+            answer.setIso("se");
+            answer.setName("Sweden");
+            return type.cast(answer);
+        }
+        return null;
+    }
+
+    /**
+     * The same as the annotation processor generates
+     */
+    private static final class MyConvertersLoader extends IndexedTypeConverterLoader {
+
+        @Override
+        protected void doLoad(TypeConverterRegistry registry) {
+            addTypeConverter(registry, Country.class, String.class, 0, false, "org.apache.camel.impl.converter.MyConverters.toCountry(java.lang.String)");
+            addTypeConverter(registry, String.class, Country.class, 1, false, "org.apache.camel.impl.converter.MyConverters.toIso(org.apache.camel.impl.converter.Country)");
+            addTypeConverter(registry, Country.class, Integer.class, 2, false, "IndexedTypeConverterLoaderTest.toCountry(java.lang.Integer)");
+            addFallbackTypeConverter(registry, 3, false, false, "IndexedTypeConverterLoaderTest.fallback(java.lang.Class, java.lang.Object, "
+                    + "org.apache.camel.spi.TypeConverterRegistry)");
+        }
+
+        @Override
+        protected Object doConvert(int id, Exchange exchange, Object value, TypeConverterRegistry registry) throws Exception {
+            switch (id) {
+            case 0:
+                return getInstance(MyConverters.class, registry).toCountry((String) value);
+            case 1:
+                return getInstance(MyConverters.class, registry).toIso((Country) value);
+            case 2:
+                return IndexedTypeConverterLoaderTest.toCountry((Integer) value);
+            default:
+                throw new IllegalArgumentException("Unknown type converter: " + id);
+            }
+        }
+
+        @Override
+        protected Object doConvertFallback(int id, Class<?> type, Exchange exchange, Object value, TypeConverterRegistry registry) throws Exception {
+            switch (id) {
+            case 3:
+                return IndexedTypeConverterLoaderTest.fallback(type, value, registry);
+            default:
+                throw new IllegalArgumentException("Unknown fallback type converter: " + id);
+            }
+        }
+    }
+}
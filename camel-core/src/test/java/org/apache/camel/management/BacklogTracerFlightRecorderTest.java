@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.api.management.mbean.BacklogTracerEventMessage;
+import org.apache.camel.builder.RouteBuilder;
+
+public class BacklogTracerFlightRecorderTest extends ManagementTestSupport {
+
+    @SuppressWarnings("unchecked")
+    public void testBacklogTracerFlightRecorder() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = new ObjectName("org.apache.camel:context=camel-1,type=tracer,name=BacklogTracer");
+        assertNotNull(on);
+        mbeanServer.isRegistered(on);
+
+        Boolean recorder = (Boolean) mbeanServer.getAttribute(on, "FlightRecorder");
+        assertEquals("Should not be flight recorder", Boolean.FALSE, recorder);
+
+        Integer size = (Integer) mbeanServer.getAttribute(on, "FlightRecorderSize");
+        assertEquals("Should be 1000", 1000, size.intValue());
+
+        mbeanServer.setAttribute(on, new Attribute("FlightRecorderHeaders", "foo, bar"));
+        mbeanServer.setAttribute(on, new Attribute("FlightRecorder", Boolean.TRUE));
+        mbeanServer.setAttribute(on, new Attribute("Enabled", Boolean.TRUE));
+
+        getMockEndpoint("mock:foo").expectedMessageCount(2);
+        getMockEndpoint("mock:bar").expectedMessageCount(2);
+
+        template.sendBodyAndHeader("direct:start", "Hello World", "foo", 123);
+        template.sendBody("direct:start", "Bye World");
+
+        assertMockEndpointsSatisfied();
+
+        List<Exchange> exchanges = getMockEndpoint("mock:foo").getReceivedExchanges();
+
+        List<BacklogTracerEventMessage> events = (List<BacklogTracerEventMessage>) mbeanServer.invoke(on, "dumpTracedMessages",
+                new Object[]{"foo"}, new String[]{"java.lang.String"});
+
+        assertNotNull(events);
+        assertEquals(2, events.size());
+
+        BacklogTracerEventMessage event1 = events.get(0);
+        assertEquals("foo", event1.getToNode());
+        assertEquals("    <message exchangeId=\"" + exchanges.get(0).getExchangeId() + "\">\n"
+                + "      <headers>\n"
+                + "        <header key=\"foo\">123</header>\n"
+                + "      </headers>\n"
+                + "      <body type=\"java.lang.String\" size=\"11\"/>\n"
+                + "    </message>", event1.getMessageAsXml());
+
+        BacklogTracerEventMessage event2 = events.get(1);
+        assertEquals("foo", event2.getToNode());
+        assertEquals("    <message exchangeId=\"" + exchanges.get(1).getExchangeId() + "\">\n"
+                + "      <body type=\"java.lang.String\" size=\"9\"/>\n"
+                + "    </message>", event2.getMessageAsXml());
+
+        // the route, foo and bar for each exchange and in the order they were traced
+        events = (List<BacklogTracerEventMessage>) mbeanServer.invoke(on, "dumpAllTracedMessages", null, null);
+        assertEquals(6, events.size());
+        assertEquals("route1", events.get(0).getRouteId());
+        assertNull(events.get(0).getToNode());
+        assertEquals("foo", events.get(1).getToNode());
+        assertEquals("bar", events.get(2).getToNode());
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i - 1).getUid() < events.get(i).getUid());
+        }
+
+        // and removed on dump
+        events = (List<BacklogTracerEventMessage>) mbeanServer.invoke(on, "dumpAllTracedMessages", null, null);
+        assertEquals(0, events.size());
+
+        String xml = (String) mbeanServer.invoke(on, "dumpAllTracedMessagesAsXml", null, null);
+        assertEquals("<" + BacklogTracerEventMessage.ROOT_TAG + "s>\n</" + BacklogTracerEventMessage.ROOT_TAG + "s>", xml);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testBacklogTracerFlightRecorderOverwrite() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = new ObjectName("org.apache.camel:context=camel-1,type=tracer,name=BacklogTracer");
+
+        // only keep the last 2 records
+        mbeanServer.setAttribute(on, new Attribute("FlightRecorderSize", 2));
+        mbeanServer.setAttribute(on, new Attribute("FlightRecorder", Boolean.TRUE));
+        mbeanServer.setAttribute(on, new Attribute("Enabled", Boolean.TRUE));
+
+        template.sendBody("direct:start", "Hello World");
+        template.sendBody("direct:start", "Bye World");
+
+        List<Exchange> exchanges = getMockEndpoint("mock:bar").getReceivedExchanges();
+
+        List<BacklogTracerEventMessage> events = (List<BacklogTracerEventMessage>) mbeanServer.invoke(on, "dumpAllTracedMessages", null, null);
+        assertEquals(2, events.size());
+        assertEquals("foo", events.get(0).getToNode());
+        assertEquals(exchanges.get(1).getExchangeId(), events.get(0).getExchangeId());
+        assertEquals("bar", events.get(1).getToNode());
+        assertEquals(exchanges.get(1).getExchangeId(), events.get(1).getExchangeId());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testBacklogTracerFlightRecorderSampling() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = new ObjectName("org.apache.camel:context=camel-1,type=tracer,name=BacklogTracer");
+
+        mbeanServer.setAttribute(on, new Attribute("SamplingRate", 2));
+        mbeanServer.setAttribute(on, new Attribute("FlightRecorder", Boolean.TRUE));
+        mbeanServer.setAttribute(on, new Attribute("Enabled", Boolean.TRUE));
+
+        for (int i = 0; i < 20; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        List<BacklogTracerEventMessage> events = (List<BacklogTracerEventMessage>) mbeanServer.invoke(on, "dumpAllTracedMessages", null, null);
+        assertTrue("Should not trace all exchanges", events.size() < 60);
+
+        // a sampled exchange is traced at all its nodes
+        Map<String, Integer> counts = new HashMap<String, Integer>();
+        for (BacklogTracerEventMessage event : events) {
+            Integer count = counts.get(event.getExchangeId());
+            counts.put(event.getExchangeId(), count != null ? count + 1 : 1);
+        }
+        for (Integer count : counts.values()) {
+            assertEquals(3, count.intValue());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                context.setUseBreadcrumb(false);
+
+                from("direct:start")
+                        .to("mock:foo").id("foo")
+                        .to("mock:bar").id("bar");
+
+            }
+        };
+    }
+
+}
@@ -71,6 +71,16 @@ public class ManagedEndpointRegistryTest extends ManagementTestSupport {
         current = (Integer) mbeanServer.getAttribute(on, "DynamicSize");
         assertEquals(1, current.intValue());
 
+        // send again to the dynamic endpoint which should be resolved from the uri alias
+        template.sendBody("log:foo", "Bye World");
+
+        Long hits = (Long) mbeanServer.getAttribute(on, "UriAliasHits");
+        assertTrue(hits > 0);
+        Long misses = (Long) mbeanServer.getAttribute(on, "UriAliasMisses");
+        assertTrue(misses > 0);
+        current = (Integer) mbeanServer.getAttribute(on, "UriAliasSize");
+        assertTrue(current > 0);
+
         String source = (String) mbeanServer.getAttribute(on, "Source");
         assertTrue(source.startsWith("EndpointRegistry"));
         assertTrue(source.endsWith("capacity: 1000"));
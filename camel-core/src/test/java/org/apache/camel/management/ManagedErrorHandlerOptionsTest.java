@@ -103,6 +103,16 @@ public class ManagedErrorHandlerOptionsTest extends ManagementTestSupport {
         Boolean ne = (Boolean) mbeanServer.getAttribute(on, "DeadLetterHandleNewException");
         assertEquals(false, ne.booleanValue());
 
+        mbeanServer.setAttribute(on, new Attribute("MaximumPendingRedeliveries", 100));
+        Integer mpr = (Integer) mbeanServer.getAttribute(on, "MaximumPendingRedeliveries");
+        assertEquals(100, mpr.intValue());
+
+        String action = (String) mbeanServer.getAttribute(on, "PendingRedeliveriesOverflowAction");
+        assertEquals("DeadLetter", action);
+
+        Integer pending = (Integer) mbeanServer.getAttribute(on, "PendingRedeliveries");
+        assertEquals(0, pending.intValue());
+
         MockEndpoint mock = getMockEndpoint("mock:result");
         mock.expectedMessageCount(1);
 
@@ -82,6 +82,12 @@ public class ManagedStreamCachingStrategyTest extends ManagementTestSupport {
 
         Boolean remove = (Boolean) mbeanServer.getAttribute(name, "RemoveSpoolDirectoryWhenStopping");
         assertEquals(Boolean.TRUE, remove);
+
+        Long budget = (Long) mbeanServer.getAttribute(name, "OffHeapMemoryBudget");
+        assertEquals(0, budget.longValue());
+
+        Long used = (Long) mbeanServer.getAttribute(name, "OffHeapMemoryUsed");
+        assertEquals(0, used.longValue());
     }
 
     @Override
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.ThrottlingInflightBytesRoutePolicy;
+
+/**
+ * @version 
+ */
+public class ManagedThrottlingInflightBytesRoutePolicyTest extends ManagementTestSupport {
+
+    public void testPolicy() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        Set<ObjectName> names = mbeanServer.queryNames(new ObjectName("*:type=services,*"), null);
+        ObjectName name = null;
+        for (ObjectName service : names) {
+            if (service.toString().contains("ThrottlingInflightBytesRoutePolicy")) {
+                name = service;
+                break;
+            }
+        }
+        assertNotNull("Cannot find ThrottlingInflightBytesRoutePolicy", name);
+
+        Long max = (Long) mbeanServer.getAttribute(name, "MaxRouteInflightBytes");
+        assertEquals(5000, max.longValue());
+
+        String action = (String) mbeanServer.getAttribute(name, "Action");
+        assertEquals("Suspend", action);
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+        template.sendBody("direct:start", "Hello World");
+        assertMockEndpointsSatisfied();
+
+        Long bytes = (Long) mbeanServer.getAttribute(name, "InflightBytes");
+        assertEquals(0, bytes.longValue());
+
+        bytes = (Long) mbeanServer.invoke(name, "inflightBytes", new Object[]{"foo"}, new String[]{"java.lang.String"});
+        assertEquals(0, bytes.longValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                ThrottlingInflightBytesRoutePolicy policy = new ThrottlingInflightBytesRoutePolicy();
+                policy.setMaxRouteInflightBytes(5000);
+
+                from("direct:start").routeId("foo").routePolicy(policy)
+                    .to("log:foo").to("mock:result");
+            }
+        };
+    }
+
+}
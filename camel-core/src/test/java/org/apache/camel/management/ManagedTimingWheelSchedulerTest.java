@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedTimingWheelSchedulerTest extends ManagementTestSupport {
+
+    public void testManageTimingWheelScheduler() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        getMockEndpoint("mock:result").expectedMinimumMessageCount(3);
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        Set<ObjectName> set = mbeanServer.queryNames(new ObjectName("org.apache.camel:context=camel-1,type=services,name=TimingWheelScheduler*"), null);
+        assertEquals(1, set.size());
+        ObjectName on = set.iterator().next();
+
+        Long tick = (Long) mbeanServer.getAttribute(on, "TickDuration");
+        assertEquals(1, tick.longValue());
+
+        Integer timers = (Integer) mbeanServer.getAttribute(on, "TimerCount");
+        assertEquals(1, timers.intValue());
+
+        Long fired = (Long) mbeanServer.getAttribute(on, "FireCount");
+        assertTrue(fired >= 3);
+
+        Long lag = (Long) mbeanServer.getAttribute(on, "MaxLag");
+        assertTrue(lag >= 0);
+
+        mbeanServer.invoke(on, "resetStatistics", null, null);
+        fired = (Long) mbeanServer.getAttribute(on, "FireCount");
+        assertTrue(fired < 3);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("timer:foo?timingWheel=true&fixedRate=true&period=50&delay=0").to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.ThreadPoolType;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.ThreadPoolProfile;
+
+/**
+ * @version 
+ */
+public class ManagedWorkStealingThreadPoolTest extends ManagementTestSupport {
+
+    public void testManagedThreadPool() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=camel-1,type=threadpools,name=\"threads1(threads)\"");
+
+        Boolean shutdown = (Boolean) mbeanServer.getAttribute(on, "Shutdown");
+        assertEquals(false, shutdown.booleanValue());
+
+        String type = (String) mbeanServer.getAttribute(on, "PoolType");
+        assertEquals("WorkStealing", type);
+
+        Integer corePoolSize = (Integer) mbeanServer.getAttribute(on, "CorePoolSize");
+        assertEquals(4, corePoolSize.intValue());
+
+        Integer maxPoolSize = (Integer) mbeanServer.getAttribute(on, "MaximumPoolSize");
+        assertEquals(4, maxPoolSize.intValue());
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+        template.sendBody("direct:start", "Hello World");
+        assertMockEndpointsSatisfied();
+
+        Long taskCount = (Long) mbeanServer.getAttribute(on, "TaskCount");
+        assertEquals(-1, taskCount.longValue());
+
+        // the largest pool size is kept when the idle worker threads terminate
+        Integer largest = (Integer) mbeanServer.getAttribute(on, "LargestPoolSize");
+        assertTrue("Should have a worker thread", largest >= 1 && largest <= 4);
+
+        String profileId = (String) mbeanServer.getAttribute(on, "ThreadPoolProfileId");
+        assertEquals("custom", profileId);
+
+        context.stop();
+        assertFalse("Should be unregistered", mbeanServer.isRegistered(on));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                ThreadPoolProfile profile = new ThreadPoolProfile("custom");
+                profile.setPoolType(ThreadPoolType.WorkStealing);
+                profile.setPoolSize(4);
+
+                context.getExecutorServiceManager().registerThreadPoolProfile(profile);
+
+                from("direct:start").threads().executorServiceRef("custom").to("mock:result");
+            }
+        };
+    }
+
+}
\ No newline at end of file
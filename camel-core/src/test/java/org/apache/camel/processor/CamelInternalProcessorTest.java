@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultExchange;
+
+/**
+ * @version 
+ */
+public class CamelInternalProcessorTest extends ContextTestSupport {
+
+    private final List<String> events = new ArrayList<String>();
+
+    public void testNoAdvices() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new RecordProcessor());
+        Exchange exchange = new DefaultExchange(context);
+        internal.process(exchange);
+
+        assertEquals("[process]", events.toString());
+    }
+
+    public void testSingleAdvice() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new RecordProcessor());
+        internal.addAdvice(new RecordAdvice("a", "stateA"));
+        Exchange exchange = new DefaultExchange(context);
+        internal.process(exchange);
+
+        assertEquals("[before-a, process, after-a-stateA]", events.toString());
+    }
+
+    public void testAdvicesRunInReverseOrderWithStates() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new RecordProcessor());
+        internal.addAdvice(new RecordAdvice("a", null));
+        internal.addAdvice(new RecordAdvice("b", "stateB"));
+        internal.addAdvice(new RecordAdvice("c", null));
+        Exchange exchange = new DefaultExchange(context);
+        internal.process(exchange);
+
+        assertEquals("[before-a, before-b, before-c, process, after-c-null, after-b-stateB, after-a-null]", events.toString());
+        assertNotNull(internal.getAdvice(RecordAdvice.class));
+        assertNull(internal.getAdvice(CamelInternalProcessor.StreamCachingAdvice.class));
+    }
+
+    public void testAdvicesWithoutStates() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new RecordProcessor());
+        internal.addAdvice(new RecordAdvice("a", null));
+        internal.addAdvice(new RecordAdvice("b", null));
+        Exchange exchange = new DefaultExchange(context);
+        internal.process(exchange);
+
+        assertEquals("[before-a, before-b, process, after-b-null, after-a-null]", events.toString());
+    }
+
+    private final class RecordProcessor implements Processor {
+
+        @Override
+        public void process(Exchange exchange) throws Exception {
+            events.add("process");
+        }
+    }
+
+    private final class RecordAdvice implements CamelInternalProcessorAdvice<String> {
+
+        private final String name;
+        private final String state;
+
+        private RecordAdvice(String name, String state) {
+            this.name = name;
+            this.state = state;
+        }
+
+        @Override
+        public String before(Exchange exchange) throws Exception {
+            events.add("before-" + name);
+            return state;
+        }
+
+        @Override
+        public void after(Exchange exchange, String data) throws Exception {
+            events.add("after-" + name + "-" + data);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.MessageHistory;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+public class MessageHistoryKeepSlowerThanTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getProperties().put(Exchange.MESSAGE_HISTORY_KEEP_SLOWER_THAN, "500");
+        return context;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testFastDiscarded() throws Exception {
+        Exchange out = template.request("direct:start", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Hello World");
+            }
+        });
+
+        assertFalse(out.isFailed());
+        List<MessageHistory> list = out.getProperty(Exchange.MESSAGE_HISTORY, List.class);
+        assertNotNull(list);
+        assertTrue("Should discard the records of the fast nodes", list.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testSlowKept() throws Exception {
+        Exchange out = template.request("direct:start", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Slow");
+            }
+        });
+
+        assertFalse(out.isFailed());
+        List<MessageHistory> list = out.getProperty(Exchange.MESSAGE_HISTORY, List.class);
+        assertNotNull("Should keep the message history", list);
+        // only the slow node and the choice enclosing it is kept
+        assertEquals(2, list.size());
+        assertEquals("choice", list.get(0).getNode().getId());
+        assertEquals("slow", list.get(1).getNode().getId());
+        assertTrue(list.get(1).getElapsed() >= 500);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testFailedKept() throws Exception {
+        Exchange out = template.request("direct:start", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Kaboom");
+            }
+        });
+
+        assertTrue(out.isFailed());
+        List<MessageHistory> list = out.getProperty(Exchange.MESSAGE_HISTORY, List.class);
+        assertNotNull("Should keep the message history", list);
+        assertEquals(2, list.size());
+        assertEquals("choice", list.get(0).getNode().getId());
+        assertEquals("fail", list.get(1).getNode().getId());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                context.setMessageHistory(true);
+
+                from("direct:start")
+                    .to("mock:foo").id("foo")
+                    .choice().id("choice")
+                        .when(body().isEqualTo("Slow")).process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                Thread.sleep(600);
+                            }
+                        }).id("slow")
+                        .when(body().isEqualTo("Kaboom")).throwException(new IllegalArgumentException("Forced")).id("fail")
+                    .end()
+                    .to("mock:bar").id("bar");
+            }
+        };
+    }
+}
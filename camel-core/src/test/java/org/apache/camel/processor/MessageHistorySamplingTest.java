@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.MessageHistory;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+public class MessageHistorySamplingTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getProperties().put(Exchange.MESSAGE_HISTORY_SAMPLING_RATE, "2");
+        return context;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testMessageHistorySampling() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:bar");
+        mock.expectedMessageCount(50);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        int sampled = 0;
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            List<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, List.class);
+            if (list != null) {
+                sampled++;
+                // a sampled exchange is recorded at all its nodes
+                assertEquals(3, list.size());
+                assertEquals("foo", list.get(0).getNode().getId());
+                assertEquals("log", list.get(1).getNode().getId());
+                assertEquals("bar", list.get(2).getNode().getId());
+            }
+        }
+
+        assertTrue("Should sample some exchanges, was: " + sampled, sampled > 0);
+        assertTrue("Should not sample all exchanges, was: " + sampled, sampled < 50);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                context.setMessageHistory(true);
+
+                from("direct:start")
+                    .to("mock:foo").id("foo")
+                    .to("log:foo").id("log")
+                    .to("mock:bar").id("bar");
+            }
+        };
+    }
+}
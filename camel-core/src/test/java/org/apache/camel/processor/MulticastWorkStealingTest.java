@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.AggregationStrategy;
+
+/**
+ * @version 
+ */
+public class MulticastWorkStealingTest extends ContextTestSupport {
+
+    public void testSingleMulticastWorkStealing() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("ABC");
+
+        template.sendBody("direct:start", "Hello");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testMulticastWorkStealing() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(20);
+        mock.whenAnyExchangeReceived(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                // they should all be ABC even though A is slower than B and C
+                assertEquals("ABC", exchange.getIn().getBody(String.class));
+            }
+        });
+
+        for (int i = 0; i < 20; i++) {
+            template.sendBody("direct:start", "Hello");
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testMulticastWorkStealingTimeout() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:timeout");
+        // A will timeout so we only get B and C
+        mock.expectedBodiesReceived("BC");
+
+        template.sendBody("direct:timeout", "Hello");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .multicast(new BodyAggregationStrategy())
+                        .workStealing().to("direct:a", "direct:b", "direct:c")
+                    // use end to indicate end of multicast route
+                    .end()
+                    .to("mock:result");
+
+                from("direct:timeout")
+                    .multicast(new BodyAggregationStrategy())
+                        .workStealing().timeout(250).to("direct:slow", "direct:b", "direct:c")
+                    .end()
+                    .to("mock:timeout");
+
+                from("direct:a").delay(100).setBody(constant("A"));
+
+                from("direct:b").setBody(constant("B"));
+
+                from("direct:c").delay(20).setBody(constant("C"));
+
+                from("direct:slow").delay(2000).setBody(constant("A"));
+            }
+        };
+    }
+
+    private static class BodyAggregationStrategy implements AggregationStrategy {
+
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            if (oldExchange == null) {
+                return newExchange;
+            }
+
+            String body = oldExchange.getIn().getBody(String.class);
+            oldExchange.getIn().setBody(body + newExchange.getIn().getBody(String.class));
+            return oldExchange;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultConsumer;
+
+/**
+ * @version 
+ */
+public class RedeliveryErrorHandlerMaximumPendingTest extends ContextTestSupport {
+
+    private static volatile int attempt;
+
+    public void testTimingWheel() throws Exception {
+        attempt = 0;
+
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceived("Hello World");
+        result.message(0).header(Exchange.REDELIVERY_COUNTER).isEqualTo(2);
+
+        template.sendBody("seda:wheel", "World");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(3, attempt);
+    }
+
+    public void testOverflowDeadLetter() throws Exception {
+        MockEndpoint dead = getMockEndpoint("mock:dead");
+        // the exchanges which cannot be pending is moved to the dead letter channel without being redelivered
+        dead.expectedMessageCount(3);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("seda:overflow", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // and the pending exchanges is moved when exhausted
+        dead.reset();
+        dead.expectedMessageCount(2);
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testOverflowReject() throws Exception {
+        Future<Exchange> first = template.asyncSend("direct:reject", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("A");
+            }
+        });
+        // wait for the first exchange to be pending before sending the next
+        Thread.sleep(200);
+        Future<Exchange> second = template.asyncSend("direct:reject", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("B");
+            }
+        });
+
+        // the second is rejected as the first is pending
+        Exchange rejected = second.get(5, TimeUnit.SECONDS);
+        RejectedExecutionException cause = assertIsInstanceOf(RejectedExecutionException.class, rejected.getException());
+        assertIsInstanceOf(IllegalArgumentException.class, cause.getCause());
+
+        // and the first is redelivered and then exhausted
+        Exchange exhausted = first.get(5, TimeUnit.SECONDS);
+        assertIsInstanceOf(IllegalArgumentException.class, exhausted.getException());
+        assertEquals(1, exhausted.getIn().getHeader(Exchange.REDELIVERY_COUNTER));
+    }
+
+    public void testStopWhileRedeliveryPending() throws Exception {
+        Exchange exchange = context.getEndpoint("direct:pending").createExchange();
+        exchange.getIn().setBody("A");
+
+        // process asynchronously, as threads blocked waiting for an exchange are interrupted when stopping
+        final CountDownLatch latch = new CountDownLatch(1);
+        DefaultConsumer consumer = (DefaultConsumer) context.getRoute("pending").getConsumer();
+        boolean sync = consumer.getAsyncProcessor().process(exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                latch.countDown();
+            }
+        });
+        assertFalse("The redelivery should be pending", sync);
+
+        // wait for the exchange to be pending on the timing wheel
+        Thread.sleep(200);
+        assertEquals(1, latch.getCount());
+
+        // do not wait for the inflight exchange when stopping
+        context.getShutdownStrategy().setTimeout(1);
+        context.stop();
+
+        // the pending redelivery is failed instead of being discarded
+        assertTrue("The exchange should be done", latch.await(5, TimeUnit.SECONDS));
+        RejectedExecutionException cause = assertIsInstanceOf(RejectedExecutionException.class, exchange.getException());
+        assertIsInstanceOf(IllegalArgumentException.class, cause.getCause());
+    }
+
+    public void testCollisionAvoidanceBelowMaximumDelay() throws Exception {
+        RedeliveryPolicy policy = new RedeliveryPolicy();
+        policy.setRedeliveryDelay(1000);
+        policy.setMaximumRedeliveryDelay(4000);
+        policy.setUseExponentialBackOff(true);
+        policy.setUseCollisionAvoidance(true);
+
+        boolean spread = false;
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.calculateRedeliveryDelay(4000, 5);
+            assertTrue("Delay should be at most the max delay: " + delay, delay <= 4000);
+            assertTrue("Delay should be within the collision avoidance factor: " + delay, delay >= 3400);
+            spread |= delay < 4000;
+        }
+        assertTrue("The delays should be spread below the max delay", spread);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:wheel")
+                    .errorHandler(defaultErrorHandler().maximumRedeliveries(5).redeliveryDelay(100)
+                        .asyncDelayedRedelivery().timingWheelTickDuration(10))
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            if (++attempt <= 2) {
+                                throw new IllegalArgumentException("Damn");
+                            }
+                            exchange.getIn().setBody("Hello " + exchange.getIn().getBody(String.class));
+                        }
+                    })
+                    .to("mock:result");
+
+                from("seda:overflow")
+                    .errorHandler(deadLetterChannel("mock:dead").maximumRedeliveries(1).redeliveryDelay(1000)
+                        .asyncDelayedRedelivery().maximumPendingRedeliveries(2))
+                    .throwException(new IllegalArgumentException("Damn"));
+
+                from("direct:reject")
+                    .errorHandler(defaultErrorHandler().maximumRedeliveries(1).redeliveryDelay(1000)
+                        .asyncDelayedRedelivery().maximumPendingRedeliveries(1)
+                        .pendingRedeliveriesOverflowAction(RedeliveryErrorHandler.OverflowAction.Reject))
+                    .throwException(new IllegalArgumentException("Damn"));
+
+                from("direct:pending").routeId("pending")
+                    .errorHandler(defaultErrorHandler().maximumRedeliveries(1).redeliveryDelay(60000)
+                        .asyncDelayedRedelivery().timingWheelTickDuration(10))
+                    .throwException(new IllegalArgumentException("Damn"));
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * A route with many short steps for measuring the per hop overhead of the routing engine,
+ * such as the advices executed by {@link CamelInternalProcessor} in between the steps.
+ */
+public class RoutePerHopPerformanceTest extends ContextTestSupport {
+
+    private static final int HOPS = 20;
+    private int size = 2000;
+    private int counter;
+
+    public void testPerHopPerformance() throws Exception {
+        // warm up
+        for (int i = 0; i < size; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+        counter = 0;
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < size; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+        long taken = watch.taken();
+
+        assertEquals(size * HOPS, counter);
+        log.info("RoutePerHopPerformanceTest: Sent: " + size + " Took: " + taken + " ms ("
+                + (taken * 1000000L / ((long) size * HOPS)) + " ns per hop)");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                Processor count = new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        counter++;
+                    }
+                };
+
+                from("direct:start")
+                    .process(count).process(count).process(count).process(count).process(count)
+                    .process(count).process(count).process(count).process(count).process(count)
+                    .process(count).process(count).process(count).process(count).process(count)
+                    .process(count).process(count).process(count).process(count).process(count);
+            }
+        };
+    }
+}
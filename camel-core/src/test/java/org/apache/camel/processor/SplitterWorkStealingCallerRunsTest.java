@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.AggregationStrategy;
+import org.apache.camel.util.concurrent.SynchronousExecutorService;
+
+/**
+ * Tests work stealing with executor services which runs the tasks in the submitting thread.
+ *
+ * @version 
+ */
+public class SplitterWorkStealingCallerRunsTest extends ContextTestSupport {
+
+    private static final int SIZE = 2000;
+
+    private ExecutorService callerRuns;
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        if (callerRuns != null) {
+            callerRuns.shutdownNow();
+        }
+    }
+
+    public void testSynchronousExecutor() throws Exception {
+        sendAndAssert("direct:sync");
+    }
+
+    public void testCallerRunsExecutor() throws Exception {
+        sendAndAssert("direct:callerRuns");
+    }
+
+    private void sendAndAssert(String uri) throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < SIZE; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append(i);
+        }
+        template.sendBody(uri, sb.toString());
+
+        assertMockEndpointsSatisfied();
+
+        // all the sub exchanges should be aggregated once and in order
+        assertEquals(sb.toString(), mock.getReceivedExchanges().get(0).getIn().getBody(String.class));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        // a single thread and no queue, so most of the tasks are run by the caller
+        callerRuns = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:sync")
+                    .split(body().tokenize(","), new JoinAggregationStrategy())
+                        .workStealing().maxParallelTasks(10).executorService(new SynchronousExecutorService())
+                        .to("log:sync?level=TRACE")
+                    .end()
+                    .to("mock:result");
+
+                from("direct:callerRuns")
+                    .split(body().tokenize(","), new JoinAggregationStrategy())
+                        .workStealing().maxParallelTasks(10).executorService(callerRuns)
+                        .to("log:callerRuns?level=TRACE")
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+    private static class JoinAggregationStrategy implements AggregationStrategy {
+
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            if (oldExchange == null) {
+                return newExchange;
+            }
+
+            String body = oldExchange.getIn().getBody(String.class);
+            oldExchange.getIn().setBody(body + "," + newExchange.getIn().getBody(String.class));
+            return oldExchange;
+        }
+    }
+}
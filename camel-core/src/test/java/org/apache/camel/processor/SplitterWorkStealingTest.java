@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelExchangeException;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class SplitterWorkStealingTest extends ContextTestSupport {
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger maxInflight = new AtomicInteger();
+
+    public void testSplitWorkStealingMaxParallelTasks() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:split");
+        mock.expectedMessageCount(20);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append(i);
+        }
+        template.sendBody("direct:start", sb.toString());
+
+        assertMockEndpointsSatisfied();
+
+        // no more than 3 at the same time
+        assertTrue("Should not process more than 3 at the same time, was " + maxInflight.get(), maxInflight.get() <= 3);
+    }
+
+    public void testSplitWorkStealingStopOnException() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:split");
+        mock.expectedMinimumMessageCount(0);
+        mock.allMessages().body().isNotEqualTo("Kaboom");
+
+        try {
+            template.sendBody("direct:start", "Hello World,Goodday World,Kaboom,Bye World");
+            fail("Should thrown an exception");
+        } catch (CamelExecutionException e) {
+            CamelExchangeException cause = assertIsInstanceOf(CamelExchangeException.class, e.getCause());
+            assertTrue(cause.getMessage().startsWith("Parallel processing failed for number "));
+            assertTrue(cause.getMessage().contains("[Message: Kaboom]"));
+            assertEquals("Forced", cause.getCause().getMessage());
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body().tokenize(",")).workStealing().maxParallelTasks(3).streaming().stopOnException()
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                int current = inflight.incrementAndGet();
+                                try {
+                                    synchronized (maxInflight) {
+                                        maxInflight.set(Math.max(maxInflight.get(), current));
+                                    }
+                                    String body = exchange.getIn().getBody(String.class);
+                                    if ("Kaboom".equals(body)) {
+                                        throw new IllegalArgumentException("Forced");
+                                    }
+                                    Thread.sleep(10);
+                                } finally {
+                                    inflight.decrementAndGet();
+                                }
+                            }
+                        }).to("mock:split");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,192 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.SuspendableService;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.file.GenericFile;
+import org.apache.camel.converter.stream.InputStreamCache;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.InflightBytesTracker;
+import org.apache.camel.impl.ThrottlingInflightBytesRoutePolicy;
+
+/**
+ * @version 
+ */
+public class ThrottlingInflightBytesRoutePolicyTest extends ContextTestSupport {
+
+    private static final String BODY = String.format("%400s", "x");
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private ThrottlingInflightBytesRoutePolicy suspending;
+    private ThrottlingInflightBytesRoutePolicy rejecting;
+    private InflightBytesTracker sharedTracker;
+
+    public void testSuspendConsumer() throws Exception {
+        getMockEndpoint("mock:foo").expectedMessageCount(3);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("seda:foo", BODY);
+        }
+
+        // 3 x 400 bytes exceeds the budget of 1000 bytes
+        SuspendableService consumer = (SuspendableService) context.getRoute("foo").getConsumer();
+        for (int i = 0; i < 50 && !consumer.isSuspended(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue("Consumer should be suspended", consumer.isSuspended());
+        assertEquals(1200, suspending.getTracker().getInflightBytes("foo"));
+
+        latch.countDown();
+        assertMockEndpointsSatisfied();
+
+        // the consumer is resumed when the exchanges is done
+        for (int i = 0; i < 50 && consumer.isSuspended(); i++) {
+            Thread.sleep(100);
+        }
+        assertFalse("Consumer should be resumed", consumer.isSuspended());
+        assertEquals(0, suspending.getTracker().getInflightBytes("foo"));
+    }
+
+    public void testRejectExchange() throws Exception {
+        getMockEndpoint("mock:bar").expectedMessageCount(2);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("seda:bar", BODY);
+        }
+
+        // 3 x 400 bytes exceeds the budget of 1000 bytes so one exchange is rejected
+        for (int i = 0; i < 50 && rejecting.getRejectedCounter() == 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(1, rejecting.getRejectedCounter());
+        assertEquals(800, rejecting.getTracker().getInflightBytes());
+
+        latch.countDown();
+        assertMockEndpointsSatisfied();
+
+        // is accepted when there is room again
+        resetMocks();
+        getMockEndpoint("mock:bar").expectedMessageCount(1);
+        template.sendBody("seda:bar", BODY);
+        assertMockEndpointsSatisfied();
+        assertEquals(1, rejecting.getRejectedCounter());
+        assertEquals(0, rejecting.getTracker().getInflightBytes());
+    }
+
+    public void testSharedTrackerResumesRouteOfOtherPolicy() throws Exception {
+        getMockEndpoint("mock:b").expectedMessageCount(1);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("seda:a", BODY);
+        }
+        for (int i = 0; i < 50 && sharedTracker.getInflightBytes("a") < 1200; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(1200, sharedTracker.getInflightBytes("a"));
+
+        // the bytes inflight in route a exceeds the total budget, so route b is suspended when its exchange begins
+        template.sendBody("seda:b", BODY);
+        assertMockEndpointsSatisfied();
+        for (int i = 0; i < 50 && sharedTracker.getInflightBytes("b") > 0; i++) {
+            Thread.sleep(100);
+        }
+        SuspendableService consumer = (SuspendableService) context.getRoute("b").getConsumer();
+        assertTrue("Consumer should be suspended", consumer.isSuspended());
+
+        // and is resumed by its policy when the bytes of route a is released
+        latch.countDown();
+        for (int i = 0; i < 50 && consumer.isSuspended(); i++) {
+            Thread.sleep(100);
+        }
+        assertFalse("Consumer should be resumed", consumer.isSuspended());
+        assertEquals(0, sharedTracker.getInflightBytes());
+    }
+
+    public void testEstimateBodySize() throws Exception {
+        InflightBytesTracker tracker = new InflightBytesTracker();
+        Exchange exchange = new DefaultExchange(context);
+
+        exchange.getIn().setBody(new byte[123]);
+        assertEquals(123, tracker.estimateBodySize(exchange));
+
+        exchange.getIn().setBody("Hello World");
+        assertEquals(11, tracker.estimateBodySize(exchange));
+
+        exchange.getIn().setBody(new InputStreamCache(new byte[456]));
+        assertEquals(456, tracker.estimateBodySize(exchange));
+
+        GenericFile<File> file = new GenericFile<File>();
+        file.setFileLength(789);
+        exchange.getIn().setBody(file);
+        assertEquals(789, tracker.estimateBodySize(exchange));
+
+        exchange.getIn().setBody(new Object());
+        assertEquals(0, tracker.estimateBodySize(exchange));
+        exchange.getIn().setHeader(Exchange.CONTENT_LENGTH, "1000");
+        assertEquals(1000, tracker.estimateBodySize(exchange));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        suspending = new ThrottlingInflightBytesRoutePolicy();
+        suspending.setMaxRouteInflightBytes(1000);
+
+        rejecting = new ThrottlingInflightBytesRoutePolicy();
+        rejecting.setMaxTotalInflightBytes(1000);
+        rejecting.setAction(ThrottlingInflightBytesRoutePolicy.ThrottlingAction.Reject);
+
+        // two policies sharing a tracker for a total budget
+        sharedTracker = new InflightBytesTracker();
+        final ThrottlingInflightBytesRoutePolicy sharedA = new ThrottlingInflightBytesRoutePolicy();
+        sharedA.setTracker(sharedTracker);
+        sharedA.setMaxTotalInflightBytes(1000);
+        final ThrottlingInflightBytesRoutePolicy sharedB = new ThrottlingInflightBytesRoutePolicy();
+        sharedB.setTracker(sharedTracker);
+        sharedB.setMaxTotalInflightBytes(1000);
+
+        final Processor wait = new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                latch.await(10, TimeUnit.SECONDS);
+            }
+        };
+
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?concurrentConsumers=5").routeId("foo").routePolicy(suspending)
+                    .process(wait).to("mock:foo");
+
+                from("seda:bar?concurrentConsumers=5").routeId("bar").routePolicy(rejecting)
+                    .process(wait).to("mock:bar");
+
+                from("seda:a?concurrentConsumers=5").routeId("a").routePolicy(sharedA)
+                    .process(wait).to("mock:a");
+
+                from("seda:b").routeId("b").routePolicy(sharedB)
+                    .to("mock:b");
+            }
+        };
+    }
+}
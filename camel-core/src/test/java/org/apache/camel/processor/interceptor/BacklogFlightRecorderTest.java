@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.TestSupport;
+import org.apache.camel.api.management.mbean.BacklogTracerEventMessage;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+
+public class BacklogFlightRecorderTest extends TestSupport {
+
+    public void testStripes() throws Exception {
+        assertEquals(1, new BacklogFlightRecorder(10, null, 1).getStripes());
+        assertEquals(4, new BacklogFlightRecorder(10, null, 3).getStripes());
+        assertEquals(64, new BacklogFlightRecorder(10, null, 1000).getStripes());
+    }
+
+    public void testManyThreadsDoNotGrowTheRecorder() throws Exception {
+        final CamelContext context = new DefaultCamelContext();
+        final BacklogFlightRecorder recorder = new BacklogFlightRecorder(2, new String[]{"foo"}, 4);
+
+        // record from many short lived threads, which each record a few messages
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 100; i++) {
+            final int uid = i;
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    Exchange exchange = new DefaultExchange(context);
+                    exchange.getIn().setBody("Hello " + uid);
+                    exchange.getIn().setHeader("foo", uid);
+                    recorder.record(uid, System.currentTimeMillis(), "route1", "to1", exchange);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // the records are bounded by the stripes and not by the number of threads
+        assertEquals(8, recorder.size());
+        List<BacklogTracerEventMessage> events = recorder.dump(null);
+        assertEquals(8, events.size());
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i - 1).getUid() < events.get(i).getUid());
+        }
+        assertTrue(events.get(0).getMessageAsXml().contains("<header key=\"foo\">"));
+
+        recorder.clear();
+        assertEquals(0, recorder.size());
+        assertEquals(0, recorder.dump(null).size());
+    }
+}
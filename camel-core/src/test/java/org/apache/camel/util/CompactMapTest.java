@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class CompactMapTest extends TestCase {
+
+    private final CompactMap.Keys keys = new CompactMap.Keys(new String[]{"ID", "NAME", "CITY"}, false);
+
+    public void testCompactMap() {
+        CompactMap<Object> row = newRow(1, "Camel", "Dublin");
+
+        assertEquals(3, row.size());
+        assertEquals(1, row.get("ID"));
+        assertEquals("Camel", row.get("NAME"));
+        assertNull(row.get("name"));
+        assertTrue(row.containsKey("CITY"));
+        assertFalse(row.containsKey("COUNTRY"));
+        assertEquals("{ID=1, NAME=Camel, CITY=Dublin}", row.toString());
+
+        Map<String, Object> expected = new LinkedHashMap<String, Object>();
+        expected.put("ID", 1);
+        expected.put("NAME", "Camel");
+        expected.put("CITY", "Dublin");
+        assertEquals(expected, row);
+        assertEquals(row, expected);
+        assertEquals(expected.hashCode(), row.hashCode());
+
+        Iterator<String> it = row.keySet().iterator();
+        assertEquals("ID", it.next());
+        assertEquals("NAME", it.next());
+        assertEquals("CITY", it.next());
+        assertFalse(it.hasNext());
+    }
+
+    public void testCompactMapPut() {
+        CompactMap<Object> row = newRow(1, "Camel", "Dublin");
+
+        assertEquals("Dublin", row.put("CITY", "London"));
+        assertEquals("London", row.get("CITY"));
+
+        // adding a new key copies the map
+        row.put("COUNTRY", "UK");
+        assertEquals(4, row.size());
+        assertEquals("{ID=1, NAME=Camel, CITY=London, COUNTRY=UK}", row.toString());
+
+        assertEquals(1, row.remove("ID"));
+        assertEquals(3, row.size());
+        assertEquals("{NAME=Camel, CITY=London, COUNTRY=UK}", row.toString());
+
+        // other rows are not affected
+        CompactMap<Object> other = newRow(2, "Donkey", "Paris");
+        assertEquals(3, other.size());
+        assertEquals(2, other.get("ID"));
+    }
+
+    public void testCompactMapCaseInsensitive() {
+        CompactMap.Keys insensitive = new CompactMap.Keys(new String[]{"ID", "NAME"}, true);
+        CompactMap<Object> row = new CompactMap<Object>(insensitive);
+        row.setValue(0, 1);
+        row.setValue(1, "Camel");
+
+        assertEquals(1, row.get("id"));
+        assertEquals("Camel", row.get("Name"));
+        assertEquals("{ID=1, NAME=Camel}", row.toString());
+    }
+
+    public void testCompactMapCaseInsensitiveAddAndRemove() {
+        CompactMap.Keys insensitive = new CompactMap.Keys(new String[]{"NAME", "ID", "CITY"}, true);
+        CompactMap<Object> row = new CompactMap<Object>(insensitive);
+        row.setValue(0, "Camel");
+        row.setValue(1, 1);
+        row.setValue(2, "Dublin");
+
+        // adding and removing keys should keep the order of the other keys
+        row.put("country", "Ireland");
+        assertEquals("{NAME=Camel, ID=1, CITY=Dublin, country=Ireland}", row.toString());
+        assertEquals("Ireland", row.get("COUNTRY"));
+
+        assertEquals("Dublin", row.remove("city"));
+        assertEquals("{NAME=Camel, ID=1, country=Ireland}", row.toString());
+        assertFalse(row.containsKey("City"));
+
+        // updating an existing key keeps its original name and position
+        row.put("name", "Donkey");
+        assertEquals("{NAME=Donkey, ID=1, country=Ireland}", row.toString());
+        assertTrue(row.containsKey("Id"));
+    }
+
+    public void testCompactMapDuplicateNames() {
+        CompactMap.Keys duplicate = new CompactMap.Keys(new String[]{"ID", "NAME", "ID"}, false);
+        assertEquals(2, duplicate.size());
+
+        CompactMap<Object> row = new CompactMap<Object>(duplicate);
+        row.setValue(0, 1);
+        row.setValue(1, "Camel");
+        row.setValue(2, 2);
+
+        assertEquals(2, row.size());
+        assertEquals(2, row.get("ID"));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testSerializable() throws Exception {
+        CompactMap<Object> row = newRow(1, "Camel", "Dublin");
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bos);
+        out.writeObject(row);
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        Map<String, Object> copy = (Map<String, Object>) in.readObject();
+        assertEquals(row, copy);
+        assertEquals("Camel", copy.get("NAME"));
+    }
+
+    private CompactMap<Object> newRow(Object id, Object name, Object city) {
+        CompactMap<Object> row = new CompactMap<Object>(keys);
+        row.setValue(0, id);
+        row.setValue(1, name);
+        row.setValue(2, city);
+        return row;
+    }
+}
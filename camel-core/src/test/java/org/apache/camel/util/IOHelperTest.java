@@ -24,6 +24,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 
 import junit.framework.TestCase;
 import org.apache.camel.CamelContext;
@@ -124,4 +128,22 @@ public class IOHelperTest extends TestCase {
         charsetName = IOHelper.getCharsetNameFromContentType("text/html");
         assertEquals("UTF-8", charsetName);
     }
+    public void testUnmap() throws Exception {
+        File file = new File("target/iohelper/unmap.txt");
+        file.getParentFile().mkdirs();
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, 16);
+            buffer.put("Hello".getBytes());
+            assertTrue(IOHelper.unmap(buffer));
+            // the file can be truncated after the mapping has been released
+            raf.getChannel().truncate(5);
+        } finally {
+            raf.close();
+        }
+        assertEquals(5, file.length());
+
+        assertFalse(IOHelper.unmap(ByteBuffer.allocate(16)));
+    }
+
 }
@@ -496,6 +496,18 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         if (statisticsEnabled != null) {
             getContext().getStreamCachingStrategy().getStatistics().setStatisticsEnabled(statisticsEnabled);
         }
+        Long offHeapMemoryBudget = CamelContextHelper.parseLong(getContext(), streamCaching.getOffHeapMemoryBudget());
+        if (offHeapMemoryBudget != null) {
+            getContext().getStreamCachingStrategy().setOffHeapMemoryBudget(offHeapMemoryBudget);
+        }
+        Integer offHeapChunkSize = CamelContextHelper.parseInteger(getContext(), streamCaching.getOffHeapChunkSize());
+        if (offHeapChunkSize != null) {
+            getContext().getStreamCachingStrategy().setOffHeapChunkSize(offHeapChunkSize);
+        }
+        Long offHeapSpoolSegmentSize = CamelContextHelper.parseLong(getContext(), streamCaching.getOffHeapSpoolSegmentSize());
+        if (offHeapSpoolSegmentSize != null) {
+            getContext().getStreamCachingStrategy().setOffHeapSpoolSegmentSize(offHeapSpoolSegmentSize);
+        }
         Boolean anySpoolRules = CamelContextHelper.parseBoolean(getContext(), streamCaching.getAnySpoolRules());
         if (anySpoolRules != null) {
             getContext().getStreamCachingStrategy().setAnySpoolRules(anySpoolRules);
@@ -820,6 +832,7 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         answer.setMaxQueueSize(CamelContextHelper.parseInteger(context, definition.getMaxQueueSize()));
         answer.setAllowCoreThreadTimeOut(CamelContextHelper.parseBoolean(context, definition.getAllowCoreThreadTimeOut()));
         answer.setRejectedPolicy(definition.getRejectedPolicy());
+        answer.setPoolType(definition.getPoolType());
         answer.setTimeUnit(definition.getTimeUnit());
         return answer;
     }
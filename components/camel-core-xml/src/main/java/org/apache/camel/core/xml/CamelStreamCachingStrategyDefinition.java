@@ -65,6 +65,15 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
     @XmlAttribute
     private String anySpoolRules;
 
+    @XmlAttribute
+    private String offHeapMemoryBudget;
+
+    @XmlAttribute
+    private String offHeapChunkSize;
+
+    @XmlAttribute
+    private String offHeapSpoolSegmentSize;
+
     public String getEnabled() {
         return enabled;
     }
@@ -152,4 +161,28 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
     public void setAnySpoolRules(String anySpoolRules) {
         this.anySpoolRules = anySpoolRules;
     }
+
+    public String getOffHeapMemoryBudget() {
+        return offHeapMemoryBudget;
+    }
+
+    public void setOffHeapMemoryBudget(String offHeapMemoryBudget) {
+        this.offHeapMemoryBudget = offHeapMemoryBudget;
+    }
+
+    public String getOffHeapChunkSize() {
+        return offHeapChunkSize;
+    }
+
+    public void setOffHeapChunkSize(String offHeapChunkSize) {
+        this.offHeapChunkSize = offHeapChunkSize;
+    }
+
+    public String getOffHeapSpoolSegmentSize() {
+        return offHeapSpoolSegmentSize;
+    }
+
+    public void setOffHeapSpoolSegmentSize(String offHeapSpoolSegmentSize) {
+        this.offHeapSpoolSegmentSize = offHeapSpoolSegmentSize;
+    }
 }
\ No newline at end of file
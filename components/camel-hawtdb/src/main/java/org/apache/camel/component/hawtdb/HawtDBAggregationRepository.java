@@ -27,6 +27,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.spi.ExchangeHolderCodec;
 import org.apache.camel.spi.OptimisticLockingAggregationRepository;
 import org.apache.camel.spi.RecoverableAggregationRepository;
 import org.apache.camel.support.ServiceSupport;
@@ -422,6 +423,19 @@ public class HawtDBAggregationRepository extends ServiceSupport implements Recov
         this.bufferSize = bufferSize;
     }
 
+    public ExchangeHolderCodec getExchangeHolderCodec() {
+        return codec.getExchangeHolderCodec();
+    }
+
+    /**
+     * Sets the codec used for writing the exchanges, which is by default a compact binary codec.
+     * Use <tt>null</tt> to write the exchanges using Java serialization as older versions did.
+     * Exchanges written using Java serialization can always be read.
+     */
+    public void setExchangeHolderCodec(ExchangeHolderCodec exchangeHolderCodec) {
+        this.codec = new HawtDBCamelCodec(exchangeHolderCodec);
+    }
+
     public boolean isReturnOldExchange() {
         return returnOldExchange;
     }
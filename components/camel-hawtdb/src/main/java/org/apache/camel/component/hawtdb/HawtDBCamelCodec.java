@@ -19,10 +19,13 @@ package org.apache.camel.component.hawtdb;
 import java.io.IOException;
 
 import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
+import org.apache.camel.impl.BinaryExchangeHolderCodec;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.DefaultExchangeHolder;
+import org.apache.camel.spi.ExchangeHolderCodec;
 import org.fusesource.hawtbuf.Buffer;
 import org.fusesource.hawtbuf.DataByteArrayInputStream;
 import org.fusesource.hawtbuf.DataByteArrayOutputStream;
@@ -31,12 +34,35 @@ import org.fusesource.hawtbuf.codec.ObjectCodec;
 import org.fusesource.hawtbuf.codec.StringCodec;
 
 /**
+ * Codec to marshal keys and exchanges.
+ * <p/>
+ * Exchanges are by default written using the compact {@link BinaryExchangeHolderCodec}. Records which was written
+ * using Java serialization by older versions can still be read.
+ *
  * @version 
  */
 public final class HawtDBCamelCodec {
 
     private Codec<String> keyCodec = new StringCodec();
     private Codec<DefaultExchangeHolder> exchangeCodec = new ObjectCodec<DefaultExchangeHolder>();
+    private final ExchangeHolderCodec exchangeHolderCodec;
+
+    public HawtDBCamelCodec() {
+        this(new BinaryExchangeHolderCodec());
+    }
+
+    /**
+     * Creates a codec which writes the exchanges using the given codec.
+     *
+     * @param exchangeHolderCodec the codec, or <tt>null</tt> to write the exchanges using Java serialization
+     */
+    public HawtDBCamelCodec(ExchangeHolderCodec exchangeHolderCodec) {
+        this.exchangeHolderCodec = exchangeHolderCodec;
+    }
+
+    public ExchangeHolderCodec getExchangeHolderCodec() {
+        return exchangeHolderCodec;
+    }
 
     public Buffer marshallKey(String key) throws IOException {
         DataByteArrayOutputStream baos = new DataByteArrayOutputStream();
@@ -51,7 +77,6 @@ public final class HawtDBCamelCodec {
     }
 
     public Buffer marshallExchange(CamelContext camelContext, Exchange exchange) throws IOException {
-        DataByteArrayOutputStream baos = new DataByteArrayOutputStream();
         // use DefaultExchangeHolder to marshal to a serialized object
         DefaultExchangeHolder pe = DefaultExchangeHolder.marshal(exchange, false);
         // add the aggregated size and timeout property as the only properties we want to retain
@@ -67,13 +92,26 @@ public final class HawtDBCamelCodec {
         if (exchange.getFromEndpoint() != null) {
             DefaultExchangeHolder.addProperty(pe, "CamelAggregatedFromEndpoint", exchange.getFromEndpoint().getEndpointUri());
         }
+        if (exchangeHolderCodec != null) {
+            return new Buffer(exchangeHolderCodec.encode(pe));
+        }
+        DataByteArrayOutputStream baos = new DataByteArrayOutputStream();
         exchangeCodec.encode(pe, baos);
         return baos.toBuffer();
     }
 
     public Exchange unmarshallExchange(CamelContext camelContext, Buffer buffer) throws IOException {
-        DataByteArrayInputStream bais = new DataByteArrayInputStream(buffer);
-        DefaultExchangeHolder pe = exchangeCodec.decode(bais);
+        DefaultExchangeHolder pe;
+        if (exchangeHolderCodec != null && exchangeHolderCodec.canDecode(buffer.data, buffer.offset, buffer.length)) {
+            if (exchangeHolderCodec instanceof CamelContextAware && ((CamelContextAware) exchangeHolderCodec).getCamelContext() == null) {
+                ((CamelContextAware) exchangeHolderCodec).setCamelContext(camelContext);
+            }
+            pe = exchangeHolderCodec.decode(buffer.data, buffer.offset, buffer.length);
+        } else {
+            // fallback to java serialization which older versions used
+            DataByteArrayInputStream bais = new DataByteArrayInputStream(buffer);
+            pe = exchangeCodec.decode(bais);
+        }
         Exchange answer = new DefaultExchange(camelContext);
         DefaultExchangeHolder.unmarshal(answer, pe);
         // restore the from endpoint
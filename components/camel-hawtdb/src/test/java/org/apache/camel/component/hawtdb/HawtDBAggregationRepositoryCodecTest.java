@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.hawtdb;
+
+import java.io.File;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+public class HawtDBAggregationRepositoryCodecTest extends CamelTestSupport {
+
+    private HawtDBFile hawtDBFile;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        deleteDirectory("target/data");
+        File file = new File("target/data/hawtdb.dat");
+        hawtDBFile = new HawtDBFile();
+        hawtDBFile.setFile(file);
+        hawtDBFile.start();
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        hawtDBFile.stop();
+        super.tearDown();
+    }
+
+    @Test
+    public void testReadJavaSerializedExchanges() {
+        // write the exchange using java serialization as older versions did
+        HawtDBAggregationRepository old = new HawtDBAggregationRepository();
+        old.setHawtDBFile(hawtDBFile);
+        old.setRepositoryName("repo1");
+        old.setExchangeHolderCodec(null);
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("counter:1");
+        exchange.getIn().setHeader("foo", 123);
+        old.add(context, "foo", exchange);
+
+        // and read it with the binary codec which is the default
+        HawtDBAggregationRepository repo = new HawtDBAggregationRepository();
+        repo.setHawtDBFile(hawtDBFile);
+        repo.setRepositoryName("repo1");
+        repo.setReturnOldExchange(true);
+        assertNotNull(repo.getExchangeHolderCodec());
+
+        Exchange actual = repo.get(context, "foo");
+        assertEquals("counter:1", actual.getIn().getBody());
+        assertEquals(123, actual.getIn().getHeader("foo"));
+
+        // update it using the binary codec
+        Exchange exchange2 = new DefaultExchange(context);
+        exchange2.getIn().setBody("counter:2");
+        exchange2.getIn().setHeader("foo", 456);
+        actual = repo.add(context, "foo", exchange2);
+        assertEquals("counter:1", actual.getIn().getBody());
+
+        actual = repo.get(context, "foo");
+        assertEquals("counter:2", actual.getIn().getBody());
+        assertEquals(456, actual.getIn().getHeader("foo"));
+    }
+
+}
@@ -42,6 +42,8 @@ public class JdbcEndpoint extends DefaultEndpoint {
     @UriParam
     private int readSize;
     @UriParam
+    private int fetchSize;
+    @UriParam
     private boolean transacted;
     @UriParam(defaultValue = "true")
     private boolean resetAutoCommit = true;
@@ -103,6 +105,19 @@ public class JdbcEndpoint extends DefaultEndpoint {
         this.readSize = readSize;
     }
 
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Gives the JDBC driver a hint about the number of rows to fetch from the database at a time when more rows are needed.
+     * This is mostly useful with outputType=StreamList to keep the memory usage bounded when streaming large results.
+     * The default value is 0 which means the driver default is used.
+     */
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
     public boolean isTransacted() {
         return transacted;
     }
@@ -150,6 +150,10 @@ public class JdbcProducer extends DefaultProducer {
                 ps = conn.prepareStatement(preparedQuery);
             }
 
+            if (getEndpoint().getFetchSize() > 0) {
+                ps.setFetchSize(getEndpoint().getFetchSize());
+            }
+
             int expectedCount = ps.getParameterMetaData().getParameterCount();
 
             if (expectedCount > 0) {
@@ -192,6 +196,9 @@ public class JdbcProducer extends DefaultProducer {
         try {
             stmt = conn.createStatement();
 
+            if (getEndpoint().getFetchSize() > 0) {
+                stmt.setFetchSize(getEndpoint().getFetchSize());
+            }
             if (parameters != null && !parameters.isEmpty()) {
                 IntrospectionSupport.setProperties(stmt, parameters);
             }
@@ -24,13 +24,13 @@ import java.sql.Statement;
 import java.sql.Types;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.util.CompactMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +41,7 @@ public class ResultSetIterator implements Iterator<Map<String, Object>> {
     private final Statement statement;
     private final ResultSet resultSet;
     private final Column[] columns;
+    private final CompactMap.Keys keys;
     private final AtomicBoolean closed = new AtomicBoolean();
 
     public ResultSetIterator(Connection conn, ResultSet resultSet, boolean isJDBC4) throws SQLException {
@@ -61,6 +62,13 @@ public class ResultSetIterator implements Iterator<Map<String, Object>> {
             }
         }
 
+        // the column names are shared by all the rows
+        String[] names = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            names[i] = columns[i].getName();
+        }
+        keys = new CompactMap.Keys(names, false);
+
         loadNext();
     }
 
@@ -76,9 +84,9 @@ public class ResultSetIterator implements Iterator<Map<String, Object>> {
         }
 
         try {
-            Map<String, Object> row = new LinkedHashMap<String, Object>();
-            for (Column column : columns) {
-                row.put(column.getName(), column.getValue(resultSet));
+            CompactMap<Object> row = new CompactMap<Object>(keys);
+            for (int i = 0; i < columns.length; i++) {
+                row.setValue(i, columns[i].getValue(resultSet));
             }
             loadNext();
             return row;
@@ -52,6 +52,7 @@ import org.apache.camel.impl.DefaultExchangeHolder;
 import org.apache.camel.spi.HeaderFilterStrategy;
 import org.apache.camel.util.CamelContextHelper;
 import org.apache.camel.util.ExchangeHelper;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,6 +72,9 @@ import static org.apache.camel.component.jms.JmsMessageType.Text;
  */
 public class JmsBinding {
     private static final Logger LOG = LoggerFactory.getLogger(JmsBinding.class);
+    private static final int KEY_CACHE_SIZE = 1000;
+    private final Map<String, String> encodedKeys = new LRUCache<String, String>(KEY_CACHE_SIZE);
+    private final Map<String, String> decodedKeys = new LRUCache<String, String>(KEY_CACHE_SIZE);
     private final JmsEndpoint endpoint;
     private final HeaderFilterStrategy headerFilterStrategy;
     private final JmsKeyFormatStrategy jmsKeyFormatStrategy;
@@ -203,7 +207,7 @@ public class JmsBinding {
 
                     // must decode back from safe JMS header name to original header name
                     // when storing on this Camel JmsMessage object.
-                    String key = jmsKeyFormatStrategy.decodeKey(name);
+                    String key = decodeKey(name);
                     map.put(key, value);
                 } catch (JMSException e) {
                     throw new RuntimeCamelException(name, e);
@@ -214,17 +218,81 @@ public class JmsBinding {
         return map;
     }
     
+    /**
+     * Extracts a single header from the JMS message, without extracting all the other headers.
+     * <p/>
+     * This is used when the headers are lazy loaded (see {@link JmsConfiguration#setLazyLoadingOfHeaders(boolean)}).
+     *
+     * @param jmsMessage the JMS message
+     * @param name       the header name
+     * @param exchange   the exchange
+     * @return the header value, or <tt>null</tt> if no such header or the header is filtered
+     */
+    public Object extractHeaderFromJms(Message jmsMessage, String name, Exchange exchange) throws JMSException {
+        // the standard JMS headers is always included (see extractHeadersFromJms)
+        if (name.regionMatches(true, 0, "JMS", 0, 3)) {
+            if ("JMSCorrelationID".equalsIgnoreCase(name)) {
+                return jmsMessage.getJMSCorrelationID();
+            } else if ("JMSCorrelationIDAsBytes".equalsIgnoreCase(name)) {
+                return JmsMessageHelper.getJMSCorrelationIDAsBytes(jmsMessage);
+            } else if ("JMSDeliveryMode".equalsIgnoreCase(name)) {
+                return jmsMessage.getJMSDeliveryMode();
+            } else if ("JMSDestination".equalsIgnoreCase(name)) {
+                return jmsMessage.getJMSDestination();
+            } else if ("JMSExpiration".equalsIgnoreCase(name)) {
+                return jmsMessage.getJMSExpiration();
+            } else if ("JMSMessageID".equalsIgnoreCase(name)) {
+                return jmsMessage.getJMSMessageID();
+            } else if ("JMSPriority".equalsIgnoreCase(name)) {
+                return jmsMessage.getJMSPriority();
+            } else if ("JMSRedelivered".equalsIgnoreCase(name)) {
+                return jmsMessage.getJMSRedelivered();
+            } else if ("JMSTimestamp".equalsIgnoreCase(name)) {
+                return jmsMessage.getJMSTimestamp();
+            } else if ("JMSReplyTo".equalsIgnoreCase(name)) {
+                return JmsMessageHelper.getJMSReplyTo(jmsMessage);
+            } else if ("JMSType".equalsIgnoreCase(name)) {
+                return JmsMessageHelper.getJMSType(jmsMessage);
+            } else if (JMS_X_GROUP_ID.equalsIgnoreCase(name)) {
+                return JmsMessageHelper.getStringProperty(jmsMessage, JMS_X_GROUP_ID);
+            } else if ("JMSXUserID".equalsIgnoreCase(name)) {
+                return JmsMessageHelper.getStringProperty(jmsMessage, "JMSXUserID");
+            }
+        }
+
+        // try a direct lookup first
+        String key = name;
+        Object value = JmsMessageHelper.getProperty(jmsMessage, key);
+        if (value == null) {
+            // then encode the key and do another lookup
+            key = encodeKey(name);
+            value = JmsMessageHelper.getProperty(jmsMessage, key);
+        }
+        if (value != null && headerFilterStrategy != null
+            && headerFilterStrategy.applyFilterToExternalHeaders(key, value, exchange)) {
+            return null;
+        }
+        return value;
+    }
+
     public Object getObjectProperty(Message jmsMessage, String name) throws JMSException {
         // try a direct lookup first
         Object answer = jmsMessage.getObjectProperty(name);
         if (answer == null) {
             // then encode the key and do another lookup
-            String key = jmsKeyFormatStrategy.encodeKey(name);
+            String key = encodeKey(name);
             answer = jmsMessage.getObjectProperty(key);
         }
         return answer;
     }
 
+    /**
+     * Whether the headers of the {@link JmsMessage} should be lazy loaded from the JMS message
+     */
+    public boolean isLazyLoadingOfHeaders() {
+        return endpoint != null && endpoint.getConfiguration().isLazyLoadingOfHeaders();
+    }
+
     protected byte[] createByteArrayFromBytesMessage(BytesMessage message) throws JMSException {
         if (message.getBodyLength() > Integer.MAX_VALUE) {
             LOG.warn("Length of BytesMessage is too long: {}", message.getBodyLength());
@@ -334,7 +402,8 @@ public class JmsBinding {
                                   String headerName, Object headerValue) throws JMSException {
         if (isStandardJMSHeader(headerName)) {
             if (headerName.equals("JMSCorrelationID")) {
-                jmsMessage.setJMSCorrelationID(ExchangeHelper.convertToType(exchange, String.class, headerValue));
+                jmsMessage.setJMSCorrelationID(headerValue instanceof String
+                        ? (String) headerValue : ExchangeHelper.convertToType(exchange, String.class, headerValue));
             } else if (headerName.equals("JMSReplyTo") && headerValue != null) {
                 if (headerValue instanceof String) {
                     // if the value is a String we must normalize it first, and must include the prefix
@@ -344,13 +413,16 @@ public class JmsBinding {
                 Destination replyTo = ExchangeHelper.convertToType(exchange, Destination.class, headerValue);
                 JmsMessageHelper.setJMSReplyTo(jmsMessage, replyTo);
             } else if (headerName.equals("JMSType")) {
-                jmsMessage.setJMSType(ExchangeHelper.convertToType(exchange, String.class, headerValue));
+                jmsMessage.setJMSType(headerValue instanceof String
+                        ? (String) headerValue : ExchangeHelper.convertToType(exchange, String.class, headerValue));
             } else if (headerName.equals("JMSPriority")) {
-                jmsMessage.setJMSPriority(ExchangeHelper.convertToType(exchange, Integer.class, headerValue));
+                jmsMessage.setJMSPriority(headerValue instanceof Integer
+                        ? (Integer) headerValue : ExchangeHelper.convertToType(exchange, Integer.class, headerValue));
             } else if (headerName.equals("JMSDeliveryMode")) {
                 JmsMessageHelper.setJMSDeliveryMode(exchange, jmsMessage, headerValue);
             } else if (headerName.equals("JMSExpiration")) {
-                jmsMessage.setJMSExpiration(ExchangeHelper.convertToType(exchange, Long.class, headerValue));
+                jmsMessage.setJMSExpiration(headerValue instanceof Long
+                        ? (Long) headerValue : ExchangeHelper.convertToType(exchange, Long.class, headerValue));
             } else {
                 // The following properties are set by the MessageProducer:
                 // JMSDestination
@@ -365,7 +437,7 @@ public class JmsBinding {
             Object value = getValidJMSHeaderValue(headerName, headerValue);
             if (value != null) {
                 // must encode to safe JMS header name before setting property on jmsMessage
-                String key = jmsKeyFormatStrategy.encodeKey(headerName);
+                String key = encodeKey(headerName);
                 // set the property
                 JmsMessageHelper.setProperty(jmsMessage, key, value);
             } else if (LOG.isDebugEnabled()) {
@@ -376,6 +448,34 @@ public class JmsBinding {
         }
     }
 
+    /**
+     * Encodes the header name to a safe JMS property name using the {@link JmsKeyFormatStrategy}.
+     * <p/>
+     * The encoded names are cached as the same header names is used over and over again.
+     */
+    protected String encodeKey(String headerName) {
+        String answer = encodedKeys.get(headerName);
+        if (answer == null) {
+            answer = jmsKeyFormatStrategy.encodeKey(headerName);
+            encodedKeys.put(headerName, answer);
+        }
+        return answer;
+    }
+
+    /**
+     * Decodes the JMS property name back to the header name using the {@link JmsKeyFormatStrategy}.
+     * <p/>
+     * The decoded names are cached as the same property names is used over and over again.
+     */
+    protected String decodeKey(String propertyName) {
+        String answer = decodedKeys.get(propertyName);
+        if (answer == null) {
+            answer = jmsKeyFormatStrategy.decodeKey(propertyName);
+            decodedKeys.put(propertyName, answer);
+        }
+        return answer;
+    }
+
     /**
      * Is the given header a standard JMS header
      * @param headerName the header name
@@ -194,6 +194,15 @@ public class JmsComponent extends UriEndpointComponent implements ApplicationCon
         getConfiguration().setEagerLoadingOfProperties(eagerLoadingOfProperties);
     }
 
+    /**
+     * Enables lazy loading of the headers of the received JMS message, so a header is only read from the
+     * JMS message when it is asked for. This is more efficient when the JMS messages have many properties
+     * which is mostly not used by the routes.
+     */
+    public void setLazyLoadingOfHeaders(boolean lazyLoadingOfHeaders) {
+        getConfiguration().setLazyLoadingOfHeaders(lazyLoadingOfHeaders);
+    }
+
     /**
      * The JMS acknowledgement name, which is one of: SESSION_TRANSACTED, CLIENT_ACKNOWLEDGE, AUTO_ACKNOWLEDGE, DUPS_OK_ACKNOWLEDGE
      */
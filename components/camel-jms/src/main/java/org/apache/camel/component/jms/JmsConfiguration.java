@@ -158,6 +158,8 @@ public class JmsConfiguration implements Cloneable {
     private boolean disableReplyTo;
     @UriParam
     private boolean eagerLoadingOfProperties;
+    @UriParam
+    private boolean lazyLoadingOfHeaders;
     // Always make a JMS message copy when it's passed to Producer
     @UriParam
     private boolean alwaysCopyMessage;
@@ -1054,6 +1056,20 @@ public class JmsConfiguration implements Cloneable {
         this.eagerLoadingOfProperties = eagerLoadingOfProperties;
     }
 
+    public boolean isLazyLoadingOfHeaders() {
+        return lazyLoadingOfHeaders;
+    }
+
+    /**
+     * Enables lazy loading of the headers of the received JMS message, so a header is only read from the
+     * JMS message when it is asked for. Headers which are set or removed are kept aside until all the
+     * headers are needed, such as when sending the message to another endpoint. This is more efficient
+     * when the JMS messages have many properties which is mostly not used by the routes.
+     */
+    public void setLazyLoadingOfHeaders(boolean lazyLoadingOfHeaders) {
+        this.lazyLoadingOfHeaders = lazyLoadingOfHeaders;
+    }
+
     public boolean isDisableReplyTo() {
         return disableReplyTo;
     }
@@ -728,6 +728,11 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
         return getConfiguration().isEagerLoadingOfProperties();
     }
 
+    @ManagedAttribute
+    public boolean isLazyLoadingOfHeaders() {
+        return getConfiguration().isLazyLoadingOfHeaders();
+    }
+
     @ManagedAttribute
     public boolean isExplicitQosEnabled() {
         return getConfiguration().isExplicitQosEnabled();
@@ -878,6 +883,11 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
         getConfiguration().setEagerLoadingOfProperties(eagerLoadingOfProperties);
     }
 
+    @ManagedAttribute
+    public void setLazyLoadingOfHeaders(boolean lazyLoadingOfHeaders) {
+        getConfiguration().setLazyLoadingOfHeaders(lazyLoadingOfHeaders);
+    }
+
     public void setExceptionListener(ExceptionListener exceptionListener) {
         getConfiguration().setExceptionListener(exceptionListener);
     }
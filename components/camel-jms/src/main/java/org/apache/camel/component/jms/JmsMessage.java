@@ -27,6 +27,7 @@ import javax.jms.Topic;
 
 import org.apache.camel.RuntimeExchangeException;
 import org.apache.camel.impl.DefaultMessage;
+import org.apache.camel.util.CaseInsensitiveMap;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
@@ -39,9 +40,13 @@ import org.slf4j.LoggerFactory;
  */
 public class JmsMessage extends DefaultMessage {
     private static final Logger LOG = LoggerFactory.getLogger(JmsMessage.class);
+    // marker for a header which has been removed before the headers was populated
+    private static final Object REMOVED = new Object();
     private Message jmsMessage;
     private Session jmsSession;
     private JmsBinding binding;
+    // headers which has been set or removed before the headers was populated, when lazy loading headers
+    private Map<String, Object> lazyHeaders;
 
     @Deprecated
     public JmsMessage(Message jmsMessage, JmsBinding binding) {
@@ -74,6 +79,10 @@ public class JmsMessage extends DefaultMessage {
             return;
         }
 
+        if (that instanceof JmsMessage && copyFromLazy((JmsMessage) that)) {
+            return;
+        }
+
         // must initialize headers before we set the JmsMessage to avoid Camel
         // populating it before we do the copy
         getHeaders().clear();
@@ -106,6 +115,32 @@ public class JmsMessage extends DefaultMessage {
         }
     }
 
+    /**
+     * Copies from the other message without populating its headers, if the headers is lazy loaded
+     * and has not yet been populated.
+     */
+    private boolean copyFromLazy(JmsMessage that) {
+        if (hasPopulatedHeaders() || that.hasPopulatedHeaders() || that.jmsMessage == null || !that.isLazyLoadingOfHeaders()) {
+            return false;
+        }
+
+        if (binding == null) {
+            binding = that.binding;
+        }
+        this.jmsMessage = that.jmsMessage;
+        this.lazyHeaders = that.lazyHeaders != null ? new CaseInsensitiveMap(that.lazyHeaders) : null;
+
+        // copy body and fault flag
+        setBody(that.getBody());
+        setFault(that.isFault());
+
+        getAttachments().clear();
+        if (that.hasAttachments()) {
+            getAttachments().putAll(that.getAttachments());
+        }
+        return true;
+    }
+
     public JmsBinding getBinding() {
         if (binding == null) {
             binding = ExchangeHelper.getBinding(getExchange(), JmsBinding.class);
@@ -161,6 +196,10 @@ public class JmsMessage extends DefaultMessage {
     }
 
     public Object getHeader(String name) {
+        if (isLazyHeaders()) {
+            return getLazyHeader(name);
+        }
+
         Object answer = null;
 
         // we will exclude using JMS-prefixed headers here to avoid strangeness with some JMS providers
@@ -182,18 +221,47 @@ public class JmsMessage extends DefaultMessage {
         return answer;
     }
 
+    @Override
+    public Object getHeader(String name, Object defaultValue) {
+        if (isLazyHeaders()) {
+            Object answer = getLazyHeader(name);
+            return answer != null ? answer : defaultValue;
+        }
+        return super.getHeader(name, defaultValue);
+    }
+
     @Override
     public Map<String, Object> getHeaders() {
         ensureInitialHeaders();
         return super.getHeaders();
     }
 
+    @Override
+    public boolean hasHeaders() {
+        if (isLazyHeaders()) {
+            // the standard JMS headers is always present
+            return true;
+        }
+        return super.hasHeaders();
+    }
+
     @Override
     public Object removeHeader(String name) {
+        if (isLazyHeaders()) {
+            Object answer = getLazyHeader(name);
+            lazyHeaders().put(name, REMOVED);
+            return answer;
+        }
         ensureInitialHeaders();
         return super.removeHeader(name);
     }
 
+    @Override
+    public boolean removeHeaders(String pattern, String... excludePatterns) {
+        ensureInitialHeaders();
+        return super.removeHeaders(pattern, excludePatterns);
+    }
+
     @Override
     public void setHeaders(Map<String, Object> headers) {
         ensureInitialHeaders();
@@ -202,6 +270,10 @@ public class JmsMessage extends DefaultMessage {
 
     @Override
     public void setHeader(String name, Object value) {
+        if (isLazyHeaders()) {
+            lazyHeaders().put(name, value);
+            return;
+        }
         ensureInitialHeaders();
         super.setHeader(name, value);
     }
@@ -215,7 +287,7 @@ public class JmsMessage extends DefaultMessage {
      * Returns true if a new JMS message instance should be created to send to the next component
      */
     public boolean shouldCreateNewMessage() {
-        return super.hasPopulatedHeaders();
+        return super.hasPopulatedHeaders() || lazyHeaders != null;
     }
 
     /**
@@ -228,6 +300,49 @@ public class JmsMessage extends DefaultMessage {
             // new headers and set it on super
             super.setHeaders(createHeaders());
         }
+        if (lazyHeaders != null) {
+            // apply the headers which has been changed while lazy loading
+            Map<String, Object> changes = lazyHeaders;
+            lazyHeaders = null;
+            for (Map.Entry<String, Object> entry : changes.entrySet()) {
+                if (entry.getValue() == REMOVED) {
+                    super.removeHeader(entry.getKey());
+                } else {
+                    super.setHeader(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the headers is lazy loaded and has not yet been populated
+     */
+    protected boolean isLazyHeaders() {
+        return jmsMessage != null && !hasPopulatedHeaders() && isLazyLoadingOfHeaders();
+    }
+
+    private boolean isLazyLoadingOfHeaders() {
+        JmsBinding jmsBinding = getBinding();
+        return jmsBinding != null && jmsBinding.isLazyLoadingOfHeaders();
+    }
+
+    private Map<String, Object> lazyHeaders() {
+        if (lazyHeaders == null) {
+            lazyHeaders = new CaseInsensitiveMap();
+        }
+        return lazyHeaders;
+    }
+
+    private Object getLazyHeader(String name) {
+        if (lazyHeaders != null && lazyHeaders.containsKey(name)) {
+            Object answer = lazyHeaders.get(name);
+            return answer != REMOVED ? answer : null;
+        }
+        try {
+            return getBinding().extractHeaderFromJms(jmsMessage, name, getExchange());
+        } catch (JMSException e) {
+            throw new RuntimeExchangeException("Unable to retrieve header from JMS Message: " + name, getExchange(), e);
+        }
     }
 
     @Override
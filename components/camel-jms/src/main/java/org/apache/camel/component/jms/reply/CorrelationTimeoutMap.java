@@ -18,16 +18,19 @@ package org.apache.camel.component.jms.reply;
 
 import java.util.concurrent.ScheduledExecutorService;
 
-import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.TimingWheelTimeoutMap;
 
 /**
  * A {@link org.apache.camel.TimeoutMap} which is used to track reply messages which
  * has been timed out, and thus should trigger the waiting {@link org.apache.camel.Exchange} to
  * timeout as well.
+ * <p/>
+ * The correlation ids are expired using a timing wheel, so adding and removing correlation ids does not
+ * contend on a global lock, and timeouts are detected without scanning all the pending requests.
  *
  * @version 
  */
-public class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandler> {
+public class CorrelationTimeoutMap extends TimingWheelTimeoutMap<String, ReplyHandler> {
 
     private CorrelationListener listener;
 
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentAutoAcknowledge;
+
+/**
+ * @version 
+ */
+public class JmsLazyLoadingOfHeadersTest extends CamelTestSupport {
+
+    @Test
+    public void testLazyLoadingOfHeaders() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        mock.expectedHeaderReceived("foo", null);
+        mock.expectedHeaderReceived("bar", 123);
+        mock.expectedHeaderReceived("beer", "Carlsberg");
+        mock.expectedHeaderReceived("my-key", "dashed");
+        mock.expectedHeaderReceived("wasLazy", true);
+
+        Map<String, Object> headers = new HashMap<String, Object>();
+        headers.put("foo", "cheese");
+        headers.put("bar", 123);
+        headers.put("my-key", "dashed");
+
+        template.sendBodyAndHeaders("activemq:queue:foo", "Hello World", headers);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        JmsComponent jms = jmsComponentAutoAcknowledge(connectionFactory);
+        jms.setLazyLoadingOfHeaders(true);
+        camelContext.addComponent("activemq", jms);
+
+        return camelContext;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("activemq:queue:foo")
+                    .removeHeader("foo")
+                    .setHeader("beer", constant("Carlsberg"))
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            JmsMessage in = exchange.getIn(JmsMessage.class);
+                            // the headers is not populated but looked up in the JMS message
+                            boolean lazy = in.isLazyHeaders();
+                            assertEquals(123, in.getHeader("bar"));
+                            assertEquals("dashed", in.getHeader("my-key"));
+                            assertNotNull(in.getHeader("JMSMessageID"));
+                            assertNull(in.getHeader("foo"));
+                            assertEquals("Carlsberg", in.getHeader("beer"));
+                            in.setHeader("wasLazy", lazy && in.isLazyHeaders());
+                        }
+                    })
+                    .to("activemq:queue:bar");
+
+                from("activemq:queue:bar").to("mock:result");
+            }
+        };
+    }
+}
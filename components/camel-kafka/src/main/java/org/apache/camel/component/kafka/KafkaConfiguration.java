@@ -47,6 +47,16 @@ public class KafkaConfiguration {
     private int batchSize = 100;
     @UriParam(label = "consumer", defaultValue = "10000")
     private int barrierAwaitTimeoutMs = 10000;
+    @UriParam(label = "consumer")
+    private boolean partitionOrdered;
+    @UriParam(label = "consumer", defaultValue = "10")
+    private int partitionWorkers = 10;
+    @UriParam(label = "consumer", defaultValue = "2")
+    private int partitionInflightBatches = 2;
+    @UriParam(label = "consumer", defaultValue = "5000")
+    private long offsetCommitIntervalMs = 5000;
+    @UriParam(label = "consumer")
+    private int maxInflightExchanges;
 
     //Common configuration properties
     @UriParam
@@ -127,29 +137,34 @@ public class KafkaConfiguration {
     private String serializerClass;
     @UriParam(label = "producer")
     private String keySerializerClass;
+    @UriParam(label = "producer")
+    private Integer lingerMs;
+    @UriParam(label = "producer", defaultValue = "16384")
+    private Integer producerBatchSize;
+    @UriParam(label = "producer", defaultValue = "33554432")
+    private Long bufferMemorySize;
 
     public KafkaConfiguration() {
     }
 
     public Properties createProducerProperties() {
         Properties props = new Properties();
-        addPropertyIfNotNull(props, "request.required.acks", getRequestRequiredAcks());
-        addPropertyIfNotNull(props, "partitioner.class", getPartitioner());
-        addPropertyIfNotNull(props, "serializer.class", getSerializerClass());
-        addPropertyIfNotNull(props, "key.serializer.class", getKeySerializerClass());
-        addPropertyIfNotNull(props, "request.timeout.ms", getRequestTimeoutMs());
-        addPropertyIfNotNull(props, "producer.type", getProducerType());
-        addPropertyIfNotNull(props, "compression.codec", getCompressionCodec());
-        addPropertyIfNotNull(props, "compressed.topics", getCompressedTopics());
-        addPropertyIfNotNull(props, "message.send.max.retries", getMessageSendMaxRetries());
+        addPropertyIfNotNull(props, "acks", getRequestRequiredAcks());
+        addPropertyIfNotNull(props, "timeout.ms", getRequestTimeoutMs());
+        addPropertyIfNotNull(props, "compression.type", getCompressionCodec());
+        addPropertyIfNotNull(props, "retries", getMessageSendMaxRetries());
         addPropertyIfNotNull(props, "retry.backoff.ms", getRetryBackoffMs());
-        addPropertyIfNotNull(props, "topic.metadata.refresh.interval.ms", getTopicMetadataRefreshIntervalMs());
-        addPropertyIfNotNull(props, "queue.buffering.max.ms", getQueueBufferingMaxMs());
-        addPropertyIfNotNull(props, "queue.buffering.max.messages", getQueueBufferingMaxMessages());
-        addPropertyIfNotNull(props, "queue.enqueue.timeout.ms", getQueueEnqueueTimeoutMs());
-        addPropertyIfNotNull(props, "batch.num.messages", getBatchNumMessages());
+        addPropertyIfNotNull(props, "metadata.max.age.ms", getTopicMetadataRefreshIntervalMs());
         addPropertyIfNotNull(props, "send.buffer.bytes", getSendBufferBytes());
         addPropertyIfNotNull(props, "client.id", getClientId());
+        addPropertyIfNotNull(props, "batch.size", getProducerBatchSize());
+        addPropertyIfNotNull(props, "buffer.memory", getBufferMemorySize());
+        if (getLingerMs() != null) {
+            addPropertyIfNotNull(props, "linger.ms", getLingerMs());
+        } else if ("async".equals(getProducerType())) {
+            // the old async producer buffered the messages up till this time
+            addPropertyIfNotNull(props, "linger.ms", getQueueBufferingMaxMs());
+        }
         return props;
     }
 
@@ -261,6 +276,7 @@ public class KafkaConfiguration {
 
     /**
      * The partitioner class for partitioning messages amongst sub-topics. The default partitioner is based on the hash of the key.
+     * The partitioner is only used for messages with the partition key header.
      */
     public void setPartitioner(String partitioner) {
         this.partitioner = partitioner;
@@ -310,6 +326,66 @@ public class KafkaConfiguration {
         this.barrierAwaitTimeoutMs = barrierAwaitTimeoutMs;
     }
 
+    public boolean isPartitionOrdered() {
+        return partitionOrdered;
+    }
+
+    /**
+     * Whether to process the messages of each partition in order on a partition worker, with parallelism across partitions.
+     * When autoCommitEnable is false the offsets of each partition are committed independently once all the
+     * messages up to the offset have completed, so a slow partition does not hold back the commits of the others.
+     */
+    public void setPartitionOrdered(boolean partitionOrdered) {
+        this.partitionOrdered = partitionOrdered;
+    }
+
+    public int getPartitionWorkers() {
+        return partitionWorkers;
+    }
+
+    /**
+     * Number of threads which process the partitions when partitionOrdered is enabled.
+     */
+    public void setPartitionWorkers(int partitionWorkers) {
+        this.partitionWorkers = partitionWorkers;
+    }
+
+    public int getPartitionInflightBatches() {
+        return partitionInflightBatches;
+    }
+
+    /**
+     * Number of batches (of batchSize messages) which may be fetched but not yet completed per partition
+     * when partitionOrdered is enabled. The stream reading from the partition blocks when the limit is reached.
+     */
+    public void setPartitionInflightBatches(int partitionInflightBatches) {
+        this.partitionInflightBatches = partitionInflightBatches;
+    }
+
+    public long getOffsetCommitIntervalMs() {
+        return offsetCommitIntervalMs;
+    }
+
+    /**
+     * Interval in millis the completed offsets are committed when partitionOrdered is enabled.
+     * A partition is also committed as soon as batchSize messages have completed since its last commit.
+     */
+    public void setOffsetCommitIntervalMs(long offsetCommitIntervalMs) {
+        this.offsetCommitIntervalMs = offsetCommitIntervalMs;
+    }
+
+    public int getMaxInflightExchanges() {
+        return maxInflightExchanges;
+    }
+
+    /**
+     * When partitionOrdered is enabled, pause reading from the streams while the number of inflight exchanges
+     * of the route exceeds this threshold, and resume when it drops below. Zero or negative disables the check.
+     */
+    public void setMaxInflightExchanges(int maxInflightExchanges) {
+        this.maxInflightExchanges = maxInflightExchanges;
+    }
+
     public int getConsumersCount() {
         return consumersCount;
     }
@@ -552,8 +628,10 @@ public class KafkaConfiguration {
     /**
      * This parameter specifies whether the messages are sent asynchronously in a background thread.
      * Valid values are (1) async for asynchronous send and (2) sync for synchronous send.
-     * By setting the producer to async we allow batching together of requests (which is great for throughput)
-     * but open the possibility of a failure of the client machine dropping unsent data.
+     * When using sync the exchange is continued routed when the message has been acknowledged by the broker,
+     * which does not block the Camel thread, and the messages are batched according to lingerMs and producerBatchSize.
+     * When using async the exchange is continued routed when the message has been queued in the producer,
+     * which opens the possibility of a failure of the client machine dropping unsent data.
      */
     public void setProducerType(String producerType) {
         this.producerType = producerType;
@@ -579,7 +657,12 @@ public class KafkaConfiguration {
      * If the compression codec is anything other than NoCompressionCodec, enable compression only for specified topics if any.
      * If the list of compressed topics is empty, then enable the specified compression codec for all topics.
      * If the compression codec is NoCompressionCodec, compression is disabled for all topics
+     * <p/>
+     * This option was used by the old Scala producer, and is not in use anymore.
+     *
+     * @deprecated the producer uses the Kafka Java client, see lingerMs, producerBatchSize and bufferMemorySize
      */
+    @Deprecated
     public void setCompressedTopics(String compressedTopics) {
         this.compressedTopics = compressedTopics;
     }
@@ -679,6 +762,7 @@ public class KafkaConfiguration {
      * Maximum time to buffer data when using async mode.
      * For example a setting of 100 will try to batch together 100ms of messages to send at once.
      * This will improve throughput but adds message delivery latency due to the buffering.
+     * The lingerMs option takes precedence if configured.
      */
     public void setQueueBufferingMaxMs(Integer queueBufferingMaxMs) {
         this.queueBufferingMaxMs = queueBufferingMaxMs;
@@ -691,7 +775,12 @@ public class KafkaConfiguration {
     /**
      * The maximum number of unsent messages that can be queued up the producer when using async
      * mode before either the producer must be blocked or data must be dropped.
+     * <p/>
+     * This option was used by the old Scala producer, and is not in use anymore.
+     *
+     * @deprecated the producer uses the Kafka Java client, see lingerMs, producerBatchSize and bufferMemorySize
      */
+    @Deprecated
     public void setQueueBufferingMaxMessages(Integer queueBufferingMaxMessages) {
         this.queueBufferingMaxMessages = queueBufferingMaxMessages;
     }
@@ -704,7 +793,12 @@ public class KafkaConfiguration {
      * The amount of time to block before dropping messages when running in async mode and the buffer has reached
      * queue.buffering.max.messages. If set to 0 events will be enqueued immediately or dropped if the queue is full
      * (the producer send call will never block). If set to -1 the producer will block indefinitely and never willingly drop a send.
+     * <p/>
+     * This option was used by the old Scala producer, and is not in use anymore.
+     *
+     * @deprecated the producer uses the Kafka Java client, see lingerMs, producerBatchSize and bufferMemorySize
      */
+    @Deprecated
     public void setQueueEnqueueTimeoutMs(Integer queueEnqueueTimeoutMs) {
         this.queueEnqueueTimeoutMs = queueEnqueueTimeoutMs;
     }
@@ -716,7 +810,12 @@ public class KafkaConfiguration {
     /**
      * The number of messages to send in one batch when using async mode.
      * The producer will wait until either this number of messages are ready to send or queue.buffer.max.ms is reached.
+     * <p/>
+     * This option was used by the old Scala producer, and is not in use anymore.
+     *
+     * @deprecated the producer uses the Kafka Java client, see lingerMs, producerBatchSize and bufferMemorySize
      */
+    @Deprecated
     public void setBatchNumMessages(Integer batchNumMessages) {
         this.batchNumMessages = batchNumMessages;
     }
@@ -728,6 +827,8 @@ public class KafkaConfiguration {
     /**
      * The serializer class for messages. The default encoder takes a byte[] and returns the same byte[].
      * The default class is kafka.serializer.DefaultEncoder
+     * <p/>
+     * The class can either be a kafka.serializer.Encoder or a org.apache.kafka.common.serialization.Serializer.
      */
     public void setSerializerClass(String serializerClass) {
         this.serializerClass = serializerClass;
@@ -743,4 +844,39 @@ public class KafkaConfiguration {
     public void setKeySerializerClass(String keySerializerClass) {
         this.keySerializerClass = keySerializerClass;
     }
+
+    public Integer getLingerMs() {
+        return lingerMs;
+    }
+
+    /**
+     * The time in millis the producer waits for more messages to arrive, so they can be sent together in a batch.
+     * This adds latency, but fewer and larger requests improves the throughput.
+     * As the exchanges are continued routed when the messages has been acknowledged then the Camel threads are not blocked while waiting.
+     */
+    public void setLingerMs(Integer lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    public Integer getProducerBatchSize() {
+        return producerBatchSize;
+    }
+
+    /**
+     * The producer batches the messages to the same partition together up till this size in bytes.
+     */
+    public void setProducerBatchSize(Integer producerBatchSize) {
+        this.producerBatchSize = producerBatchSize;
+    }
+
+    public Long getBufferMemorySize() {
+        return bufferMemorySize;
+    }
+
+    /**
+     * The total bytes of memory the producer can use to buffer messages waiting to be sent to the server.
+     */
+    public void setBufferMemorySize(Long bufferMemorySize) {
+        this.bufferMemorySize = bufferMemorySize;
+    }
 }
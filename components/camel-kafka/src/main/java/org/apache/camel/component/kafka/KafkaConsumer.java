@@ -20,11 +20,20 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import kafka.consumer.ConsumerConfig;
 import kafka.consumer.ConsumerIterator;
@@ -32,8 +41,13 @@ import kafka.consumer.ConsumerTimeoutException;
 import kafka.consumer.KafkaStream;
 import kafka.javaapi.consumer.ConsumerConnector;
 import kafka.message.MessageAndMetadata;
+import kafka.utils.ZKGroupTopicDirs;
+import kafka.utils.ZKStringSerializer$;
+import kafka.utils.ZkUtils;
+import org.I0Itec.zkclient.ZkClient;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.Route;
 import org.apache.camel.impl.DefaultConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +63,11 @@ public class KafkaConsumer extends DefaultConsumer {
     private final KafkaEndpoint endpoint;
     private final Processor processor;
     private Map<ConsumerConnector, CyclicBarrier> consumerBarriers;
+    private ExecutorService partitionExecutor;
+    private ScheduledExecutorService offsetCommitExecutor;
+    private ZkClient zkClient;
+    private final ConcurrentMap<Integer, PartitionWorker> partitionWorkers = new ConcurrentHashMap<Integer, PartitionWorker>();
+    private volatile String routeId;
 
     public KafkaConsumer(KafkaEndpoint endpoint, Processor processor) {
         super(endpoint, processor);
@@ -75,13 +94,30 @@ public class KafkaConsumer extends DefaultConsumer {
         super.doStart();
         log.info("Starting Kafka consumer");
         executor = endpoint.createExecutor();
+        boolean commitOffsets = endpoint.isAutoCommitEnable() != null && !endpoint.isAutoCommitEnable();
+        if (endpoint.isPartitionOrdered()) {
+            partitionExecutor = endpoint.createPartitionExecutor();
+            if (commitOffsets) {
+                int sessionTimeout = endpoint.getZookeeperSessionTimeoutMs() != null ? endpoint.getZookeeperSessionTimeoutMs() : 6000;
+                int connectionTimeout = endpoint.getZookeeperConnectionTimeoutMs() != null ? endpoint.getZookeeperConnectionTimeoutMs() : sessionTimeout;
+                zkClient = new ZkClient(endpoint.getZookeeperConnect(), sessionTimeout, connectionTimeout, ZKStringSerializer$.MODULE$);
+                offsetCommitExecutor = endpoint.createOffsetCommitExecutor();
+                long interval = endpoint.getOffsetCommitIntervalMs();
+                offsetCommitExecutor.scheduleWithFixedDelay(new PartitionCommitTask(true), interval, interval, TimeUnit.MILLISECONDS);
+            }
+        }
         for (int i = 0; i < endpoint.getConsumersCount(); i++) {
             ConsumerConnector consumer = kafka.consumer.Consumer.createJavaConsumerConnector(new ConsumerConfig(getProps()));
             Map<String, Integer> topicCountMap = new HashMap<String, Integer>();
             topicCountMap.put(endpoint.getTopic(), endpoint.getConsumerStreams());
             Map<String, List<KafkaStream<byte[], byte[]>>> consumerMap = consumer.createMessageStreams(topicCountMap);
             List<KafkaStream<byte[], byte[]>> streams = consumerMap.get(endpoint.getTopic());
-            if (endpoint.isAutoCommitEnable() != null && !endpoint.isAutoCommitEnable()) {
+            if (endpoint.isPartitionOrdered()) {
+                for (final KafkaStream<byte[], byte[]> stream : streams) {
+                    executor.submit(new PartitionDispatchTask(stream));
+                }
+                consumerBarriers.put(consumer, null);
+            } else if (commitOffsets) {
                 if ((endpoint.getConsumerTimeoutMs() == null || endpoint.getConsumerTimeoutMs().intValue() < 0)
                         && endpoint.getConsumerStreams() > 1) {
                     LOG.warn("consumerTimeoutMs is set to -1 (infinite) while requested multiple consumer streams.");
@@ -118,6 +154,209 @@ public class KafkaConsumer extends DefaultConsumer {
             }
         }
         executor = null;
+        if (partitionExecutor != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(partitionExecutor);
+            partitionExecutor = null;
+        }
+        if (offsetCommitExecutor != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(offsetCommitExecutor);
+            offsetCommitExecutor = null;
+        }
+        if (zkClient != null) {
+            // commit what has completed so far, anything still queued is redelivered on next start
+            commitPartitionOffsets(true);
+            zkClient.close();
+            zkClient = null;
+        }
+        partitionWorkers.clear();
+        consumerBarriers.clear();
+    }
+
+    /**
+     * Writes the offset following the last completed message of each partition into the ZooKeeper offset path
+     * of the consumer group, which is where the high level consumer resumes from.
+     */
+    synchronized void commitPartitionOffsets(boolean force) {
+        if (zkClient == null) {
+            return;
+        }
+        ZKGroupTopicDirs dirs = new ZKGroupTopicDirs(endpoint.getGroupId(), endpoint.getTopic());
+        for (PartitionWorker worker : partitionWorkers.values()) {
+            if (!force && !worker.isCommitDue()) {
+                continue;
+            }
+            long offset = worker.completedOffset;
+            if (offset > worker.committedOffset) {
+                worker.completedSinceCommit.set(0);
+                ZkUtils.updatePersistentPath(zkClient, dirs.consumerOffsetDir() + "/" + worker.partition, Long.toString(offset + 1));
+                worker.committedOffset = offset;
+                LOG.trace("Committed offset {} of partition {}", offset + 1, worker.partition);
+            }
+        }
+    }
+
+    private boolean isInflightLimitExceeded() {
+        int max = endpoint.getMaxInflightExchanges();
+        if (max <= 0) {
+            return false;
+        }
+        String id = routeId;
+        if (id == null) {
+            for (Route route : endpoint.getCamelContext().getRoutes()) {
+                if (route.getConsumer() == this) {
+                    id = route.getId();
+                    routeId = id;
+                    break;
+                }
+            }
+            if (id == null) {
+                return false;
+            }
+        }
+        return endpoint.getCamelContext().getInflightRepository().size(id) >= max;
+    }
+
+    private PartitionWorker getPartitionWorker(int partition) {
+        PartitionWorker worker = partitionWorkers.get(partition);
+        if (worker == null) {
+            PartitionWorker created = new PartitionWorker(partition);
+            worker = partitionWorkers.putIfAbsent(partition, created);
+            if (worker == null) {
+                worker = created;
+            }
+        }
+        return worker;
+    }
+
+    /**
+     * Reads a stream and hands each message to the worker of its partition.
+     * Blocks when the worker has partitionInflightBatches batches outstanding,
+     * and pauses while the route has more than maxInflightExchanges inflight exchanges.
+     */
+    class PartitionDispatchTask implements Runnable {
+
+        private final KafkaStream<byte[], byte[]> stream;
+
+        public PartitionDispatchTask(KafkaStream<byte[], byte[]> stream) {
+            this.stream = stream;
+        }
+
+        public void run() {
+            ConsumerIterator<byte[], byte[]> it = stream.iterator();
+            while (isRunAllowed()) {
+                try {
+                    while (isInflightLimitExceeded() && isRunAllowed()) {
+                        // pause until the route catches up, the connector stops fetching once its queue is full
+                        Thread.sleep(100);
+                    }
+                    if (!it.hasNext()) {
+                        break;
+                    }
+                    MessageAndMetadata<byte[], byte[]> mm = it.next();
+                    getPartitionWorker(mm.partition()).dispatch(mm);
+                } catch (ConsumerTimeoutException e) {
+                    LOG.debug(e.getMessage(), e);
+                } catch (InterruptedException e) {
+                    LOG.debug("Interrupted while dispatching messages from the stream", e);
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Processes the messages of a single partition in order. The worker runs on the partition executor
+     * at most once at a time, and gives up its thread after batchSize messages so all partitions get a fair share.
+     */
+    class PartitionWorker implements Runnable {
+
+        private final int partition;
+        private final Queue<MessageAndMetadata<byte[], byte[]>> queue = new ConcurrentLinkedQueue<MessageAndMetadata<byte[], byte[]>>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicInteger completedSinceCommit = new AtomicInteger();
+        private final Semaphore capacity;
+        private volatile long completedOffset = -1;
+        private long committedOffset = -1;
+
+        PartitionWorker(int partition) {
+            this.partition = partition;
+            this.capacity = new Semaphore(Math.max(1, endpoint.getBatchSize() * endpoint.getPartitionInflightBatches()));
+        }
+
+        void dispatch(MessageAndMetadata<byte[], byte[]> mm) throws InterruptedException {
+            capacity.acquire();
+            queue.add(mm);
+            schedule();
+        }
+
+        boolean isCommitDue() {
+            return completedSinceCommit.get() >= endpoint.getBatchSize();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    partitionExecutor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // stopping
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        public void run() {
+            int count = 0;
+            MessageAndMetadata<byte[], byte[]> mm;
+            while (count < endpoint.getBatchSize() && isRunAllowed() && (mm = queue.poll()) != null) {
+                Exchange exchange = endpoint.createKafkaExchange(mm);
+                try {
+                    processor.process(exchange);
+                } catch (Exception e) {
+                    exchange.setException(e);
+                }
+                if (exchange.getException() != null) {
+                    getExceptionHandler().handleException("Error processing message at offset " + mm.offset() + " of partition " + partition,
+                            exchange, exchange.getException());
+                }
+                completedOffset = mm.offset();
+                capacity.release();
+                count++;
+            }
+            scheduled.set(false);
+            if (!queue.isEmpty() && isRunAllowed()) {
+                schedule();
+            }
+            if (completedSinceCommit.addAndGet(count) >= endpoint.getBatchSize() && offsetCommitExecutor != null) {
+                try {
+                    offsetCommitExecutor.execute(new PartitionCommitTask());
+                } catch (RejectedExecutionException e) {
+                    // stopping
+                }
+            }
+        }
+    }
+
+    class PartitionCommitTask implements Runnable {
+
+        private final boolean force;
+
+        PartitionCommitTask() {
+            this(false);
+        }
+
+        PartitionCommitTask(boolean force) {
+            this.force = force;
+        }
+
+        @Override
+        public void run() {
+            try {
+                commitPartitionOffsets(force);
+            } catch (Exception e) {
+                LOG.warn("Error committing partition offsets to ZooKeeper", e);
+            }
+        }
     }
 
     class BatchingConsumerTask implements Runnable {
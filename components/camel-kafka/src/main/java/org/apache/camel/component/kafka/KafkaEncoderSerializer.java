@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.Map;
+
+import kafka.serializer.Encoder;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Adapts a {@link Encoder} from the old Scala producer to a {@link Serializer} of the Kafka Java client,
+ * so the existing serializerClass and keySerializerClass options can still be used.
+ */
+public class KafkaEncoderSerializer<T> implements Serializer<T> {
+
+    private final Encoder<T> encoder;
+
+    public KafkaEncoderSerializer(Encoder<T> encoder) {
+        this.encoder = encoder;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        // noop
+    }
+
+    @Override
+    public byte[] serialize(String topic, T data) {
+        return data != null ? encoder.toBytes(data) : null;
+    }
+
+    @Override
+    public void close() {
+        // noop
+    }
+}
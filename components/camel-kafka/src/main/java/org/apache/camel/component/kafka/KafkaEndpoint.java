@@ -17,6 +17,7 @@
 package org.apache.camel.component.kafka;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 
 import kafka.message.MessageAndMetadata;
 import org.apache.camel.Consumer;
@@ -94,6 +95,14 @@ public class KafkaEndpoint extends DefaultEndpoint implements MultipleConsumersS
         return getCamelContext().getExecutorServiceManager().newFixedThreadPool(this, "KafkaTopic[" + configuration.getTopic() + "]", configuration.getConsumerStreams());
     }
 
+    public ExecutorService createPartitionExecutor() {
+        return getCamelContext().getExecutorServiceManager().newFixedThreadPool(this, "KafkaPartition[" + configuration.getTopic() + "]", configuration.getPartitionWorkers());
+    }
+
+    public ScheduledExecutorService createOffsetCommitExecutor() {
+        return getCamelContext().getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "KafkaOffsetCommit[" + configuration.getTopic() + "]");
+    }
+
     public Exchange createKafkaExchange(MessageAndMetadata<byte[], byte[]> mm) {
         Exchange exchange = new DefaultExchange(this, getExchangePattern());
 
@@ -196,6 +205,46 @@ public class KafkaEndpoint extends DefaultEndpoint implements MultipleConsumersS
         this.configuration.setBarrierAwaitTimeoutMs(barrierAwaitTimeoutMs);
     }
 
+    public boolean isPartitionOrdered() {
+        return configuration.isPartitionOrdered();
+    }
+
+    public void setPartitionOrdered(boolean partitionOrdered) {
+        configuration.setPartitionOrdered(partitionOrdered);
+    }
+
+    public int getPartitionWorkers() {
+        return configuration.getPartitionWorkers();
+    }
+
+    public void setPartitionWorkers(int partitionWorkers) {
+        configuration.setPartitionWorkers(partitionWorkers);
+    }
+
+    public int getPartitionInflightBatches() {
+        return configuration.getPartitionInflightBatches();
+    }
+
+    public void setPartitionInflightBatches(int partitionInflightBatches) {
+        configuration.setPartitionInflightBatches(partitionInflightBatches);
+    }
+
+    public long getOffsetCommitIntervalMs() {
+        return configuration.getOffsetCommitIntervalMs();
+    }
+
+    public void setOffsetCommitIntervalMs(long offsetCommitIntervalMs) {
+        configuration.setOffsetCommitIntervalMs(offsetCommitIntervalMs);
+    }
+
+    public int getMaxInflightExchanges() {
+        return configuration.getMaxInflightExchanges();
+    }
+
+    public void setMaxInflightExchanges(int maxInflightExchanges) {
+        configuration.setMaxInflightExchanges(maxInflightExchanges);
+    }
+
     public int getConsumersCount() {
         return this.configuration.getConsumersCount();
     }
@@ -420,6 +469,30 @@ public class KafkaEndpoint extends DefaultEndpoint implements MultipleConsumersS
         configuration.setBatchNumMessages(batchNumMessages);
     }
 
+    public Integer getLingerMs() {
+        return configuration.getLingerMs();
+    }
+
+    public void setLingerMs(Integer lingerMs) {
+        configuration.setLingerMs(lingerMs);
+    }
+
+    public Integer getProducerBatchSize() {
+        return configuration.getProducerBatchSize();
+    }
+
+    public void setProducerBatchSize(Integer producerBatchSize) {
+        configuration.setProducerBatchSize(producerBatchSize);
+    }
+
+    public Long getBufferMemorySize() {
+        return configuration.getBufferMemorySize();
+    }
+
+    public void setBufferMemorySize(Long bufferMemorySize) {
+        configuration.setBufferMemorySize(bufferMemorySize);
+    }
+
     public int getSendBufferBytes() {
         return configuration.getSendBufferBytes();
     }
@@ -16,22 +16,41 @@
  */
 package org.apache.camel.component.kafka;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import kafka.javaapi.producer.Producer;
-import kafka.producer.KeyedMessage;
-import kafka.producer.ProducerConfig;
-import org.apache.camel.CamelException;
+import kafka.producer.DefaultPartitioner;
+import kafka.producer.Partitioner;
+import kafka.serializer.Encoder;
+import kafka.utils.VerifiableProperties;
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
-import org.apache.camel.impl.DefaultProducer;
+import org.apache.camel.Message;
+import org.apache.camel.impl.DefaultAsyncProducer;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.Serializer;
 
 /**
- *
+ * The Kafka producer which sends the messages using the Kafka Java client.
+ * <p/>
+ * The producer is asynchronous, where the exchange is continued routed from the completion callback
+ * of the Kafka client, so the Kafka client can batch the messages without blocking the Camel threads.
+ * A message body which is a {@link Iterable} or {@link Iterator} is sent as multiple messages.
  */
-public class KafkaProducer<K, V> extends DefaultProducer {
+public class KafkaProducer<K, V> extends DefaultAsyncProducer {
 
     protected Producer<K, V> producer;
+    // hashes the partition key by default, as the old producer did
+    protected Partitioner partitioner = new DefaultPartitioner(null);
     private final KafkaEndpoint endpoint;
 
     public KafkaProducer(KafkaEndpoint endpoint) {
@@ -49,7 +68,7 @@ public class KafkaProducer<K, V> extends DefaultProducer {
     Properties getProps() {
         Properties props = endpoint.getConfiguration().createProducerProperties();
         if (endpoint.getBrokers() != null) {
-            props.put("metadata.broker.list", endpoint.getBrokers());
+            props.put("bootstrap.servers", endpoint.getBrokers());
         }
         return props;
     }
@@ -57,13 +76,103 @@ public class KafkaProducer<K, V> extends DefaultProducer {
     @Override
     protected void doStart() throws Exception {
         Properties props = getProps();
-        ProducerConfig config = new ProducerConfig(props);
-        producer = new Producer<K, V>(config);
+
+        // the old options for the serializer and partitioner classes are still supported
+        KafkaConfiguration configuration = endpoint.getConfiguration();
+        Properties legacy = new Properties();
+        legacy.putAll(props);
+        if (configuration.getPartitioner() != null) {
+            legacy.put("partitioner.class", configuration.getPartitioner());
+        }
+        VerifiableProperties verifiable = new VerifiableProperties(legacy);
+
+        String valueClassName = configuration.getSerializerClass();
+        if (valueClassName == null) {
+            valueClassName = KafkaConstants.KAFKA_DEFAULT_ENCODER;
+        }
+        String keyClassName = configuration.getKeySerializerClass();
+        if (keyClassName == null) {
+            keyClassName = valueClassName;
+        }
+        Serializer<K> keySerializer = createSerializer(keyClassName, verifiable, props, true);
+        Serializer<V> valueSerializer = createSerializer(valueClassName, verifiable, props, false);
+
+        if (configuration.getPartitioner() != null) {
+            Object answer = createInstance(configuration.getPartitioner(), verifiable);
+            if (!(answer instanceof Partitioner)) {
+                throw new IllegalArgumentException("The partitioner " + configuration.getPartitioner() + " is not a " + Partitioner.class.getName());
+            }
+            partitioner = (Partitioner) answer;
+        }
+
+        producer = new org.apache.kafka.clients.producer.KafkaProducer<K, V>(props, keySerializer, valueSerializer);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Serializer<T> createSerializer(String className, VerifiableProperties verifiable, Properties props, boolean isKey) throws Exception {
+        Object answer = createInstance(className, verifiable);
+        if (answer instanceof Serializer) {
+            Serializer<T> serializer = (Serializer<T>) answer;
+            serializer.configure((Map) props, isKey);
+            return serializer;
+        } else if (answer instanceof Encoder) {
+            return new KafkaEncoderSerializer<T>((Encoder<T>) answer);
+        }
+        throw new IllegalArgumentException("The serializer " + className + " is not a " + Serializer.class.getName() + " or " + Encoder.class.getName());
+    }
+
+    private Object createInstance(String className, VerifiableProperties verifiable) throws Exception {
+        Class<?> type = endpoint.getCamelContext().getClassResolver().resolveMandatoryClass(className);
+        try {
+            // the encoders and partitioners of the old producer takes the properties in the constructor
+            return type.getConstructor(VerifiableProperties.class).newInstance(verifiable);
+        } catch (NoSuchMethodException e) {
+            return endpoint.getCamelContext().getInjector().newInstance(type);
+        }
     }
 
     @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        List<ProducerRecord<K, V>> records;
+        try {
+            records = createRecords(exchange);
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+        if (records.isEmpty()) {
+            // nothing to send
+            callback.done(true);
+            return true;
+        }
+
+        boolean sync = "sync".equals(endpoint.getConfiguration().getProducerType());
+        SendCompletion completion = new SendCompletion(exchange, sync ? callback : null, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                producer.send(records.get(i), completion.callbackFor(i));
+            } catch (Exception e) {
+                // the remaining records are not sent
+                completion.failed(e, records.size() - i);
+                break;
+            }
+        }
+
+        if (sync) {
+            // the exchange is continued from the callback of the kafka producer
+            return false;
+        }
+        // async mode where we continue when the records has been queued in the producer
+        if (completion.failure != null) {
+            exchange.setException(completion.failure);
+        }
+        callback.done(true);
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
-    public void process(Exchange exchange) throws CamelException {
+    protected List<ProducerRecord<K, V>> createRecords(Exchange exchange) throws Exception {
         String topic = endpoint.getTopic();
         if (!endpoint.isBridgeEndpoint()) {
             topic = exchange.getIn().getHeader(KafkaConstants.TOPIC, endpoint.getTopic(), String.class);
@@ -71,26 +180,101 @@ public class KafkaProducer<K, V> extends DefaultProducer {
         if (topic == null) {
             throw new CamelExchangeException("No topic key set", exchange);
         }
-        K partitionKey = (K) exchange.getIn().getHeader(KafkaConstants.PARTITION_KEY);
-        boolean hasPartitionKey = partitionKey != null;
-
+        Object partitionKey = exchange.getIn().getHeader(KafkaConstants.PARTITION_KEY);
         K messageKey = (K) exchange.getIn().getHeader(KafkaConstants.KEY);
-        boolean hasMessageKey = messageKey != null;
+        if (partitionKey == null && messageKey == null) {
+            log.warn("No message key or partition key set");
+        }
 
-        V msg = (V) exchange.getIn().getBody();
-        KeyedMessage<K, V> data;
+        // the partition key selects the partition, and is used as the message key if no key has been set
+        Integer partition = null;
+        if (partitionKey != null) {
+            partition = partitioner.partition(partitionKey, producer.partitionsFor(topic).size());
+        }
+        K key = messageKey != null ? messageKey : (K) partitionKey;
+
+        Object body = exchange.getIn().getBody();
+        Iterator<?> it = null;
+        if (body instanceof Iterable) {
+            it = ((Iterable<?>) body).iterator();
+        } else if (body instanceof Iterator) {
+            it = (Iterator<?>) body;
+        }
 
-        if (hasPartitionKey && hasMessageKey) {
-            data = new KeyedMessage<K, V>(topic, messageKey, partitionKey, msg);
-        } else if (hasPartitionKey) {
-            data = new KeyedMessage<K, V>(topic, partitionKey, msg);
-        } else if (hasMessageKey) {
-            data = new KeyedMessage<K, V>(topic, messageKey, msg);
+        List<ProducerRecord<K, V>> answer = new ArrayList<ProducerRecord<K, V>>(it != null ? 16 : 1);
+        if (it != null) {
+            while (it.hasNext()) {
+                answer.add(new ProducerRecord<K, V>(topic, partition, key, (V) it.next()));
+            }
         } else {
-            log.warn("No message key or partition key set");
-            data = new KeyedMessage<K, V>(topic, messageKey, partitionKey, msg);
+            answer.add(new ProducerRecord<K, V>(topic, partition, key, (V) body));
+        }
+        return answer;
+    }
+
+    /**
+     * Tracks the completion of the records sent for an exchange, and continues routing the exchange
+     * when all the records has been completed.
+     */
+    private final class SendCompletion {
+
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+        private final RecordMetadata[] metadata;
+        private final AtomicInteger remaining;
+        private volatile Exception failure;
+
+        private SendCompletion(Exchange exchange, AsyncCallback callback, int size) {
+            this.exchange = exchange;
+            this.callback = callback;
+            this.metadata = new RecordMetadata[size];
+            this.remaining = new AtomicInteger(size);
+        }
+
+        Callback callbackFor(final int index) {
+            return new Callback() {
+                @Override
+                public void onCompletion(RecordMetadata recordMetadata, Exception e) {
+                    if (e != null) {
+                        failed(e, 1);
+                    } else {
+                        metadata[index] = recordMetadata;
+                        completed(1);
+                    }
+                }
+            };
+        }
+
+        void failed(Exception e, int count) {
+            if (failure == null) {
+                failure = e;
+            }
+            completed(count);
+        }
+
+        private void completed(int count) {
+            if (remaining.addAndGet(-count) > 0) {
+                return;
+            }
+            if (callback == null) {
+                // async mode where the exchange has already been continued
+                if (failure != null) {
+                    log.warn("Error sending message to Kafka for exchange " + exchange.getExchangeId() + " due " + failure.getMessage(), failure);
+                }
+                return;
+            }
+            if (failure != null) {
+                exchange.setException(failure);
+            } else {
+                Message message = exchange.hasOut() ? exchange.getOut() : exchange.getIn();
+                message.setHeader(KafkaConstants.RECORD_METADATA, Arrays.asList(metadata));
+                if (metadata.length == 1) {
+                    message.setHeader(KafkaConstants.PARTITION, metadata[0].partition());
+                    message.setHeader(KafkaConstants.OFFSET, metadata[0].offset());
+                }
+            }
+            callback.done(false);
         }
-        producer.send(data);
     }
 
 }
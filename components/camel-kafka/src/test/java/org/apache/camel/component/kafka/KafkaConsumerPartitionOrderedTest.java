@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import kafka.javaapi.producer.Producer;
+import kafka.producer.KeyedMessage;
+import kafka.producer.ProducerConfig;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.EndpointInject;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KafkaConsumerPartitionOrderedTest extends BaseEmbeddedKafkaTest {
+
+    public static final String TOPIC = "ordered";
+
+    @EndpointInject(uri = "kafka:localhost:{{karfkaPort}}?topic=" + TOPIC
+            + "&zookeeperHost=localhost"
+            + "&zookeeperPort={{zookeeperPort}}"
+            + "&groupId=group2"
+            + "&autoOffsetReset=smallest"
+            + "&autoCommitEnable=false"
+            + "&partitionOrdered=true"
+            + "&partitionWorkers=4"
+            + "&batchSize=5"
+            + "&offsetCommitIntervalMs=500"
+            + "&maxInflightExchanges=10"
+            + "&consumerTimeoutMs=300"
+    )
+    private Endpoint from;
+
+    @EndpointInject(uri = "mock:result")
+    private MockEndpoint to;
+
+    private Producer<String, String> producer;
+
+    @Before
+    public void before() {
+        Properties props = new Properties();
+        props.put("metadata.broker.list", "localhost:" + getKarfkaPort());
+        props.put("serializer.class", "kafka.serializer.StringEncoder");
+        props.put("partitioner.class", "org.apache.camel.component.kafka.SimplePartitioner");
+        props.put("request.required.acks", "1");
+
+        ProducerConfig config = new ProducerConfig(props);
+        producer = new Producer<String, String>(config);
+    }
+
+    @After
+    public void after() {
+        producer.close();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(from).to(to);
+            }
+        };
+    }
+
+    @Test
+    public void kafkaMessagesOfPartitionAreConsumedInOrder() throws Exception {
+        List<String> bodies = new ArrayList<String>();
+        for (int k = 0; k < 20; k++) {
+            bodies.add("m" + k);
+        }
+        to.expectedBodiesReceived(bodies);
+        for (String body : bodies) {
+            // same key so all messages go to the same partition
+            producer.send(new KeyedMessage<String, String>(TOPIC, "1", body));
+        }
+        to.assertIsSatisfied(5000);
+
+        to.reset();
+        // the completed offsets are committed on stop, so nothing is consumed again
+        from.getCamelContext().stop();
+        from.getCamelContext().start();
+
+        to.expectedMessageCount(0);
+        to.setAssertPeriod(2000);
+        to.assertIsSatisfied();
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.camel.component.kafka;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,9 +33,12 @@ import kafka.consumer.KafkaStream;
 import kafka.javaapi.consumer.ConsumerConnector;
 import org.apache.camel.Endpoint;
 import org.apache.camel.EndpointInject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
 import org.apache.camel.Produce;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -51,11 +55,15 @@ public class KafkaProducerFullTest extends BaseEmbeddedKafkaTest {
     private static final String TOPIC_BYTES_IN_HEADER = "testBytesHeader";
     private static final String GROUP_STRINGS = "groupStrings";
     private static final String GROUP_BYTES = "groupStrings";
+    private static final String TOPIC_LIST = "testList";
+    private static final String TOPIC_LIST_IN_HEADER = "testListHeader";
+    private static final String GROUP_LIST = "groupList";
 
     private static final Logger LOG = LoggerFactory.getLogger(KafkaProducerFullTest.class);
 
     private static ConsumerConnector stringsConsumerConn;
     private static ConsumerConnector bytesConsumerConn;
+    private static ConsumerConnector listConsumerConn;
 
     @EndpointInject(uri = "kafka:localhost:{{karfkaPort}}?topic=" + TOPIC_STRINGS
         + "&partitioner=org.apache.camel.component.kafka.SimplePartitioner&serializerClass=kafka.serializer.StringEncoder"
@@ -89,12 +97,18 @@ public class KafkaProducerFullTest extends BaseEmbeddedKafkaTest {
         bytesProps.putAll(stringsProps);
         bytesProps.put("group.id", GROUP_BYTES);
         bytesConsumerConn = kafka.consumer.Consumer.createJavaConsumerConnector(new ConsumerConfig(bytesProps));
+
+        Properties listProps = new Properties();
+        listProps.putAll(stringsProps);
+        listProps.put("group.id", GROUP_LIST);
+        listConsumerConn = kafka.consumer.Consumer.createJavaConsumerConnector(new ConsumerConfig(listProps));
     }
 
     @AfterClass
     public static void after() {
         stringsConsumerConn.shutdown();
         bytesConsumerConn.shutdown();
+        listConsumerConn.shutdown();
     }
 
     @Override
@@ -161,6 +175,35 @@ public class KafkaProducerFullTest extends BaseEmbeddedKafkaTest {
         assertTrue("Not all messages were published to the kafka topics. Not received: " + messagesLatch.getCount(), allMessagesReceived);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void producedListMessageIsReceivedByKafka() throws InterruptedException, IOException {
+        CountDownLatch messagesLatch = new CountDownLatch(3);
+
+        Map<String, Integer> topicCountMap = new HashMap<String, Integer>();
+        topicCountMap.put(TOPIC_LIST, 5);
+        topicCountMap.put(TOPIC_LIST_IN_HEADER, 5);
+        createKafkaMessageConsumer(listConsumerConn, TOPIC_LIST, TOPIC_LIST_IN_HEADER, messagesLatch, topicCountMap);
+
+        Exchange exchange = stringsTemplate.send(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setHeader(KafkaConstants.TOPIC, TOPIC_LIST);
+                exchange.getIn().setHeader(KafkaConstants.KEY, "1");
+                exchange.getIn().setBody(Arrays.asList("IT test message 1", "IT test message 2", "IT test message 3"));
+            }
+        });
+        assertNull(exchange.getException());
+
+        // the metadata of the records is returned
+        List<RecordMetadata> metadata = exchange.getIn().getHeader(KafkaConstants.RECORD_METADATA, List.class);
+        assertEquals(3, metadata.size());
+        assertEquals(TOPIC_LIST, metadata.get(0).topic());
+
+        boolean allMessagesReceived = messagesLatch.await(2000, TimeUnit.MILLISECONDS);
+
+        assertTrue("Not all messages were published to the kafka topics. Not received: " + messagesLatch.getCount(), allMessagesReceived);
+    }
+
     private void createKafkaMessageConsumer(ConsumerConnector consumerConn, String topic, String topicInHeader,
                                             CountDownLatch messagesLatch, Map<String, Integer> topicCountMap) {
         Map<String, List<KafkaStream<byte[], byte[]>>> consumerMap = consumerConn.createMessageStreams(topicCountMap);
@@ -16,20 +16,34 @@
  */
 package org.apache.camel.component.kafka;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
-import kafka.javaapi.producer.Producer;
-import kafka.producer.KeyedMessage;
+import kafka.producer.DefaultPartitioner;
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelException;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.impl.DefaultMessage;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 public class KafkaProducerTest {
 
@@ -39,20 +53,39 @@ public class KafkaProducerTest {
     private Exchange exchange = Mockito.mock(Exchange.class);
     private Message in = new DefaultMessage();
 
-    @SuppressWarnings({"unchecked"})
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public KafkaProducerTest() throws Exception {
         endpoint = new KafkaEndpoint("kafka:broker1:1234,broker2:4567?topic=sometopic", null);
         endpoint.setBrokers("broker1:1234,broker2:4567");
         producer = new KafkaProducer(endpoint);
         producer.producer = Mockito.mock(Producer.class);
+
+        PartitionInfo partition = new PartitionInfo("sometopic", 0, new Node(0, "broker1", 1234), new Node[0], new Node[0]);
+        Mockito.when(producer.producer.partitionsFor(Matchers.anyString())).thenReturn(Arrays.asList(partition, partition));
+
+        // complete the sends as the broker would do
+        Mockito.when(producer.producer.send(Matchers.any(ProducerRecord.class), Matchers.any(Callback.class))).thenAnswer(new Answer<Object>() {
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                ProducerRecord record = (ProducerRecord) invocation.getArguments()[0];
+                Callback callback = (Callback) invocation.getArguments()[1];
+                callback.onCompletion(new RecordMetadata(new TopicPartition(record.topic(), 1), 42, 0), null);
+                return null;
+            }
+        });
     }
 
     @Test
     public void testPropertyBuilder() throws Exception {
         endpoint.setPartitioner("com.sksamuel.someclass");
         Properties props = producer.getProps();
-        assertEquals("com.sksamuel.someclass", props.getProperty("partitioner.class"));
-        assertEquals("broker1:1234,broker2:4567", props.getProperty("metadata.broker.list"));
+        assertEquals("broker1:1234,broker2:4567", props.getProperty("bootstrap.servers"));
+        assertNull(props.getProperty("linger.ms"));
+
+        endpoint.setLingerMs(5);
+        endpoint.setProducerBatchSize(32768);
+        props = producer.getProps();
+        assertEquals("5", props.getProperty("linger.ms"));
+        assertEquals("32768", props.getProperty("batch.size"));
     }
 
     @Test
@@ -64,7 +97,58 @@ public class KafkaProducerTest {
 
         producer.process(exchange);
 
-        Mockito.verify(producer.producer).send(Matchers.any(KeyedMessage.class));
+        Mockito.verify(producer.producer).send(Matchers.any(ProducerRecord.class), Matchers.any(Callback.class));
+        assertEquals(1, in.getHeader(KafkaConstants.PARTITION));
+        assertEquals(42L, in.getHeader(KafkaConstants.OFFSET));
+        assertNotNull(in.getHeader(KafkaConstants.RECORD_METADATA));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void processSendsListAsMultipleMessages() throws Exception {
+        endpoint.setTopic("sometopic");
+        Mockito.when(exchange.getIn()).thenReturn(in);
+        in.setHeader(KafkaConstants.KEY, "someKey");
+        in.setBody(Arrays.asList("a", "b", "c"));
+
+        producer.process(exchange);
+
+        ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        Mockito.verify(producer.producer, Mockito.times(3)).send(captor.capture(), Matchers.any(Callback.class));
+        assertEquals("a", captor.getAllValues().get(0).value());
+        assertEquals("c", captor.getAllValues().get(2).value());
+        assertEquals(3, ((List) in.getHeader(KafkaConstants.RECORD_METADATA)).size());
+        assertNull(in.getHeader(KafkaConstants.OFFSET));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void processIsAsynchronous() throws Exception {
+        endpoint.setTopic("sometopic");
+        Mockito.when(exchange.getIn()).thenReturn(in);
+        in.setHeader(KafkaConstants.KEY, "someKey");
+
+        // do not complete the send until later
+        final Callback[] pending = new Callback[1];
+        Mockito.doAnswer(new Answer<Object>() {
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                pending[0] = (Callback) invocation.getArguments()[1];
+                return null;
+            }
+        }).when(producer.producer).send(Matchers.any(ProducerRecord.class), Matchers.any(Callback.class));
+        final boolean[] done = new boolean[1];
+        boolean sync = producer.process(exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                done[0] = true;
+            }
+        });
+        assertFalse(sync);
+        assertFalse(done[0]);
+
+        Exception cause = new IllegalStateException("Forced");
+        pending[0].onCompletion(null, cause);
+        assertEquals(true, done[0]);
+        Mockito.verify(exchange).setException(cause);
     }
 
     @Test
@@ -92,12 +176,14 @@ public class KafkaProducerTest {
         verifySendMessage("4", "anotherTopic", "someKey");
     }
 
-    @Test(expected = CamelException.class)
+    @Test
     public void processRequiresTopicInEndpointOrInHeader() throws Exception {
         endpoint.setTopic(null);
         Mockito.when(exchange.getIn()).thenReturn(in);
         in.setHeader(KafkaConstants.PARTITION_KEY, "4");
         producer.process(exchange);
+
+        Mockito.verify(exchange).setException(Matchers.isA(CamelException.class));
     }
 
     @Test
@@ -118,6 +204,23 @@ public class KafkaProducerTest {
         verifySendMessage("4", "someTopic", "4");
     }
 
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void processSendsMesssageWithPartitionKeyAndMessageKeyHeader() throws Exception {
+        endpoint.setTopic("someTopic");
+        Mockito.when(exchange.getIn()).thenReturn(in);
+        in.setHeader(KafkaConstants.PARTITION_KEY, "5");
+        in.setHeader(KafkaConstants.KEY, "someKey");
+
+        producer.process(exchange);
+
+        // the partition is selected by the partition key and not by the message key
+        ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        Mockito.verify(producer.producer).send(captor.capture(), Matchers.any(Callback.class));
+        assertEquals(Integer.valueOf(Math.abs("5".hashCode()) % 2), captor.getValue().partition());
+        assertEquals("someKey", captor.getValue().key());
+    }
+
     @Test
     public void processSendsMesssageWithMessageKeyHeader() throws Exception {
         endpoint.setTopic("someTopic");
@@ -144,9 +247,14 @@ public class KafkaProducerTest {
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected void verifySendMessage(String partitionKey, String topic, String messageKey) {
-        ArgumentCaptor<KeyedMessage> captor = ArgumentCaptor.forClass(KeyedMessage.class);
-        Mockito.verify(producer.producer).send(captor.capture());
-        assertEquals(partitionKey, captor.getValue().partitionKey());
+        ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        Mockito.verify(producer.producer).send(captor.capture(), Matchers.any(Callback.class));
+        // the partition is only selected when the partition key header is set
+        Integer partition = null;
+        if (in.getHeader(KafkaConstants.PARTITION_KEY) != null) {
+            partition = new DefaultPartitioner(null).partition(partitionKey, 2);
+        }
+        assertEquals(partition, captor.getValue().partition());
         assertEquals(messageKey, captor.getValue().key());
         assertEquals(topic, captor.getValue().topic());
     }
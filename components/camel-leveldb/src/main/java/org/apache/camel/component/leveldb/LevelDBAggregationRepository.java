@@ -25,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.spi.ExchangeHolderCodec;
 import org.apache.camel.spi.RecoverableAggregationRepository;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.IOHelper;
@@ -32,7 +33,6 @@ import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ServiceHelper;
 import org.fusesource.hawtbuf.Buffer;
 import org.iq80.leveldb.DBIterator;
-import org.iq80.leveldb.WriteBatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,6 +48,9 @@ public class LevelDBAggregationRepository extends ServiceSupport implements Reco
     private String persistentFileName;
     private String repositoryName;
     private boolean sync;
+    private boolean groupCommit;
+    private long groupCommitInterval;
+    private int groupCommitMaxOperations = 1000;
     private boolean returnOldExchange;
     private LevelDBCamelCodec codec = new LevelDBCamelCodec();
     private long recoveryInterval = 5000;
@@ -110,7 +113,7 @@ public class LevelDBAggregationRepository extends ServiceSupport implements Reco
             }
 
             LOG.trace("Adding key index {} for repository {}", key, repositoryName);
-            levelDBFile.getDb().put(lDbKey, exchangeBuffer.toByteArray(), levelDBFile.getWriteOptions());
+            levelDBFile.write(new LevelDBWriteOperations().put(lDbKey, exchangeBuffer.toByteArray()));
             LOG.trace("Added key index {}", key);
 
             if (rc == null) {
@@ -159,20 +162,16 @@ public class LevelDBAggregationRepository extends ServiceSupport implements Reco
             byte[] rc = levelDBFile.getDb().get(lDbKey);
 
             if (rc != null) {
-                WriteBatch batch = levelDBFile.getDb().createWriteBatch();
-                try {
-                    batch.delete(lDbKey);
-                    LOG.trace("Removed key index {} -> {}", key, new Buffer(rc));
-
-                    // add exchange to confirmed index
-                    byte[] confirmedLDBKey = keyBuilder(getRepositoryNameCompleted(), exchangeId);
-                    batch.put(confirmedLDBKey, exchangeBuffer.toByteArray());
-                    LOG.trace("Added confirm index {} for repository {}", exchangeId, getRepositoryNameCompleted());
-
-                    levelDBFile.getDb().write(batch, levelDBFile.getWriteOptions());
-                } finally {
-                    batch.close();
-                }
+                LevelDBWriteOperations operations = new LevelDBWriteOperations();
+                operations.delete(lDbKey);
+                LOG.trace("Removed key index {} -> {}", key, new Buffer(rc));
+
+                // add exchange to confirmed index
+                byte[] confirmedLDBKey = keyBuilder(getRepositoryNameCompleted(), exchangeId);
+                operations.put(confirmedLDBKey, exchangeBuffer.toByteArray());
+                LOG.trace("Added confirm index {} for repository {}", exchangeId, getRepositoryNameCompleted());
+
+                levelDBFile.write(operations);
             } else {
                 LOG.warn("Unable to remove key {} from repository {}: Not Found", key, repositoryName);
             }
@@ -190,7 +189,7 @@ public class LevelDBAggregationRepository extends ServiceSupport implements Reco
         byte[] rc = levelDBFile.getDb().get(confirmedLDBKey);
 
         if (rc != null) {
-            levelDBFile.getDb().delete(confirmedLDBKey);
+            levelDBFile.write(new LevelDBWriteOperations().delete(confirmedLDBKey));
             LOG.trace("Removed confirm index {} -> {}", exchangeId, new Buffer(rc));
         } else {
             LOG.warn("Unable to confirm exchangeId [{}]", exchangeId + " from repository " + repositoryName + ": Not Found");
@@ -346,6 +345,46 @@ public class LevelDBAggregationRepository extends ServiceSupport implements Reco
         this.sync = sync;
     }
 
+    public ExchangeHolderCodec getExchangeHolderCodec() {
+        return codec.getExchangeHolderCodec();
+    }
+
+    /**
+     * Sets the codec used for writing the exchanges, which is by default a compact binary codec.
+     * Use <tt>null</tt> to write the exchanges using Java serialization as older versions did.
+     * Exchanges written using Java serialization can always be read.
+     */
+    public void setExchangeHolderCodec(ExchangeHolderCodec exchangeHolderCodec) {
+        this.codec = new LevelDBCamelCodec(exchangeHolderCodec);
+    }
+
+    public boolean isGroupCommit() {
+        return groupCommit;
+    }
+
+    /**
+     * Whether to use group commit when using a persistentFileName, so concurrent writes share a single sync.
+     */
+    public void setGroupCommit(boolean groupCommit) {
+        this.groupCommit = groupCommit;
+    }
+
+    public long getGroupCommitInterval() {
+        return groupCommitInterval;
+    }
+
+    public void setGroupCommitInterval(long groupCommitInterval) {
+        this.groupCommitInterval = groupCommitInterval;
+    }
+
+    public int getGroupCommitMaxOperations() {
+        return groupCommitMaxOperations;
+    }
+
+    public void setGroupCommitMaxOperations(int groupCommitMaxOperations) {
+        this.groupCommitMaxOperations = groupCommitMaxOperations;
+    }
+
     public boolean isReturnOldExchange() {
         return returnOldExchange;
     }
@@ -405,6 +444,9 @@ public class LevelDBAggregationRepository extends ServiceSupport implements Reco
         if (levelDBFile == null && persistentFileName != null) {
             levelDBFile = new LevelDBFile();
             levelDBFile.setSync(isSync());
+            levelDBFile.setGroupCommit(isGroupCommit());
+            levelDBFile.setGroupCommitInterval(getGroupCommitInterval());
+            levelDBFile.setGroupCommitMaxOperations(getGroupCommitMaxOperations());
             levelDBFile.setFileName(persistentFileName);
         }
 
@@ -24,6 +24,7 @@ import org.apache.camel.util.IOHelper;
 import org.iq80.leveldb.CompressionType;
 import org.iq80.leveldb.DB;
 import org.iq80.leveldb.Options;
+import org.iq80.leveldb.WriteBatch;
 import org.iq80.leveldb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +36,9 @@ import static org.fusesource.leveldbjni.JniDBFactory.factory;
  * <p/>
  * Will by default not sync writes which allows it to be faster.
  * You can force syncing by setting the sync option to <tt>true</tt>.
+ * <p/>
+ * When syncing, then the group commit option can be enabled, so the writes from concurrent callers
+ * are written together in one batch using a single sync.
  */
 public class LevelDBFile implements Service {
 
@@ -51,6 +55,10 @@ public class LevelDBFile implements Service {
     private boolean paranoidChecks;
     private long cacheSize = 32 << 20;
     private boolean sync;
+    private boolean groupCommit;
+    private long groupCommitInterval;
+    private int groupCommitMaxOperations = 1000;
+    private volatile LevelDBGroupCommit groupCommitWriter;
 
     public DB getDb() {
         return db;
@@ -144,6 +152,67 @@ public class LevelDBFile implements Service {
         this.sync = sync;
     }
 
+    public boolean isGroupCommit() {
+        return groupCommit;
+    }
+
+    /**
+     * Whether to use group commit, where the writes of concurrent callers are written together in a single batch,
+     * and each caller waits until its batch has been written. This is useful together with <tt>sync</tt>
+     * as many writes then share the same sync.
+     */
+    public void setGroupCommit(boolean groupCommit) {
+        this.groupCommit = groupCommit;
+    }
+
+    public long getGroupCommitInterval() {
+        return groupCommitInterval;
+    }
+
+    /**
+     * The time in millis to wait for more writes before a group commit is written.
+     * <p/>
+     * Is default 0, which groups the writes that have been queued while the previous group was written.
+     */
+    public void setGroupCommitInterval(long groupCommitInterval) {
+        this.groupCommitInterval = groupCommitInterval;
+    }
+
+    public int getGroupCommitMaxOperations() {
+        return groupCommitMaxOperations;
+    }
+
+    /**
+     * The maximum number of put and delete operations to write in a single group commit.
+     * <p/>
+     * Is default 1000.
+     */
+    public void setGroupCommitMaxOperations(int groupCommitMaxOperations) {
+        this.groupCommitMaxOperations = groupCommitMaxOperations;
+    }
+
+    /**
+     * Writes the operations atomically, using a group commit if enabled.
+     */
+    void write(LevelDBWriteOperations operations) {
+        LevelDBGroupCommit writer = groupCommitWriter;
+        if (writer != null) {
+            writer.write(operations);
+        } else if (operations.size() == 1 && operations.getValue(0) != null) {
+            db.put(operations.getKey(0), operations.getValue(0), getWriteOptions());
+        } else if (operations.size() == 1) {
+            db.delete(operations.getKey(0), getWriteOptions());
+        } else {
+            WriteBatch batch = db.createWriteBatch();
+            try {
+                operations.applyTo(batch);
+                db.write(batch, getWriteOptions());
+            } finally {
+                IOHelper.close(batch);
+            }
+        }
+    }
+
     public WriteOptions getWriteOptions() {
         WriteOptions options = new WriteOptions();
         options.sync(sync);
@@ -176,12 +245,21 @@ public class LevelDBFile implements Service {
         } catch (IOException ioe) {
             throw new RuntimeException("Error opening LevelDB with file " + getFile(), ioe);
         }
+
+        if (groupCommit) {
+            groupCommitWriter = new LevelDBGroupCommit(getFile().getName(), db, getWriteOptions(), groupCommitInterval, groupCommitMaxOperations);
+            groupCommitWriter.start();
+        }
     }
 
     public void stop() {
         File file = getFile();
 
         LOG.debug("Stopping LevelDB using file: {}", file);
+        if (groupCommitWriter != null) {
+            groupCommitWriter.stop();
+            groupCommitWriter = null;
+        }
         if (db != null) {
             IOHelper.close(db);
             db = null;
@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.leveldb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
+import org.apache.camel.util.concurrent.ThreadHelper;
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.WriteBatch;
+import org.iq80.leveldb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the operations of concurrent callers using group commit, where the operations which are
+ * queued while the previous batch is being written (and synced), are written together in a single {@link WriteBatch}.
+ * <p/>
+ * This allows durable writes to scale with the number of concurrent callers, instead of the latency of
+ * flushing to disk, as many callers share the same sync.
+ */
+final class LevelDBGroupCommit implements Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LevelDBGroupCommit.class);
+
+    private final BlockingQueue<LevelDBWriteOperations> queue = new LinkedBlockingQueue<LevelDBWriteOperations>();
+    private final DB db;
+    private final WriteOptions writeOptions;
+    private final long interval;
+    private final int maxOperations;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    LevelDBGroupCommit(String name, DB db, WriteOptions writeOptions, long interval, int maxOperations) {
+        this.db = db;
+        this.writeOptions = writeOptions;
+        this.interval = interval;
+        this.maxOperations = maxOperations;
+        this.thread = new CamelThreadFactory(ThreadHelper.DEFAULT_PATTERN, "LevelDBGroupCommit[" + name + "]", true).newThread(this);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(30000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // fail any operations which was not written
+        List<LevelDBWriteOperations> pending = new ArrayList<LevelDBWriteOperations>();
+        queue.drainTo(pending);
+        for (LevelDBWriteOperations operations : pending) {
+            operations.done(new IllegalStateException("LevelDB is stopping"));
+        }
+    }
+
+    /**
+     * Writes the operations and waits until they have been written in a group commit.
+     */
+    void write(LevelDBWriteOperations operations) {
+        if (!running) {
+            throw new IllegalStateException("LevelDB is not started");
+        }
+        queue.add(operations);
+        if (!running && queue.remove(operations)) {
+            // stopped while adding so the operations will not be written
+            operations.done(new IllegalStateException("LevelDB is stopping"));
+        }
+        operations.await();
+    }
+
+    @Override
+    public void run() {
+        List<LevelDBWriteOperations> group = new ArrayList<LevelDBWriteOperations>();
+        while (running) {
+            try {
+                LevelDBWriteOperations first = queue.poll(1000, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                collect(group, first.size());
+            } catch (InterruptedException e) {
+                if (group.isEmpty()) {
+                    continue;
+                }
+            }
+            writeGroup(group);
+            group.clear();
+        }
+    }
+
+    private void collect(List<LevelDBWriteOperations> group, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(interval);
+        while (count < maxOperations) {
+            LevelDBWriteOperations next;
+            if (interval > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } else {
+                // no window so take what has been queued while the previous group was written
+                next = queue.poll();
+            }
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+            count += next.size();
+        }
+    }
+
+    private void writeGroup(List<LevelDBWriteOperations> group) {
+        Throwable failure = null;
+        WriteBatch batch = db.createWriteBatch();
+        try {
+            for (LevelDBWriteOperations operations : group) {
+                operations.applyTo(batch);
+            }
+            db.write(batch, writeOptions);
+            LOG.trace("Group commit of {} writes", group.size());
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            IOHelper.close(batch);
+        }
+        for (LevelDBWriteOperations operations : group) {
+            operations.done(failure);
+        }
+    }
+}
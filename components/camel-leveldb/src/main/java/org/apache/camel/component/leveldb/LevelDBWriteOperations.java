@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.leveldb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.iq80.leveldb.WriteBatch;
+
+/**
+ * The put and delete operations of a single caller, which is written atomically to LevelDB.
+ * <p/>
+ * When using group commit the operations of many callers are written in the same {@link WriteBatch},
+ * and the caller waits until the batch has been written.
+ */
+final class LevelDBWriteOperations {
+
+    private final List<byte[]> keys = new ArrayList<byte[]>(2);
+    // a null value is a delete
+    private final List<byte[]> values = new ArrayList<byte[]>(2);
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile Throwable failure;
+
+    LevelDBWriteOperations put(byte[] key, byte[] value) {
+        keys.add(key);
+        values.add(value);
+        return this;
+    }
+
+    LevelDBWriteOperations delete(byte[] key) {
+        keys.add(key);
+        values.add(null);
+        return this;
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    byte[] getKey(int index) {
+        return keys.get(index);
+    }
+
+    byte[] getValue(int index) {
+        return values.get(index);
+    }
+
+    void applyTo(WriteBatch batch) {
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] value = values.get(i);
+            if (value != null) {
+                batch.put(keys.get(i), value);
+            } else {
+                batch.delete(keys.get(i));
+            }
+        }
+    }
+
+    void done(Throwable failure) {
+        this.failure = failure;
+        done.countDown();
+    }
+
+    /**
+     * Waits until the operations has been written.
+     *
+     * @throws RuntimeException is thrown if the operations could not be written
+     */
+    void await() {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    // we must wait for the outcome of the write as its already in progress
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure != null) {
+            throw new RuntimeException("Error writing to LevelDB", failure);
+        }
+    }
+}
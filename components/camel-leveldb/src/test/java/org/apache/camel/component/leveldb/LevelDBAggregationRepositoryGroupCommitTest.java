@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.leveldb;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+public class LevelDBAggregationRepositoryGroupCommitTest extends CamelTestSupport {
+
+    private LevelDBAggregationRepository repo;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        deleteDirectory("target/data");
+        File file = new File("target/data/leveldb.dat");
+        LevelDBFile levelDBFile = new LevelDBFile();
+        levelDBFile.setFile(file);
+        levelDBFile.setSync(true);
+        levelDBFile.setGroupCommit(true);
+
+        // the repository starts and stops the file
+        repo = new LevelDBAggregationRepository("repo1", levelDBFile);
+        repo.start();
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        repo.stop();
+        super.tearDown();
+    }
+
+    @Test
+    public void testConcurrentGroupCommit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<Future<Object>> futures = new ArrayList<Future<Object>>();
+        for (int i = 0; i < 200; i++) {
+            final int index = i;
+            futures.add(executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    Exchange exchange = new DefaultExchange(context);
+                    exchange.getIn().setBody("counter:" + index);
+                    repo.add(context, "foo" + index, exchange);
+                    if (index % 2 == 0) {
+                        repo.remove(context, "foo" + index, exchange);
+                        repo.confirm(context, exchange.getExchangeId());
+                    }
+                    return null;
+                }
+            }));
+        }
+        for (Future<Object> future : futures) {
+            future.get();
+        }
+        executor.shutdownNow();
+
+        assertEquals(100, repo.getKeys().size());
+        for (int i = 0; i < 200; i++) {
+            Exchange actual = repo.get(context, "foo" + i);
+            if (i % 2 == 0) {
+                assertNull(actual);
+            } else {
+                assertEquals("counter:" + i, actual.getIn().getBody());
+            }
+        }
+        assertEquals(0, repo.scan(context).size());
+    }
+
+}
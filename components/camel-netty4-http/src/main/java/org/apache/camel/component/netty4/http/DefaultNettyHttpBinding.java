@@ -30,6 +30,7 @@ import java.util.Locale;
 import java.util.Map;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
@@ -47,6 +48,7 @@ import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.component.netty4.NettyConstants;
 import org.apache.camel.component.netty4.NettyConverter;
+import org.apache.camel.component.netty4.NettyPayloadHelper;
 import org.apache.camel.spi.HeaderFilterStrategy;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.IOHelper;
@@ -89,7 +91,10 @@ public class DefaultNettyHttpBinding implements NettyHttpBinding, Cloneable {
             populateCamelHeaders(request, answer.getHeaders(), exchange, configuration);
         }
 
-        if (configuration.isDisableStreamCache()) {
+        if (configuration.isZeroCopy()) {
+            // keep the buffer as is without copying, and release it when the exchange is done
+            answer.setBody(NettyPayloadHelper.retainUntilDone(exchange, request.content()));
+        } else if (configuration.isDisableStreamCache()) {
             // keep the body as is, and use type converters
             answer.setBody(request.content());
         } else {
@@ -347,6 +352,13 @@ public class DefaultNettyHttpBinding implements NettyHttpBinding, Cloneable {
 
         if (body instanceof ByteBuf) {
             buffer = (ByteBuf) body;
+            if (configuration.isZeroCopy() && cause == null) {
+                // the buffer is owned by the exchange, so write a retained duplicate as netty releases what it writes
+                buffer = NettyPayloadHelper.retainedDuplicate(buffer);
+            }
+        } else if (configuration.isZeroCopy() && cause == null && body instanceof byte[]) {
+            // wrap the array instead of copying it, as zero copy mode allows to share the data with the exchange
+            buffer = Unpooled.wrappedBuffer((byte[]) body);
         } else {
             // try to convert to buffer first
             buffer = message.getBody(ByteBuf.class);
@@ -455,6 +467,13 @@ public class DefaultNettyHttpBinding implements NettyHttpBinding, Cloneable {
             ByteBuf buffer;
             if (body instanceof ByteBuf) {
                 buffer = (ByteBuf) body;
+                if (configuration.isZeroCopy()) {
+                    // the buffer is owned by the exchange, so write a retained duplicate as netty releases what it writes
+                    buffer = NettyPayloadHelper.retainedDuplicate(buffer);
+                }
+            } else if (configuration.isZeroCopy() && body instanceof byte[]) {
+                // wrap the array instead of copying it, as zero copy mode allows to share the data with the exchange
+                buffer = Unpooled.wrappedBuffer((byte[]) body);
             } else {
                 // try to convert to buffer first
                 buffer = message.getBody(ByteBuf.class);
@@ -25,6 +25,7 @@ import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
 import org.apache.camel.component.netty4.NettyConfiguration;
 import org.apache.camel.component.netty4.NettyConstants;
+import org.apache.camel.component.netty4.NettyPayloadHelper;
 import org.apache.camel.component.netty4.NettyProducer;
 
 
@@ -96,7 +97,12 @@ public class NettyHttpProducer extends NettyProducer {
                     // Need to retain the ByteBuffer for producer to consumer
                     // TODO Remove this part of ByteBuffer right away
                     if (response != null) {
-                        response.content().retain();
+                        if (getConfiguration().isZeroCopy()) {
+                            // the content is used as-is as the message body, so release it when the exchange is done
+                            NettyPayloadHelper.retainUntilDone(exchange, response.content());
+                        } else {
+                            response.content().retain();
+                        }
                         // the actual url is stored on the IN message in the getRequestBody method as its accessed on-demand
                         String actualUrl = exchange.getIn().getHeader(Exchange.HTTP_URL, String.class);
                         int code = response.getStatus() != null ? response.getStatus().code() : -1;
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty4.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class NettyHttpZeroCopyProxyTest extends BaseNettyTest {
+
+    private int port1;
+    private int port2;
+
+    @Test
+    public void testZeroCopyProxy() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:proxy");
+        mock.expectedMessageCount(2);
+        mock.expectedHeaderValuesReceivedInAnyOrder("proxyBody", "World", "Camel");
+
+        String reply = template.requestBody("netty4-http:http://localhost:" + port1 + "/foo", "World", String.class);
+        assertEquals("Bye World", reply);
+
+        reply = template.requestBody("netty4-http:http://localhost:" + port1 + "/foo", "Camel", String.class);
+        assertEquals("Bye Camel", reply);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                port1 = getPort();
+                port2 = getNextPort();
+
+                from("netty4-http:http://localhost:" + port1 + "/foo?zeroCopy=true")
+                        .process(new Processor() {
+                            @Override
+                            public void process(Exchange exchange) throws Exception {
+                                // the body should be the raw netty buffer and not copied into a stream cache or byte array,
+                                // so check it while the exchange still holds a reference to the buffer
+                                ByteBuf buffer = assertIsInstanceOf(ByteBuf.class, exchange.getIn().getBody());
+                                assertTrue(buffer.refCnt() > 0);
+                                exchange.getIn().setHeader("proxyBody", buffer.toString(CharsetUtil.UTF_8));
+                            }
+                        })
+                        .to("mock:proxy")
+                        .to("netty4-http:http://localhost:" + port2 + "/bar?bridgeEndpoint=true&throwExceptionOnFailure=false&zeroCopy=true");
+
+                from("netty4-http:http://localhost:" + port2 + "/bar")
+                        .process(new Processor() {
+                            @Override
+                            public void process(Exchange exchange) throws Exception {
+                                String body = exchange.getIn().getBody(String.class);
+                                exchange.getOut().setBody("Bye " + body);
+                            }
+                        });
+            }
+        };
+    }
+
+}
@@ -98,6 +98,8 @@ public class NettyConfiguration extends NettyServerBootstrapConfiguration implem
     private boolean useByteBuf;
     @UriParam
     private boolean udpByteArrayCodec;
+    @UriParam
+    private boolean zeroCopy;
     
 
     /**
@@ -623,6 +625,20 @@ public class NettyConfiguration extends NettyServerBootstrapConfiguration implem
         this.udpByteArrayCodec = udpByteArrayCodec;
     }
 
+    public boolean isZeroCopy() {
+        return zeroCopy;
+    }
+
+    /**
+     * If enabled then received {@link ByteBuf} payloads are carried as-is as the message body (without copying them
+     * into byte arrays) and released when the unit of work of the exchange is done. {@link ByteBuf} bodies are
+     * then also written as-is (using a retained duplicate) when sending, which allows passing data through from
+     * a Netty consumer to a Netty producer without copying.
+     */
+    public void setZeroCopy(boolean zeroCopy) {
+        this.zeroCopy = zeroCopy;
+    }
+
     private static <T> void addToHandlersList(List<T> configured, List<T> handlers, Class<T> handlerType) {
         if (handlers != null) {
             for (T handler : handlers) {
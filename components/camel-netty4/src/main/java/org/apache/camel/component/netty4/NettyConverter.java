@@ -21,6 +21,7 @@ import java.io.InputStream;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXSource;
@@ -85,6 +86,13 @@ public final class NettyConverter {
         return buf;
     }
 
+    @Converter
+    public static ByteBuf toByteBuffer(ByteBuffer buffer) {
+        ByteBuf buf = ByteBufAllocator.DEFAULT.buffer(buffer.remaining());
+        buf.writeBytes(buffer.duplicate());
+        return buf;
+    }
+
     @Converter
     public static ByteBuf toByteBuffer(String s, Exchange exchange) {
         byte[] bytes;
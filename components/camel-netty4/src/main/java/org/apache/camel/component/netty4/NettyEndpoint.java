@@ -23,6 +23,7 @@ import javax.net.ssl.SSLPeerUnverifiedException;
 import javax.net.ssl.SSLSession;
 import javax.security.cert.X509Certificate;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.ssl.SslHandler;
 
@@ -65,6 +66,10 @@ public class NettyEndpoint extends DefaultEndpoint {
     public Exchange createExchange(ChannelHandlerContext ctx, Object message) throws Exception {
         Exchange exchange = createExchange();
         updateMessageHeader(exchange.getIn(), ctx);
+        if (configuration.isZeroCopy() && message instanceof ByteBuf) {
+            // keep the buffer alive beyond the channel handler as its used as-is as the message body
+            NettyPayloadHelper.retainUntilDone(exchange, (ByteBuf) message);
+        }
         NettyPayloadHelper.setIn(exchange, message);
         return exchange;
     }
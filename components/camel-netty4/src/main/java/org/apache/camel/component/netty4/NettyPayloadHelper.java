@@ -19,9 +19,12 @@ package org.apache.camel.component.netty4;
 import java.net.InetSocketAddress;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.AddressedEnvelope;
+import io.netty.util.ReferenceCountUtil;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultExchangeHolder;
+import org.apache.camel.support.SynchronizationAdapter;
 
 /**
  * Helper to get and set the correct payload when transferring data using camel-netty.
@@ -43,12 +46,20 @@ public final class NettyPayloadHelper {
             // we should transfer the entire exchange over the wire (includes in/out)
             return DefaultExchangeHolder.marshal(exchange);
         } else {
-            if (endpoint.getConfiguration().isUseByteBuf()) {
+            Object body = exchange.getIn().getBody();
+            if (endpoint.getConfiguration().isZeroCopy() && body instanceof ByteBuf) {
+                // the buffer is owned by the exchange, so write a retained duplicate as netty releases what it writes
+                return retainedDuplicate((ByteBuf) body);
+            } else if (endpoint.getConfiguration().isUseByteBuf()) {
+                if (endpoint.getConfiguration().isZeroCopy() && body instanceof byte[]) {
+                    // wrap the array instead of copying it, as zero copy mode allows to share the data with the exchange
+                    return Unpooled.wrappedBuffer((byte[]) body);
+                }
                 // Just leverage the type converter 
                 return exchange.getIn().getBody(ByteBuf.class);
             } else {
                 // normal transfer using the body only
-                return exchange.getIn().getBody();
+                return body;
             }
         }
     }
@@ -58,8 +69,13 @@ public final class NettyPayloadHelper {
             // we should transfer the entire exchange over the wire (includes in/out)
             return DefaultExchangeHolder.marshal(exchange);
         } else {
+            Object body = exchange.getOut().getBody();
+            if (endpoint.getConfiguration().isZeroCopy() && body instanceof ByteBuf) {
+                // the buffer is owned by the exchange, so write a retained duplicate as netty releases what it writes
+                return retainedDuplicate((ByteBuf) body);
+            }
             // normal transfer using the body only
-            return exchange.getOut().getBody();
+            return body;
         }
     }
 
@@ -107,6 +123,52 @@ public final class NettyPayloadHelper {
             exchange.getOut().setBody(payload);
         }
     }
-    
+
+    /**
+     * Retains the given buffer so it can be used as message body beyond the scope of the netty channel handler,
+     * and releases it again when the unit of work of the exchange is done.
+     *
+     * @param exchange the exchange which owns the buffer
+     * @param buffer   the buffer
+     * @return the buffer
+     */
+    public static ByteBuf retainUntilDone(Exchange exchange, ByteBuf buffer) {
+        buffer.retain();
+        exchange.addOnCompletion(new ReleaseOnCompletion(buffer));
+        return buffer;
+    }
+
+    /**
+     * Creates a duplicate of the given buffer which shares its content (no copy) but has its own reader and writer index,
+     * and retains it, so the duplicate can be written (and thereby released) by netty without affecting the owner.
+     *
+     * @param buffer the buffer
+     * @return the retained duplicate
+     */
+    public static ByteBuf retainedDuplicate(ByteBuf buffer) {
+        return buffer.duplicate().retain();
+    }
+
+    /**
+     * Releases a reference counted object when the exchange is done.
+     */
+    private static final class ReleaseOnCompletion extends SynchronizationAdapter {
+
+        private final Object msg;
+
+        private ReleaseOnCompletion(Object msg) {
+            this.msg = msg;
+        }
+
+        @Override
+        public void onDone(Exchange exchange) {
+            ReferenceCountUtil.release(msg);
+        }
+
+        @Override
+        public String toString() {
+            return "ReleaseOnCompletion[" + msg + "]";
+        }
+    }
 
 }
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.netty4.handlers;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -214,6 +215,9 @@ public class ClientChannelHandler extends SimpleChannelInboundHandler<Object> {
         // if textline enabled then covert to a String which must be used for textline
         if (producer.getConfiguration().isTextline()) {
             body = producer.getContext().getTypeConverter().mandatoryConvertTo(String.class, exchange, message);
+        } else if (producer.getConfiguration().isZeroCopy() && body instanceof ByteBuf) {
+            // keep the buffer alive beyond the channel handler as its used as-is as the message body
+            NettyPayloadHelper.retainUntilDone(exchange, (ByteBuf) body);
         }
 
         // set the result on either IN or OUT on the original exchange depending on its pattern
@@ -16,8 +16,11 @@
  */
 package org.apache.camel.component.netty4;
 
+import java.nio.ByteBuffer;
+
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.CharsetUtil;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.test.junit4.CamelTestSupport;
 import org.junit.Before;
@@ -57,4 +60,22 @@ public class NettyConverterTest extends CamelTestSupport {
         assertEquals(PAYLOAD, result);
     }
 
+    @Test
+    public void testConversionToByteBufCopiesData() {
+        byte[] bytes = PAYLOAD.getBytes();
+        ByteBuf result = context.getTypeConverter().convertTo(ByteBuf.class, bytes);
+        ByteBuf copied = context.getTypeConverter().convertTo(ByteBuf.class, ByteBuffer.wrap(bytes));
+        try {
+            assertNotNull(result);
+            assertNotNull(copied);
+            // changing the array afterwards must not change the converted buffers
+            bytes[0] = 'X';
+            assertEquals(PAYLOAD, result.toString(CharsetUtil.UTF_8));
+            assertEquals(PAYLOAD, copied.toString(CharsetUtil.UTF_8));
+        } finally {
+            result.release();
+            copied.release();
+        }
+    }
+
 }
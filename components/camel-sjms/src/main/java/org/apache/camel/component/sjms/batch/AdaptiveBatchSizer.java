@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.sjms.batch;
+
+/**
+ * Sizes the batches of a {@link SjmsBatchConsumer} so the first message of a batch is committed within the
+ * target latency.
+ * <p/>
+ * The arrival rate of the messages and the processing time per message is observed for each completed batch
+ * and kept as exponential moving averages. The latency of the first message in a batch of <tt>n</tt> messages
+ * is the time to receive the <tt>n</tt> messages plus the time to process them, so the completion size is
+ * the largest <tt>n</tt> where <tt>n / arrivalRate + n * processingTime</tt> is within the target latency,
+ * bounded by the minimum and maximum completion size.
+ * <p/>
+ * This class is not thread safe, each consumer thread uses its own instance.
+ */
+class AdaptiveBatchSizer {
+
+    // weight of the latest batch in the moving averages
+    private static final double ALPHA = 0.3;
+
+    private final int minCompletionSize;
+    private final int maxCompletionSize;
+    private final long targetLatency;
+    // messages per millis
+    private double arrivalRate = -1;
+    // millis per message
+    private double processingTime = -1;
+    private int completionSize;
+
+    AdaptiveBatchSizer(int minCompletionSize, int maxCompletionSize, long targetLatency) {
+        this.minCompletionSize = minCompletionSize;
+        this.maxCompletionSize = maxCompletionSize;
+        this.targetLatency = targetLatency;
+        this.completionSize = minCompletionSize;
+    }
+
+    /**
+     * The completion size to use for the next batch
+     */
+    int getCompletionSize() {
+        return completionSize;
+    }
+
+    /**
+     * Updates the completion size from a completed batch.
+     *
+     * @param size           the number of messages in the batch
+     * @param receiveTime    the time in millis it took to receive the messages, including waiting for the first message
+     * @param processingTime the time in millis it took to process and commit the batch
+     */
+    void onBatchCompleted(int size, long receiveTime, long processingTime) {
+        if (size <= 0) {
+            return;
+        }
+
+        double rate = size / (double) Math.max(1, receiveTime);
+        double perMessage = processingTime / (double) size;
+        this.arrivalRate = arrivalRate < 0 ? rate : ALPHA * rate + (1 - ALPHA) * arrivalRate;
+        this.processingTime = this.processingTime < 0 ? perMessage : ALPHA * perMessage + (1 - ALPHA) * this.processingTime;
+
+        double timePerMessage = 1 / arrivalRate + this.processingTime;
+        long answer = (long) (targetLatency / timePerMessage);
+        completionSize = (int) Math.max(minCompletionSize, Math.min(maxCompletionSize, answer));
+    }
+
+}
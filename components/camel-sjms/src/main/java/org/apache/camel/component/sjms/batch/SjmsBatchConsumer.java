@@ -38,6 +38,8 @@ import javax.jms.TextMessage;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.component.sjms.jms.JmsMessageHelper;
 import org.apache.camel.impl.DefaultConsumer;
 import org.apache.camel.processor.aggregate.AggregationStrategy;
@@ -45,6 +47,7 @@ import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+@ManagedResource(description = "Managed SjmsBatchConsumer")
 public class SjmsBatchConsumer extends DefaultConsumer {
     private static final boolean TRANSACTED = true;
     private static final Logger LOG = LoggerFactory.getLogger(SjmsBatchConsumer.class);
@@ -60,6 +63,9 @@ public class SjmsBatchConsumer extends DefaultConsumer {
     private final int completionTimeout;
     private final int consumerCount;
     private final int pollDuration;
+    private final boolean adaptiveBatching;
+    private final int minCompletionSize;
+    private final int targetBatchLatency;
     private final ConnectionFactory connectionFactory;
     private final String destinationName;
     private final Processor processor;
@@ -68,6 +74,14 @@ public class SjmsBatchConsumer extends DefaultConsumer {
     private final AtomicReference<CountDownLatch> consumersShutdownLatchRef = new AtomicReference<>();
     private Connection connection;
 
+    // statistics of the completed batches
+    private final AtomicLong completedBatches = new AtomicLong();
+    private final AtomicLong completedMessages = new AtomicLong();
+    private final AtomicLong totalCommitLatency = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile long lastCommitLatency;
+    private volatile int currentCompletionSize;
+
     public SjmsBatchConsumer(SjmsBatchEndpoint sjmsBatchEndpoint, Processor processor) {
         super(sjmsBatchEndpoint, processor);
 
@@ -83,6 +97,24 @@ public class SjmsBatchConsumer extends DefaultConsumer {
             throw new IllegalArgumentException("pollDuration must be 0 or greater");
         }
 
+        adaptiveBatching = sjmsBatchEndpoint.isAdaptiveBatching();
+        minCompletionSize = sjmsBatchEndpoint.getMinCompletionSize();
+        targetBatchLatency = sjmsBatchEndpoint.getTargetBatchLatency() > 0 ? sjmsBatchEndpoint.getTargetBatchLatency() : completionTimeout;
+        if (adaptiveBatching) {
+            if (minCompletionSize <= 0) {
+                throw new IllegalArgumentException("minCompletionSize must be greater than 0");
+            }
+            if (completionSize < minCompletionSize) {
+                throw new IllegalArgumentException("completionSize must be greater than or equal to minCompletionSize when using adaptive batching");
+            }
+            if (targetBatchLatency <= 0) {
+                throw new IllegalArgumentException("targetBatchLatency or completionTimeout must be greater than 0 when using adaptive batching");
+            }
+            currentCompletionSize = minCompletionSize;
+        } else {
+            currentCompletionSize = completionSize;
+        }
+
         this.aggregationStrategy = ObjectHelper.notNull(sjmsBatchEndpoint.getAggregationStrategy(), "aggregationStrategy");
 
         consumerCount = sjmsBatchEndpoint.getConsumerCount();
@@ -150,6 +182,56 @@ public class SjmsBatchConsumer extends DefaultConsumer {
         getEndpoint().getCamelContext().getExecutorServiceManager().shutdown(jmsConsumerExecutors);
     }
 
+    @ManagedAttribute(description = "Whether the size of the batches adapts to the arrival rate and processing time of the messages")
+    public boolean isAdaptiveBatching() {
+        return adaptiveBatching;
+    }
+
+    @ManagedAttribute(description = "The number of messages at which the current batch completes")
+    public int getCompletionSize() {
+        return currentCompletionSize;
+    }
+
+    @ManagedAttribute(description = "The target time in millis from receipt of the first message of a batch until the batch is committed")
+    public int getTargetBatchLatency() {
+        return adaptiveBatching ? targetBatchLatency : 0;
+    }
+
+    @ManagedAttribute(description = "Number of completed batches")
+    public long getCompletedBatches() {
+        return completedBatches.get();
+    }
+
+    @ManagedAttribute(description = "Number of messages in the last completed batch")
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    @ManagedAttribute(description = "Average number of messages in the completed batches")
+    public long getAverageBatchSize() {
+        long batches = completedBatches.get();
+        return batches > 0 ? completedMessages.get() / batches : 0;
+    }
+
+    @ManagedAttribute(description = "Time in millis from receipt of the first message of the last batch until the batch was committed")
+    public long getLastCommitLatency() {
+        return lastCommitLatency;
+    }
+
+    @ManagedAttribute(description = "Average time in millis from receipt of the first message of a batch until the batch was committed")
+    public long getAverageCommitLatency() {
+        long batches = completedBatches.get();
+        return batches > 0 ? totalCommitLatency.get() / batches : 0;
+    }
+
+    private void onBatchCompleted(int batchSize, long commitLatency) {
+        lastBatchSize = batchSize;
+        lastCommitLatency = commitLatency;
+        completedMessages.addAndGet(batchSize);
+        totalCommitLatency.addAndGet(commitLatency);
+        completedBatches.incrementAndGet();
+    }
+
     private String getStackTrace(Exception ex) {
         StringWriter writer = new StringWriter();
         ex.printStackTrace(new PrintWriter(writer));
@@ -195,22 +277,32 @@ public class SjmsBatchConsumer extends DefaultConsumer {
         }
 
         private void consumeBatchesOnLoop(Session session, MessageConsumer consumer) throws JMSException {
-            final boolean usingTimeout = completionTimeout > 0;
+            // each consumer adapts its batch size on its own as the sizer is not thread safe
+            final AdaptiveBatchSizer sizer = adaptiveBatching
+                    ? new AdaptiveBatchSizer(minCompletionSize, completionSize, targetBatchLatency) : null;
+            // when adapting the batch size then a batch must not take longer than the target latency
+            final int batchTimeout = (sizer != null && (completionTimeout <= 0 || targetBatchLatency < completionTimeout))
+                    ? targetBatchLatency : completionTimeout;
+            final boolean usingTimeout = batchTimeout > 0;
 
         batchConsumption:
             while (running.get()) {
                 int messageCount = 0;
+                int batchSize = sizer != null ? sizer.getCompletionSize() : completionSize;
 
                 // reset the clock counters
                 long timeElapsed = 0;
                 long startTime = 0;
+                long batchStartTime = System.currentTimeMillis();
+                long firstMessageTime = 0;
+                long lastMessageTime = 0;
                 Exchange aggregatedExchange = null;
 
             batch:
-                while ((completionSize <= 0) || (messageCount < completionSize)) {
+                while ((batchSize <= 0) || (messageCount < batchSize)) {
                     // check periodically to see whether we should be shutting down
                     long waitTime = (usingTimeout && (timeElapsed > 0))
-                            ? getReceiveWaitTime(timeElapsed)
+                            ? getReceiveWaitTime(batchTimeout, timeElapsed)
                             : pollDuration;
                     Message message = consumer.receive(waitTime);
 
@@ -222,6 +314,10 @@ public class SjmsBatchConsumer extends DefaultConsumer {
                             if (usingTimeout && messageCount == 0) { // this is the first message
                                 startTime = new Date().getTime(); // start counting down the period for this batch
                             }
+                            lastMessageTime = System.currentTimeMillis();
+                            if (messageCount == 0) {
+                                firstMessageTime = lastMessageTime;
+                            }
                             messageCount++;
                             LOG.debug("Message received: {}", messageCount);
                             if ((message instanceof ObjectMessage)
@@ -239,7 +335,7 @@ public class SjmsBatchConsumer extends DefaultConsumer {
                             long currentTime = new Date().getTime();
                             timeElapsed = currentTime - startTime;
 
-                            if (timeElapsed > completionTimeout) {
+                            if (timeElapsed > batchTimeout) {
                                 // batch finished by timeout
                                 break batch;
                             }
@@ -251,18 +347,28 @@ public class SjmsBatchConsumer extends DefaultConsumer {
                         break batchConsumption;
                     }
                 } // batch
+                long processStartTime = System.currentTimeMillis();
                 process(aggregatedExchange, session);
+                long processEndTime = System.currentTimeMillis();
+
+                onBatchCompleted(messageCount, processEndTime - firstMessageTime);
+                if (sizer != null) {
+                    sizer.onBatchCompleted(messageCount, lastMessageTime - batchStartTime, processEndTime - processStartTime);
+                    currentCompletionSize = sizer.getCompletionSize();
+                    LOG.debug("Adapted completion size to {} after batch of {} messages", currentCompletionSize, messageCount);
+                }
             }
         }
 
         /**
          * Determine the time that a call to {@link MessageConsumer#receive()} should wait given the time that has elapsed for this batch.
          *
+         * @param batchTimeout The timeout of the batch.
          * @param timeElapsed The time that has elapsed.
          * @return The shorter of the time remaining or poll duration.
          */
-        private long getReceiveWaitTime(long timeElapsed) {
-            long timeRemaining = getTimeRemaining(timeElapsed);
+        private long getReceiveWaitTime(long batchTimeout, long timeElapsed) {
+            long timeRemaining = getTimeRemaining(batchTimeout, timeElapsed);
 
             // wait for the shorter of the time remaining or the poll duration
             if (timeRemaining <= 0) { // ensure that the thread doesn't wait indefinitely
@@ -274,8 +380,8 @@ public class SjmsBatchConsumer extends DefaultConsumer {
             return waitTime;
         }
 
-        private long getTimeRemaining(long timeElapsed) {
-            long timeRemaining = completionTimeout - timeElapsed;
+        private long getTimeRemaining(long batchTimeout, long timeElapsed) {
+            long timeRemaining = batchTimeout - timeElapsed;
             if (LOG.isDebugEnabled() && timeElapsed > 0) {
                 LOG.debug("Time remaining this batch: {}", timeRemaining);
             }
@@ -48,6 +48,12 @@ public class SjmsBatchEndpoint extends DefaultEndpoint {
     private int pollDuration = 1000;
     @UriParam(label = "consumer") @Metadata(required = "true")
     private AggregationStrategy aggregationStrategy;
+    @UriParam(label = "consumer")
+    private boolean adaptiveBatching;
+    @UriParam(label = "consumer", defaultValue = "1")
+    private int minCompletionSize = 1;
+    @UriParam(label = "consumer")
+    private int targetBatchLatency;
 
     public SjmsBatchEndpoint() {
     }
@@ -141,4 +147,40 @@ public class SjmsBatchEndpoint extends DefaultEndpoint {
         this.pollDuration = pollDuration;
     }
 
+    public boolean isAdaptiveBatching() {
+        return adaptiveBatching;
+    }
+
+    /**
+     * Whether to adapt the size of the batches to the observed arrival rate and processing time of the messages,
+     * so the first message of a batch is committed within the targetBatchLatency.
+     * The batch size is kept between minCompletionSize and completionSize.
+     */
+    public void setAdaptiveBatching(boolean adaptiveBatching) {
+        this.adaptiveBatching = adaptiveBatching;
+    }
+
+    public int getMinCompletionSize() {
+        return minCompletionSize;
+    }
+
+    /**
+     * The minimum number of messages in a batch when using adaptive batching
+     */
+    public void setMinCompletionSize(int minCompletionSize) {
+        this.minCompletionSize = minCompletionSize;
+    }
+
+    public int getTargetBatchLatency() {
+        return targetBatchLatency;
+    }
+
+    /**
+     * The target time in milliseconds from receipt of the first message of a batch until the batch is committed,
+     * when using adaptive batching. If not set then the completionTimeout is used.
+     */
+    public void setTargetBatchLatency(int targetBatchLatency) {
+        this.targetBatchLatency = targetBatchLatency;
+    }
+
 }
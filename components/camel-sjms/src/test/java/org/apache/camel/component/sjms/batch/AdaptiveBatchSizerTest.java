@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.sjms.batch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveBatchSizerTest {
+
+    @Test
+    public void testStartsWithMinCompletionSize() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(5, 200, 500);
+        assertEquals(5, sizer.getCompletionSize());
+    }
+
+    @Test
+    public void testGrowsWithHighArrivalRate() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(5, 200, 500);
+
+        // 100 messages per milli and fast processing
+        for (int i = 0; i < 10; i++) {
+            sizer.onBatchCompleted(sizer.getCompletionSize(), Math.max(1, sizer.getCompletionSize() / 100), 1);
+        }
+        assertEquals(200, sizer.getCompletionSize());
+    }
+
+    @Test
+    public void testShrinksWithLowArrivalRate() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1, 200, 500);
+
+        // 1000 messages per second
+        for (int i = 0; i < 20; i++) {
+            sizer.onBatchCompleted(100, 100, 0);
+        }
+        int size = sizer.getCompletionSize();
+        assertEquals(200, size);
+
+        // then 10 messages per second
+        for (int i = 0; i < 20; i++) {
+            sizer.onBatchCompleted(5, 500, 0);
+        }
+        size = sizer.getCompletionSize();
+        assertTrue("Should be about 5 but was " + size, size >= 4 && size <= 6);
+    }
+
+    @Test
+    public void testSlowProcessingLimitsBatchSize() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1, 1000, 1000);
+
+        // 10 messages per milli, but 10 millis to process each message
+        for (int i = 0; i < 20; i++) {
+            sizer.onBatchCompleted(100, 10, 1000);
+        }
+        int size = sizer.getCompletionSize();
+        // 1000 / (0.1 + 10) is about 99
+        assertTrue("Should be about 99 but was " + size, size >= 95 && size <= 100);
+    }
+
+}
@@ -177,6 +177,44 @@ public class SjmsBatchConsumerTest extends CamelTestSupport {
         assertFirstMessageBodyOfLength(mockBatches, messageCount);
     }
 
+    @Test
+    public void testConsumptionAdaptiveBatching() throws Exception {
+        final int messageCount = 2000;
+        final int minCompletionSize = 5;
+        final int completionSize = 500;
+
+        final String queueName = getQueueName();
+        context.addRoutes(new TransactedSendHarness(queueName));
+        context.addRoutes(new RouteBuilder() {
+            public void configure() throws Exception {
+                fromF("sjms-batch:%s?adaptiveBatching=true&minCompletionSize=%s&completionSize=%s&targetBatchLatency=1000"
+                        + "&aggregationStrategy=#testStrategy", queueName, minCompletionSize, completionSize)
+                        .routeId("batchConsumer").startupOrder(10).autoStartup(false)
+                        .split(body())
+                        .to("mock:split");
+            }
+        });
+        context.start();
+
+        MockEndpoint mockSplit = getMockEndpoint("mock:split");
+        mockSplit.setExpectedMessageCount(messageCount);
+
+        template.sendBody("direct:in", generateStrings(messageCount));
+        context.startRoute("batchConsumer");
+        assertMockEndpointsSatisfied();
+
+        SjmsBatchConsumer consumer = (SjmsBatchConsumer) context.getRoute("batchConsumer").getConsumer();
+        assertTrue(consumer.isAdaptiveBatching());
+        assertEquals(1000, consumer.getTargetBatchLatency());
+        assertTrue(consumer.getCompletedBatches() > 0);
+        // the batches grow from the min size as the messages are already on the queue
+        assertTrue(consumer.getCompletedBatches() < messageCount / minCompletionSize);
+        assertTrue(consumer.getCompletionSize() >= minCompletionSize);
+        assertTrue(consumer.getCompletionSize() <= completionSize);
+        assertTrue(consumer.getAverageBatchSize() > 0);
+        assertTrue(consumer.getLastCommitLatency() >= 0);
+    }
+
     /**
      * Checks whether multiple consumer endpoints can operate in parallel.
      */
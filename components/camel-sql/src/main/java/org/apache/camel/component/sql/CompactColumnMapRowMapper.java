@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.sql;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+
+import org.apache.camel.util.CompactMap;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * A {@link RowMapper} which maps each row to a case insensitive {@link Map} like Spring's
+ * {@link org.springframework.jdbc.core.ColumnMapRowMapper}, but where the column names are shared
+ * by all the rows of the result set instead of being stored in a new hash table per row.
+ * <p/>
+ * A new instance must be used per query.
+ */
+public class CompactColumnMapRowMapper implements RowMapper<Map<String, Object>> {
+
+    private ResultSet resultSet;
+    private CompactMap.Keys keys;
+    private int columnCount;
+
+    @Override
+    public Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
+        if (keys == null || rs != resultSet) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            columnCount = metaData.getColumnCount();
+            String[] names = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                names[i] = JdbcUtils.lookupColumnName(metaData, i + 1);
+            }
+            keys = new CompactMap.Keys(names, true);
+            resultSet = rs;
+        }
+
+        CompactMap<Object> row = new CompactMap<Object>(keys);
+        for (int i = 0; i < columnCount; i++) {
+            row.setValue(i, JdbcUtils.getResultSetValue(rs, i + 1));
+        }
+        return row;
+    }
+}
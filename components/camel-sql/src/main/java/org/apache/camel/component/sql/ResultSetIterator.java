@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.sql;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+
+import org.apache.camel.RuntimeCamelException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * Iterates the rows of a {@link ResultSet} using the given {@link RowMapper}, which is used with
+ * <tt>outputType=StreamList</tt> to stream the rows, for example using the splitter in streaming mode.
+ * <p/>
+ * If a connection is given, then the iterator owns the result set, statement and connection, which
+ * are released when the iterator is exhausted or closed.
+ */
+public class ResultSetIterator implements Iterator<Object> {
+
+    private final Connection connection;
+    private final DataSource dataSource;
+    private final Statement statement;
+    private final ResultSet resultSet;
+    private final RowMapper<?> rowMapper;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private int rowNum;
+
+    public ResultSetIterator(Connection connection, DataSource dataSource, ResultSet resultSet, RowMapper<?> rowMapper) throws SQLException {
+        this.connection = connection;
+        this.dataSource = dataSource;
+        this.resultSet = resultSet;
+        this.statement = resultSet.getStatement();
+        this.rowMapper = rowMapper;
+
+        loadNext();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !closed.get();
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            Object row = rowMapper.mapRow(resultSet, rowNum++);
+            loadNext();
+            return row;
+        } catch (SQLException e) {
+            close();
+            throw new RuntimeCamelException("Cannot process result", e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Cannot remove from a database result");
+    }
+
+    /**
+     * Number of rows iterated so far
+     */
+    public int getRowCount() {
+        return rowNum;
+    }
+
+    public void close() {
+        if (closed.compareAndSet(false, true) && connection != null) {
+            JdbcUtils.closeResultSet(resultSet);
+            JdbcUtils.closeStatement(statement);
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void loadNext() throws SQLException {
+        if (!resultSet.next()) {
+            close();
+        }
+    }
+}
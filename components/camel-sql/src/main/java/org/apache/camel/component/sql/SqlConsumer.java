@@ -107,6 +107,14 @@ public class SqlConsumer extends ScheduledBatchPollingConsumer {
                         if (data != null) {
                             addListToQueue(data, answer);
                         }
+                    } else if (outputType == SqlOutputType.StreamList) {
+                        // the rows are streamed from the database while the exchange is being processed,
+                        // so we must process the exchange before the result set is closed
+                        ResultSetIterator data = new ResultSetIterator(null, null, rs, getEndpoint().createRowMapper(true));
+                        if (data.hasNext() || routeEmptyResultSet) {
+                            addItemToQueue(data, answer);
+                        }
+                        return processQueue(answer);
                     } else {
                         throw new IllegalArgumentException("Invalid outputType=" + outputType);
                     }
@@ -115,18 +123,21 @@ public class SqlConsumer extends ScheduledBatchPollingConsumer {
                 }
 
                 // process all the exchanges in this batch
-                try {
-                    int rows = processBatch(CastUtils.cast(answer));
-                    return rows;
-                } catch (Exception e) {
-                    throw ObjectHelper.wrapRuntimeCamelException(e);
-                }
+                return processQueue(answer);
             }
         });
 
         return messagePolled;
     }
 
+    private int processQueue(Queue<DataHolder> answer) {
+        try {
+            return processBatch(CastUtils.cast(answer));
+        } catch (Exception e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        }
+    }
+
     private void addListToQueue(Object data, Queue<DataHolder> answer) {
         if (data instanceof List) {
             // create a list of exchange objects with the data
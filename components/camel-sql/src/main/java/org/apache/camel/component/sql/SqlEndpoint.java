@@ -99,6 +99,9 @@ public class SqlEndpoint extends DefaultPollingEndpoint {
     }
 
     public Consumer createConsumer(Processor processor) throws Exception {
+        if (outputType == SqlOutputType.StreamList && (onConsume != null || onConsumeFailed != null)) {
+            throw new IllegalArgumentException("You cannot use onConsume or onConsumeFailed with outputType=StreamList");
+        }
         SqlPrepareStatementStrategy prepareStrategy = prepareStatementStrategy != null ? prepareStatementStrategy : new DefaultSqlPrepareStatementStrategy(separator);
         SqlProcessingStrategy proStrategy = processingStrategy != null ? processingStrategy : new DefaultSqlProcessingStrategy(prepareStrategy);
         SqlConsumer consumer = new SqlConsumer(this, processor, jdbcTemplate, query, prepareStrategy, proStrategy);
@@ -111,6 +114,9 @@ public class SqlEndpoint extends DefaultPollingEndpoint {
     }
 
     public Producer createProducer() throws Exception {
+        if (outputType == SqlOutputType.StreamList && batch) {
+            throw new IllegalArgumentException("You cannot use batch with outputType=StreamList");
+        }
         SqlPrepareStatementStrategy prepareStrategy = prepareStatementStrategy != null ? prepareStatementStrategy : new DefaultSqlPrepareStatementStrategy(separator);
         SqlProducer result = new SqlProducer(this, query, jdbcTemplate, prepareStrategy, batch, alwaysPopulateStatement, useMessageBodyForSql);
         result.setParametersCount(parametersCount);
@@ -266,6 +272,11 @@ public class SqlEndpoint extends DefaultPollingEndpoint {
      * c) If the outputClass is set, then it will convert the query result into an Java bean object by calling all the setters that match the column names. 
      * It will assume your class has a default constructor to create instance with.
      * d) If the query resulted in more than one rows, it throws an non-unique result exception.
+     * <p/>
+     * StreamList streams the result of the query using an Iterator, which can be used with the Splitter EIP in streaming mode
+     * to process the rows one by one with bounded memory. The database resources are released when the iterator is
+     * exhausted or the exchange is done. Use the template.fetchSize option to control how many rows the JDBC driver fetches at a time.
+     * The consumer routes the iterator as a single exchange per poll.
      */
     public void setOutputType(SqlOutputType outputType) {
         this.outputType = outputType;
@@ -363,17 +374,26 @@ public class SqlEndpoint extends DefaultPollingEndpoint {
 
     @SuppressWarnings("unchecked")
     protected List<?> queryForList(ResultSet rs, boolean allowMapToClass) throws SQLException {
+        RowMapper<?> rowMapper = createRowMapper(allowMapToClass);
+        RowMapperResultSetExtractor<?> mapper = new RowMapperResultSetExtractor(rowMapper);
+        List<?> data = mapper.extractData(rs);
+        return data;
+    }
+
+    /**
+     * Creates the row mapper to use for a query, which maps to the outputClass if configured, or otherwise to a Map per row.
+     * <p/>
+     * When the output type is StreamList then the rows share their column names using a {@link CompactColumnMapRowMapper}.
+     */
+    @SuppressWarnings("unchecked")
+    protected RowMapper<?> createRowMapper(boolean allowMapToClass) {
         if (allowMapToClass && outputClass != null) {
             Class<?> outputClazz = getCamelContext().getClassResolver().resolveClass(outputClass);
-            RowMapper rowMapper = new BeanPropertyRowMapper(outputClazz);
-            RowMapperResultSetExtractor<?> mapper = new RowMapperResultSetExtractor(rowMapper);
-            List<?> data = mapper.extractData(rs);
-            return data;
+            return new BeanPropertyRowMapper(outputClazz);
+        } else if (outputType == SqlOutputType.StreamList) {
+            return new CompactColumnMapRowMapper();
         } else {
-            ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
-            RowMapperResultSetExtractor<Map<String, Object>> mapper = new RowMapperResultSetExtractor<Map<String, Object>>(rowMapper);
-            List<Map<String, Object>> data = mapper.extractData(rs);
-            return data;
+            return new ColumnMapRowMapper();
         }
     }
 
@@ -381,7 +401,7 @@ public class SqlEndpoint extends DefaultPollingEndpoint {
     protected Object queryForObject(ResultSet rs) throws SQLException {
         Object result = null;
         if (outputClass == null) {
-            RowMapper rowMapper = new ColumnMapRowMapper();
+            RowMapper<Map<String, Object>> rowMapper = new ColumnMapRowMapper();
             RowMapperResultSetExtractor<Map<String, Object>> mapper = new RowMapperResultSetExtractor<Map<String, Object>>(rowMapper);
             List<Map<String, Object>> data = mapper.extractData(rs);
             if (data.size() > 1) {
@@ -25,16 +25,20 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import javax.sql.DataSource;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.NoSuchHeaderException;
 import org.apache.camel.impl.DefaultProducer;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.util.ExchangeHelper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 
 import static org.springframework.jdbc.support.JdbcUtils.closeResultSet;
+import static org.springframework.jdbc.support.JdbcUtils.closeStatement;
 
 public class SqlProducer extends DefaultProducer {
     private final String query;
@@ -97,6 +101,11 @@ public class SqlProducer extends DefaultProducer {
             }
         };
 
+        if (getEndpoint().getOutputType() == SqlOutputType.StreamList) {
+            processStreamList(exchange, statementCreator, sql, preparedQuery);
+            return;
+        }
+
         jdbcTemplate.execute(statementCreator, new PreparedStatementCallback<Map<?, ?>>() {
             public Map<?, ?> doInPreparedStatement(PreparedStatement ps) throws SQLException {
                 ResultSet rs = null;
@@ -120,14 +129,7 @@ public class SqlProducer extends DefaultProducer {
                                 ps.addBatch();
                             }
                         } else {
-                            Object value;
-                            if (useMessageBodyForSql) {
-                                value = exchange.getIn().getHeader(SqlConstants.SQL_PARAMETERS);
-                            } else {
-                                value = exchange.getIn().getBody();
-                            }
-                            Iterator<?> i = sqlPrepareStatementStrategy.createPopulateIterator(sql, preparedQuery, expected, exchange, value);
-                            sqlPrepareStatementStrategy.populateStatement(ps, i, expected);
+                            populateStatement(ps, exchange, sql, preparedQuery, expected);
                         }
                     }
 
@@ -210,7 +212,83 @@ public class SqlProducer extends DefaultProducer {
         });
     }
 
+    protected void processStreamList(Exchange exchange, PreparedStatementCreator statementCreator, String sql, String preparedQuery) throws Exception {
+        // spring JdbcTemplate releases the connection when its callback returns, so we must obtain the connection
+        // ourselves to keep the result set open while the rows are being streamed
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        Connection con = DataSourceUtils.getConnection(dataSource);
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        boolean shouldCloseResources = true;
+        try {
+            ps = statementCreator.createPreparedStatement(con);
+            if (jdbcTemplate.getFetchSize() > 0) {
+                ps.setFetchSize(jdbcTemplate.getFetchSize());
+            }
+            if (jdbcTemplate.getMaxRows() > 0) {
+                ps.setMaxRows(jdbcTemplate.getMaxRows());
+            }
+            DataSourceUtils.applyTimeout(ps, dataSource, jdbcTemplate.getQueryTimeout());
+
+            int expected = parametersCount > 0 ? parametersCount : ps.getParameterMetaData().getParameterCount();
+            if (alwaysPopulateStatement || expected > 0) {
+                populateStatement(ps, exchange, sql, preparedQuery, expected);
+            }
+
+            if (ps.execute()) {
+                // preserve headers
+                exchange.getOut().getHeaders().putAll(exchange.getIn().getHeaders());
+
+                rs = ps.getResultSet();
+                ResultSetIterator iterator = new ResultSetIterator(con, dataSource, rs, getEndpoint().createRowMapper(true));
+                if (getEndpoint().getOutputHeader() != null) {
+                    exchange.getOut().setBody(exchange.getIn().getBody());
+                    exchange.getOut().setHeader(getEndpoint().getOutputHeader(), iterator);
+                } else {
+                    exchange.getOut().setBody(iterator);
+                }
+                // the resources are released when the iterator is exhausted or the exchange is done
+                exchange.addOnCompletion(new ResultSetIteratorCompletion(iterator));
+                shouldCloseResources = false;
+            } else {
+                exchange.getIn().setHeader(SqlConstants.SQL_UPDATE_COUNT, ps.getUpdateCount());
+            }
+        } catch (SQLException e) {
+            throw jdbcTemplate.getExceptionTranslator().translate("StreamList", sql, e);
+        } finally {
+            if (shouldCloseResources) {
+                closeResultSet(rs);
+                closeStatement(ps);
+                DataSourceUtils.releaseConnection(con, dataSource);
+            }
+        }
+    }
+
+    private void populateStatement(PreparedStatement ps, Exchange exchange, String sql, String preparedQuery, int expected) throws SQLException {
+        Object value;
+        if (useMessageBodyForSql) {
+            value = exchange.getIn().getHeader(SqlConstants.SQL_PARAMETERS);
+        } else {
+            value = exchange.getIn().getBody();
+        }
+        Iterator<?> i = sqlPrepareStatementStrategy.createPopulateIterator(sql, preparedQuery, expected, exchange, value);
+        sqlPrepareStatementStrategy.populateStatement(ps, i, expected);
+    }
+
     public void setParametersCount(int parametersCount) {
         this.parametersCount = parametersCount;
     }
+
+    private static final class ResultSetIteratorCompletion extends SynchronizationAdapter {
+        private final ResultSetIterator iterator;
+
+        private ResultSetIteratorCompletion(ResultSetIterator iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public void onDone(Exchange exchange) {
+            iterator.close();
+        }
+    }
 }
@@ -0,0 +1,378 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.zipfile;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.impl.DefaultMessage;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Iterator which goes through the entries of a zip file on disk, inflating up to
+ * <tt>parallelism</tt> entries in parallel.
+ * <p/>
+ * The archive is opened as a {@link ZipFile} which reads the central directory with random access
+ * (memory mapped by the JDK), so the entries can be inflated independently of each other. Each entry
+ * is inflated by a task on a bounded thread pool which hands over the data in chunks through a small
+ * bounded buffer, so the body of an entry is a stream which is never fully held in memory.
+ * <p/>
+ * The entries are emitted in archive order, or in the order they become ready if
+ * <tt>preserveOrder</tt> is disabled. An emitted entry stays readable until the iterator needs its slot
+ * for a later entry, or the iterator is closed, just as the entries of a {@link ZipIterator} are only
+ * readable until the next entry is read.
+ */
+public class ZipFileIterator implements Iterator<Message>, Closeable {
+    static final Logger LOGGER = LoggerFactory.getLogger(ZipFileIterator.class);
+
+    private static final byte[] EOF = new byte[0];
+
+    private final CamelContext camelContext;
+    private final Message inputMessage;
+    private final ZipFile zipFile;
+    private final Enumeration<? extends ZipEntry> entries;
+    private final int parallelism;
+    private final boolean preserveOrder;
+    private final int chunkSize;
+    private final int maxBufferedChunks;
+    private final ExecutorService executorService;
+    private final boolean shutdownExecutorService;
+    // entries being inflated which has not been emitted yet, in archive order
+    private final Deque<EntryTask> pending = new ArrayDeque<EntryTask>();
+    // entries emitted which are still being inflated
+    private final Deque<EntryTask> emitted = new ArrayDeque<EntryTask>();
+    // entries with data ready to be read, in the order they became ready
+    private final BlockingQueue<EntryTask> ready = new LinkedBlockingQueue<EntryTask>();
+    private boolean closed;
+
+    public ZipFileIterator(CamelContext camelContext, Message inputMessage, File file, ZipSplitter splitter) {
+        this.camelContext = camelContext;
+        this.inputMessage = inputMessage;
+        this.parallelism = splitter.getParallelism();
+        this.preserveOrder = splitter.isPreserveOrder();
+        this.chunkSize = splitter.getChunkSize();
+        this.maxBufferedChunks = splitter.getMaxBufferedChunks();
+        try {
+            this.zipFile = new ZipFile(file);
+        } catch (IOException exception) {
+            //Just wrap the IOException as CamelRuntimeException
+            throw new RuntimeCamelException(exception);
+        }
+        this.entries = zipFile.entries();
+        if (splitter.getExecutorService() != null) {
+            this.executorService = splitter.getExecutorService();
+            this.shutdownExecutorService = false;
+        } else {
+            this.executorService = camelContext.getExecutorServiceManager().newFixedThreadPool(this, "ZipFileSplitter", parallelism);
+            this.shutdownExecutorService = true;
+        }
+        LOGGER.debug("Splitting zip file {} with {} entries using parallelism {}", new Object[]{file, zipFile.size(), parallelism});
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        fill();
+        if (pending.isEmpty()) {
+            // no more entries so close the zip file
+            IOHelper.close(this);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Message next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        EntryTask task;
+        if (preserveOrder) {
+            task = pending.removeFirst();
+        } else {
+            try {
+                task = ready.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeCamelException(e);
+            }
+            pending.remove(task);
+        }
+        emitted.addLast(task);
+
+        ZipEntry current = task.entry;
+        LOGGER.debug("read zipEntry {}", current.getName());
+        Message answer = new DefaultMessage();
+        answer.getHeaders().putAll(inputMessage.getHeaders());
+        answer.setHeader("zipFileName", current.getName());
+        answer.setHeader(Exchange.FILE_NAME, current.getName());
+        answer.setBody(task.stream);
+        return answer;
+    }
+
+    /**
+     * Submits entries to be inflated until <tt>parallelism</tt> entries are in progress.
+     * <p/>
+     * Emitted entries which are still being inflated hold on to their slot, so if there are no free slots
+     * the oldest emitted entry is closed, which also bounds the memory used by entries that are never read.
+     */
+    private void fill() {
+        Iterator<EntryTask> it = emitted.iterator();
+        while (it.hasNext()) {
+            if (it.next().isDone()) {
+                it.remove();
+            }
+        }
+
+        while (entries.hasMoreElements()) {
+            if (pending.size() + emitted.size() >= parallelism) {
+                if (emitted.isEmpty()) {
+                    return;
+                }
+                EntryTask oldest = emitted.removeFirst();
+                LOGGER.trace("close zipEntry {} to free its slot", oldest.entry.getName());
+                oldest.cancel();
+            }
+            ZipEntry entry = entries.nextElement();
+            if (!entry.isDirectory()) {
+                EntryTask task = new EntryTask(entry);
+                pending.addLast(task);
+                task.future = executorService.submit(task);
+            }
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LOGGER.trace("close zipFile");
+        for (EntryTask task : pending) {
+            task.cancel();
+        }
+        for (EntryTask task : emitted) {
+            task.cancel();
+        }
+        pending.clear();
+        emitted.clear();
+        ready.clear();
+        try {
+            if (shutdownExecutorService) {
+                camelContext.getExecutorServiceManager().shutdownNow(executorService);
+            }
+        } finally {
+            zipFile.close();
+        }
+    }
+
+    /**
+     * Inflates a single entry into a bounded queue of chunks, which is read by the {@link EntryInputStream}.
+     */
+    private final class EntryTask implements Runnable {
+        private final ZipEntry entry;
+        private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<byte[]>(maxBufferedChunks);
+        private final EntryInputStream stream = new EntryInputStream(this);
+        private final AtomicBoolean signalled = new AtomicBoolean();
+        private volatile Future<?> future;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile IOException failure;
+
+        private EntryTask(ZipEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public void run() {
+            InputStream in = null;
+            try {
+                in = zipFile.getInputStream(entry);
+                byte[] buffer = new byte[chunkSize];
+                int pos = 0;
+                int len;
+                while ((len = in.read(buffer, pos, buffer.length - pos)) != -1) {
+                    pos += len;
+                    if (pos == buffer.length) {
+                        if (!put(buffer)) {
+                            return;
+                        }
+                        buffer = new byte[chunkSize];
+                        pos = 0;
+                    }
+                }
+                if (pos > 0) {
+                    byte[] last = new byte[pos];
+                    System.arraycopy(buffer, 0, last, 0, pos);
+                    if (!put(last)) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                if (!cancelled) {
+                    failure = e;
+                }
+            } finally {
+                IOHelper.close(in);
+                put(EOF);
+                // only done when the end marker has been handed over, as until then the task holds on to its thread
+                done = true;
+            }
+        }
+
+        /**
+         * Hands over the chunk to the reader, waiting while the buffer is full.
+         *
+         * @return <tt>false</tt> if the entry has been cancelled
+         */
+        private boolean put(byte[] chunk) {
+            try {
+                while (!cancelled) {
+                    if (chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                        if (!preserveOrder && signalled.compareAndSet(false, true)) {
+                            ready.offer(this);
+                        }
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        private byte[] take() throws IOException {
+            if (cancelled) {
+                throw new IOException("ZipEntry " + entry.getName() + " has been closed");
+            }
+            try {
+                byte[] chunk = chunks.take();
+                if (chunk == EOF) {
+                    // keep the marker so further reads also see the end of the entry
+                    chunks.offer(EOF);
+                    if (failure != null) {
+                        throw failure;
+                    }
+                }
+                return chunk;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading ZipEntry " + entry.getName());
+            }
+        }
+
+        private boolean isDone() {
+            return done || cancelled;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            chunks.clear();
+            Future<?> f = future;
+            if (f != null) {
+                f.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * The body of an entry, which reads the chunks as they are inflated.
+     */
+    private static final class EntryInputStream extends InputStream {
+        private final EntryTask task;
+        private byte[] chunk;
+        private int pos;
+
+        private EntryInputStream(EntryTask task) {
+            this.task = task;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fillChunk()) {
+                return -1;
+            }
+            return chunk[pos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fillChunk()) {
+                return -1;
+            }
+            int n = Math.min(len, chunk.length - pos);
+            System.arraycopy(chunk, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return chunk != null ? chunk.length - pos : 0;
+        }
+
+        private boolean fillChunk() throws IOException {
+            while (chunk == null || pos == chunk.length) {
+                if (chunk == EOF) {
+                    return false;
+                }
+                chunk = task.take();
+                pos = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            task.cancel();
+        }
+    }
+}
@@ -16,23 +16,48 @@
  */
 package org.apache.camel.dataformat.zipfile;
 
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+
 import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.Message;
+import org.apache.camel.component.file.GenericFile;
 
 /**
  * ZipSplitter the expression builder which can be used after the splitter
  * Based on the thread <a href=
  * "http://camel.465427.n5.nabble.com/zip-file-best-practices-td5713437.html"
  * >zip file best practices</a>
+ * <p/>
+ * When {@link #setParallelism(int) parallelism} is configured and the message body is a local file
+ * (such as from the file consumer) the archive is opened as a {@link java.util.zip.ZipFile} which reads the
+ * central directory with random access, and the entries are inflated in parallel by a bounded pool.
+ * See {@link ZipFileIterator} for details. Any other body is split sequentially using a {@link ZipIterator}.
  */
 public class ZipSplitter implements Expression {
 
+    private int parallelism;
+    private boolean preserveOrder = true;
+    private int chunkSize = 64 * 1024;
+    private int maxBufferedChunks = 4;
+    private ExecutorService executorService;
+
     public ZipSplitter() {
     }
+
+    public ZipSplitter(int parallelism) {
+        this.parallelism = parallelism;
+    }
     
     public Object evaluate(Exchange exchange) {
         Message inputMessage = exchange.getIn();
+        if (parallelism > 0) {
+            File file = asFile(inputMessage.getBody());
+            if (file != null) {
+                return new ZipFileIterator(exchange.getContext(), inputMessage, file, this);
+            }
+        }
         return new ZipIterator(inputMessage);
     }
     
@@ -41,4 +66,75 @@ public class ZipSplitter implements Expression {
         Object result = evaluate(exchange);
         return exchange.getContext().getTypeConverter().convertTo(type, exchange, result);
     }
+
+    private static File asFile(Object body) {
+        if (body instanceof GenericFile) {
+            body = ((GenericFile<?>) body).getFile();
+        }
+        if (body instanceof File && ((File) body).isFile()) {
+            return (File) body;
+        }
+        return null;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Number of entries to inflate in parallel when the body is a local file.
+     * <p/>
+     * Default is <tt>0</tt> which reads the entries sequentially using a {@link java.util.zip.ZipInputStream}.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public boolean isPreserveOrder() {
+        return preserveOrder;
+    }
+
+    /**
+     * Whether the entries are emitted in the order they are stored in the archive (default),
+     * or in the order they become ready, which avoids waiting on a large entry while smaller ones are done.
+     */
+    public void setPreserveOrder(boolean preserveOrder) {
+        this.preserveOrder = preserveOrder;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Size in bytes of the chunks the inflated data of an entry is handed over in. Default is 64kb.
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxBufferedChunks() {
+        return maxBufferedChunks;
+    }
+
+    /**
+     * Maximum number of inflated chunks buffered per entry before the inflating thread waits for the
+     * entry to be read. Default is <tt>4</tt>.
+     */
+    public void setMaxBufferedChunks(int maxBufferedChunks) {
+        this.maxBufferedChunks = maxBufferedChunks;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Custom thread pool to inflate the entries. The pool must have at least {@link #getParallelism()} threads.
+     * <p/>
+     * By default a fixed thread pool is created per archive, and shutdown when the archive has been split.
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
 }
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.zipfile;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+public class ZipSplitterParallelRouteTest extends CamelTestSupport {
+
+    @Test
+    public void testSplitterPreserveOrder() throws InterruptedException {
+        MockEndpoint processZipEntry = getMockEndpoint("mock:ordered");
+        processZipEntry.expectedBodiesReceived("chau", "another_chiau", "another_hi", "hi", "hola");
+        processZipEntry.expectedHeaderValuesReceivedInAnyOrder("zipFileName", "chiau.txt", "directoryOne/another_chiau.txt",
+                "directoryOne/another_hi.txt", "hi.txt", "hola.txt");
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testSplitterUnordered() throws InterruptedException {
+        MockEndpoint processZipEntry = getMockEndpoint("mock:unordered");
+        processZipEntry.expectedBodiesReceivedInAnyOrder("chau", "hi", "hola", "another_chiau", "another_hi");
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                // inflate up to 2 entries in parallel while emitting them in archive order
+                from("file:src/test/resources/org/apache/camel/dataformat/zipfile/data?consumer.delay=1000&noop=true")
+                    .split(new ZipSplitter(2)).streaming()
+                        .convertBodyTo(String.class).to("mock:ordered")
+                    .end();
+
+                ZipSplitter unordered = new ZipSplitter(2);
+                unordered.setPreserveOrder(false);
+                unordered.setChunkSize(4);
+                unordered.setMaxBufferedChunks(1);
+                from("file:src/test/resources/org/apache/camel/dataformat/zipfile/data?consumer.delay=1000&noop=true")
+                    .split(unordered).streaming()
+                        .convertBodyTo(String.class).to("mock:unordered")
+                    .end();
+            }
+        };
+    }
+
+}
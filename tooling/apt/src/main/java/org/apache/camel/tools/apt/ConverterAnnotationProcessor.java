@@ -0,0 +1,586 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.tools.apt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a type converter index for the <tt>@Converter</tt> classes of a module, which Camel uses at startup
+ * instead of scanning the packages listed in <tt>META-INF/services/org/apache/camel/TypeConverter</tt> and
+ * introspecting the converter classes using reflection.
+ * <p/>
+ * The index is a subclass of <tt>org.apache.camel.impl.converter.IndexedTypeConverterLoader</tt> which invokes the
+ * converter methods directly, and is listed in <tt>META-INF/services/org/apache/camel/TypeConverterLoader</tt>.
+ * No index is generated if the module has no type converter file, or if a converter class could not be resolved
+ * or is not public, in which case Camel scans the packages as before.
+ * <p/>
+ * The index is generated in the first round with converter classes, as a source generated in the last round is not
+ * subject to annotation processing, and is merged with the index of the previous compilation, as an incremental
+ * compilation only has the changed sources. The converter classes of the later rounds are still collected, and the
+ * index is not listed in the <tt>TypeConverterLoader</tt> file if it does not cover them.
+ */
+@SupportedAnnotationTypes({"org.apache.camel.Converter", "org.apache.camel.FallbackConverter"})
+@SupportedSourceVersion(SourceVersion.RELEASE_7)
+public class ConverterAnnotationProcessor extends AbstractAnnotationProcessor {
+
+    private static final String CONVERTER = "org.apache.camel.Converter";
+    private static final String FALLBACK_CONVERTER = "org.apache.camel.FallbackConverter";
+    private static final String EXCHANGE = "org.apache.camel.Exchange";
+    private static final String TYPE_CONVERTER_REGISTRY = "org.apache.camel.spi.TypeConverterRegistry";
+    private static final String INDEXED_LOADER = "org.apache.camel.impl.converter.IndexedTypeConverterLoader";
+    private static final String META_INF_TYPE_CONVERTER = "META-INF/services/org/apache/camel/TypeConverter";
+    private static final String META_INF_TYPE_CONVERTER_LOADER = "META-INF/services/org/apache/camel/TypeConverterLoader";
+
+    private static final String GENERATED = "# Generated by camel annotation processor";
+    private static final String CONVERTER_CLASSES = "# converter classes: ";
+
+    // the converter classes of all the rounds, as sources generated by other processors are compiled in later rounds
+    private final Set<String> converterClassNames = new TreeSet<String>();
+    // the generated loader and the converter classes it covers
+    private String loaderName;
+    private final Set<String> loaderClassNames = new TreeSet<String>();
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Elements elementUtils = processingEnv.getElementUtils();
+        TypeElement converter = elementUtils.getTypeElement(CONVERTER);
+        if (converter == null || elementUtils.getTypeElement(INDEXED_LOADER) == null) {
+            return false;
+        }
+        if (!roundEnv.processingOver()) {
+            boolean found = false;
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(converter))) {
+                found |= converterClassNames.add(type.getQualifiedName().toString());
+            }
+            // generate the loader before the last round, so it is compiled like the other sources
+            if (found && loaderName == null) {
+                generateLoader();
+            }
+            return false;
+        }
+
+        // the index is written in the last round when all the converter classes are known
+        if (loaderName != null) {
+            if (loaderClassNames.containsAll(converterClassNames)) {
+                try {
+                    writeIndex(loaderName, loaderClassNames);
+                } catch (IOException e) {
+                    log(e);
+                }
+            } else {
+                log("Cannot generate type converter index as the @Converter classes of a later round are not covered by " + loaderName);
+            }
+        }
+        return false;
+    }
+
+    private void generateLoader() {
+        Elements elementUtils = processingEnv.getElementUtils();
+        List<String> entries = loadTypeConverterEntries();
+        if (entries == null || entries.isEmpty() || entries.contains("org.apache.camel.core")) {
+            // not a module which Camel scans for type converters (camel-core has its own loader)
+            return;
+        }
+
+        // an incremental compilation only has the changed sources, so merge with the index generated previously
+        List<String> previous = loadPreviousIndex();
+        Set<String> candidates = new TreeSet<String>(converterClassNames);
+        if (previous != null) {
+            candidates.addAll(previous.subList(1, previous.size()));
+        }
+
+        Set<TypeElement> classes = findConverterClasses(entries, candidates);
+        if (classes == null) {
+            return;
+        }
+
+        List<ConverterMethod> methods = new ArrayList<ConverterMethod>();
+        Set<String> visited = new HashSet<String>();
+        for (TypeElement type : classes) {
+            if (!collectConverterMethods(type, type, methods, visited)) {
+                return;
+            }
+        }
+
+        String fqn;
+        if (previous != null) {
+            // keep the name of the previous index which is regenerated
+            fqn = previous.get(0);
+        } else {
+            TypeElement first = classes.iterator().next();
+            fqn = elementUtils.getPackageOf(first).getQualifiedName() + "." + first.getSimpleName() + "Loader";
+            if (elementUtils.getTypeElement(fqn) != null) {
+                warning("Cannot generate type converter index as the class " + fqn + " already exists");
+                return;
+            }
+        }
+        int idx = fqn.lastIndexOf('.');
+
+        try {
+            writeLoader(fqn.substring(0, idx), fqn.substring(idx + 1), entries, classes, methods);
+        } catch (IOException e) {
+            log(e);
+            return;
+        }
+        loaderName = fqn;
+        for (TypeElement type : classes) {
+            loaderClassNames.add(type.getQualifiedName().toString());
+        }
+    }
+
+    private List<String> loadTypeConverterEntries() {
+        Filer filer = processingEnv.getFiler();
+        String text;
+        try {
+            FileObject resource = filer.getResource(StandardLocation.CLASS_OUTPUT, "", META_INF_TYPE_CONVERTER);
+            InputStream is = resource.openInputStream();
+            text = IOHelper.loadText(is, true);
+        } catch (Throwable e) {
+            return null;
+        }
+        List<String> answer = new ArrayList<String>();
+        for (String line : text.split("\n")) {
+            for (String name : line.split(",")) {
+                name = name.trim();
+                if (name.length() > 0) {
+                    answer.add(name);
+                }
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Loads the index generated by a previous compilation, which is the name of the generated loader followed by
+     * the names of the converter classes it was generated from, or returns <tt>null</tt> if there is no index.
+     */
+    private List<String> loadPreviousIndex() {
+        Filer filer = processingEnv.getFiler();
+        String text;
+        try {
+            FileObject resource = filer.getResource(StandardLocation.CLASS_OUTPUT, "", META_INF_TYPE_CONVERTER_LOADER);
+            InputStream is = resource.openInputStream();
+            text = IOHelper.loadText(is, false);
+        } catch (Throwable e) {
+            return null;
+        }
+        if (!text.startsWith(GENERATED)) {
+            return null;
+        }
+        String loaderName = null;
+        List<String> classNames = new ArrayList<String>();
+        for (String line : text.split("\n")) {
+            line = line.trim();
+            if (line.startsWith(CONVERTER_CLASSES)) {
+                for (String name : line.substring(CONVERTER_CLASSES.length()).split(",")) {
+                    name = name.trim();
+                    if (name.length() > 0) {
+                        classNames.add(name);
+                    }
+                }
+            } else if (loaderName == null && line.length() > 0 && !line.startsWith("#")) {
+                loaderName = line;
+            }
+        }
+        if (loaderName == null) {
+            return null;
+        }
+        classNames.add(0, loaderName);
+        return classNames;
+    }
+
+    /**
+     * Finds the converter classes the same way as Camel does from the entries of the type converter file,
+     * or returns <tt>null</tt> if an entry cannot be resolved.
+     *
+     * @param entries    the entries of the type converter file
+     * @param candidates the names of the known converter classes, as the classes in the sub packages of an entry
+     *                   cannot be listed
+     */
+    private Set<TypeElement> findConverterClasses(List<String> entries, Set<String> candidates) {
+        Elements elementUtils = processingEnv.getElementUtils();
+        Set<TypeElement> answer = new TreeSet<TypeElement>(new Comparator<TypeElement>() {
+            @Override
+            public int compare(TypeElement o1, TypeElement o2) {
+                return o1.getQualifiedName().toString().compareTo(o2.getQualifiedName().toString());
+            }
+        });
+
+        for (String entry : entries) {
+            String simpleName = entry.substring(entry.lastIndexOf('.') + 1);
+            if (simpleName.length() > 0 && Character.isUpperCase(simpleName.charAt(0))) {
+                // a FQN class name which is loaded directly
+                TypeElement type = elementUtils.getTypeElement(entry);
+                if (type == null) {
+                    log("Cannot generate type converter index as the class " + entry + " was not found");
+                    return null;
+                }
+                answer.add(type);
+                continue;
+            }
+
+            // a package which is scanned (including sub packages) for @Converter classes
+            Set<TypeElement> found = new LinkedHashSet<TypeElement>();
+            PackageElement pe = elementUtils.getPackageElement(entry);
+            if (pe != null) {
+                for (TypeElement type : ElementFilter.typesIn(pe.getEnclosedElements())) {
+                    addConverterClass(type, found);
+                }
+            }
+            for (String name : candidates) {
+                if (name.startsWith(entry + ".")) {
+                    TypeElement type = elementUtils.getTypeElement(name);
+                    if (type != null) {
+                        addConverterClass(type, found);
+                    }
+                }
+            }
+            if (found.isEmpty()) {
+                log("Cannot generate type converter index as no @Converter classes was found in package " + entry);
+                return null;
+            }
+            answer.addAll(found);
+        }
+
+        for (TypeElement type : answer) {
+            if (!isPublic(type)) {
+                log("Cannot generate type converter index as the class " + type.getQualifiedName() + " is not public");
+                return null;
+            }
+        }
+        return answer;
+    }
+
+    private void addConverterClass(TypeElement type, Set<TypeElement> found) {
+        if (type.getKind() == ElementKind.CLASS && findAnnotation(type, CONVERTER) != null) {
+            found.add(type);
+        }
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            addConverterClass(nested, found);
+        }
+    }
+
+    /**
+     * Collects the converter methods of the type and its super classes.
+     *
+     * @param type  the type declaring the methods
+     * @param owner the converter class which is instantiated for the instance methods of its super classes
+     */
+    private boolean collectConverterMethods(TypeElement type, TypeElement owner, List<ConverterMethod> methods, Set<String> visited) {
+        String typeName = type.getQualifiedName().toString();
+        if (!visited.add(typeName)) {
+            return true;
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            AnnotationMirror annotation = findAnnotation(method, CONVERTER);
+            boolean fallback = false;
+            if (annotation == null) {
+                annotation = findAnnotation(method, FALLBACK_CONVERTER);
+                fallback = annotation != null;
+            }
+            if (annotation == null) {
+                continue;
+            }
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.ABSTRACT)) {
+                warning("Ignoring bad converter on type: " + typeName + " method: " + method + " as a converter method is not a public and concrete method");
+                continue;
+            }
+            if (!isPublic(type)) {
+                log("Cannot generate type converter index as the class " + typeName + " is not public");
+                return false;
+            }
+            TypeMirror returnType = method.getReturnType();
+            if (returnType.getKind() == TypeKind.VOID || "java.lang.Void".equals(returnType.toString())) {
+                warning("Ignoring bad converter on type: " + typeName + " method: " + method + " as a converter method returns a void method");
+                continue;
+            }
+            List<? extends VariableElement> params = method.getParameters();
+            boolean valid;
+            if (fallback) {
+                valid = (params.size() == 3 || (params.size() == 4 && isSubType(params.get(1).asType(), EXCHANGE)))
+                        && isSubType(params.get(params.size() - 1).asType(), TYPE_CONVERTER_REGISTRY)
+                        && "java.lang.Class".equals(erasure(params.get(0).asType()));
+            } else {
+                valid = params.size() == 1 || (params.size() == 2 && isSubType(params.get(1).asType(), EXCHANGE));
+            }
+            if (!valid) {
+                warning("Ignoring bad converter on type: " + typeName + " method: " + method + " as the parameters are not supported");
+                continue;
+            }
+            ConverterMethod cm = new ConverterMethod();
+            cm.type = type;
+            cm.owner = owner;
+            cm.method = method;
+            cm.fallback = fallback;
+            cm.allowNull = annotationFlag(annotation, "allowNull");
+            cm.canPromote = fallback && annotationFlag(annotation, "canPromote");
+            methods.add(cm);
+        }
+
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement superType = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (!"java.lang.Object".equals(superType.getQualifiedName().toString())) {
+                return collectConverterMethods(superType, owner, methods, visited);
+            }
+        }
+        return true;
+    }
+
+    private void writeLoader(String packageName, String className, List<String> entries, Set<TypeElement> classes,
+                             List<ConverterMethod> methods) throws IOException {
+        Filer filer = processingEnv.getFiler();
+        Writer out = filer.createSourceFile(packageName + "." + className, classes.toArray(new Element[classes.size()])).openWriter();
+        PrintWriter writer = new PrintWriter(out);
+        try {
+            writer.println("package " + packageName + ";");
+            writer.println();
+            writer.println("/**");
+            writer.println(" * Type converter index generated by the Camel annotation processor.");
+            writer.println(" */");
+            writer.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            writer.println("public final class " + className + " extends " + INDEXED_LOADER + " {");
+            writer.println();
+
+            StringBuilder array = new StringBuilder();
+            for (String entry : entries) {
+                array.append(array.length() > 0 ? ", " : "").append("\"").append(entry).append("\"");
+            }
+            writer.println("    @Override");
+            writer.println("    public String[] getTypeConverterEntries() {");
+            writer.println("        return new String[]{" + array + "};");
+            writer.println("    }");
+            writer.println();
+
+            // register the converters grouped by their class so a class with missing dependencies is ignored on its own
+            writer.println("    @Override");
+            writer.println("    protected void doLoad(" + TYPE_CONVERTER_REGISTRY + " registry) {");
+            String current = null;
+            for (int id = 0; id < methods.size(); id++) {
+                ConverterMethod cm = methods.get(id);
+                String typeName = cm.type.getQualifiedName().toString();
+                if (!typeName.equals(current)) {
+                    if (current != null) {
+                        writer.println("        } catch (NoClassDefFoundError e) {");
+                        writer.println("            ignoreConverterClass(\"" + current + "\", e);");
+                        writer.println("        }");
+                    }
+                    writer.println("        try {");
+                    current = typeName;
+                }
+                if (cm.fallback) {
+                    writer.println("            addFallbackTypeConverter(registry, " + id + ", " + cm.allowNull + ", " + cm.canPromote
+                            + ", \"" + cm.describe() + "\");");
+                } else {
+                    writer.println("            addTypeConverter(registry, " + erasure(cm.method.getReturnType()) + ".class, "
+                            + erasure(cm.method.getParameters().get(0).asType()) + ".class, " + id + ", " + cm.allowNull
+                            + ", \"" + cm.describe() + "\");");
+                }
+            }
+            if (current != null) {
+                writer.println("        } catch (NoClassDefFoundError e) {");
+                writer.println("            ignoreConverterClass(\"" + current + "\", e);");
+                writer.println("        }");
+            }
+            writer.println("    }");
+            writer.println();
+
+            writer.println("    @Override");
+            writer.println("    protected Object doConvert(int id, " + EXCHANGE + " exchange, Object value, " + TYPE_CONVERTER_REGISTRY
+                    + " registry) throws Exception {");
+            writer.println("        switch (id) {");
+            boolean hasFallback = false;
+            for (int id = 0; id < methods.size(); id++) {
+                ConverterMethod cm = methods.get(id);
+                if (cm.fallback) {
+                    hasFallback = true;
+                    continue;
+                }
+                List<? extends VariableElement> params = cm.method.getParameters();
+                StringBuilder args = new StringBuilder();
+                args.append(cast(params.get(0).asType())).append("value");
+                if (params.size() == 2) {
+                    args.append(", ").append(cast(params.get(1).asType())).append("exchange");
+                }
+                writer.println("        case " + id + ":");
+                writer.println("            return " + target(cm) + "." + cm.method.getSimpleName() + "(" + args + ");");
+            }
+            writer.println("        default:");
+            writer.println("            throw new IllegalArgumentException(\"Unknown type converter: \" + id);");
+            writer.println("        }");
+            writer.println("    }");
+
+            if (hasFallback) {
+                writer.println();
+                writer.println("    @Override");
+                writer.println("    protected Object doConvertFallback(int id, Class<?> type, " + EXCHANGE + " exchange, Object value, "
+                        + TYPE_CONVERTER_REGISTRY + " registry) throws Exception {");
+                writer.println("        switch (id) {");
+                for (int id = 0; id < methods.size(); id++) {
+                    ConverterMethod cm = methods.get(id);
+                    if (!cm.fallback) {
+                        continue;
+                    }
+                    List<? extends VariableElement> params = cm.method.getParameters();
+                    StringBuilder args = new StringBuilder("(Class) type, ");
+                    if (params.size() == 4) {
+                        args.append(cast(params.get(1).asType())).append("exchange, ");
+                    }
+                    args.append(cast(params.get(params.size() - 2).asType())).append("value, ");
+                    args.append(cast(params.get(params.size() - 1).asType())).append("registry");
+                    writer.println("        case " + id + ":");
+                    writer.println("            return " + target(cm) + "." + cm.method.getSimpleName() + "(" + args + ");");
+                }
+                writer.println("        default:");
+                writer.println("            throw new IllegalArgumentException(\"Unknown fallback type converter: \" + id);");
+                writer.println("        }");
+                writer.println("    }");
+            }
+            writer.println("}");
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void writeIndex(String loaderName, Set<String> classNames) throws IOException {
+        StringBuilder names = new StringBuilder();
+        for (String name : classNames) {
+            names.append(names.length() > 0 ? "," : "").append(name);
+        }
+        Filer filer = processingEnv.getFiler();
+        FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "", META_INF_TYPE_CONVERTER_LOADER);
+        PrintWriter writer = new PrintWriter(resource.openWriter());
+        try {
+            writer.println(GENERATED);
+            writer.println(CONVERTER_CLASSES + names);
+            writer.println(loaderName);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private String target(ConverterMethod cm) {
+        if (cm.method.getModifiers().contains(Modifier.STATIC)) {
+            return cm.type.getQualifiedName().toString();
+        }
+        // the declaring type may be an abstract super class of the converter class
+        return "getInstance(" + cm.owner.getQualifiedName() + ".class, registry)";
+    }
+
+    private String cast(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return "(" + processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName() + ") ";
+        }
+        return "(" + erasure(type) + ") ";
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private boolean isSubType(TypeMirror type, String className) {
+        Types typeUtils = processingEnv.getTypeUtils();
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(className);
+        return element != null && typeUtils.isAssignable(typeUtils.erasure(type), typeUtils.erasure(element.asType()));
+    }
+
+    private static boolean isPublic(TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            if (!element.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationName.equals(type.getQualifiedName().toString())) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static boolean annotationFlag(AnnotationMirror annotation, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (name.equals(entry.getKey().getSimpleName().toString())) {
+                return Boolean.TRUE.equals(entry.getValue().getValue());
+            }
+        }
+        return false;
+    }
+
+    private final class ConverterMethod {
+        private TypeElement type;
+        private TypeElement owner;
+        private ExecutableElement method;
+        private boolean fallback;
+        private boolean allowNull;
+        private boolean canPromote;
+
+        String describe() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(type.getQualifiedName()).append(".").append(method.getSimpleName()).append("(");
+            List<? extends VariableElement> params = method.getParameters();
+            for (int i = 0; i < params.size(); i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(erasure(params.get(i).asType()));
+            }
+            return sb.append(")").toString();
+        }
+    }
+}